@@ -0,0 +1,27 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Loads the sample files of the test-samples module, which are used as benchmark input.
+ */
+public class BenchmarkSamples {
+  /**
+   * @param filename Name of the sample file
+   * @return Full contents of the sample file
+   */
+  public static byte[] load(String filename) {
+    try (InputStream input = BenchmarkSamples.class.getResourceAsStream("/test-samples/" + filename)) {
+      if (input == null) {
+        throw new IllegalStateException("Sample " + filename + " is not on the classpath.");
+      }
+
+      return IOUtils.toByteArray(input);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
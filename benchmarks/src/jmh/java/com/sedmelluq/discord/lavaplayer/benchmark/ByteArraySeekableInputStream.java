@@ -0,0 +1,74 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Seekable input stream over a byte array, so that decoder benchmarks do not measure file or network access.
+ */
+public class ByteArraySeekableInputStream extends SeekableInputStream {
+  private final byte[] data;
+  private int position;
+
+  /**
+   * @param data The contents of the stream
+   */
+  public ByteArraySeekableInputStream(byte[] data) {
+    super(data.length, 0);
+    this.data = data;
+  }
+
+  @Override
+  public long getPosition() {
+    return position;
+  }
+
+  @Override
+  protected void seekHard(long position) {
+    this.position = (int) Math.min(position, data.length);
+  }
+
+  @Override
+  public boolean canSeekHard() {
+    return true;
+  }
+
+  @Override
+  public List<AudioTrackInfoProvider> getTrackInfoProviders() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public int read() {
+    return position < data.length ? data[position++] & 0xFF : -1;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) {
+    if (length == 0) {
+      return 0;
+    } else if (position >= data.length) {
+      return -1;
+    }
+
+    int chunk = Math.min(length, data.length - position);
+    System.arraycopy(data, position, buffer, offset, chunk);
+    position += chunk;
+    return chunk;
+  }
+
+  @Override
+  public long skip(long distance) {
+    int chunk = (int) Math.max(0, Math.min(distance, data.length - position));
+    position += chunk;
+    return chunk;
+  }
+
+  @Override
+  public int available() {
+    return data.length - position;
+  }
+}
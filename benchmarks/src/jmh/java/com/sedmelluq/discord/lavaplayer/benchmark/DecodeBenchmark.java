@@ -0,0 +1,202 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.container.adts.AdtsPacketHeader;
+import com.sedmelluq.discord.lavaplayer.container.adts.AdtsStreamReader;
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacFileLoader;
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacTrackProvider;
+import com.sedmelluq.discord.lavaplayer.container.matroska.MatroskaOpusTrackConsumer;
+import com.sedmelluq.discord.lavaplayer.container.matroska.format.MatroskaFileTrack;
+import com.sedmelluq.discord.lavaplayer.container.mp3.Mp3TrackProvider;
+import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegAacTrackConsumer;
+import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegTrackInfo;
+import com.sedmelluq.discord.lavaplayer.container.ogg.OggPacketInputStream;
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
+import com.sedmelluq.discord.lavaplayer.tools.io.DirectBufferStreamBroker;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import org.apache.commons.io.IOUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time it takes to decode a whole sample file into 48kHz stereo PCM frames. Dividing the duration of the
+ * sample by the result gives the number of tracks of that format one core can decode in real time.
+ *
+ * The test samples do not include Matroska and MP4 files, so those two benchmarks feed the packets of the Ogg Opus and
+ * ADTS samples directly to the track consumers which the Matroska and MP4 providers would pass them to. This skips only
+ * the container parsing, which is negligible compared to decoding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class DecodeBenchmark {
+  private static final int SAMPLE_RATE = 48000;
+  private static final int CHANNEL_COUNT = 2;
+
+  private final DiscardingAudioFrameBuffer frameBuffer = new DiscardingAudioFrameBuffer();
+  private AudioProcessingContext context;
+  private byte[] mp3Data;
+  private byte[] flacData;
+  private List<ByteBuffer> opusPackets;
+  private byte[] aacData;
+  private int[] aacFrameLengths;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    context = new AudioProcessingContext(new AudioConfiguration(), frameBuffer, new AudioPlayerOptions(),
+        StandardAudioDataFormats.DISCORD_PCM_S16_BE);
+
+    mp3Data = BenchmarkSamples.load("demo-mp3vbr-48000.mp3");
+    flacData = BenchmarkSamples.load("demo-flac-48000-16bit.flac");
+    opusPackets = readOpusPackets(BenchmarkSamples.load("demo-oggopus-48000.ogg"));
+    readAacFrames(BenchmarkSamples.load("demo-adts-48000.aac"));
+  }
+
+  @Benchmark
+  public long mp3() throws Exception {
+    frameBuffer.reset();
+
+    Mp3TrackProvider provider = new Mp3TrackProvider(context, new ByteArraySeekableInputStream(mp3Data));
+
+    try {
+      provider.parseHeaders();
+      provider.provideFrames();
+    } finally {
+      provider.close();
+    }
+
+    return frameBuffer.getFrameCount();
+  }
+
+  @Benchmark
+  public long flac() throws Exception {
+    frameBuffer.reset();
+
+    FlacFileLoader loader = new FlacFileLoader(new ByteArraySeekableInputStream(flacData));
+    loader.parseHeaders();
+
+    FlacTrackProvider provider = loader.loadTrack(context);
+
+    try {
+      provider.provideFrames();
+    } finally {
+      provider.close();
+    }
+
+    return frameBuffer.getFrameCount();
+  }
+
+  @Benchmark
+  public long matroskaOpus() throws Exception {
+    frameBuffer.reset();
+
+    MatroskaFileTrack track = new MatroskaFileTrack(1, MatroskaFileTrack.Type.AUDIO, 1, null, "A_OPUS", null,
+        new MatroskaFileTrack.AudioDetails(SAMPLE_RATE, SAMPLE_RATE, CHANNEL_COUNT, 16));
+    MatroskaOpusTrackConsumer consumer = new MatroskaOpusTrackConsumer(context, track);
+
+    try {
+      consumer.initialise();
+
+      for (ByteBuffer packet : opusPackets) {
+        consumer.consume(packet.duplicate());
+      }
+
+      consumer.flush();
+    } finally {
+      consumer.close();
+    }
+
+    return frameBuffer.getFrameCount();
+  }
+
+  @Benchmark
+  public long mpegAac() throws Exception {
+    frameBuffer.reset();
+
+    MpegTrackInfo track = new MpegTrackInfo(1, "soun", "mp4a", CHANNEL_COUNT, SAMPLE_RATE);
+    MpegAacTrackConsumer consumer = new MpegAacTrackConsumer(context, track);
+    ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(aacData));
+
+    try {
+      consumer.initialise();
+
+      for (int frameLength : aacFrameLengths) {
+        consumer.consume(channel, frameLength);
+      }
+
+      consumer.flush();
+    } finally {
+      consumer.close();
+    }
+
+    return frameBuffer.getFrameCount();
+  }
+
+  private static List<ByteBuffer> readOpusPackets(byte[] data) throws IOException {
+    OggPacketInputStream packetStream = new OggPacketInputStream(new ByteArraySeekableInputStream(data));
+    DirectBufferStreamBroker broker = new DirectBufferStreamBroker(1024);
+    List<ByteBuffer> packets = new ArrayList<>();
+
+    if (!packetStream.startNewTrack()) {
+      throw new IllegalStateException("No Ogg track in sample.");
+    }
+
+    // Skip the OpusHead and OpusTags packets, Matroska keeps that information in track headers.
+    for (int i = 0; packetStream.startNewPacket(); i++) {
+      broker.consumeNext(packetStream, Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+      if (i >= 2) {
+        byte[] packet = broker.extractBytes();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(packet.length);
+        buffer.put(packet);
+        buffer.flip();
+        packets.add(buffer);
+      }
+    }
+
+    return packets;
+  }
+
+  private void readAacFrames(byte[] data) throws IOException {
+    ByteArrayInputStream input = new ByteArrayInputStream(data);
+    AdtsStreamReader reader = new AdtsStreamReader(input);
+    ByteArrayOutputStream frames = new ByteArrayOutputStream();
+    List<Integer> lengths = new ArrayList<>();
+    AdtsPacketHeader header;
+
+    // MP4 stores the same raw AAC frames as ADTS, just without the ADTS headers.
+    while ((header = reader.findPacketHeader()) != null) {
+      byte[] frame = new byte[header.payloadLength];
+
+      if (IOUtils.read(input, frame) < frame.length) {
+        break;
+      }
+
+      frames.write(frame);
+      lengths.add(frame.length);
+      reader.nextPacket();
+    }
+
+    aacData = frames.toByteArray();
+    aacFrameLengths = lengths.stream().mapToInt(Integer::intValue).toArray();
+  }
+}
@@ -0,0 +1,112 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameRebuilder;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frame buffer which never blocks and only counts the frames given to it, so that a benchmark of a decoder measures
+ * only the decoder and the processing pipeline behind it.
+ */
+public class DiscardingAudioFrameBuffer implements AudioFrameBuffer {
+  private long frameCount;
+  private long lastTimecode;
+
+  /**
+   * @return Number of frames consumed since the last reset
+   */
+  public long getFrameCount() {
+    return frameCount;
+  }
+
+  /**
+   * Resets the frame counter.
+   */
+  public void reset() {
+    frameCount = 0;
+  }
+
+  @Override
+  public int getRemainingCapacity() {
+    return Integer.MAX_VALUE;
+  }
+
+  @Override
+  public int getFullCapacity() {
+    return Integer.MAX_VALUE;
+  }
+
+  @Override
+  public void waitForTermination() {
+    // Nothing is buffered, so there is nothing to wait for
+  }
+
+  @Override
+  public void setTerminateOnEmpty() {
+    // Nothing is buffered
+  }
+
+  @Override
+  public void setClearOnInsert() {
+    // Nothing is buffered
+  }
+
+  @Override
+  public boolean hasClearOnInsert() {
+    return false;
+  }
+
+  @Override
+  public void clear() {
+    // Nothing is buffered
+  }
+
+  @Override
+  public void lockBuffer() {
+    // Frames are discarded anyway
+  }
+
+  @Override
+  public boolean hasReceivedFrames() {
+    return frameCount > 0;
+  }
+
+  @Override
+  public Long getLastInputTimecode() {
+    return frameCount > 0 ? lastTimecode : null;
+  }
+
+  @Override
+  public AudioFrame provide() {
+    return null;
+  }
+
+  @Override
+  public AudioFrame provide(long timeout, TimeUnit unit) {
+    return null;
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame) {
+    return false;
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit) {
+    return false;
+  }
+
+  @Override
+  public void consume(AudioFrame frame) {
+    lastTimecode = frame.getTimecode();
+    frameCount++;
+  }
+
+  @Override
+  public void rebuild(AudioFrameRebuilder rebuilder) {
+    // Nothing is buffered
+  }
+}
@@ -0,0 +1,180 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.filter.ChannelCountPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.ResamplingPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.UniversalPcmAudioFilter;
+import com.sedmelluq.discord.lavaplayer.filter.equalizer.Equalizer;
+import com.sedmelluq.discord.lavaplayer.filter.volume.PcmVolumeProcessor;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.ShortBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of processing one 20ms frame of stereo audio with each of the PCM filters, which run for every
+ * frame of every track that uses them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class FilterBenchmark {
+  private static final int CHANNEL_COUNT = 2;
+  private static final int FRAME_SAMPLES = 960;
+  private static final int FRAME_SAMPLES_44100 = 882;
+
+  @State(Scope.Thread)
+  public static class Frames {
+    private final float[][] floatFrame = new float[CHANNEL_COUNT][FRAME_SAMPLES];
+    private final short[] monoFrame = new short[FRAME_SAMPLES];
+    private final short[] stereoFrame = new short[FRAME_SAMPLES * CHANNEL_COUNT];
+    private final ShortBuffer workBuffer = ShortBuffer.allocate(FRAME_SAMPLES * CHANNEL_COUNT);
+    private final SinkFilter sink = new SinkFilter();
+    private Equalizer equalizer;
+    private ChannelCountPcmAudioFilter monoToStereo;
+    private PcmVolumeProcessor volumeProcessor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      Random random = new Random(0);
+
+      for (int channel = 0; channel < CHANNEL_COUNT; channel++) {
+        for (int i = 0; i < FRAME_SAMPLES; i++) {
+          floatFrame[channel][i] = random.nextFloat() * 2.0f - 1.0f;
+        }
+      }
+
+      for (int i = 0; i < monoFrame.length; i++) {
+        monoFrame[i] = (short) random.nextInt();
+      }
+
+      for (int i = 0; i < stereoFrame.length; i++) {
+        stereoFrame[i] = (short) random.nextInt();
+      }
+
+      equalizer = new Equalizer(CHANNEL_COUNT, sink);
+
+      for (int band = 0; band < Equalizer.BAND_COUNT; band++) {
+        equalizer.setGain(band, band % 2 == 0 ? 0.25f : -0.1f);
+      }
+
+      monoToStereo = new ChannelCountPcmAudioFilter(1, CHANNEL_COUNT, sink);
+      volumeProcessor = new PcmVolumeProcessor(100);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Resampler {
+    @Param({ "LOW", "MEDIUM", "HIGH" })
+    public AudioConfiguration.ResamplingQuality quality;
+
+    private final float[][] frame = new float[CHANNEL_COUNT][FRAME_SAMPLES_44100];
+    private final SinkFilter sink = new SinkFilter();
+    private ResamplingPcmAudioFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      Random random = new Random(0);
+
+      for (int channel = 0; channel < CHANNEL_COUNT; channel++) {
+        for (int i = 0; i < FRAME_SAMPLES_44100; i++) {
+          frame[channel][i] = random.nextFloat() * 2.0f - 1.0f;
+        }
+      }
+
+      AudioConfiguration configuration = new AudioConfiguration();
+      configuration.setResamplingQuality(quality);
+      filter = new ResamplingPcmAudioFilter(configuration, CHANNEL_COUNT, sink, 44100, 48000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      filter.close();
+    }
+  }
+
+  @Benchmark
+  public float resample44100To48000(Resampler resampler) throws InterruptedException {
+    resampler.filter.process(resampler.frame, 0, FRAME_SAMPLES_44100);
+    return resampler.sink.lastValue;
+  }
+
+  @Benchmark
+  public float equalizer(Frames frames) throws InterruptedException {
+    frames.equalizer.process(frames.floatFrame, 0, FRAME_SAMPLES);
+    return frames.sink.lastValue;
+  }
+
+  @Benchmark
+  public float channelCountMonoToStereo(Frames frames) throws InterruptedException {
+    frames.workBuffer.clear();
+    frames.workBuffer.put(frames.monoFrame);
+    frames.workBuffer.flip();
+
+    frames.monoToStereo.process(frames.workBuffer);
+    return frames.sink.lastValue;
+  }
+
+  @Benchmark
+  public short pcmVolume(Frames frames) {
+    frames.workBuffer.clear();
+    frames.workBuffer.put(frames.stereoFrame);
+    frames.workBuffer.flip();
+
+    frames.volumeProcessor.applyVolume(100, 60, frames.workBuffer);
+    return frames.workBuffer.get(0);
+  }
+
+  /**
+   * Last filter in the chain, which only keeps one sample of the output so that the work before it cannot be eliminated.
+   */
+  private static class SinkFilter implements UniversalPcmAudioFilter {
+    private float lastValue;
+
+    @Override
+    public void process(float[][] input, int offset, int length) {
+      lastValue = input[0][offset];
+    }
+
+    @Override
+    public void process(short[] input, int offset, int length) {
+      lastValue = input[offset];
+    }
+
+    @Override
+    public void process(ShortBuffer buffer) {
+      lastValue = buffer.get(buffer.position());
+    }
+
+    @Override
+    public void process(short[][] input, int offset, int length) {
+      lastValue = input[0][offset];
+    }
+
+    @Override
+    public void seekPerformed(long requestedTime, long providedTime) {
+      // Nothing to reset
+    }
+
+    @Override
+    public void flush() {
+      // Nothing to flush
+    }
+
+    @Override
+    public void close() {
+      // Nothing to close
+    }
+  }
+}
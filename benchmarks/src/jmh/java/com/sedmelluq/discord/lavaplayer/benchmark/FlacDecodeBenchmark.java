@@ -0,0 +1,75 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacFileLoader;
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacStreamInfo;
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacTrackInfo;
+import com.sedmelluq.discord.lavaplayer.container.flac.frame.FlacFrameDecoder;
+import com.sedmelluq.discord.lavaplayer.container.flac.frame.FlacJavaFrameDecoder;
+import com.sedmelluq.discord.lavaplayer.container.flac.frame.FlacNativeFrameDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time it takes to decode the frames of a whole FLAC sample file into 16-bit samples, without the audio
+ * pipeline which {@link DecodeBenchmark#flac()} includes. This isolates the cost of the frame decoder itself, which is
+ * the largest part of the processing cost of a FLAC track. The native decoder requires the connector library to be
+ * built with FLAC support.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class FlacDecodeBenchmark {
+  @Param({ "demo-flac-44100-16bit.flac", "demo-flac-48000-8bit.flac", "demo-flac-48000-24bit.flac" })
+  public String sample;
+
+  @Param({ "java", "native" })
+  public String decoder;
+
+  private byte[] data;
+  private FlacTrackInfo trackInfo;
+  private short[][] sampleBuffers;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    data = BenchmarkSamples.load(sample);
+    trackInfo = new FlacFileLoader(new ByteArraySeekableInputStream(data)).parseHeaders();
+
+    FlacStreamInfo streamInfo = trackInfo.stream;
+    sampleBuffers = new short[streamInfo.channelCount][streamInfo.maximumBlockSize];
+  }
+
+  @Benchmark
+  public long decodeFrames() throws IOException {
+    ByteArraySeekableInputStream inputStream = new ByteArraySeekableInputStream(data);
+    inputStream.seek(trackInfo.firstFramePosition);
+
+    FlacFrameDecoder frameDecoder = "native".equals(decoder) ?
+        new FlacNativeFrameDecoder(trackInfo.stream, inputStream) :
+        new FlacJavaFrameDecoder(trackInfo.stream, inputStream);
+
+    long totalSamples = 0;
+    int sampleCount;
+
+    try {
+      while ((sampleCount = frameDecoder.decodeFrame(sampleBuffers)) != 0) {
+        totalSamples += sampleCount;
+      }
+    } finally {
+      frameDecoder.close();
+    }
+
+    return totalSamples;
+  }
+}
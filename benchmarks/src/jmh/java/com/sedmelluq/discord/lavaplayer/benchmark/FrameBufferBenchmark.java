@@ -0,0 +1,146 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.track.playback.AllocatingAudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBufferFactory;
+import com.sedmelluq.discord.lavaplayer.track.playback.LockFreeAudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.NonAllocatingAudioFrameBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures frame buffers with many players, where a fixed number of producer threads fill the buffers of all players
+ * and one consumer thread drains them round-robin the same way a send loop would.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FrameBufferBenchmark {
+  private static final int PRODUCER_THREADS = 3;
+  private static final int BUFFER_DURATION = 1000;
+  private static final int FRAME_SIZE = 160;
+
+  @State(Scope.Group)
+  public static class Players {
+    @Param({ "1000", "10000" })
+    public int playerCount;
+
+    @Param({ "allocating", "non-allocating", "lock-free" })
+    public String bufferType;
+
+    private final AtomicInteger producerIds = new AtomicInteger();
+    private AudioFrameBuffer[] buffers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      AudioDataFormat format = StandardAudioDataFormats.DISCORD_OPUS;
+      AudioFrameBufferFactory factory = createFactory(bufferType);
+      buffers = new AudioFrameBuffer[playerCount];
+
+      for (int i = 0; i < playerCount; i++) {
+        buffers[i] = factory.create(BUFFER_DURATION, format, new AtomicBoolean());
+      }
+    }
+
+    private static AudioFrameBufferFactory createFactory(String type) {
+      switch (type) {
+        case "allocating":
+          return AllocatingAudioFrameBuffer::new;
+        case "non-allocating":
+          return NonAllocatingAudioFrameBuffer::new;
+        case "lock-free":
+          return LockFreeAudioFrameBuffer::new;
+        default:
+          throw new IllegalArgumentException("Unknown buffer type " + type);
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Producer {
+    private final MutableAudioFrame frame = new MutableAudioFrame();
+    private final ByteBuffer data = ByteBuffer.allocateDirect(FRAME_SIZE);
+    private int producerId;
+    private int index;
+    private long timecode;
+
+    @Setup(Level.Trial)
+    public void setUp(Players players) {
+      producerId = players.producerIds.getAndIncrement() % PRODUCER_THREADS;
+      index = producerId;
+      frame.setFormat(StandardAudioDataFormats.DISCORD_OPUS);
+      frame.setVolume(100);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Consumer {
+    private final MutableAudioFrame frame = new MutableAudioFrame();
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      frame.setBuffer(ByteBuffer.allocate(StandardAudioDataFormats.DISCORD_OPUS.maximumChunkSize()));
+    }
+  }
+
+  /**
+   * Stores one frame into the next player buffer owned by this producer thread, if it has room for it. Every buffer has
+   * exactly one producer, so a buffer with remaining capacity never blocks.
+   */
+  @Benchmark
+  @Group("contended")
+  @GroupThreads(PRODUCER_THREADS)
+  public boolean produce(Players players, Producer producer) throws InterruptedException {
+    AudioFrameBuffer buffer = players.buffers[producer.index];
+
+    producer.index += PRODUCER_THREADS;
+    if (producer.index >= players.buffers.length) {
+      producer.index = producer.producerId;
+    }
+
+    if (buffer.getRemainingCapacity() > 0) {
+      producer.data.clear();
+      producer.frame.setBuffer(producer.data);
+      producer.frame.setTimecode(producer.timecode++);
+      buffer.consume(producer.frame);
+      return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * Provides one frame from the next player buffer, same as a send loop which serves all players of one node.
+   */
+  @Benchmark
+  @Group("contended")
+  @GroupThreads(1)
+  public boolean provide(Players players, Consumer consumer) {
+    AudioFrameBuffer buffer = players.buffers[consumer.index];
+
+    if (++consumer.index >= players.buffers.length) {
+      consumer.index = 0;
+    }
+
+    return buffer.provide(consumer.frame);
+  }
+}
@@ -0,0 +1,85 @@
+package com.sedmelluq.discord.lavaplayer.benchmark;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.OpusChunkEncoder;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of encoding one 20ms stereo frame to Opus, which is done for every frame of every track that is
+ * not passed through as Opus. This is usually the most expensive step per frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@State(Scope.Thread)
+public class OpusEncodeBenchmark {
+  private static final AudioDataFormat FORMAT = StandardAudioDataFormats.DISCORD_OPUS;
+
+  @Param({ "5", "10" })
+  public int quality;
+
+  private ShortBuffer input;
+  private ByteBuffer directOutput;
+  private ByteBuffer heapOutput;
+  private OpusChunkEncoder encoder;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    int sampleCount = FORMAT.chunkSampleCount * FORMAT.channelCount;
+
+    input = ByteBuffer.allocateDirect(sampleCount * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+
+    // Two tones an octave apart, which the encoder treats the same way as music unlike silence or white noise.
+    for (int i = 0; i < FORMAT.chunkSampleCount; i++) {
+      double time = (double) i / FORMAT.sampleRate;
+      short sample = (short) (8000 * Math.sin(2 * Math.PI * 440 * time) + 4000 * Math.sin(2 * Math.PI * 880 * time));
+
+      for (int channel = 0; channel < FORMAT.channelCount; channel++) {
+        input.put(i * FORMAT.channelCount + channel, sample);
+      }
+    }
+
+    directOutput = ByteBuffer.allocateDirect(FORMAT.maximumChunkSize());
+    heapOutput = ByteBuffer.allocate(FORMAT.maximumChunkSize());
+
+    AudioConfiguration configuration = new AudioConfiguration();
+    configuration.setOpusEncodingQuality(quality);
+    encoder = new OpusChunkEncoder(configuration, FORMAT);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    encoder.close();
+  }
+
+  @Benchmark
+  public int encodeToDirectBuffer() {
+    input.clear();
+    encoder.encode(input, directOutput);
+    return directOutput.remaining();
+  }
+
+  @Benchmark
+  public int encodeToHeapBuffer() {
+    input.clear();
+    encoder.encode(input, heapOutput);
+    return heapOutput.remaining();
+  }
+}
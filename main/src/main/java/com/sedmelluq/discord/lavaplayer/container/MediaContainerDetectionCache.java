@@ -0,0 +1,60 @@
+package com.sedmelluq.discord.lavaplayer.container;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioReference;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of container detection results, so that loading the same unchanged file again does not have to read its
+ * head and run it through all the probes. Results are identified by the reference and a version of the content, such
+ * as the ETag of an HTTP resource or the size and modification time of a file. Only results for a detected container
+ * are cached, and the least recently used ones are evicted when the maximum number of results is exceeded.
+ */
+public class MediaContainerDetectionCache {
+  private final Map<String, MediaContainerDetectionResult> results;
+
+  /**
+   * @param maximumResults Maximum number of detection results to keep
+   */
+  public MediaContainerDetectionCache(int maximumResults) {
+    this.results = new LinkedHashMap<String, MediaContainerDetectionResult>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, MediaContainerDetectionResult> eldest) {
+        return size() > maximumResults;
+      }
+    };
+  }
+
+  /**
+   * @param reference Reference which was detected
+   * @param version Version of the content of the reference
+   * @return The cached result, or null if there is no result for this version of the content.
+   */
+  public synchronized MediaContainerDetectionResult get(AudioReference reference, String version) {
+    return results.get(createKey(reference, version));
+  }
+
+  /**
+   * @param reference Reference which was detected
+   * @param version Version of the content of the reference
+   * @param result Result of the detection, ignored if no container was detected
+   */
+  public synchronized void put(AudioReference reference, String version, MediaContainerDetectionResult result) {
+    if (result != null && result.isContainerDetected() && !result.isReference()) {
+      results.put(createKey(reference, version), result);
+    }
+  }
+
+  /**
+   * Removes all results from the cache.
+   */
+  public synchronized void clear() {
+    results.clear();
+  }
+
+  private static String createKey(AudioReference reference, String version) {
+    // The title of the reference is used as the default title of the track info.
+    return reference.identifier + '\n' + version + '\n' + reference.title;
+  }
+}
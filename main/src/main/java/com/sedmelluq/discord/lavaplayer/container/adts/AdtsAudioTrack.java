@@ -1,5 +1,6 @@
 package com.sedmelluq.discord.lavaplayer.container.adts;
 
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.BaseAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
@@ -15,15 +16,27 @@ public class AdtsAudioTrack extends BaseAudioTrack {
   private static final Logger log = LoggerFactory.getLogger(AdtsAudioTrack.class);
 
   private final InputStream inputStream;
+  private final AdtsStreamSeeker seeker;
 
   /**
    * @param trackInfo Track info
    * @param inputStream Input stream for the ADTS stream
    */
   public AdtsAudioTrack(AudioTrackInfo trackInfo, InputStream inputStream) {
+    this(trackInfo, inputStream, null);
+  }
+
+  /**
+   * @param trackInfo Track info
+   * @param inputStream Input stream for the ADTS stream
+   * @param seeker Seeker for the input stream. If null, seeking is supported only if the input stream is a seekable
+   *               file with a known length.
+   */
+  public AdtsAudioTrack(AudioTrackInfo trackInfo, InputStream inputStream, AdtsStreamSeeker seeker) {
     super(trackInfo);
 
     this.inputStream = inputStream;
+    this.seeker = seeker;
   }
 
   @Override
@@ -33,7 +46,16 @@ public class AdtsAudioTrack extends BaseAudioTrack {
     try {
       log.debug("Starting to play ADTS stream {}", getIdentifier());
 
-      localExecutor.executeProcessingLoop(provider::provideFrames, null);
+      AdtsStreamSeeker streamSeeker = seeker;
+
+      if (streamSeeker == null && inputStream instanceof SeekableInputStream && !trackInfo.isStream) {
+        streamSeeker = AdtsFileSeeker.create((SeekableInputStream) inputStream);
+      }
+
+      provider.setSeeker(streamSeeker);
+
+      localExecutor.executeProcessingLoop(provider::provideFrames,
+          streamSeeker != null ? provider::seekToTimecode : null);
     } finally {
       provider.close();
     }
@@ -42,7 +42,14 @@ public class AdtsContainerProbe implements MediaContainerProbe {
 
     log.debug("Track {} is an ADTS stream.", reference.identifier);
 
-    return supportedFormat(this, null, AudioTrackInfoBuilder.create(reference, inputStream).build());
+    AudioTrackInfoBuilder infoBuilder = AudioTrackInfoBuilder.create(reference, inputStream);
+    AdtsFileSeeker seeker = AdtsFileSeeker.create(inputStream);
+
+    if (seeker != null) {
+      infoBuilder.setLength(seeker.getDuration());
+    }
+
+    return supportedFormat(this, null, infoBuilder.build());
   }
 
   @Override
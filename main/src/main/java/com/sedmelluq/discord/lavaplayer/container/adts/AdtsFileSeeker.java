@@ -0,0 +1,148 @@
+package com.sedmelluq.discord.lavaplayer.container.adts;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.StreamTools;
+
+import java.io.IOException;
+
+/**
+ * Seeking support for ADTS files with a known length. ADTS packets carry no timestamps, so the position of a timecode
+ * is estimated from the average packet size measured at the start of the file, and the packet sync is found again at
+ * the estimated position by looking for two consecutive valid packet headers.
+ */
+public class AdtsFileSeeker implements AdtsStreamSeeker {
+  private static final int SAMPLES_PER_PACKET = 1024;
+  private static final int MEASURE_DISTANCE = 64 * 1024;
+  private static final int HEADER_SIZE = 7;
+  private static final int MAXIMUM_PACKET_SIZE = 0x1FFF;
+  private static final int SYNC_SCAN_DISTANCE = 2 * MAXIMUM_PACKET_SIZE + HEADER_SIZE;
+
+  private final SeekableInputStream inputStream;
+  private final long firstPacketPosition;
+  private final long contentLength;
+  private final double averagePacketSize;
+  private final int sampleRate;
+  private final byte[] scanBuffer;
+
+  private AdtsFileSeeker(SeekableInputStream inputStream, long firstPacketPosition, long contentLength,
+                         double averagePacketSize, int sampleRate) {
+
+    this.inputStream = inputStream;
+    this.firstPacketPosition = firstPacketPosition;
+    this.contentLength = contentLength;
+    this.averagePacketSize = averagePacketSize;
+    this.sampleRate = sampleRate;
+    this.scanBuffer = new byte[SYNC_SCAN_DISTANCE];
+  }
+
+  /**
+   * Measures the packets at the start of the file. The position of the stream is not changed.
+   *
+   * @param inputStream The input stream of the file
+   * @return The seeker, or null if the stream cannot seek or no packets were found at its start.
+   * @throws IOException On read error.
+   */
+  public static AdtsFileSeeker create(SeekableInputStream inputStream) throws IOException {
+    long contentLength = inputStream.getContentLength();
+
+    if (!inputStream.canSeekHard() || contentLength == Long.MAX_VALUE) {
+      return null;
+    }
+
+    long savedPosition = inputStream.getPosition();
+    byte[] buffer = new byte[MEASURE_DISTANCE];
+
+    inputStream.seek(0);
+    int length = StreamTools.readUntilEnd(inputStream, buffer, 0, buffer.length);
+    inputStream.seek(savedPosition);
+
+    int firstPacket = findPacketSync(buffer, length, length < buffer.length);
+
+    if (firstPacket < 0) {
+      return null;
+    }
+
+    int sampleRate = AdtsStreamReader.sampleRateMapping[(buffer[firstPacket + 2] >> 2) & 0x0F];
+    int position = firstPacket;
+    int packetCount = 0;
+    int packetSize;
+
+    while ((packetSize = getPacketSize(buffer, position, length)) > 0 && position + packetSize <= length) {
+      position += packetSize;
+      packetCount++;
+    }
+
+    if (packetCount == 0) {
+      return null;
+    }
+
+    double averagePacketSize = (double) (position - firstPacket) / packetCount;
+    return new AdtsFileSeeker(inputStream, firstPacket, contentLength, averagePacketSize, sampleRate);
+  }
+
+  /**
+   * @return Estimated duration of the file in milliseconds
+   */
+  public long getDuration() {
+    long packetCount = (long) ((contentLength - firstPacketPosition) / averagePacketSize);
+    return packetCount * SAMPLES_PER_PACKET * 1000 / sampleRate;
+  }
+
+  @Override
+  public long seekToTimecode(long timecode) throws IOException {
+    long packetIndex = timecode * sampleRate / 1000 / SAMPLES_PER_PACKET;
+    long position = firstPacketPosition + (long) (packetIndex * averagePacketSize);
+
+    if (position < contentLength) {
+      inputStream.seek(position);
+
+      int length = StreamTools.readUntilEnd(inputStream, scanBuffer, 0, scanBuffer.length);
+      int offset = findPacketSync(scanBuffer, length, length < scanBuffer.length);
+
+      if (offset >= 0) {
+        inputStream.seek(position + offset);
+        return packetIndex * SAMPLES_PER_PACKET * 1000 / sampleRate;
+      }
+    }
+
+    inputStream.seek(contentLength);
+    return getDuration();
+  }
+
+  private static int findPacketSync(byte[] buffer, int length, boolean endOfFile) {
+    for (int offset = 0; offset < length; offset++) {
+      int packetSize = getPacketSize(buffer, offset, length);
+
+      if (packetSize > 0) {
+        int next = offset + packetSize;
+
+        // Either the next packet header must be valid as well, or this packet must end exactly at the end of the file.
+        if (getPacketSize(buffer, next, length) > 0 || (endOfFile && next == length)) {
+          return offset;
+        }
+      }
+    }
+
+    return -1;
+  }
+
+  private static int getPacketSize(byte[] buffer, int offset, int length) {
+    if (offset + HEADER_SIZE > length) {
+      return 0;
+    } else if ((buffer[offset] & 0xFF) != 0xFF || (buffer[offset + 1] & 0xF6) != 0xF0) {
+      return 0;
+    } else if (AdtsStreamReader.sampleRateMapping[(buffer[offset + 2] >> 2) & 0x0F] < 0) {
+      return 0;
+    } else if (((buffer[offset + 2] & 0x01) << 2 | (buffer[offset + 3] & 0xC0) >> 6) == 0) {
+      return 0;
+    } else if ((buffer[offset + 6] & 0x03) != 0) {
+      return 0;
+    }
+
+    int packetSize = (buffer[offset + 3] & 0x03) << 11 | (buffer[offset + 4] & 0xFF) << 3 |
+        (buffer[offset + 5] & 0xFF) >> 5;
+
+    int headerSize = (buffer[offset + 1] & 0x01) != 0 ? HEADER_SIZE : HEADER_SIZE + 2;
+    return packetSize >= headerSize ? packetSize : 0;
+  }
+}
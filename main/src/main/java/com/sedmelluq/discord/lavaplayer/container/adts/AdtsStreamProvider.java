@@ -26,6 +26,7 @@ public class AdtsStreamProvider {
   private ShortBuffer outputBuffer;
   private AdtsPacketHeader previousHeader;
   private AudioPipeline downstream;
+  private AdtsStreamSeeker seeker;
   private Long requestedTimecode;
   private Long providedTimecode;
 
@@ -53,6 +54,13 @@ public class AdtsStreamProvider {
     this.providedTimecode = providedTimecode;
   }
 
+  /**
+   * @param seeker Seeker used to reposition the input stream, null if the stream cannot seek
+   */
+  public void setSeeker(AdtsStreamSeeker seeker) {
+    this.seeker = seeker;
+  }
+
   /**
    * Provides frames to the frame consumer.
    * @throws InterruptedException When interrupted externally (or for seek/stop).
@@ -86,6 +94,32 @@ public class AdtsStreamProvider {
     }
   }
 
+  /**
+   * Seeks to the specified timecode using the seeker of this provider.
+   *
+   * @param timecode The timecode in milliseconds
+   */
+  public void seekToTimecode(long timecode) {
+    try {
+      long providedTimecode = seeker.seekToTimecode(timecode);
+      streamReader.nextPacket();
+
+      if (previousHeader != null) {
+        // Configuring the decoder again discards its state from the packets before the seek.
+        decoder.configure(previousHeader.profile, previousHeader.sampleRate, previousHeader.channels);
+      }
+
+      if (downstream != null) {
+        downstream.seekPerformed(timecode, providedTimecode);
+      } else {
+        requestedTimecode = timecode;
+        this.providedTimecode = providedTimecode;
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   private void decodeAndSend(ByteBuffer inputBuffer) throws InterruptedException {
     decoder.fill(inputBuffer);
 
@@ -15,7 +15,7 @@ public class AdtsStreamReader {
   private static final int HEADER_BASE_SIZE = 7;
   private static final int INVALID_VALUE = -1;
 
-  private static final int[] sampleRateMapping = new int[] {
+  static final int[] sampleRateMapping = new int[] {
       96000, 88200, 64000, 48000, 44100, 32000, 24000, 22050,
       16000, 12000, 11025, 8000, 7350, INVALID_VALUE, INVALID_VALUE, INVALID_VALUE
   };
@@ -0,0 +1,18 @@
+package com.sedmelluq.discord.lavaplayer.container.adts;
+
+import java.io.IOException;
+
+/**
+ * Repositions the input of an ADTS stream for seeking.
+ */
+public interface AdtsStreamSeeker {
+  /**
+   * Repositions the input to the start of a packet at or before the requested timecode. Anything already read from the
+   * input is discarded.
+   *
+   * @param timecode The timecode in milliseconds to seek to
+   * @return The timecode in milliseconds at which the input continues after the seek.
+   * @throws IOException On read error.
+   */
+  long seekToTimecode(long timecode) throws IOException;
+}
@@ -4,9 +4,11 @@ import com.sedmelluq.discord.lavaplayer.filter.AudioPipeline;
 import com.sedmelluq.discord.lavaplayer.filter.AudioPipelineFactory;
 import com.sedmelluq.discord.lavaplayer.filter.PcmFormat;
 import com.sedmelluq.discord.lavaplayer.filter.volume.AudioFrameVolumeChanger;
+import com.sedmelluq.discord.lavaplayer.filter.volume.PcmVolumeProcessor;
 import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 import com.sedmelluq.discord.lavaplayer.format.OpusAudioDataFormat;
 import com.sedmelluq.discord.lavaplayer.natives.opus.OpusDecoder;
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusEncoder;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
 import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
 import org.slf4j.Logger;
@@ -20,6 +22,10 @@ import java.nio.ShortBuffer;
  * A router for opus packets to the output specified by an audio processing context. It automatically detects if the
  * packets can go clean through to the output without any decoding and encoding steps on each packet and rebuilds the
  * pipeline of the output if necessary.
+ *
+ * When the packets are already in the output format and only the volume differs, they are decoded, have the volume
+ * applied and are encoded again directly, without a pipeline. Volume 0 does not need even that, as frames with volume 0
+ * are replaced with silence by the frame buffers anyway.
  */
 public class OpusPacketRouter {
   private static final Logger log = LoggerFactory.getLogger(OpusPacketRouter.class);
@@ -33,10 +39,14 @@ public class OpusPacketRouter {
   private long currentTimecode;
   private OpusDecoder opusDecoder;
   private AudioPipeline downstream;
+  private OpusEncoder volumeEncoder;
+  private PcmVolumeProcessor volumeProcessor;
+  private ByteBuffer encodedOutput;
   private ByteBuffer directInput;
   private ShortBuffer frameBuffer;
   private AudioDataFormat inputFormat;
   private int lastFrameSize;
+  private int lastVolume;
 
   /**
    * @param context Configuration and output information for processing
@@ -50,13 +60,15 @@ public class OpusPacketRouter {
     this.headerBytes = new byte[2];
     this.offeredFrame = new MutableAudioFrame();
     this.lastFrameSize = 0;
+    this.lastVolume = 100;
 
     offeredFrame.setVolume(100);
     offeredFrame.setFormat(context.outputFormat);
   }
 
   /**
-   * Notify downstream handlers about a seek.
+   * Notify downstream handlers about a seek. The decoder is reset, as its state from before the seek does not match
+   * the packets after it.
    *
    * @param requestedTimecode Timecode in milliseconds to which the seek was requested to
    * @param providedTimecode Timecode in milliseconds to which the seek was actually performed to
@@ -64,6 +76,11 @@ public class OpusPacketRouter {
   public void seekPerformed(long requestedTimecode, long providedTimecode) {
     currentTimecode = providedTimecode;
 
+    if (opusDecoder != null) {
+      opusDecoder.close();
+      opusDecoder = new OpusDecoder(inputFrequency, inputChannels);
+    }
+
     if (downstream != null) {
       downstream.seekPerformed(requestedTimecode, providedTimecode);
     }
@@ -90,8 +107,10 @@ public class OpusPacketRouter {
     if (frameSize != 0) {
       checkDecoderNecessity();
 
-      if (opusDecoder != null) {
+      if (downstream != null) {
         passDownstream(buffer, frameSize);
+      } else if (volumeEncoder != null) {
+        passWithVolume(buffer, frameSize);
       } else {
         passThrough(buffer);
       }
@@ -130,6 +149,25 @@ public class OpusPacketRouter {
   }
 
   private void passDownstream(ByteBuffer buffer, int frameSize) throws InterruptedException {
+    decodeFrame(buffer, frameSize);
+    downstream.process(frameBuffer);
+  }
+
+  private void passWithVolume(ByteBuffer buffer, int frameSize) throws InterruptedException {
+    int volume = context.playerOptions.volumeLevel.get();
+
+    decodeFrame(buffer, frameSize);
+    volumeProcessor.applyVolume(100, volume, frameBuffer);
+    volumeEncoder.encode(frameBuffer, frameSize, encodedOutput);
+
+    offeredFrame.setTimecode(currentTimecode);
+    offeredFrame.setVolume(volume);
+    offeredFrame.setBuffer(encodedOutput);
+
+    context.frameBuffer.consume(offeredFrame);
+  }
+
+  private void decodeFrame(ByteBuffer buffer, int frameSize) {
     ByteBuffer nativeBuffer;
 
     if (!buffer.isDirect()) {
@@ -154,34 +192,57 @@ public class OpusPacketRouter {
     frameBuffer.limit(frameSize);
 
     opusDecoder.decode(nativeBuffer, frameBuffer);
-    downstream.process(frameBuffer);
   }
 
   private void passThrough(ByteBuffer buffer) throws InterruptedException {
+    // Volume 0 is stored in the frame with volume 100 buffer, so the packet can be passed on as it is.
     offeredFrame.setTimecode(currentTimecode);
+    offeredFrame.setVolume(context.playerOptions.volumeLevel.get() == 0 ? 0 : 100);
     offeredFrame.setBuffer(buffer);
 
     context.frameBuffer.consume(offeredFrame);
   }
 
   private void checkDecoderNecessity() {
-    if (AudioPipelineFactory.isProcessingRequired(context, inputFormat)) {
-      if (opusDecoder == null) {
+    int volume = context.playerOptions.volumeLevel.get();
+    boolean modeChanged = false;
+
+    if (AudioPipelineFactory.isPipelineRequired(context, inputFormat)) {
+      if (downstream == null) {
         log.debug("Enabling reencode mode on opus track.");
 
+        destroyDecoder();
         initialiseDecoder();
-
-        AudioFrameVolumeChanger.apply(context);
+        modeChanged = true;
       }
-    } else {
-      if (opusDecoder != null) {
-        log.debug("Enabling passthrough mode on opus track.");
+    } else if (volume != 100 && volume != 0) {
+      if (volumeEncoder == null) {
+        log.debug("Enabling volume mode on opus track.");
 
         destroyDecoder();
-
-        AudioFrameVolumeChanger.apply(context);
+        initialiseVolumeEncoder();
+        modeChanged = true;
       }
+    } else if (opusDecoder != null) {
+      log.debug("Enabling passthrough mode on opus track.");
+
+      destroyDecoder();
+      modeChanged = true;
     }
+
+    // The pipeline applies volume changes to the buffered frames by itself.
+    if (modeChanged || (downstream == null && volume != lastVolume)) {
+      AudioFrameVolumeChanger.apply(context);
+    }
+
+    lastVolume = volume;
+  }
+
+  private void initialiseVolumeEncoder() {
+    opusDecoder = new OpusDecoder(inputFrequency, inputChannels);
+    volumeEncoder = new OpusEncoder(inputFrequency, inputChannels, context.configuration.getOpusEncodingQuality());
+    volumeProcessor = new PcmVolumeProcessor(100);
+    encodedOutput = ByteBuffer.allocateDirect(context.outputFormat.maximumChunkSize());
   }
 
   private void initialiseDecoder() {
@@ -209,6 +270,13 @@ public class OpusPacketRouter {
       downstream = null;
     }
 
+    if (volumeEncoder != null) {
+      volumeEncoder.close();
+      volumeEncoder = null;
+    }
+
+    volumeProcessor = null;
+    encodedOutput = null;
     directInput = null;
     frameBuffer = null;
   }
@@ -1,10 +1,10 @@
 package com.sedmelluq.discord.lavaplayer.container.flac;
 
-import com.sedmelluq.discord.lavaplayer.container.flac.frame.FlacFrameReader;
+import com.sedmelluq.discord.lavaplayer.container.flac.frame.FlacFrameDecoder;
+import com.sedmelluq.discord.lavaplayer.container.flac.frame.FlacFrameDecoderFactory;
 import com.sedmelluq.discord.lavaplayer.filter.AudioPipeline;
 import com.sedmelluq.discord.lavaplayer.filter.AudioPipelineFactory;
 import com.sedmelluq.discord.lavaplayer.filter.PcmFormat;
-import com.sedmelluq.discord.lavaplayer.tools.io.BitStreamReader;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
 
@@ -17,9 +17,7 @@ public class FlacTrackProvider {
   private final FlacTrackInfo info;
   private final SeekableInputStream inputStream;
   private final AudioPipeline downstream;
-  private final BitStreamReader bitStreamReader;
-  private final int[] decodingBuffer;
-  private final int[][] rawSampleBuffers;
+  private final FlacFrameDecoder frameDecoder;
   private final short[][] sampleBuffers;
 
   /**
@@ -32,15 +30,8 @@ public class FlacTrackProvider {
     this.inputStream = inputStream;
     this.downstream = AudioPipelineFactory.create(context,
         new PcmFormat(info.stream.channelCount, info.stream.sampleRate));
-    this.bitStreamReader = new BitStreamReader(inputStream);
-    this.decodingBuffer = new int[FlacFrameReader.TEMPORARY_BUFFER_SIZE];
-    this.rawSampleBuffers = new int[info.stream.channelCount][];
-    this.sampleBuffers = new short[info.stream.channelCount][];
-
-    for (int i = 0; i < rawSampleBuffers.length; i++) {
-      rawSampleBuffers[i] = new int[info.stream.maximumBlockSize];
-      sampleBuffers[i] = new short[info.stream.maximumBlockSize];
-    }
+    this.frameDecoder = FlacFrameDecoderFactory.create(info.stream, inputStream);
+    this.sampleBuffers = new short[info.stream.channelCount][info.stream.maximumBlockSize];
   }
 
   /**
@@ -51,7 +42,7 @@ public class FlacTrackProvider {
     try {
       int sampleCount;
 
-      while ((sampleCount = readFlacFrame()) != 0) {
+      while ((sampleCount = frameDecoder.decodeFrame(sampleBuffers)) != 0) {
         downstream.process(sampleBuffers, 0, sampleCount);
       }
     } catch (IOException e) {
@@ -59,10 +50,6 @@ public class FlacTrackProvider {
     }
   }
 
-  private int readFlacFrame() throws IOException {
-    return FlacFrameReader.readFlacFrame(inputStream, bitStreamReader, info.stream, rawSampleBuffers, sampleBuffers, decodingBuffer);
-  }
-
   /**
    * Seeks to the specified timecode.
    * @param timecode The timecode in milliseconds
@@ -71,6 +58,7 @@ public class FlacTrackProvider {
     try {
       FlacSeekPoint seekPoint = findSeekPointForTime(timecode);
       inputStream.seek(info.firstFramePosition + seekPoint.byteOffset);
+      frameDecoder.reset();
       downstream.seekPerformed(timecode, seekPoint.sampleIndex * 1000 / info.stream.sampleRate);
     } catch (IOException e) {
       throw new RuntimeException(e);
@@ -107,6 +95,7 @@ public class FlacTrackProvider {
    * Free all resources associated to processing the track.
    */
   public void close() {
+    frameDecoder.close();
     downstream.close();
   }
 }
@@ -0,0 +1,196 @@
+package com.sedmelluq.discord.lavaplayer.container.flac.frame;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.BitStreamReader;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bit stream reader for FLAC frames. Reads the underlying stream in chunks into a byte array and takes bits from a
+ * 64-bit cache word, so that most reads (including whole Rice codes) only need a few shifts. As bytes are read from the
+ * underlying stream ahead of the bits currently being decoded, this reader must be the only one reading from that
+ * stream, and {@link #reset()} must be called after the position of the stream is changed.
+ */
+public class FlacBitStreamReader extends BitStreamReader {
+  private static final int BUFFER_SIZE = 4096;
+  private static final int CACHE_FILL_LIMIT = 48;
+
+  private final InputStream stream;
+  private final byte[] buffer;
+  private int position;
+  private int limit;
+  private long cache;
+  private int cacheBits;
+
+  /**
+   * @param stream The underlying stream
+   */
+  public FlacBitStreamReader(InputStream stream) {
+    super(stream);
+
+    this.stream = stream;
+    this.buffer = new byte[BUFFER_SIZE];
+  }
+
+  /**
+   * Discards all buffered bytes, the next read continues from the current position of the underlying stream.
+   */
+  public void reset() {
+    position = 0;
+    limit = 0;
+    cache = 0;
+    cacheBits = 0;
+  }
+
+  /**
+   * Reads one byte, the reader must be aligned on a byte.
+   *
+   * @return The byte, or -1 on EOF
+   * @throws IOException On read error
+   */
+  public int readAlignedByte() throws IOException {
+    if (cacheBits < 8 && !fillCache()) {
+      return -1;
+    }
+
+    return (int) takeBits(8);
+  }
+
+  @Override
+  public long asLong(int bitsNeeded) throws IOException {
+    if (bitsNeeded > 32) {
+      return (asLong(bitsNeeded - 32) << 32) | asLong(32);
+    } else if (bitsNeeded == 0) {
+      return 0;
+    }
+
+    ensureBits(bitsNeeded);
+    return takeBits(bitsNeeded);
+  }
+
+  @Override
+  public long asSignedLong(int bitsNeeded) throws IOException {
+    if (bitsNeeded == 0) {
+      return 0;
+    }
+
+    return (asLong(bitsNeeded) << (64 - bitsNeeded)) >> (64 - bitsNeeded);
+  }
+
+  @Override
+  public int asInteger(int bitsNeeded) throws IOException {
+    return Math.toIntExact(asLong(bitsNeeded));
+  }
+
+  @Override
+  public int asSignedInteger(int bitsNeeded) throws IOException {
+    return Math.toIntExact(asSignedLong(bitsNeeded));
+  }
+
+  @Override
+  public int readAllZeroes() throws IOException {
+    int count = 0;
+
+    while (true) {
+      ensureBits(1);
+
+      // Bits after the cached ones are always zero, so this counts at most the cached bits.
+      int zeroes = Long.numberOfLeadingZeros(cache);
+
+      if (zeroes < cacheBits) {
+        cache <<= zeroes + 1;
+        cacheBits -= zeroes + 1;
+        return count + zeroes;
+      }
+
+      count += cacheBits;
+      cache = 0;
+      cacheBits = 0;
+    }
+  }
+
+  @Override
+  public int readRemainingBits() {
+    int chunk = cacheBits & 0x07;
+    return chunk > 0 ? (int) takeBits(chunk) : 0;
+  }
+
+  /**
+   * Reads a block of Rice coded signed values.
+   *
+   * @param output Buffer to write the values to
+   * @param offset Index of the first value in the buffer
+   * @param endOffset Index after the last value in the buffer
+   * @param parameter Rice parameter
+   * @throws IOException On read error
+   */
+  public void readRiceSignedBlock(int[] output, int offset, int endOffset, int parameter) throws IOException {
+    for (int i = offset; i < endOffset; i++) {
+      if (cacheBits < 32) {
+        fillCache();
+      }
+
+      int zeroes = Long.numberOfLeadingZeros(cache);
+      int value;
+
+      if (zeroes + 1 + parameter <= cacheBits) {
+        // Fast path, the whole code is in the cache.
+        long remaining = cache << (zeroes + 1);
+        int lowBits = parameter > 0 ? (int) (remaining >>> (64 - parameter)) : 0;
+
+        value = (zeroes << parameter) | lowBits;
+        cache = remaining << parameter;
+        cacheBits -= zeroes + 1 + parameter;
+      } else {
+        value = (readAllZeroes() << parameter) | asInteger(parameter);
+      }
+
+      output[i] = (value >> 1) ^ -(value & 1);
+    }
+  }
+
+  private long takeBits(int count) {
+    long value = cache >>> (64 - count);
+    cache <<= count;
+    cacheBits -= count;
+    return value;
+  }
+
+  private void ensureBits(int count) throws IOException {
+    while (cacheBits < count) {
+      if (!fillCache()) {
+        throw new EOFException("Bit stream needs more bytes");
+      }
+    }
+  }
+
+  private boolean fillCache() throws IOException {
+    if (position == limit && !fillBuffer()) {
+      return false;
+    }
+
+    while (cacheBits <= CACHE_FILL_LIMIT && position < limit) {
+      cache |= (buffer[position++] & 0xFFL) << (56 - cacheBits);
+      cacheBits += 8;
+    }
+
+    return true;
+  }
+
+  private boolean fillBuffer() throws IOException {
+    int length;
+
+    do {
+      length = stream.read(buffer, 0, buffer.length);
+    } while (length == 0);
+
+    if (length < 0) {
+      return false;
+    }
+
+    position = 0;
+    limit = length;
+    return true;
+  }
+}
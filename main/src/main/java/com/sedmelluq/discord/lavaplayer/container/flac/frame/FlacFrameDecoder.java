@@ -0,0 +1,29 @@
+package com.sedmelluq.discord.lavaplayer.container.flac.frame;
+
+import java.io.IOException;
+
+/**
+ * Decoder for the frames of a FLAC stream, reading them from an input stream which is given to it on creation. As the
+ * decoder may read ahead of the frame it is decoding, it must be the only one reading from that stream, and
+ * {@link #reset()} must be called after the position of the stream is changed.
+ */
+public interface FlacFrameDecoder {
+  /**
+   * Decodes the next frame into 16-bit samples.
+   *
+   * @param sampleBuffers Output buffers for each channel, at least as long as the maximum block size of the stream
+   * @return The number of samples written to each channel, 0 on the end of the stream
+   * @throws IOException On read error
+   */
+  int decodeFrame(short[][] sampleBuffers) throws IOException;
+
+  /**
+   * Discards all bytes read ahead from the input stream.
+   */
+  void reset();
+
+  /**
+   * Frees the resources of the decoder.
+   */
+  void close();
+}
@@ -0,0 +1,102 @@
+package com.sedmelluq.discord.lavaplayer.container.flac.frame;
+
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacStreamInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Selects the FLAC frame decoder to use. The native decoder is used when the connector library with FLAC support can be
+ * loaded, otherwise the Java decoder is used.
+ *
+ * The released lavaplayer-natives 1.3.13 do not contain FLAC support yet, so with them the Java decoder is always used.
+ * The native decoder only becomes active with natives built from this repository or a later release of them.
+ */
+public class FlacFrameDecoderFactory {
+  private static final Logger log = LoggerFactory.getLogger(FlacFrameDecoderFactory.class);
+
+  private static final Object probeLock = new Object();
+  private static volatile Boolean nativeAvailable;
+
+  /**
+   * @param streamInfo Stream info of the stream
+   * @param inputStream Input stream to read the frames from
+   * @return Native frame decoder if available, Java frame decoder otherwise
+   */
+  public static FlacFrameDecoder create(FlacStreamInfo streamInfo, InputStream inputStream) {
+    if (isNativeAvailable()) {
+      try {
+        return new FlacNativeFrameDecoder(streamInfo, inputStream);
+      } catch (RuntimeException e) {
+        // Only affects this stream, for example if libFLAC does not accept its stream info.
+        log.debug("Native FLAC decoder could not be created for a stream, using the Java decoder for it: {}",
+            e.getMessage());
+      }
+    }
+
+    return new FlacJavaFrameDecoder(streamInfo, inputStream);
+  }
+
+  /**
+   * @return True if the connector library with FLAC support can be loaded. Checked only once, unless the check fails
+   *         for some other reason than the library or its FLAC support missing.
+   */
+  public static boolean isNativeAvailable() {
+    Boolean available = nativeAvailable;
+
+    if (available == null) {
+      synchronized (probeLock) {
+        available = nativeAvailable;
+
+        if (available == null) {
+          available = probeNative();
+
+          if (available == null) {
+            return false;
+          }
+
+          nativeAvailable = available;
+        }
+      }
+    }
+
+    return available;
+  }
+
+  private static Boolean probeNative() {
+    try {
+      new FlacNativeFrameDecoder(createProbeStreamInfo(), new ByteArrayInputStream(new byte[0])).close();
+      log.debug("Using the native FLAC decoder.");
+      return true;
+    } catch (LinkageError e) {
+      // The connector library is a build without FLAC support, such as lavaplayer-natives 1.3.13.
+      log.debug("Native FLAC decoder is not available, using the Java decoder: {}", e.toString());
+      return false;
+    } catch (RuntimeException e) {
+      if (e.getCause() instanceof LinkageError) {
+        // The connector library could not be loaded at all, which the library loader has already reported.
+        log.debug("Native FLAC decoder is not available, using the Java decoder: {}", e.getCause().toString());
+        return false;
+      }
+
+      // Anything else may not happen the next time, so it is not remembered.
+      log.debug("Native FLAC decoder could not be created, using the Java decoder: {}", e.toString());
+      return null;
+    }
+  }
+
+  private static FlacStreamInfo createProbeStreamInfo() {
+    // 44100Hz 16-bit stereo with 4096 sample blocks, only used to check that a decoder can be created.
+    byte[] streamInfo = new byte[FlacStreamInfo.LENGTH];
+    streamInfo[0] = 0x10;
+    streamInfo[2] = 0x10;
+    streamInfo[10] = 0x0A;
+    streamInfo[11] = (byte) 0xC4;
+    streamInfo[12] = 0x42;
+    streamInfo[13] = (byte) 0xF0;
+
+    return new FlacStreamInfo(streamInfo, false);
+  }
+}
@@ -1,11 +1,8 @@
 package com.sedmelluq.discord.lavaplayer.container.flac.frame;
 
-import com.sedmelluq.discord.lavaplayer.container.flac.frame.FlacFrameInfo.ChannelDelta;
 import com.sedmelluq.discord.lavaplayer.container.flac.FlacStreamInfo;
-import com.sedmelluq.discord.lavaplayer.tools.io.BitStreamReader;
 
 import java.io.IOException;
-import java.io.InputStream;
 
 /**
  * Handles reading one FLAC audio frame.
@@ -17,8 +14,7 @@ public class FlacFrameReader {
    * Reads one frame, returning the number of samples written to sampleBuffers. A return value of 0 indicates that EOF
    * was reached in the frame, which happens when the track ends.
    *
-   * @param inputStream Input stream for reading the track
-   * @param reader Bit stream reader for the same underlying stream as inputStream
+   * @param reader Bit stream reader for the track, the only reader of its underlying stream
    * @param streamInfo Global stream information
    * @param rawSampleBuffers Intermediate sample decoding buffers. FlacStreamInfo#channelCount integer buffers of size
    *                         at least FlacStreamInfo#maximumBlockSize.
@@ -29,9 +25,10 @@ public class FlacFrameReader {
    * @return The number of samples read, zero on EOF
    * @throws IOException On read error
    */
-  public static int readFlacFrame(InputStream inputStream, BitStreamReader reader, FlacStreamInfo streamInfo,
-                                  int[][] rawSampleBuffers, short[][] sampleBuffers, int[] temporaryBuffer) throws IOException {
-    FlacFrameInfo frameInfo = findAndParseFrameHeader(inputStream, reader, streamInfo);
+  public static int readFlacFrame(FlacBitStreamReader reader, FlacStreamInfo streamInfo, int[][] rawSampleBuffers,
+                                  short[][] sampleBuffers, int[] temporaryBuffer) throws IOException {
+
+    FlacFrameInfo frameInfo = findAndParseFrameHeader(reader, streamInfo);
 
     if (frameInfo == null) {
       return 0;
@@ -44,28 +41,28 @@ public class FlacFrameReader {
     reader.readRemainingBits();
     reader.asInteger(16);
 
-    applyChannelDelta(frameInfo.channelDelta, rawSampleBuffers, frameInfo.sampleCount);
-    convertToShortPcm(streamInfo, frameInfo.sampleCount, rawSampleBuffers, sampleBuffers);
+    convertToShortPcm(streamInfo, frameInfo, rawSampleBuffers, sampleBuffers);
 
     return frameInfo.sampleCount;
   }
 
-  private static FlacFrameInfo findAndParseFrameHeader(InputStream inputStream, BitStreamReader reader,
-                                                       FlacStreamInfo streamInfo) throws IOException {
+  private static FlacFrameInfo findAndParseFrameHeader(FlacBitStreamReader reader, FlacStreamInfo streamInfo)
+      throws IOException {
+
     int blockingStrategy;
 
-    if ((blockingStrategy = skipToFrameSync(inputStream)) == -1) {
+    if ((blockingStrategy = skipToFrameSync(reader)) == -1) {
       return null;
     }
 
     return FlacFrameHeaderReader.readFrameHeader(reader, streamInfo, blockingStrategy == 1);
   }
 
-  private static int skipToFrameSync(InputStream inputStream) throws IOException {
+  private static int skipToFrameSync(FlacBitStreamReader reader) throws IOException {
     int lastByte = -1;
     int currentByte;
 
-    while ((currentByte = inputStream.read()) != -1) {
+    while ((currentByte = reader.readAlignedByte()) != -1) {
       if (lastByte == 0xFF && (currentByte & 0xFE) == 0xF8) {
         return currentByte & 0x01;
       }
@@ -75,76 +72,83 @@ public class FlacFrameReader {
     return -1;
   }
 
-  private static void applyChannelDelta(ChannelDelta channelDelta, int[][] rawSampleBuffers, int sampleCount) {
-    switch (channelDelta) {
+  private static void convertToShortPcm(FlacStreamInfo streamInfo, FlacFrameInfo frameInfo, int[][] rawSampleBuffers,
+                                        short[][] sampleBuffers) {
+
+    // One of these is always zero, shifting by both converts the samples to 16 bits in either direction.
+    int shiftLeft = Math.max(16 - streamInfo.bitsPerSample, 0);
+    int shiftRight = Math.max(streamInfo.bitsPerSample - 16, 0);
+    int sampleCount = frameInfo.sampleCount;
+
+    switch (frameInfo.channelDelta) {
       case LEFT_SIDE:
-        applyLeftSideDelta(rawSampleBuffers, sampleCount);
+        convertLeftSide(rawSampleBuffers, sampleBuffers, sampleCount, shiftLeft, shiftRight);
         break;
       case RIGHT_SIDE:
-        applyRightSideDelta(rawSampleBuffers, sampleCount);
+        convertRightSide(rawSampleBuffers, sampleBuffers, sampleCount, shiftLeft, shiftRight);
         break;
       case MID_SIDE:
-        applyMidDelta(rawSampleBuffers, sampleCount);
+        convertMidSide(rawSampleBuffers, sampleBuffers, sampleCount, shiftLeft, shiftRight);
         break;
       case NONE:
       default:
+        for (int channel = 0; channel < streamInfo.channelCount; channel++) {
+          convertIndependent(rawSampleBuffers[channel], sampleBuffers[channel], sampleCount, shiftLeft, shiftRight);
+        }
         break;
     }
   }
 
-  private static void applyLeftSideDelta(int[][] rawSampleBuffers, int sampleCount) {
+  private static void convertIndependent(int[] rawSamples, short[] samples, int sampleCount, int shiftLeft,
+                                         int shiftRight) {
+
     for (int i = 0; i < sampleCount; i++) {
-      rawSampleBuffers[1][i] = rawSampleBuffers[0][i] - rawSampleBuffers[1][i];
+      samples[i] = (short) ((rawSamples[i] << shiftLeft) >> shiftRight);
     }
   }
 
-  private static void applyRightSideDelta(int[][] rawSampleBuffers, int sampleCount) {
+  private static void convertLeftSide(int[][] rawSampleBuffers, short[][] sampleBuffers, int sampleCount, int shiftLeft,
+                                      int shiftRight) {
+
+    int[] left = rawSampleBuffers[0];
+    int[] side = rawSampleBuffers[1];
+    short[] leftOutput = sampleBuffers[0];
+    short[] rightOutput = sampleBuffers[1];
+
     for (int i = 0; i < sampleCount; i++) {
-      rawSampleBuffers[0][i] += rawSampleBuffers[1][i];
+      leftOutput[i] = (short) ((left[i] << shiftLeft) >> shiftRight);
+      rightOutput[i] = (short) (((left[i] - side[i]) << shiftLeft) >> shiftRight);
     }
   }
 
-  private static void applyMidDelta(int[][] rawSampleBuffers, int sampleCount) {
-    for (int i = 0; i < sampleCount; i++) {
-      int delta = rawSampleBuffers[1][i];
-      int middle = (rawSampleBuffers[0][i] << 1) + (delta & 1);
+  private static void convertRightSide(int[][] rawSampleBuffers, short[][] sampleBuffers, int sampleCount,
+                                       int shiftLeft, int shiftRight) {
 
-      rawSampleBuffers[0][i] = (middle + delta) >> 1;
-      rawSampleBuffers[1][i] = (middle - delta) >> 1;
-    }
-  }
+    int[] side = rawSampleBuffers[0];
+    int[] right = rawSampleBuffers[1];
+    short[] leftOutput = sampleBuffers[0];
+    short[] rightOutput = sampleBuffers[1];
 
-  private static void convertToShortPcm(FlacStreamInfo streamInfo, int sampleCount, int[][] rawSampleBuffers, short[][] sampleBuffers) {
-    if (streamInfo.bitsPerSample < 16) {
-      increaseSampleSize(streamInfo, sampleCount, rawSampleBuffers, sampleBuffers);
-    } else if (streamInfo.bitsPerSample > 16) {
-      decreaseSampleSize(streamInfo, sampleCount, rawSampleBuffers, sampleBuffers);
-    } else {
-      for (int channel = 0; channel < streamInfo.channelCount; channel++) {
-        for (int i = 0; i < sampleCount; i++) {
-          sampleBuffers[channel][i] = (short) rawSampleBuffers[channel][i];
-        }
-      }
+    for (int i = 0; i < sampleCount; i++) {
+      leftOutput[i] = (short) (((side[i] + right[i]) << shiftLeft) >> shiftRight);
+      rightOutput[i] = (short) ((right[i] << shiftLeft) >> shiftRight);
     }
   }
 
-  private static void increaseSampleSize(FlacStreamInfo streamInfo, int sampleCount, int[][] rawSampleBuffers, short[][] sampleBuffers) {
-    int shiftLeft = 16 - streamInfo.bitsPerSample;
+  private static void convertMidSide(int[][] rawSampleBuffers, short[][] sampleBuffers, int sampleCount, int shiftLeft,
+                                     int shiftRight) {
 
-    for (int channel = 0; channel < streamInfo.channelCount; channel++) {
-      for (int i = 0; i < sampleCount; i++) {
-        sampleBuffers[channel][i] = (short) (rawSampleBuffers[channel][i] << shiftLeft);
-      }
-    }
-  }
+    int[] mid = rawSampleBuffers[0];
+    int[] side = rawSampleBuffers[1];
+    short[] leftOutput = sampleBuffers[0];
+    short[] rightOutput = sampleBuffers[1];
 
-  private static void decreaseSampleSize(FlacStreamInfo streamInfo, int sampleCount, int[][] rawSampleBuffers, short[][] sampleBuffers) {
-    int shiftRight = streamInfo.bitsPerSample - 16;
+    for (int i = 0; i < sampleCount; i++) {
+      int delta = side[i];
+      int middle = (mid[i] << 1) + (delta & 1);
 
-    for (int channel = 0; channel < streamInfo.channelCount; channel++) {
-      for (int i = 0; i < sampleCount; i++) {
-        sampleBuffers[channel][i] = (short) (rawSampleBuffers[channel][i] >> shiftRight);
-      }
+      leftOutput[i] = (short) ((((middle + delta) >> 1) << shiftLeft) >> shiftRight);
+      rightOutput[i] = (short) ((((middle - delta) >> 1) << shiftLeft) >> shiftRight);
     }
   }
 }
@@ -0,0 +1,42 @@
+package com.sedmelluq.discord.lavaplayer.container.flac.frame;
+
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacStreamInfo;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * FLAC frame decoder implemented in Java, always available.
+ */
+public class FlacJavaFrameDecoder implements FlacFrameDecoder {
+  private final FlacStreamInfo streamInfo;
+  private final FlacBitStreamReader bitStreamReader;
+  private final int[] decodingBuffer;
+  private final int[][] rawSampleBuffers;
+
+  /**
+   * @param streamInfo Stream info of the stream
+   * @param inputStream Input stream to read the frames from
+   */
+  public FlacJavaFrameDecoder(FlacStreamInfo streamInfo, InputStream inputStream) {
+    this.streamInfo = streamInfo;
+    this.bitStreamReader = new FlacBitStreamReader(inputStream);
+    this.decodingBuffer = new int[FlacFrameReader.TEMPORARY_BUFFER_SIZE];
+    this.rawSampleBuffers = new int[streamInfo.channelCount][streamInfo.maximumBlockSize];
+  }
+
+  @Override
+  public int decodeFrame(short[][] sampleBuffers) throws IOException {
+    return FlacFrameReader.readFlacFrame(bitStreamReader, streamInfo, rawSampleBuffers, sampleBuffers, decodingBuffer);
+  }
+
+  @Override
+  public void reset() {
+    bitStreamReader.reset();
+  }
+
+  @Override
+  public void close() {
+    // Nothing to free.
+  }
+}
@@ -0,0 +1,57 @@
+package com.sedmelluq.discord.lavaplayer.container.flac.frame;
+
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacStreamInfo;
+import com.sedmelluq.discord.lavaplayer.natives.flac.FlacDecoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * FLAC frame decoder which uses the native libFLAC decoder. Produces the same samples as {@link FlacJavaFrameDecoder}.
+ */
+public class FlacNativeFrameDecoder implements FlacFrameDecoder {
+  private final FlacDecoder decoder;
+
+  /**
+   * @param streamInfo Stream info of the stream
+   * @param inputStream Input stream to read the frames from
+   */
+  public FlacNativeFrameDecoder(FlacStreamInfo streamInfo, InputStream inputStream) {
+    this.decoder = new FlacDecoder(buildStreamInfoBlock(streamInfo), streamInfo.channelCount,
+        streamInfo.bitsPerSample, streamInfo.maximumBlockSize, inputStream);
+  }
+
+  @Override
+  public int decodeFrame(short[][] sampleBuffers) throws IOException {
+    return decoder.decodeFrame(sampleBuffers);
+  }
+
+  @Override
+  public void reset() {
+    decoder.reset();
+  }
+
+  @Override
+  public void close() {
+    decoder.close();
+  }
+
+  private static byte[] buildStreamInfoBlock(FlacStreamInfo streamInfo) {
+    // Layout from https://xiph.org/flac/format.html#metadata_block_streaminfo
+    ByteBuffer buffer = ByteBuffer.allocate(FlacStreamInfo.LENGTH);
+    buffer.putShort((short) streamInfo.minimumBlockSize);
+    buffer.putShort((short) streamInfo.maximumBlockSize);
+    putMedium(buffer, streamInfo.minimumFrameSize);
+    putMedium(buffer, streamInfo.maximumFrameSize);
+    buffer.putLong((long) streamInfo.sampleRate << 44 | (long) (streamInfo.channelCount - 1) << 41 |
+        (long) (streamInfo.bitsPerSample - 1) << 36 | streamInfo.sampleCount);
+    buffer.put(streamInfo.md5Signature);
+    return buffer.array();
+  }
+
+  private static void putMedium(ByteBuffer buffer, int value) {
+    buffer.put((byte) (value >> 16));
+    buffer.putShort((short) value);
+  }
+}
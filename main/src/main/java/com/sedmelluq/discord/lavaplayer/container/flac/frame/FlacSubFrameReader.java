@@ -1,7 +1,6 @@
 package com.sedmelluq.discord.lavaplayer.container.flac.frame;
 
 import com.sedmelluq.discord.lavaplayer.container.flac.FlacStreamInfo;
-import com.sedmelluq.discord.lavaplayer.tools.io.BitStreamReader;
 
 import java.io.IOException;
 
@@ -24,7 +23,7 @@ public class FlacSubFrameReader {
    * @param temporaryBuffer Temporary working buffer of size at least 32
    * @throws IOException On read error
    */
-  public static void readSubFrame(BitStreamReader reader, FlacStreamInfo streamInfo, FlacFrameInfo frameInfo,
+  public static void readSubFrame(FlacBitStreamReader reader, FlacStreamInfo streamInfo, FlacFrameInfo frameInfo,
                                   int[] sampleBuffer, int channel, int[] temporaryBuffer) throws IOException {
 
     if (reader.asInteger(1) == 1) {
@@ -47,7 +46,7 @@ public class FlacSubFrameReader {
     }
   }
 
-  private static void readSubFrameSamples(BitStreamReader reader, int subFrameDescriptor, int bitsPerSample, int[] sampleBuffer,
+  private static void readSubFrameSamples(FlacBitStreamReader reader, int subFrameDescriptor, int bitsPerSample, int[] sampleBuffer,
                                           int sampleCount, int[] temporaryBuffer) throws IOException {
 
     Encoding subframeEncoding = encodingMapping[Integer.numberOfLeadingZeros(subFrameDescriptor) - 26];
@@ -65,7 +64,7 @@ public class FlacSubFrameReader {
     }
   }
 
-  private static void readSubFrameConstantData(BitStreamReader reader, int bitsPerSample, int[] sampleBuffer,
+  private static void readSubFrameConstantData(FlacBitStreamReader reader, int bitsPerSample, int[] sampleBuffer,
                                                int sampleCount) throws IOException {
 
     int value = reader.asSignedInteger(bitsPerSample);
@@ -75,15 +74,15 @@ public class FlacSubFrameReader {
     }
   }
 
-  private static void readSubFrameVerbatimData(BitStreamReader reader, int bitsPerSample, int[] sampleBuffer,
+  private static void readSubFrameVerbatimData(FlacBitStreamReader reader, int bitsPerSample, int[] sampleBuffer,
                                                int sampleCount) throws IOException {
     for (int i = 0; i < sampleCount; i++) {
       sampleBuffer[i] = reader.asSignedInteger(bitsPerSample);
     }
   }
 
-  private static void readSubFrameFixedData(BitStreamReader reader, int order, int bitsPerSample, int[] sampleBuffer,
-                                            int sampleCount) throws IOException {
+  private static void readSubFrameFixedData(FlacBitStreamReader reader, int order, int bitsPerSample,
+                                            int[] sampleBuffer, int sampleCount) throws IOException {
     for (int i = 0; i < order; i++) {
       sampleBuffer[i] = reader.asSignedInteger(bitsPerSample);
     }
@@ -119,7 +118,7 @@ public class FlacSubFrameReader {
     }
   }
 
-  private static void readSubFrameLpcData(BitStreamReader reader, int order, int bitsPerSample, int[] sampleBuffer,
+  private static void readSubFrameLpcData(FlacBitStreamReader reader, int order, int bitsPerSample, int[] sampleBuffer,
                                           int sampleCount, int[] coefficients) throws IOException {
     for (int i = 0; i < order; i++) {
       sampleBuffer[i] = reader.asSignedInteger(bitsPerSample);
@@ -137,18 +136,126 @@ public class FlacSubFrameReader {
   }
 
   private static void restoreLpcSignal(int[] buffer, int sampleCount, int order, int shift, int[] coefficients) {
-    for (int i = order; i < sampleCount; i++) {
-      long sum = 0;
+    // Common orders have a separate loop with the coefficients in local variables, which the JIT can unroll.
+    int c0 = coefficients[0];
+    int c1 = coefficients[1];
+    int c2 = coefficients[2];
+    int c3 = coefficients[3];
+    int c4 = coefficients[4];
+    int c5 = coefficients[5];
+    int c6 = coefficients[6];
+    int c7 = coefficients[7];
+    int c8 = coefficients[8];
+    int c9 = coefficients[9];
+    int c10 = coefficients[10];
+    int c11 = coefficients[11];
 
-      for (int j = 0; j < order; j++) {
-        sum += (long) coefficients[j] * buffer[i  - j - 1];
-      }
+    switch (order) {
+      case 1:
+        for (int i = 1; i < sampleCount; i++) {
+          long sum = (long) c0 * buffer[i - 1];
+          buffer[i] += (int) (sum >> shift);
+        }
+        break;
+      case 2:
+        for (int i = 2; i < sampleCount; i++) {
+          long sum = (long) c0 * buffer[i - 1] + (long) c1 * buffer[i - 2];
+          buffer[i] += (int) (sum >> shift);
+        }
+        break;
+      case 3:
+        for (int i = 3; i < sampleCount; i++) {
+          long sum = (long) c0 * buffer[i - 1] + (long) c1 * buffer[i - 2] + (long) c2 * buffer[i - 3];
+          buffer[i] += (int) (sum >> shift);
+        }
+        break;
+      case 4:
+        for (int i = 4; i < sampleCount; i++) {
+          long sum = (long) c0 * buffer[i - 1] + (long) c1 * buffer[i - 2] + (long) c2 * buffer[i - 3] +
+              (long) c3 * buffer[i - 4];
+          buffer[i] += (int) (sum >> shift);
+        }
+        break;
+      case 5:
+        for (int i = 5; i < sampleCount; i++) {
+          long sum = (long) c0 * buffer[i - 1] + (long) c1 * buffer[i - 2] + (long) c2 * buffer[i - 3] +
+              (long) c3 * buffer[i - 4] + (long) c4 * buffer[i - 5];
+          buffer[i] += (int) (sum >> shift);
+        }
+        break;
+      case 6:
+        for (int i = 6; i < sampleCount; i++) {
+          long sum = (long) c0 * buffer[i - 1] + (long) c1 * buffer[i - 2] + (long) c2 * buffer[i - 3] +
+              (long) c3 * buffer[i - 4] + (long) c4 * buffer[i - 5] + (long) c5 * buffer[i - 6];
+          buffer[i] += (int) (sum >> shift);
+        }
+        break;
+      case 7:
+        for (int i = 7; i < sampleCount; i++) {
+          long sum = (long) c0 * buffer[i - 1] + (long) c1 * buffer[i - 2] + (long) c2 * buffer[i - 3] +
+              (long) c3 * buffer[i - 4] + (long) c4 * buffer[i - 5] + (long) c5 * buffer[i - 6] +
+              (long) c6 * buffer[i - 7];
+          buffer[i] += (int) (sum >> shift);
+        }
+        break;
+      case 8:
+        for (int i = 8; i < sampleCount; i++) {
+          long sum = (long) c0 * buffer[i - 1] + (long) c1 * buffer[i - 2] + (long) c2 * buffer[i - 3] +
+              (long) c3 * buffer[i - 4] + (long) c4 * buffer[i - 5] + (long) c5 * buffer[i - 6] +
+              (long) c6 * buffer[i - 7] + (long) c7 * buffer[i - 8];
+          buffer[i] += (int) (sum >> shift);
+        }
+        break;
+      case 9:
+        for (int i = 9; i < sampleCount; i++) {
+          long sum = (long) c0 * buffer[i - 1] + (long) c1 * buffer[i - 2] + (long) c2 * buffer[i - 3] +
+              (long) c3 * buffer[i - 4] + (long) c4 * buffer[i - 5] + (long) c5 * buffer[i - 6] +
+              (long) c6 * buffer[i - 7] + (long) c7 * buffer[i - 8] + (long) c8 * buffer[i - 9];
+          buffer[i] += (int) (sum >> shift);
+        }
+        break;
+      case 10:
+        for (int i = 10; i < sampleCount; i++) {
+          long sum = (long) c0 * buffer[i - 1] + (long) c1 * buffer[i - 2] + (long) c2 * buffer[i - 3] +
+              (long) c3 * buffer[i - 4] + (long) c4 * buffer[i - 5] + (long) c5 * buffer[i - 6] +
+              (long) c6 * buffer[i - 7] + (long) c7 * buffer[i - 8] + (long) c8 * buffer[i - 9] +
+              (long) c9 * buffer[i - 10];
+          buffer[i] += (int) (sum >> shift);
+        }
+        break;
+      case 11:
+        for (int i = 11; i < sampleCount; i++) {
+          long sum = (long) c0 * buffer[i - 1] + (long) c1 * buffer[i - 2] + (long) c2 * buffer[i - 3] +
+              (long) c3 * buffer[i - 4] + (long) c4 * buffer[i - 5] + (long) c5 * buffer[i - 6] +
+              (long) c6 * buffer[i - 7] + (long) c7 * buffer[i - 8] + (long) c8 * buffer[i - 9] +
+              (long) c9 * buffer[i - 10] + (long) c10 * buffer[i - 11];
+          buffer[i] += (int) (sum >> shift);
+        }
+        break;
+      case 12:
+        for (int i = 12; i < sampleCount; i++) {
+          long sum = (long) c0 * buffer[i - 1] + (long) c1 * buffer[i - 2] + (long) c2 * buffer[i - 3] +
+              (long) c3 * buffer[i - 4] + (long) c4 * buffer[i - 5] + (long) c5 * buffer[i - 6] +
+              (long) c6 * buffer[i - 7] + (long) c7 * buffer[i - 8] + (long) c8 * buffer[i - 9] +
+              (long) c9 * buffer[i - 10] + (long) c10 * buffer[i - 11] + (long) c11 * buffer[i - 12];
+          buffer[i] += (int) (sum >> shift);
+        }
+        break;
+      default:
+        for (int i = order; i < sampleCount; i++) {
+          long sum = 0;
 
-      buffer[i] += (int) (sum >> shift);
+          for (int j = 0; j < order; j++) {
+            sum += (long) coefficients[j] * buffer[i - j - 1];
+          }
+
+          buffer[i] += (int) (sum >> shift);
+        }
+        break;
     }
   }
 
-  private static void readResidual(BitStreamReader reader, int order, int[] buffer, int startOffset, int endOffset) throws IOException {
+  private static void readResidual(FlacBitStreamReader reader, int order, int[] buffer, int startOffset, int endOffset) throws IOException {
     int method = reader.asInteger(2);
 
     if (method > 1) {
@@ -169,7 +276,7 @@ public class FlacSubFrameReader {
 
       if (parameter < parameterMaximum) {
         value = partitionSamples - value;
-        readResidualBlock(reader, buffer, sample, sample + value, parameter);
+        reader.readRiceSignedBlock(buffer, sample, sample + value, parameter);
         sample += value;
       } else {
         parameter = reader.asInteger(5);
@@ -181,13 +288,6 @@ public class FlacSubFrameReader {
     }
   }
 
-  private static void readResidualBlock(BitStreamReader reader, int[] buffer, int offset, int endOffset, int parameter) throws IOException {
-    for (int i = offset; i < endOffset; i++) {
-      int lowOrderSigned = (reader.readAllZeroes() << parameter) | reader.asInteger(parameter);
-      buffer[i] = (lowOrderSigned & 1) == 0 ? lowOrderSigned >> 1 : -(lowOrderSigned >> 1) - 1;
-    }
-  }
-
   private enum Encoding {
     CONSTANT,
     VERBATIM,
@@ -63,13 +63,17 @@ public class MatroskaAacTrackConsumer implements MatroskaTrackConsumer {
       ByteBuffer chunkBuffer = data.duplicate();
       chunkBuffer.limit(chunkBuffer.position() + chunk);
 
-      inputBuffer.clear();
-      inputBuffer.put(chunkBuffer);
-      inputBuffer.flip();
+      if (data.isDirect()) {
+        packetRouter.processInput(chunkBuffer);
+      } else {
+        inputBuffer.clear();
+        inputBuffer.put(chunkBuffer);
+        inputBuffer.flip();
 
-      packetRouter.processInput(inputBuffer);
+        packetRouter.processInput(inputBuffer);
+      }
 
-      data.position(chunkBuffer.position());
+      data.position(data.position() + chunk);
     }
   }
 
@@ -1,5 +1,6 @@
 package com.sedmelluq.discord.lavaplayer.container.matroska.format;
 
+import com.sedmelluq.discord.lavaplayer.tools.io.BufferSliceSource;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 
 import java.io.DataInput;
@@ -212,4 +213,11 @@ public class MatroskaFileReader {
   public DataInput getDataInput() {
     return dataInput;
   }
+
+  /**
+   * @return The input stream as a slice source, or null if it is not one.
+   */
+  public BufferSliceSource getSliceSource() {
+    return inputStream instanceof BufferSliceSource ? (BufferSliceSource) inputStream : null;
+  }
 }
@@ -1,5 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.container.matroska.format;
 
+import com.sedmelluq.discord.lavaplayer.tools.io.BufferSliceSource;
+
 import java.io.DataInput;
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -45,6 +47,11 @@ public class MutableMatroskaBlock implements MatroskaBlock {
     }
 
     int frameSize = frameSizes[index];
+    BufferSliceSource sliceSource = reader.getSliceSource();
+
+    if (sliceSource != null) {
+      return sliceSource.readSlice(frameSize);
+    }
 
     if (buffer == null || frameSize > buffer.capacity()) {
       buffer = ByteBuffer.allocate(frameSizes[index] * 2);
@@ -0,0 +1,218 @@
+package com.sedmelluq.discord.lavaplayer.container.mp3;
+
+import com.sedmelluq.discord.lavaplayer.natives.mp3.Mp3Decoder;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.StreamTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static com.sedmelluq.discord.lavaplayer.natives.mp3.Mp3Decoder.HEADER_SIZE;
+
+/**
+ * Seeking support for files without a Xing header, which may have a variable bitrate. An index of frame positions is
+ * built from the frames read during playback and by scanning the frame headers forward from the indexed part when
+ * seeking, so seeks within the indexed part are exact. Only the position of every {@link #FRAMES_PER_ENTRY}th frame is
+ * stored, the frames in between are found by walking their headers.
+ *
+ * Scanning only reads the frame headers, which is cheap when the stream seeks without reading the skipped bytes (local
+ * files). Other streams would read all the skipped bytes, so they only scan within the distance that the stream skips by
+ * reading anyway, and larger jumps are a plain seek to the position estimated from the average frame size of the
+ * indexed part. The duration is also only measured by scanning local files, for other streams it is estimated the same
+ * way, which avoids a seek back to the start after the scan.
+ */
+public class Mp3FrameIndexSeeker implements Mp3Seeker {
+  private static final Logger log = LoggerFactory.getLogger(Mp3FrameIndexSeeker.class);
+
+  private static final int FRAMES_PER_ENTRY = 32;
+
+  private final SeekableInputStream inputStream;
+  private final int sampleRate;
+  private final long samplesPerFrame;
+  private final long firstFramePosition;
+  private final long contentLength;
+  private final byte[] headerBuffer;
+  private long[] entryPositions;
+  private long indexedFrameCount;
+  private long indexedEndPosition;
+  private boolean indexEnded;
+  private boolean durationScanned;
+
+  private Mp3FrameIndexSeeker(SeekableInputStream inputStream, int sampleRate, long samplesPerFrame,
+                              long firstFramePosition, long contentLength) {
+
+    this.inputStream = inputStream;
+    this.sampleRate = sampleRate;
+    this.samplesPerFrame = samplesPerFrame;
+    this.firstFramePosition = firstFramePosition;
+    this.contentLength = contentLength;
+    this.headerBuffer = new byte[HEADER_SIZE];
+    this.entryPositions = new long[64];
+    this.indexedEndPosition = firstFramePosition;
+  }
+
+  /**
+   * @param inputStream The input stream of the file, used for scanning frame headers
+   * @param firstFramePosition Position of the first frame in the file
+   * @param contentLength Total length of the file
+   * @param frameBuffer Buffer of the first frame
+   * @return Frame index seeker, will always succeed, never null.
+   */
+  public static Mp3FrameIndexSeeker createFromFrame(SeekableInputStream inputStream, long firstFramePosition,
+                                                    long contentLength, byte[] frameBuffer) {
+
+    int sampleRate = Mp3Decoder.getFrameSampleRate(frameBuffer, 0);
+    long samplesPerFrame = Mp3Decoder.getSamplesPerFrame(frameBuffer, 0);
+
+    Mp3FrameIndexSeeker seeker = new Mp3FrameIndexSeeker(inputStream, sampleRate, samplesPerFrame, firstFramePosition,
+        contentLength);
+
+    // The first frame gives the estimates something to start from before anything else has been indexed.
+    seeker.addFrame(Mp3Decoder.getFrameSize(frameBuffer, 0));
+    return seeker;
+  }
+
+  @Override
+  public long getDuration() {
+    if (!durationScanned) {
+      durationScanned = true;
+      scanForDuration();
+    }
+
+    long frameCount = indexedFrameCount;
+
+    if (!indexEnded && indexedFrameCount > 0) {
+      frameCount += (long) ((contentLength - indexedEndPosition) / getAverageFrameSize());
+    }
+
+    return frameCount * samplesPerFrame * 1000 / sampleRate;
+  }
+
+  @Override
+  public boolean isSeekable() {
+    return true;
+  }
+
+  @Override
+  public long seekAndGetFrameIndex(long timecode, SeekableInputStream inputStream) throws IOException {
+    long targetFrame = timecode * sampleRate / 1000 / samplesPerFrame;
+
+    if (targetFrame >= indexedFrameCount && canScanTo(estimatePosition(targetFrame))) {
+      while (indexedFrameCount <= targetFrame && scanNextFrame()) {
+        // Scanning until the target frame is indexed.
+      }
+    }
+
+    if (targetFrame < indexedFrameCount) {
+      int entry = (int) (targetFrame / FRAMES_PER_ENTRY);
+      long frameIndex = (long) entry * FRAMES_PER_ENTRY;
+      long position = entryPositions[entry];
+
+      for (; frameIndex < targetFrame; frameIndex++) {
+        position += readFrameSize(position);
+      }
+
+      inputStream.seek(position);
+      return frameIndex;
+    }
+
+    // Beyond the end of the file or the part that can be indexed.
+    inputStream.seek(Math.min(estimatePosition(targetFrame), contentLength));
+    return targetFrame;
+  }
+
+  @Override
+  public void frameRead(long framePosition, int frameSize) {
+    // Only frames which directly continue the indexed part can be added to it.
+    if (!indexEnded && framePosition == indexedEndPosition) {
+      addFrame(frameSize);
+    }
+  }
+
+  private void scanForDuration() {
+    if (inputStream.getMaxSkipDistance() != 0) {
+      return;
+    }
+
+    long savedPosition = inputStream.getPosition();
+
+    try {
+      while (scanNextFrame()) {
+        // Scanning until the end of the file.
+      }
+    } catch (IOException e) {
+      log.debug("Failed to scan MP3 frames for duration, using an estimate.", e);
+    } finally {
+      try {
+        inputStream.seek(savedPosition);
+      } catch (IOException e) {
+        log.debug("Failed to return to the playback position after scanning MP3 frames.", e);
+      }
+    }
+  }
+
+  private boolean canScanTo(long position) {
+    long maxSkipDistance = inputStream.getMaxSkipDistance();
+    return maxSkipDistance == 0 || position - indexedEndPosition <= maxSkipDistance;
+  }
+
+  private long estimatePosition(long frameIndex) {
+    if (indexedFrameCount == 0) {
+      return indexedEndPosition;
+    }
+
+    return indexedEndPosition + (long) ((frameIndex - indexedFrameCount) * getAverageFrameSize());
+  }
+
+  private double getAverageFrameSize() {
+    return (double) (indexedEndPosition - firstFramePosition) / indexedFrameCount;
+  }
+
+  private boolean scanNextFrame() throws IOException {
+    if (indexEnded) {
+      return false;
+    }
+
+    int frameSize = readFrameSize(indexedEndPosition);
+
+    if (frameSize == 0) {
+      // End of file or something other than a frame (such as an ID3v1 tag), the rest is not indexed.
+      indexEnded = true;
+      return false;
+    }
+
+    addFrame(frameSize);
+    return true;
+  }
+
+  private int readFrameSize(long position) throws IOException {
+    if (position + HEADER_SIZE > contentLength) {
+      return 0;
+    }
+
+    inputStream.seek(position);
+
+    if (StreamTools.readUntilEnd(inputStream, headerBuffer, 0, HEADER_SIZE) < HEADER_SIZE) {
+      return 0;
+    }
+
+    return Mp3Decoder.getFrameSize(headerBuffer, 0);
+  }
+
+  private void addFrame(int frameSize) {
+    if (indexedFrameCount % FRAMES_PER_ENTRY == 0) {
+      int entry = (int) (indexedFrameCount / FRAMES_PER_ENTRY);
+
+      if (entry == entryPositions.length) {
+        entryPositions = Arrays.copyOf(entryPositions, entryPositions.length * 2);
+      }
+
+      entryPositions[entry] = indexedEndPosition;
+    }
+
+    indexedFrameCount++;
+    indexedEndPosition += frameSize;
+  }
+}
@@ -1,11 +1,13 @@
 package com.sedmelluq.discord.lavaplayer.container.mp3;
 
 import com.sedmelluq.discord.lavaplayer.natives.mp3.Mp3Decoder;
+import com.sedmelluq.discord.lavaplayer.tools.io.BufferSliceSource;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 
 import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import static com.sedmelluq.discord.lavaplayer.natives.mp3.Mp3Decoder.HEADER_SIZE;
 
@@ -15,6 +17,7 @@ import static com.sedmelluq.discord.lavaplayer.natives.mp3.Mp3Decoder.HEADER_SIZ
 public class Mp3FrameReader {
   private final SeekableInputStream inputStream;
   private final DataInput dataInput;
+  private final BufferSliceSource sliceSource;
   private final byte[] scanBuffer;
   private final byte[] frameBuffer;
   private int frameSize;
@@ -29,6 +32,7 @@ public class Mp3FrameReader {
   public Mp3FrameReader(SeekableInputStream inputStream, byte[] frameBuffer) {
     this.inputStream = inputStream;
     this.dataInput = new DataInputStream(inputStream);
+    this.sliceSource = inputStream instanceof BufferSliceSource ? (BufferSliceSource) inputStream : null;
     this.scanBuffer = new byte[16];
     this.frameBuffer = frameBuffer;
   }
@@ -116,6 +120,38 @@ public class Mp3FrameReader {
     return true;
   }
 
+  /**
+   * Reads the current frame the same way as {@link #fillFrameBuffer()}, but provides the whole frame in a direct buffer.
+   * If the stream is a {@link BufferSliceSource}, the frame is a slice of the stream and only its header is in the frame
+   * buffer, otherwise the frame buffer is filled and copied into the specified buffer.
+   *
+   * @param directBuffer Direct buffer to copy the frame into if the stream does not provide slices
+   * @return Direct buffer with the current frame, null if EOF was encountered while looking for the next frame
+   * @throws IOException On IO error
+   */
+  public ByteBuffer fillFrameDirectBuffer(ByteBuffer directBuffer) throws IOException {
+    if (sliceSource == null) {
+      if (!fillFrameBuffer()) {
+        return null;
+      }
+
+      directBuffer.clear();
+      directBuffer.put(frameBuffer, 0, frameSize);
+      directBuffer.flip();
+      return directBuffer;
+    }
+
+    if (!frameHeaderRead && !scanForFrame(Integer.MAX_VALUE, true)) {
+      return null;
+    }
+
+    // The header has already been read, the slice starts from the beginning of the frame.
+    inputStream.seek(getFrameStartPosition());
+    ByteBuffer frame = sliceSource.readSlice(frameSize);
+    frameBufferPosition = frameSize;
+    return frame;
+  }
+
   /**
    * Forget the current frame and make next calls look for the next frame.
    */
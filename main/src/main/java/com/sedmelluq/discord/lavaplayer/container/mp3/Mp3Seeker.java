@@ -25,4 +25,14 @@ public interface Mp3Seeker {
    * @throws IOException On IO error
    */
   long seekAndGetFrameIndex(long timecode, SeekableInputStream inputStream) throws IOException;
+
+  /**
+   * Called for each frame read during playback, before it is decoded.
+   *
+   * @param framePosition Position of the frame in the file
+   * @param frameSize Size of the frame in bytes
+   */
+  default void frameRead(long framePosition, int frameSize) {
+    // Nothing to do by default.
+  }
 }
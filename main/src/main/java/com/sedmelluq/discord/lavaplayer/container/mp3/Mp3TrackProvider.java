@@ -46,6 +46,7 @@ public class Mp3TrackProvider implements AudioTrackInfoProvider {
 
   private int sampleRate;
   private int channelCount;
+  private long samplesPerFrame;
   private AudioPipeline downstream;
   private Mp3Seeker seeker;
 
@@ -80,6 +81,7 @@ public class Mp3TrackProvider implements AudioTrackInfoProvider {
 
     sampleRate = Mp3Decoder.getFrameSampleRate(frameBuffer, 0);
     channelCount = Mp3Decoder.getFrameChannelCount(frameBuffer, 0);
+    samplesPerFrame = Mp3Decoder.getSamplesPerFrame(frameBuffer, 0);
     downstream = context != null ? AudioPipelineFactory.create(context, new PcmFormat(channelCount, sampleRate)) : null;
 
     initialiseSeeker();
@@ -95,15 +97,15 @@ public class Mp3TrackProvider implements AudioTrackInfoProvider {
       if (inputStream.getContentLength() == Long.MAX_VALUE) {
         seeker = new Mp3StreamSeeker();
       } else {
-        if (context == null) {
-          // Skip meta frames if this provider is created only for reading metadata.
-          for (int i = 0; Mp3ConstantRateSeeker.isMetaFrame(frameBuffer) && i < 2; i++) {
-            frameReader.nextFrame();
-            frameReader.fillFrameBuffer();
-          }
+        // Meta frames without a usable Xing header (such as VBRI) are not audio, so they are neither decoded nor indexed.
+        for (int i = 0; Mp3ConstantRateSeeker.isMetaFrame(frameBuffer) && i < 2; i++) {
+          frameReader.nextFrame();
+          frameReader.fillFrameBuffer();
+          startPosition = frameReader.getFrameStartPosition();
         }
 
-        seeker = Mp3ConstantRateSeeker.createFromFrame(startPosition, inputStream.getContentLength(), frameBuffer);
+        seeker = Mp3FrameIndexSeeker.createFromFrame(inputStream, startPosition, inputStream.getContentLength(),
+            frameBuffer);
       }
     }
   }
@@ -115,18 +117,18 @@ public class Mp3TrackProvider implements AudioTrackInfoProvider {
   public void provideFrames() throws InterruptedException {
     try {
       while (true) {
-        if (!frameReader.fillFrameBuffer()) {
+        ByteBuffer frame = frameReader.fillFrameDirectBuffer(inputBuffer);
+
+        if (frame == null) {
           break;
         }
 
-        inputBuffer.clear();
-        inputBuffer.put(frameBuffer, 0, frameReader.getFrameSize());
-        inputBuffer.flip();
+        seeker.frameRead(frameReader.getFrameStartPosition(), frameReader.getFrameSize());
 
         outputBuffer.clear();
         outputBuffer.limit(channelCount * (int) Mp3Decoder.getSamplesPerFrame(frameBuffer, 0));
 
-        int produced = mp3Decoder.decode(inputBuffer, outputBuffer);
+        int produced = mp3Decoder.decode(frame, outputBuffer);
 
         if (produced > 0) {
           downstream.process(outputBuffer);
@@ -146,7 +148,7 @@ public class Mp3TrackProvider implements AudioTrackInfoProvider {
   public void seekToTimecode(long timecode) {
     try {
       long frameIndex = seeker.seekAndGetFrameIndex(timecode, inputStream);
-      long actualTimecode = frameIndex * MPEG1_SAMPLES_PER_FRAME * 1000 / sampleRate;
+      long actualTimecode = frameIndex * samplesPerFrame * 1000 / sampleRate;
       downstream.seekPerformed(timecode, actualTimecode);
 
       frameReader.nextFrame();
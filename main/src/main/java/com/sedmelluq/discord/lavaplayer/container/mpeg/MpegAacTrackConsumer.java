@@ -5,6 +5,7 @@ import com.sedmelluq.discord.lavaplayer.filter.AudioPipeline;
 import com.sedmelluq.discord.lavaplayer.filter.AudioPipelineFactory;
 import com.sedmelluq.discord.lavaplayer.filter.PcmFormat;
 import com.sedmelluq.discord.lavaplayer.natives.aac.AacDecoder;
+import com.sedmelluq.discord.lavaplayer.tools.io.BufferSliceSource;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
@@ -65,12 +66,10 @@ public class MpegAacTrackConsumer implements MpegTrackConsumer {
 
     while (remaining > 0) {
       int chunk = Math.min(remaining, inputBuffer.capacity());
-
-      inputBuffer.clear();
-      inputBuffer.limit(chunk);
+      ByteBuffer input;
 
       try {
-        IOUtils.readFully(channel, inputBuffer);
+        input = readChunk(channel, chunk);
       } catch (ClosedByInterruptException e) {
         log.trace("Interrupt received while reading channel", e);
 
@@ -80,13 +79,27 @@ public class MpegAacTrackConsumer implements MpegTrackConsumer {
         throw new RuntimeException(e);
       }
 
-      inputBuffer.flip();
-      packetRouter.processInput(inputBuffer);
+      packetRouter.processInput(input);
 
       remaining -= chunk;
     }
   }
 
+  private ByteBuffer readChunk(ReadableByteChannel channel, int chunk) throws IOException {
+    if (channel instanceof BufferSliceSource) {
+      // Slices are direct buffers, so the decoder can read them as they are.
+      return ((BufferSliceSource) channel).readSlice(chunk);
+    }
+
+    inputBuffer.clear();
+    inputBuffer.limit(chunk);
+
+    IOUtils.readFully(channel, inputBuffer);
+
+    inputBuffer.flip();
+    return inputBuffer;
+  }
+
   @Override
   public void close() {
     packetRouter.close();
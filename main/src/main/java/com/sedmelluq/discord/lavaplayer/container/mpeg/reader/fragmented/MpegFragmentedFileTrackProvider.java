@@ -5,10 +5,9 @@ import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegReader;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegSectionInfo;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegTrackConsumer;
 import com.sedmelluq.discord.lavaplayer.container.mpeg.reader.MpegVersionedSectionInfo;
-import com.sedmelluq.discord.lavaplayer.tools.io.DetachedByteChannel;
+import com.sedmelluq.discord.lavaplayer.tools.io.BufferSliceChannel;
 
 import java.io.IOException;
-import java.nio.channels.Channels;
 import java.nio.channels.ReadableByteChannel;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -49,7 +48,7 @@ public class MpegFragmentedFileTrackProvider implements MpegFileTrackProvider {
   public void provideFrames() throws InterruptedException {
     MpegSectionInfo moof;
 
-    try (ReadableByteChannel channel = new DetachedByteChannel(Channels.newChannel(reader.seek))) {
+    try (ReadableByteChannel channel = BufferSliceChannel.detachedFor(reader.seek)) {
       while ((moof = reader.nextChild(root)) != null) {
         if (!"moof".equals(moof.type)) {
           reader.skip(moof);
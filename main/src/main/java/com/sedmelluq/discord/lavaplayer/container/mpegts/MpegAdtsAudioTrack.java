@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.container.mpegts;
 
 import com.sedmelluq.discord.lavaplayer.container.adts.AdtsAudioTrack;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
@@ -25,6 +26,13 @@ public class MpegAdtsAudioTrack extends DelegatedAudioTrack {
   public void process(LocalAudioTrackExecutor executor) throws Exception {
     MpegTsElementaryInputStream elementaryInputStream = new MpegTsElementaryInputStream(inputStream, ADTS_ELEMENTARY_STREAM);
     PesPacketInputStream pesPacketInputStream = new PesPacketInputStream(elementaryInputStream);
-    processDelegate(new AdtsAudioTrack(trackInfo, pesPacketInputStream), executor);
+    MpegTsTimestampSeeker seeker = null;
+
+    if (inputStream instanceof SeekableInputStream && !trackInfo.isStream) {
+      seeker = MpegTsTimestampSeeker.create((SeekableInputStream) inputStream, elementaryInputStream,
+          pesPacketInputStream);
+    }
+
+    processDelegate(new AdtsAudioTrack(trackInfo, pesPacketInputStream, seeker), executor);
   }
 }
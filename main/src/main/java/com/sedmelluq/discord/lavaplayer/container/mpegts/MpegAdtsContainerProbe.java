@@ -47,25 +47,34 @@ public class MpegAdtsContainerProbe implements MediaContainerProbe {
     AdtsStreamReader reader = new AdtsStreamReader(pesStream);
 
     try {
-      if (reader.findPacketHeader() != null) {
-        log.debug("Track {} is an MPEG-TS stream with an ADTS track.", reference.identifier);
-
-        return supportedFormat(this, null,
-            AudioTrackInfoBuilder.create(reference, inputStream)
-                .apply(tsStream.getLoadedMetadata())
-                .build()
-        );
+      if (reader.findPacketHeader() == null) {
+        return null;
       }
     } catch (IndexOutOfBoundsException ignored) {
       // TS stream read too far and still did not find required elementary stream - SavedHeadSeekableInputStream throws
       // this because we disabled reads past the loaded "head".
+      return null;
     } finally {
       if (head != null) {
         head.setAllowDirectReads(true);
       }
     }
 
-    return null;
+    log.debug("Track {} is an MPEG-TS stream with an ADTS track.", reference.identifier);
+
+    return supportedFormat(this, null,
+        AudioTrackInfoBuilder.create(reference, inputStream)
+            .apply(tsStream.getLoadedMetadata())
+            .setLength(detectDuration(inputStream, tsStream, pesStream))
+            .build()
+    );
+  }
+
+  private Long detectDuration(SeekableInputStream inputStream, MpegTsElementaryInputStream tsStream,
+                              PesPacketInputStream pesStream) throws IOException {
+
+    MpegTsTimestampSeeker seeker = MpegTsTimestampSeeker.create(inputStream, tsStream, pesStream);
+    return seeker != null ? seeker.getDuration() : null;
   }
 
   @Override
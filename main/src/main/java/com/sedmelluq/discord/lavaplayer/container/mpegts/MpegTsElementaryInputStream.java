@@ -84,6 +84,29 @@ public class MpegTsElementaryInputStream extends InputStream {
     };
   }
 
+  /**
+   * Reads the stream until the identifier of the elementary stream is known from the program map table.
+   *
+   * @return The packet identifier of the elementary stream, or -1 if the stream does not contain it.
+   * @throws IOException On read error.
+   */
+  public int findElementaryStreamIdentifier() throws IOException {
+    while (elementaryStreamIdentifier == PID_UNKNOWN && processPacket()) {
+      // Reading until the program map table has been processed.
+    }
+
+    return elementaryStreamIdentifier >= 0 ? elementaryStreamIdentifier : -1;
+  }
+
+  /**
+   * Discards the rest of the current packet. Must be called after the position of the underlying stream has been
+   * changed, the underlying stream must then be positioned at the start of a packet.
+   */
+  public void discardPacket() {
+    elementaryDataInPacket = false;
+    streamEndReached = false;
+  }
+
   @Override
   public int read() throws IOException {
     if (!findElementaryData()) {
@@ -0,0 +1,238 @@
+package com.sedmelluq.discord.lavaplayer.container.mpegts;
+
+import com.sedmelluq.discord.lavaplayer.container.adts.AdtsStreamSeeker;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.StreamTools;
+
+import java.io.IOException;
+
+/**
+ * Seeking support for MPEG-TS files. The presentation timestamps in the headers of the PES packets of the elementary
+ * stream are used to bisect the file for the last PES packet which starts at or before the requested timecode. Only the
+ * transport stream packets which are close to the bisection points are read.
+ */
+public class MpegTsTimestampSeeker implements AdtsStreamSeeker {
+  private static final int TS_PACKET_SIZE = 188;
+  private static final int SCAN_PACKETS = 512;
+  private static final long TIMESTAMPS_PER_MILLISECOND = 90;
+  private static final long TIMESTAMP_MASK = (1L << 33) - 1;
+
+  private final SeekableInputStream inputStream;
+  private final MpegTsElementaryInputStream elementaryInputStream;
+  private final PesPacketInputStream pesPacketInputStream;
+  private final long packetCount;
+  private final byte[] scanBuffer;
+  private int streamIdentifier;
+  private long firstPacketIndex;
+  private long firstTimestamp;
+
+  private MpegTsTimestampSeeker(SeekableInputStream inputStream, MpegTsElementaryInputStream elementaryInputStream,
+                                PesPacketInputStream pesPacketInputStream) {
+
+    this.inputStream = inputStream;
+    this.elementaryInputStream = elementaryInputStream;
+    this.pesPacketInputStream = pesPacketInputStream;
+    this.packetCount = inputStream.getContentLength() / TS_PACKET_SIZE;
+    this.scanBuffer = new byte[SCAN_PACKETS * TS_PACKET_SIZE];
+    this.streamIdentifier = -1;
+    this.firstPacketIndex = -1;
+  }
+
+  /**
+   * @param inputStream The input stream of the file, must be positioned at the start of a packet when reading
+   * @param elementaryInputStream The elementary stream reading from the input stream
+   * @param pesPacketInputStream The PES packet stream reading from the elementary stream
+   * @return The seeker, or null if the input stream cannot seek or its length is unknown.
+   */
+  public static MpegTsTimestampSeeker create(SeekableInputStream inputStream,
+                                             MpegTsElementaryInputStream elementaryInputStream,
+                                             PesPacketInputStream pesPacketInputStream) {
+
+    if (!inputStream.canSeekHard() || inputStream.getContentLength() == Long.MAX_VALUE) {
+      return null;
+    }
+
+    return new MpegTsTimestampSeeker(inputStream, elementaryInputStream, pesPacketInputStream);
+  }
+
+  /**
+   * Finds the duration from the timestamps at the start and at the end of the file. The position of the stream is not
+   * changed.
+   *
+   * @return Duration of the file in milliseconds, or null if the file has no timestamps for the elementary stream.
+   * @throws IOException On read error.
+   */
+  public Long getDuration() throws IOException {
+    long savedPosition = inputStream.getPosition();
+
+    try {
+      if (!initialise()) {
+        return null;
+      }
+
+      long lastTimestamp = -1;
+      long packetIndex = Math.max(firstPacketIndex, packetCount - SCAN_PACKETS);
+      int packets = readPackets(packetIndex, packetCount - packetIndex);
+
+      for (int i = 0; i < packets; i++) {
+        long timestamp = readTimestamp(i);
+
+        if (timestamp >= 0) {
+          lastTimestamp = timestamp;
+        }
+      }
+
+      return lastTimestamp >= 0 ? getRelativeTimestamp(lastTimestamp) / TIMESTAMPS_PER_MILLISECOND : null;
+    } finally {
+      inputStream.seek(savedPosition);
+    }
+  }
+
+  @Override
+  public long seekToTimecode(long timecode) throws IOException {
+    if (!initialise()) {
+      // Without timestamps the position cannot be found, start from the beginning instead.
+      seekToPacket(0);
+      return 0;
+    }
+
+    long targetTimestamp = timecode * TIMESTAMPS_PER_MILLISECOND;
+    long low = firstPacketIndex;
+    long high = packetCount;
+
+    while (high - low > SCAN_PACKETS) {
+      long middle = (low + high) >>> 1;
+      int packets = readPackets(middle, Math.min(SCAN_PACKETS, high - middle));
+      long timestamp = -1;
+      int offset = 0;
+
+      for (; offset < packets && timestamp < 0; offset++) {
+        timestamp = readTimestamp(offset);
+      }
+
+      if (timestamp >= 0 && getRelativeTimestamp(timestamp) <= targetTimestamp) {
+        low = middle + offset - 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    return seekFromPacketAtOrBefore(low, targetTimestamp);
+  }
+
+  private long seekFromPacketAtOrBefore(long startIndex, long targetTimestamp) throws IOException {
+    long foundIndex = startIndex;
+    long foundTimestamp = 0;
+    long packetIndex = startIndex;
+    boolean passedTarget = false;
+
+    while (!passedTarget && packetIndex < packetCount) {
+      int packets = readPackets(packetIndex, Math.min(SCAN_PACKETS, packetCount - packetIndex));
+
+      if (packets == 0) {
+        break;
+      }
+
+      for (int i = 0; i < packets; i++) {
+        long timestamp = readTimestamp(i);
+
+        if (timestamp >= 0) {
+          long relativeTimestamp = getRelativeTimestamp(timestamp);
+
+          if (relativeTimestamp > targetTimestamp) {
+            passedTarget = true;
+            break;
+          }
+
+          foundIndex = packetIndex + i;
+          foundTimestamp = relativeTimestamp;
+        }
+      }
+
+      packetIndex += packets;
+    }
+
+    seekToPacket(foundIndex);
+    return foundTimestamp / TIMESTAMPS_PER_MILLISECOND;
+  }
+
+  private boolean initialise() throws IOException {
+    if (firstPacketIndex >= 0) {
+      return true;
+    } else if (streamIdentifier < 0 && (streamIdentifier = elementaryInputStream.findElementaryStreamIdentifier()) < 0) {
+      return false;
+    }
+
+    for (long packetIndex = 0; packetIndex < packetCount; packetIndex += SCAN_PACKETS) {
+      int packets = readPackets(packetIndex, Math.min(SCAN_PACKETS, packetCount - packetIndex));
+
+      for (int i = 0; i < packets; i++) {
+        long timestamp = readTimestamp(i);
+
+        if (timestamp >= 0) {
+          firstPacketIndex = packetIndex + i;
+          firstTimestamp = timestamp;
+          return true;
+        }
+      }
+
+      if (packets < SCAN_PACKETS) {
+        break;
+      }
+    }
+
+    return false;
+  }
+
+  private long getRelativeTimestamp(long timestamp) {
+    // Timestamps are 33-bit values which may wrap around within the file.
+    return (timestamp - firstTimestamp) & TIMESTAMP_MASK;
+  }
+
+  private void seekToPacket(long packetIndex) throws IOException {
+    inputStream.seek(packetIndex * TS_PACKET_SIZE);
+    elementaryInputStream.discardPacket();
+    pesPacketInputStream.discardPacket();
+  }
+
+  private int readPackets(long packetIndex, long count) throws IOException {
+    inputStream.seek(packetIndex * TS_PACKET_SIZE);
+
+    int length = (int) Math.min(count, SCAN_PACKETS) * TS_PACKET_SIZE;
+    return StreamTools.readUntilEnd(inputStream, scanBuffer, 0, length) / TS_PACKET_SIZE;
+  }
+
+  private long readTimestamp(int bufferedPacket) {
+    int offset = bufferedPacket * TS_PACKET_SIZE;
+    int end = offset + TS_PACKET_SIZE;
+
+    if (scanBuffer[offset] != 'G' || (scanBuffer[offset + 1] & 0x40) == 0) {
+      // Not a packet, or no PES packet starts in it.
+      return -1;
+    }
+
+    int identifier = (scanBuffer[offset + 1] & 0x1F) << 8 | (scanBuffer[offset + 2] & 0xFF);
+    int adaptation = (scanBuffer[offset + 3] >> 4) & 0x03;
+
+    if (identifier != streamIdentifier || (adaptation & 0x01) == 0) {
+      return -1;
+    }
+
+    int position = offset + 4;
+
+    if (adaptation == 3) {
+      position += 1 + (scanBuffer[position] & 0xFF);
+    }
+
+    if (position + 14 > end || scanBuffer[position] != 0 || scanBuffer[position + 1] != 0 ||
+        scanBuffer[position + 2] != 1 || (scanBuffer[position + 7] & 0x80) == 0) {
+      return -1;
+    }
+
+    position += 9;
+
+    return ((long) (scanBuffer[position] & 0x0E) << 29) | (scanBuffer[position + 1] & 0xFF) << 22 |
+        (scanBuffer[position + 2] & 0xFE) << 14 | (scanBuffer[position + 3] & 0xFF) << 7 |
+        (scanBuffer[position + 4] & 0xFE) >> 1;
+  }
+}
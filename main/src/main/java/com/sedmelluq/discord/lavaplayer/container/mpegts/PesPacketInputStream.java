@@ -27,6 +27,14 @@ public class PesPacketInputStream extends InputStream {
     this.lengthBuffer = ByteBuffer.wrap(lengthBufferBytes);
   }
 
+  /**
+   * Discards the rest of the current packet. Must be called after the position of the underlying stream has been
+   * changed.
+   */
+  public void discardPacket() {
+    packetBytesLeft = 0;
+  }
+
   private boolean makeBytesAvailable() throws IOException {
     if (packetBytesLeft > 0) {
       return true;
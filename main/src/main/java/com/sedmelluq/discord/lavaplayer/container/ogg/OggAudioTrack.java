@@ -33,35 +33,82 @@ public class OggAudioTrack extends BaseAudioTrack {
 
   @Override
   public void process(final LocalAudioTrackExecutor localExecutor) {
-    OggPacketInputStream packetInputStream = new OggPacketInputStream(inputStream);
+    OggTrackProcessor processor = new OggTrackProcessor(new OggPacketInputStream(inputStream),
+        localExecutor.getProcessingContext());
 
     log.debug("Starting to play an OGG stream track {}", getIdentifier());
 
-    localExecutor.executeProcessingLoop(() -> {
-      try {
-        processTrackLoop(packetInputStream, localExecutor.getProcessingContext());
-      } catch (IOException e) {
-        throw new FriendlyException("Stream broke when playing OGG track.", SUSPICIOUS, e);
-      }
-    }, null);
+    try {
+      localExecutor.executeProcessingLoop(() -> {
+        try {
+          processor.processTrackLoop();
+        } catch (IOException e) {
+          throw new FriendlyException("Stream broke when playing OGG track.", SUSPICIOUS, e);
+        }
+      }, processor::seekToTimecode);
+    } finally {
+      processor.close();
+    }
   }
 
-  private void processTrackLoop(OggPacketInputStream packetInputStream, AudioProcessingContext context) throws IOException, InterruptedException {
-    OggTrackHandler track = OggTrackLoader.loadTrackHandler(packetInputStream);
+  private static class OggTrackProcessor {
+    private final OggPacketInputStream packetInputStream;
+    private final AudioProcessingContext context;
+    private OggTrackHandler track;
 
-    if (track == null) {
-      throw new IOException("Stream terminated before the first packet.");
+    private OggTrackProcessor(OggPacketInputStream packetInputStream, AudioProcessingContext context) {
+      this.packetInputStream = packetInputStream;
+      this.context = context;
     }
 
-    while (track != null) {
-      try {
-        track.initialise(context);
+    private void processTrackLoop() throws IOException, InterruptedException {
+      loadFirstTrack();
+
+      // After a seek this continues with the current track, as reading is only interrupted within provideFrames.
+      while (true) {
         track.provideFrames();
-      } finally {
+
+        OggTrackHandler nextTrack = OggTrackLoader.loadTrackHandler(packetInputStream);
+
+        if (nextTrack == null) {
+          // The last track is kept open, as seeking is possible until the playback has ended.
+          break;
+        }
+
         track.close();
+        track = nextTrack;
+        track.initialise(context);
+      }
+    }
+
+    private void seekToTimecode(long timecode) {
+      try {
+        loadFirstTrack();
+      } catch (IOException e) {
+        throw new FriendlyException("Stream broke when seeking in OGG track.", SUSPICIOUS, e);
       }
 
-      track = OggTrackLoader.loadTrackHandler(packetInputStream);
+      // In a chained stream, this seeks within the current track.
+      track.seekToTimecode(timecode);
+    }
+
+    private void loadFirstTrack() throws IOException {
+      if (track == null) {
+        track = OggTrackLoader.loadTrackHandler(packetInputStream);
+
+        if (track == null) {
+          throw new IOException("Stream terminated before the first packet.");
+        }
+
+        track.initialise(context);
+      }
+    }
+
+    private void close() {
+      if (track != null) {
+        track.close();
+        track = null;
+      }
     }
   }
 }
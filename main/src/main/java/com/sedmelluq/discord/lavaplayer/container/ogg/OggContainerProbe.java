@@ -41,7 +41,8 @@ public class OggContainerProbe implements MediaContainerProbe {
 
     log.debug("Track {} is an OGG stream.", reference.identifier);
 
-    AudioTrackInfoBuilder infoBuilder = AudioTrackInfoBuilder.create(reference, stream).setIsStream(true);
+    // Without a known length (the end of the stream could not be found), it is played as a live stream.
+    AudioTrackInfoBuilder infoBuilder = AudioTrackInfoBuilder.create(reference, stream);
 
     try {
       collectStreamInformation(stream, infoBuilder);
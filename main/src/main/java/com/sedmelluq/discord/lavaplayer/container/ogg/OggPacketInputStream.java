@@ -1,5 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.container.ogg;
 
+import com.sedmelluq.discord.lavaplayer.tools.io.BufferSliceSource;
+import com.sedmelluq.discord.lavaplayer.tools.io.DirectBufferStreamBroker;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.tools.io.StreamTools;
 
@@ -8,6 +10,9 @@ import java.io.DataInputStream;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
 
 import static com.sedmelluq.discord.lavaplayer.container.MediaContainerDetection.checkNextBytes;
 
@@ -24,13 +29,17 @@ public class OggPacketInputStream extends InputStream {
 
   private final SeekableInputStream inputStream;
   private final DataInput dataInput;
+  private final BufferSliceSource sliceSource;
   private final int[] segmentSizes;
+  private final TreeMap<Long, Long> pageIndex;
 
   private OggPageHeader pageHeader;
   private int bytesLeftInPacket;
   private boolean packetContinues;
   private int nextPacketSegmentIndex;
   private State state;
+  private long trackStartPosition;
+  private int trackIdentifier;
 
   /**
    * @param inputStream Input stream to read in as OGG packets
@@ -38,8 +47,11 @@ public class OggPacketInputStream extends InputStream {
   public OggPacketInputStream(SeekableInputStream inputStream) {
     this.inputStream = inputStream;
     this.dataInput = new DataInputStream(inputStream);
+    this.sliceSource = inputStream instanceof BufferSliceSource ? (BufferSliceSource) inputStream : null;
     this.segmentSizes = new int[256];
+    this.pageIndex = new TreeMap<>();
     this.state = State.TRACK_BOUNDARY;
+    this.trackStartPosition = -1;
   }
 
   /**
@@ -86,6 +98,27 @@ public class OggPacketInputStream extends InputStream {
     return state == State.PACKET_READ;
   }
 
+  /**
+   * Reads the rest of the current packet into a direct buffer. If the underlying stream is a {@link BufferSliceSource}
+   * and the packet ends on the current page, the returned buffer is a slice of the stream. Otherwise the packet is
+   * copied into the buffer of the broker.
+   *
+   * @param broker Broker to use if the packet has to be copied
+   * @return Direct buffer containing the rest of the packet, only valid until the next call to this method.
+   * @throws IOException On read error.
+   */
+  public ByteBuffer readPacketBuffer(DirectBufferStreamBroker broker) throws IOException {
+    if (sliceSource != null && !packetContinues) {
+      ByteBuffer packet = sliceSource.readSlice(bytesLeftInPacket);
+      bytesLeftInPacket = 0;
+      continuePacket();
+      return packet;
+    }
+
+    broker.consumeNext(this, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    return broker.getBuffer();
+  }
+
   private boolean readPageHeader() throws IOException {
     if (!checkNextBytes(inputStream, OGG_PAGE_HEADER, false)) {
       if (inputStream.read() == -1) {
@@ -160,6 +193,12 @@ public class OggPacketInputStream extends InputStream {
       return false;
     }
 
+    if (pageHeader.isFirstPage) {
+      trackStartPosition = pageHeader.byteStreamPosition;
+      trackIdentifier = pageHeader.streamIdentifier;
+      pageIndex.clear();
+    }
+
     nextPacketSegmentIndex = 0;
     state = State.PACKET_READ;
     return true;
@@ -305,6 +344,115 @@ public class OggPacketInputStream extends InputStream {
         sampleRate);
   }
 
+  /**
+   * Seeks to the start of the first packet which begins after the last page of the current track that has a granule
+   * position at or before the target. The page is found by bisecting the byte range of the track, which is narrowed
+   * down by the positions of the pages seen during previous seeks. After this the stream is in the PACKET_BOUNDARY
+   * state. Header pages have a granule position of 0, so seeking to position 0 continues from the first audio packet.
+   *
+   * @param targetPosition Granule position to seek to, must not be negative.
+   * @return Granule position of the page after which the stream now continues.
+   * @throws IOException On read error.
+   */
+  public long seekToGranulePosition(long targetPosition) throws IOException {
+    if (!inputStream.canSeekHard() || trackStartPosition < 0) {
+      throw new IllegalStateException("Cannot seek in an OGG stream which is not seekable.");
+    }
+
+    long low = trackStartPosition;
+    long high = inputStream.getContentLength();
+
+    Map.Entry<Long, Long> lowerPage = pageIndex.floorEntry(targetPosition);
+    Map.Entry<Long, Long> higherPage = pageIndex.higherEntry(targetPosition);
+
+    if (lowerPage != null) {
+      low = Math.max(low, lowerPage.getValue());
+    }
+
+    if (higherPage != null) {
+      high = Math.min(high, higherPage.getValue());
+    }
+
+    byte[] data = new byte[LONG_SCAN];
+
+    while (high - low > LONG_SCAN) {
+      long middle = low + (high - low) / 2;
+
+      inputStream.seek(middle);
+      int dataLength = StreamTools.readUntilEnd(inputStream, data, 0, data.length);
+      OggPageHeader page = new OggPageScanner(middle, data, dataLength).scanForPositionedPage(trackIdentifier);
+
+      if (page == null || page.byteStreamPosition >= high) {
+        high = middle;
+      } else {
+        pageIndex.put(page.absolutePosition, page.byteStreamPosition);
+
+        if (page.absolutePosition <= targetPosition) {
+          low = page.byteStreamPosition;
+        } else {
+          high = middle;
+        }
+      }
+    }
+
+    return seekFromPageAtOrBefore(low, targetPosition);
+  }
+
+  private long seekFromPageAtOrBefore(long pagePosition, long targetPosition) throws IOException {
+    OggPageHeader foundPage = null;
+    long foundPageEnd = 0;
+    boolean foundPageContinues = false;
+
+    inputStream.seek(pagePosition);
+
+    // Walk the pages from the given one until the first one which has a position beyond the target.
+    while (readPageHeader() && pageHeader.streamIdentifier == trackIdentifier) {
+      long pageEnd = inputStream.getPosition();
+
+      for (int i = 0; i < pageHeader.segmentCount; i++) {
+        pageEnd += segmentSizes[i];
+      }
+
+      if (pageHeader.absolutePosition != -1L) {
+        pageIndex.put(pageHeader.absolutePosition, pageHeader.byteStreamPosition);
+
+        if (pageHeader.absolutePosition > targetPosition) {
+          break;
+        }
+
+        foundPage = pageHeader;
+        foundPageEnd = pageEnd;
+        foundPageContinues = pageHeader.segmentCount > 0 && segmentSizes[pageHeader.segmentCount - 1] == 255;
+      }
+
+      if (pageHeader.isLastPage) {
+        break;
+      }
+
+      inputStream.seek(pageEnd);
+    }
+
+    if (foundPage == null) {
+      throw new IllegalStateException("No page found in the track before the seek position.");
+    }
+
+    inputStream.seek(foundPageEnd);
+
+    pageHeader = foundPage;
+    nextPacketSegmentIndex = foundPage.segmentCount;
+    bytesLeftInPacket = 0;
+    packetContinues = foundPageContinues;
+    state = packetContinues ? State.PACKET_READ : State.PACKET_BOUNDARY;
+
+    // The packet which continues from the found page does not belong to the part of the track after its position.
+    while (continuePacket()) {
+      inputStream.seek(inputStream.getPosition() + bytesLeftInPacket);
+      bytesLeftInPacket = 0;
+    }
+
+    return foundPage.absolutePosition;
+  }
+
   /**
    * Process request for more bytes for the packet. Call only when the state is PACKET_READ.
    *
@@ -59,6 +59,32 @@ public class OggPageScanner {
     return null;
   }
 
+  /**
+   * @param streamIdentifier Identifier of the track to look for pages of.
+   * @return The header of the first complete page of the track in the data which has a known position (at least one
+   *         packet ends on it), otherwise <code>null</code>.
+   */
+  public OggPageHeader scanForPositionedPage(int streamIdentifier) {
+    ByteBuffer buffer = ByteBuffer.wrap(data, 0, dataLength);
+
+    for (int i = 0; i < dataLength - 27; i++) {
+      buffer.position(i);
+
+      if (attemptReadHeader(buffer)) {
+        if (Integer.reverseBytes(buffer.getInt(i + 14)) == streamIdentifier && reversedPosition != -1L) {
+          return new OggPageHeader(flags, Long.reverseBytes(reversedPosition), streamIdentifier,
+              Integer.reverseBytes(buffer.getInt(i + 18)), Integer.reverseBytes(buffer.getInt(i + 22)),
+              buffer.get(i + 26) & 0xFF, byteStreamPosition);
+        }
+
+        // Continue from the end of this page, so that nothing in its payload is mistaken for a page header.
+        i = buffer.position() - 1;
+      }
+    }
+
+    return null;
+  }
+
   private boolean attemptReadHeader(ByteBuffer buffer) {
     int start = buffer.position();
 
@@ -1,13 +1,13 @@
 package com.sedmelluq.discord.lavaplayer.container.ogg.flac;
 
 import com.sedmelluq.discord.lavaplayer.container.flac.FlacTrackInfo;
-import com.sedmelluq.discord.lavaplayer.container.flac.frame.FlacFrameReader;
+import com.sedmelluq.discord.lavaplayer.container.flac.frame.FlacFrameDecoder;
+import com.sedmelluq.discord.lavaplayer.container.flac.frame.FlacFrameDecoderFactory;
 import com.sedmelluq.discord.lavaplayer.container.ogg.OggPacketInputStream;
 import com.sedmelluq.discord.lavaplayer.container.ogg.OggTrackHandler;
 import com.sedmelluq.discord.lavaplayer.filter.AudioPipeline;
 import com.sedmelluq.discord.lavaplayer.filter.AudioPipelineFactory;
 import com.sedmelluq.discord.lavaplayer.filter.PcmFormat;
-import com.sedmelluq.discord.lavaplayer.tools.io.BitStreamReader;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
 
 import java.io.IOException;
@@ -18,9 +18,7 @@ import java.io.IOException;
 public class OggFlacTrackHandler implements OggTrackHandler {
   private final FlacTrackInfo info;
   private final OggPacketInputStream packetInputStream;
-  private final BitStreamReader bitStreamReader;
-  private final int[] decodingBuffer;
-  private final int[][] rawSampleBuffers;
+  private final FlacFrameDecoder frameDecoder;
   private final short[][] sampleBuffers;
   private AudioPipeline downstream;
 
@@ -31,15 +29,8 @@ public class OggFlacTrackHandler implements OggTrackHandler {
   public OggFlacTrackHandler(FlacTrackInfo info, OggPacketInputStream packetInputStream) {
     this.info = info;
     this.packetInputStream = packetInputStream;
-    this.bitStreamReader = new BitStreamReader(packetInputStream);
-    this.decodingBuffer = new int[FlacFrameReader.TEMPORARY_BUFFER_SIZE];
-    this.rawSampleBuffers = new int[info.stream.channelCount][];
-    this.sampleBuffers = new short[info.stream.channelCount][];
-
-    for (int i = 0; i < rawSampleBuffers.length; i++) {
-      rawSampleBuffers[i] = new int[info.stream.maximumBlockSize];
-      sampleBuffers[i] = new short[info.stream.maximumBlockSize];
-    }
+    this.frameDecoder = FlacFrameDecoderFactory.create(info.stream, packetInputStream);
+    this.sampleBuffers = new short[info.stream.channelCount][info.stream.maximumBlockSize];
   }
 
   @Override
@@ -52,7 +43,10 @@ public class OggFlacTrackHandler implements OggTrackHandler {
   public void provideFrames() throws InterruptedException {
     try {
       while (packetInputStream.startNewPacket()) {
-        int sampleCount = readFlacFrame();
+        // Each packet contains exactly one frame, anything the decoder buffered from the previous one is not needed.
+        frameDecoder.reset();
+
+        int sampleCount = frameDecoder.decodeFrame(sampleBuffers);
 
         if (sampleCount == 0) {
           throw new IllegalStateException("Not enough bytes in packet.");
@@ -65,17 +59,22 @@ public class OggFlacTrackHandler implements OggTrackHandler {
     }
   }
 
-  private int readFlacFrame() throws IOException {
-    return FlacFrameReader.readFlacFrame(packetInputStream, bitStreamReader, info.stream, rawSampleBuffers, sampleBuffers, decodingBuffer);
-  }
-
   @Override
   public void seekToTimecode(long timecode) {
-    throw new UnsupportedOperationException();
+    int sampleRate = info.stream.sampleRate;
+
+    try {
+      long position = packetInputStream.seekToGranulePosition(timecode * sampleRate / 1000);
+      downstream.seekPerformed(timecode, position * 1000 / sampleRate);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
   }
 
   @Override
   public void close() {
+    frameDecoder.close();
+
     if (downstream != null) {
       downstream.close();
     }
@@ -41,10 +41,13 @@ public class OggOpusCodecHandler implements OggCodecHandler {
     ByteBuffer firstPacket = broker.getBuffer();
     verifyFirstPacket(firstPacket);
 
+    int channelCount = firstPacket.get(9) & 0xFF;
+    int sampleRate = getSampleRate(firstPacket);
+    int preSkip = getPreSkip(firstPacket);
+
     loadCommentsHeader(stream, broker, true);
 
-    int channelCount = firstPacket.get(9) & 0xFF;
-    return new OggOpusTrackHandler(stream, broker, channelCount, getSampleRate(firstPacket));
+    return new OggOpusTrackHandler(stream, broker, channelCount, sampleRate, preSkip);
   }
 
   @Override
@@ -52,11 +55,13 @@ public class OggOpusCodecHandler implements OggCodecHandler {
     ByteBuffer firstPacket = broker.getBuffer();
     verifyFirstPacket(firstPacket);
 
+    // The broker buffer is reused for the comments header.
+    int preSkip = getPreSkip(firstPacket);
     loadCommentsHeader(stream, broker, false);
 
     return new OggMetadata(
         parseTags(broker.getBuffer(), broker.isTruncated()),
-        detectLength(stream, getSampleRate(firstPacket))
+        detectLength(stream, preSkip)
     );
   }
 
@@ -68,11 +73,12 @@ public class OggOpusCodecHandler implements OggCodecHandler {
     return VorbisCommentParser.parse(tagBuffer, truncated);
   }
 
-  private Long detectLength(OggPacketInputStream stream, int sampleRate) throws IOException {
-    OggStreamSizeInfo sizeInfo = stream.seekForSizeInfo(sampleRate);
+  private Long detectLength(OggPacketInputStream stream, int preSkip) throws IOException {
+    // Granule positions of Opus are always at 48kHz regardless of the original sample rate in the header.
+    OggStreamSizeInfo sizeInfo = stream.seekForSizeInfo(OggOpusTrackHandler.GRANULE_RATE);
 
     if (sizeInfo != null) {
-      return sizeInfo.totalSamples * 1000 / sizeInfo.sampleRate;
+      return Math.max(0, sizeInfo.totalSamples - preSkip) * 1000 / sizeInfo.sampleRate;
     } else {
       return null;
     }
@@ -88,6 +94,10 @@ public class OggOpusCodecHandler implements OggCodecHandler {
     return Integer.reverseBytes(firstPacket.getInt(12));
   }
 
+  private int getPreSkip(ByteBuffer firstPacket) {
+    return Short.reverseBytes(firstPacket.getShort(10)) & 0xFFFF;
+  }
+
   private void loadCommentsHeader(OggPacketInputStream stream, DirectBufferStreamBroker broker, boolean skip)
       throws IOException {
 
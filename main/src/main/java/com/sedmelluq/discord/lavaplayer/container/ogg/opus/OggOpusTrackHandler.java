@@ -13,10 +13,19 @@ import java.nio.ByteBuffer;
  * OGG stream handler for Opus codec.
  */
 public class OggOpusTrackHandler implements OggTrackHandler {
+  /**
+   * Sample rate of the granule positions of Opus pages.
+   */
+  public static final int GRANULE_RATE = 48000;
+
+  // The decoder needs this much audio before the seek position to converge, as recommended by the Ogg Opus spec.
+  private static final long SEEK_PRE_ROLL = 80;
+
   private final OggPacketInputStream packetInputStream;
   private final DirectBufferStreamBroker broker;
   private final int channelCount;
   private final int sampleRate;
+  private final int preSkip;
   private OpusPacketRouter opusPacketRouter;
 
   /**
@@ -24,14 +33,16 @@ public class OggOpusTrackHandler implements OggTrackHandler {
    * @param broker Broker for loading stream data into direct byte buffer.
    * @param channelCount Number of channels in the track.
    * @param sampleRate Sample rate of the track.
+   * @param preSkip Number of samples at 48kHz to discard from the start of the decoded output.
    */
   public OggOpusTrackHandler(OggPacketInputStream packetInputStream, DirectBufferStreamBroker broker, int channelCount,
-                             int sampleRate) {
+                             int sampleRate, int preSkip) {
 
     this.packetInputStream = packetInputStream;
     this.broker = broker;
     this.channelCount = channelCount;
     this.sampleRate = sampleRate;
+    this.preSkip = preSkip;
   }
 
   @Override
@@ -43,9 +54,7 @@ public class OggOpusTrackHandler implements OggTrackHandler {
   public void provideFrames() throws InterruptedException {
     try {
       while (packetInputStream.startNewPacket()) {
-        broker.consumeNext(packetInputStream, Integer.MAX_VALUE, Integer.MAX_VALUE);
-
-        ByteBuffer buffer = broker.getBuffer();
+        ByteBuffer buffer = packetInputStream.readPacketBuffer(broker);
 
         if (buffer.remaining() > 0) {
           opusPacketRouter.process(buffer);
@@ -58,7 +67,15 @@ public class OggOpusTrackHandler implements OggTrackHandler {
 
   @Override
   public void seekToTimecode(long timecode) {
-    throw new UnsupportedOperationException();
+    long samplesPerMillisecond = GRANULE_RATE / 1000;
+    long targetPosition = preSkip + Math.max(0, timecode - SEEK_PRE_ROLL) * samplesPerMillisecond;
+
+    try {
+      long position = packetInputStream.seekToGranulePosition(targetPosition);
+      opusPacketRouter.seekPerformed(timecode, Math.max(0, position - preSkip) / samplesPerMillisecond);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
   }
 
   @Override
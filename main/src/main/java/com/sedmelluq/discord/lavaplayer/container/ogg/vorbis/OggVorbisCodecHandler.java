@@ -3,12 +3,14 @@ package com.sedmelluq.discord.lavaplayer.container.ogg.vorbis;
 import com.sedmelluq.discord.lavaplayer.container.ogg.OggCodecHandler;
 import com.sedmelluq.discord.lavaplayer.container.ogg.OggMetadata;
 import com.sedmelluq.discord.lavaplayer.container.ogg.OggPacketInputStream;
+import com.sedmelluq.discord.lavaplayer.container.ogg.OggStreamSizeInfo;
 import com.sedmelluq.discord.lavaplayer.container.ogg.OggTrackHandler;
 import com.sedmelluq.discord.lavaplayer.tools.io.DirectBufferStreamBroker;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Map;
 
 public class OggVorbisCodecHandler implements OggCodecHandler {
   private static final int VORBIS_IDENTIFIER = ByteBuffer.wrap(new byte[] { 0x01, 'v', 'o', 'r' }).getInt();
@@ -38,6 +40,7 @@ public class OggVorbisCodecHandler implements OggCodecHandler {
 
   @Override
   public OggMetadata loadMetadata(OggPacketInputStream stream, DirectBufferStreamBroker broker) throws IOException {
+    int sampleRate = Integer.reverseBytes(broker.getBuffer().getInt(12));
     loadCommentsHeader(stream, broker, false);
 
     ByteBuffer commentsPacket = broker.getBuffer();
@@ -48,7 +51,13 @@ public class OggVorbisCodecHandler implements OggCodecHandler {
       return OggMetadata.EMPTY;
     }
 
-    return new OggMetadata(VorbisCommentParser.parse(commentsPacket, broker.isTruncated()), null);
+    Map<String, String> tags = VorbisCommentParser.parse(commentsPacket, broker.isTruncated());
+    return new OggMetadata(tags, detectLength(stream, sampleRate));
+  }
+
+  private Long detectLength(OggPacketInputStream stream, int sampleRate) throws IOException {
+    OggStreamSizeInfo sizeInfo = stream.seekForSizeInfo(sampleRate);
+    return sizeInfo != null ? sizeInfo.getDuration() : null;
   }
 
   private void loadCommentsHeader(OggPacketInputStream stream, DirectBufferStreamBroker broker, boolean skip)
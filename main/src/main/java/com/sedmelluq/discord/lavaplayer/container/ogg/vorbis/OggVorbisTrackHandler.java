@@ -21,8 +21,9 @@ public class OggVorbisTrackHandler implements OggTrackHandler {
   private final byte[] infoPacket;
   private final OggPacketInputStream packetInputStream;
   private final DirectBufferStreamBroker broker;
-  private final VorbisDecoder decoder;
   private final int sampleRate;
+  private VorbisDecoder decoder;
+  private ByteBuffer setupBuffer;
   private float[][] channelPcmBuffers;
   private AudioPipeline downstream;
 
@@ -52,17 +53,19 @@ public class OggVorbisTrackHandler implements OggTrackHandler {
 
   @Override
   public void initialise(AudioProcessingContext context) throws IOException {
-    ByteBuffer infoBuffer = ByteBuffer.allocateDirect(infoPacket.length);
-    infoBuffer.put(infoPacket);
-    infoBuffer.flip();
-
     if (!packetInputStream.startNewPacket()) {
       throw new IllegalStateException("End of track before header setup header.");
     }
 
     broker.consumeNext(packetInputStream, Integer.MAX_VALUE, Integer.MAX_VALUE);
-    decoder.initialise(infoBuffer, broker.getBuffer());
 
+    // Kept for resetting the decoder on seek.
+    ByteBuffer setupPacket = broker.getBuffer();
+    setupBuffer = ByteBuffer.allocateDirect(setupPacket.remaining());
+    setupBuffer.put(setupPacket);
+    setupBuffer.flip();
+
+    initialiseDecoder();
     broker.resetAndCompact();
 
     downstream = AudioPipelineFactory.create(context, new PcmFormat(decoder.getChannelCount(), sampleRate));
@@ -72,14 +75,21 @@ public class OggVorbisTrackHandler implements OggTrackHandler {
   public void provideFrames() throws InterruptedException {
     try {
       while (packetInputStream.startNewPacket()) {
-        broker.consumeNext(packetInputStream, Integer.MAX_VALUE, Integer.MAX_VALUE);
-        provideFromBuffer(broker.getBuffer());
+        provideFromBuffer(packetInputStream.readPacketBuffer(broker));
       }
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
   }
 
+  private void initialiseDecoder() {
+    ByteBuffer infoBuffer = ByteBuffer.allocateDirect(infoPacket.length);
+    infoBuffer.put(infoPacket);
+    infoBuffer.flip();
+
+    decoder.initialise(infoBuffer, setupBuffer.duplicate());
+  }
+
   private void provideFromBuffer(ByteBuffer buffer) throws InterruptedException {
     decoder.input(buffer);
     int output;
@@ -95,7 +105,17 @@ public class OggVorbisTrackHandler implements OggTrackHandler {
 
   @Override
   public void seekToTimecode(long timecode) {
-    throw new UnsupportedOperationException();
+    try {
+      long position = packetInputStream.seekToGranulePosition(timecode * sampleRate / 1000);
+
+      decoder.close();
+      decoder = new VorbisDecoder();
+      initialiseDecoder();
+
+      downstream.seekPerformed(timecode, position * 1000 / sampleRate);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
   }
 
   @Override
@@ -7,6 +7,7 @@ import com.sedmelluq.discord.lavaplayer.container.MediaContainerProbe;
 import com.sedmelluq.discord.lavaplayer.source.http.HttpAudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.DataFormatTools;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
+import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterfaceManager;
 import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.tools.io.ThreadLocalHttpInterfaceManager;
@@ -70,7 +71,10 @@ public class M3uPlaylistContainerProbe implements MediaContainerProbe {
       AudioReference httpReference = HttpAudioSourceManager.getAsHttpReference(reference);
 
       if (httpReference != null) {
-        return supportedFormat(this, TYPE_HLS_OUTER, infoBuilder.setIdentifier(httpReference.identifier).build());
+        return supportedFormat(this, TYPE_HLS_OUTER, infoBuilder
+            .setIdentifier(httpReference.identifier)
+            .setLength(loadCompleteStreamDuration(httpReference.identifier))
+            .build());
       } else {
         return refer(this, new AudioReference(hlsStreamUrl, infoBuilder.getTitle(),
             new MediaContainerDescriptor(this, TYPE_HLS_INNER)));
@@ -85,6 +89,16 @@ public class M3uPlaylistContainerProbe implements MediaContainerProbe {
     return unsupportedFormat(this, "The playlist file contains no links.");
   }
 
+  private Long loadCompleteStreamDuration(String streamListUrl) {
+    // Video on demand streams have a known duration, which makes them seekable.
+    try (HttpInterface httpInterface = httpInterfaceManager.getInterface()) {
+      return new HlsStreamSegmentUrlProvider(streamListUrl, null).loadCompleteStreamDuration(httpInterface);
+    } catch (Exception e) {
+      log.debug("Failed to load the duration of HLS stream {}.", streamListUrl, e);
+      return null;
+    }
+  }
+
   private MediaContainerDetectionResult loadSingleItemPlaylist(String[] lines) {
     String trackTitle = null;
 
@@ -22,6 +22,16 @@ public class AudioPipelineFactory {
         context.playerOptions.filterFactory.get() != null;
   }
 
+  /**
+   * @param context Audio processing context to check output format from
+   * @param inputFormat Input format of the audio
+   * @return True if the audio needs a pipeline for anything other than applying the volume, which can also be applied
+   *         by only decoding and encoding again when the input is already in the output format.
+   */
+  public static boolean isPipelineRequired(AudioProcessingContext context, AudioDataFormat inputFormat) {
+    return !context.outputFormat.equals(inputFormat) || context.playerOptions.filterFactory.get() != null;
+  }
+
   /**
    * Creates an audio pipeline instance based on provided settings.
    *
@@ -8,7 +8,10 @@ import java.nio.ByteBuffer;
 import java.nio.ShortBuffer;
 
 /**
- * Post processor which encodes audio chunks and passes them as audio frames to the frame buffer.
+ * Post processor which encodes audio chunks and passes them as audio frames to the frame buffer. The chunk is encoded
+ * into a buffer owned by this instance and the frame buffer copies it into its own storage, so no objects are allocated
+ * per chunk unless the frame buffer implementation itself allocates (such as {@link
+ * com.sedmelluq.discord.lavaplayer.track.playback.AllocatingAudioFrameBuffer}).
  */
 public class BufferingPostProcessor implements AudioPostProcessor {
   private final AudioProcessingContext context;
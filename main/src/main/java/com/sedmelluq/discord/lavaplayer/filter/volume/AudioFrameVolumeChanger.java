@@ -45,11 +45,18 @@ public class AudioFrameVolumeChanger implements AudioFrameRebuilder {
       return frame;
     }
 
+    frameIndex++;
+
+    // Volume 0 is stored in the frame with volume 100 buffer, so after the transition only the volume value changes.
+    if (frameIndex >= 50 && isStoredAtFullVolume(frame.getVolume()) && isStoredAtFullVolume(newVolume)) {
+      return new ImmutableAudioFrame(frame.getTimecode(), frame.getData(), newVolume, format);
+    }
+
     decoder.decode(frame.getData(), sampleBuffer);
 
     int targetVolume = newVolume;
 
-    if (++frameIndex < 50) {
+    if (frameIndex < 50) {
       targetVolume = (int) ((newVolume - frame.getVolume()) * (frameIndex / 50.0) + frame.getVolume());
     }
 
@@ -72,6 +79,10 @@ public class AudioFrameVolumeChanger implements AudioFrameRebuilder {
     return new ImmutableAudioFrame(frame.getTimecode(), bytes, targetVolume, format);
   }
 
+  private static boolean isStoredAtFullVolume(int volume) {
+    return volume == 100 || volume == 0;
+  }
+
   private void setupLibraries() {
     encoder = format.createEncoder(configuration);
     decoder = format.createDecoder();
@@ -39,13 +39,13 @@ public class OpusChunkEncoder implements AudioChunkEncoder {
     if (outBuffer.isDirect()) {
       encoder.encode(buffer, format.chunkSampleCount, outBuffer);
     } else {
+      // The native encoder can only write to direct buffers, so heap buffers are served by a single bulk copy from the
+      // reusable direct buffer, which does not allocate anything.
       encoder.encode(buffer, format.chunkSampleCount, encodedBuffer);
 
-      int length = encodedBuffer.remaining();
-      encodedBuffer.get(outBuffer.array(), 0, length);
-
-      outBuffer.position(0);
-      outBuffer.limit(length);
+      outBuffer.clear();
+      outBuffer.put(encodedBuffer);
+      outBuffer.flip();
     }
   }
 
@@ -0,0 +1,81 @@
+package com.sedmelluq.discord.lavaplayer.natives.flac;
+
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacStreamInfo;
+import com.sedmelluq.lava.common.natives.NativeResourceHolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A wrapper around the native methods of FlacDecoderLibrary, which uses libFLAC native library. The decoder reads the
+ * frames directly from an input stream. As it reads ahead of the frame it is currently decoding, it must be the only
+ * one reading from that stream, and {@link #reset()} must be called after the position of the stream is changed.
+ */
+public class FlacDecoder extends NativeResourceHolder {
+  private static final int TRANSFER_BUFFER_SIZE = 4096;
+
+  private final FlacDecoderLibrary library;
+  private final long instance;
+  private final InputStream inputStream;
+  private final byte[] transferBuffer;
+
+  /**
+   * @param streamInfo Contents of the stream info metadata block
+   * @param channelCount Number of channels in the stream
+   * @param bitsPerSample Number of bits per sample in the stream
+   * @param maximumBlockSize Maximum number of samples in a frame
+   * @param inputStream Input stream to read the frames from
+   */
+  public FlacDecoder(byte[] streamInfo, int channelCount, int bitsPerSample, int maximumBlockSize,
+                     InputStream inputStream) {
+
+    if (streamInfo.length != FlacStreamInfo.LENGTH) {
+      throw new IllegalArgumentException("Invalid stream info block size.");
+    }
+
+    library = FlacDecoderLibrary.getInstance();
+    instance = library.create(streamInfo, channelCount, bitsPerSample, maximumBlockSize);
+
+    if (instance == 0) {
+      throw new IllegalStateException("Failed to create a decoder instance");
+    }
+
+    this.inputStream = inputStream;
+    this.transferBuffer = new byte[TRANSFER_BUFFER_SIZE];
+  }
+
+  /**
+   * Decode the next frame from the input stream into 16-bit samples. Samples with a different bit depth are converted
+   * the same way as the Java FLAC decoder does.
+   *
+   * @param channels Channel buffers to write the samples to, at least as long as the maximum block size
+   * @return The number of samples written to each channel, 0 on the end of the stream
+   * @throws IOException When reading from the input stream fails
+   */
+  public int decodeFrame(short[][] channels) throws IOException {
+    checkNotReleased();
+
+    int result = library.decode(instance, inputStream, transferBuffer, channels);
+
+    if (result < 0) {
+      throw new IllegalStateException("Decoding failed with error " + result);
+    }
+
+    return result;
+  }
+
+  /**
+   * Discard all bytes the decoder has read ahead, the next frame is searched from the current position of the input
+   * stream.
+   */
+  public void reset() {
+    checkNotReleased();
+
+    library.reset(instance);
+  }
+
+  @Override
+  protected void freeResources() {
+    library.destroy(instance);
+  }
+}
@@ -0,0 +1,25 @@
+package com.sedmelluq.discord.lavaplayer.natives.flac;
+
+import com.sedmelluq.discord.lavaplayer.natives.ConnectorNativeLibLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+class FlacDecoderLibrary {
+  private FlacDecoderLibrary() {
+
+  }
+
+  static FlacDecoderLibrary getInstance() {
+    ConnectorNativeLibLoader.loadConnectorLibrary();
+    return new FlacDecoderLibrary();
+  }
+
+  native long create(byte[] streamInfo, int channelCount, int bitsPerSample, int maximumBlockSize);
+
+  native void destroy(long instance);
+
+  native int decode(long instance, InputStream stream, byte[] transferBuffer, short[][] output) throws IOException;
+
+  native void reset(long instance);
+}
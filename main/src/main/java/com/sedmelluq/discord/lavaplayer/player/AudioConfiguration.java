@@ -2,8 +2,11 @@ package com.sedmelluq.discord.lavaplayer.player;
 
 import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 import com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats;
+import com.sedmelluq.discord.lavaplayer.tools.io.DiskSegmentCache;
 import com.sedmelluq.discord.lavaplayer.track.playback.AllocatingAudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioClipCache;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBufferFactory;
+import com.sedmelluq.discord.lavaplayer.track.playback.CooperativePlaybackScheduler;
 
 /**
  * Configuration for audio processing.
@@ -16,6 +19,10 @@ public class AudioConfiguration {
   private volatile AudioDataFormat outputFormat;
   private volatile boolean filterHotSwapEnabled;
   private volatile AudioFrameBufferFactory frameBufferFactory;
+  private volatile int streamPrefetchSize;
+  private volatile DiskSegmentCache streamCache;
+  private volatile AudioClipCache clipCache;
+  private volatile CooperativePlaybackScheduler playbackScheduler;
 
   /**
    * Create a new configuration with default values.
@@ -68,6 +75,52 @@ public class AudioConfiguration {
     this.frameBufferFactory = frameBufferFactory;
   }
 
+  public int getStreamPrefetchSize() {
+    return streamPrefetchSize;
+  }
+
+  /**
+   * @param streamPrefetchSize Number of bytes to read ahead of the decoder on a background thread for tracks streamed
+   *                           over HTTP, zero to read only when the decoder needs more data.
+   */
+  public void setStreamPrefetchSize(int streamPrefetchSize) {
+    this.streamPrefetchSize = Math.max(0, streamPrefetchSize);
+  }
+
+  public DiskSegmentCache getStreamCache() {
+    return streamCache;
+  }
+
+  /**
+   * @param streamCache Cache to store the content of tracks streamed over HTTP in, null to not cache them.
+   */
+  public void setStreamCache(DiskSegmentCache streamCache) {
+    this.streamCache = streamCache;
+  }
+
+  public AudioClipCache getClipCache() {
+    return clipCache;
+  }
+
+  /**
+   * @param clipCache Cache to keep the decoded output of short tracks in, null to decode them on every play.
+   */
+  public void setClipCache(AudioClipCache clipCache) {
+    this.clipCache = clipCache;
+  }
+
+  public CooperativePlaybackScheduler getPlaybackScheduler() {
+    return playbackScheduler;
+  }
+
+  /**
+   * @param playbackScheduler Scheduler to share a fixed number of slots for processing frames between all playing
+   *                          tracks, null to let every track process frames whenever its buffer has space.
+   */
+  public void setPlaybackScheduler(CooperativePlaybackScheduler playbackScheduler) {
+    this.playbackScheduler = playbackScheduler;
+  }
+
   /**
    * @return A copy of this configuration.
    */
@@ -78,6 +131,10 @@ public class AudioConfiguration {
     copy.setOutputFormat(outputFormat);
     copy.setFilterHotSwapEnabled(filterHotSwapEnabled);
     copy.setFrameBufferFactory(frameBufferFactory);
+    copy.setStreamPrefetchSize(streamPrefetchSize);
+    copy.setStreamCache(streamCache);
+    copy.setClipCache(clipCache);
+    copy.setPlaybackScheduler(playbackScheduler);
     return copy;
   }
 
@@ -10,6 +10,7 @@ import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.HttpClientBuilder;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -76,6 +77,17 @@ public interface AudioPlayerManager {
    */
   Future<Void> loadItemOrdered(Object orderingKey, final String identifier, final AudioLoadResultHandler resultHandler);
 
+  /**
+   * Schedules loading multiple tracks or playlists. Source managers which can look up several identifiers with one
+   * request load the identifiers they recognise together, the rest are loaded the same way as with
+   * {@link #loadItem(String, AudioLoadResultHandler)}.
+   *
+   * @param identifiers          The identifiers to load
+   * @param resultHandlerFactory Creates the handler for the result of an identifier, called once for each identifier
+   * @return A future which completes when all the identifiers have been loaded
+   */
+  Future<Void> loadItems(Collection<String> identifiers, Function<String, AudioLoadResultHandler> resultHandlerFactory);
+
   /**
    * Encode a track into an output stream. If the decoder is not supposed to know the number of tracks in advance, then
    * the encoder should call MessageOutput#finish() after all the tracks it wanted to write have been written. This will
@@ -1,7 +1,10 @@
 package com.sedmelluq.discord.lavaplayer.player;
 
+import com.sedmelluq.discord.lavaplayer.player.cache.AudioItemCache;
+import com.sedmelluq.discord.lavaplayer.player.cache.CachedAudioItem;
 import com.sedmelluq.discord.lavaplayer.remote.RemoteAudioTrackExecutor;
 import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeManager;
+import com.sedmelluq.discord.lavaplayer.remote.balancer.RemoteNodeBalancer;
 import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeRegistry;
 import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.source.ProbingAudioSourceManager;
@@ -10,6 +13,7 @@ import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.tools.GarbageCollectionMonitor;
 import com.sedmelluq.discord.lavaplayer.tools.OrderedExecutor;
+import com.sedmelluq.discord.lavaplayer.tools.VirtualThreadFactory;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpConfigurable;
 import com.sedmelluq.discord.lavaplayer.tools.io.MessageInput;
 import com.sedmelluq.discord.lavaplayer.tools.io.MessageOutput;
@@ -18,10 +22,13 @@ import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import com.sedmelluq.discord.lavaplayer.track.BasicAudioPlaylist;
 import com.sedmelluq.discord.lavaplayer.track.DecodedTrackHolder;
 import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.TrackStateListener;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioClipCache;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.track.playback.CooperativePlaybackScheduler;
 import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
 import com.sedmelluq.lava.common.tools.DaemonThreadFactory;
 import com.sedmelluq.lava.common.tools.ExecutorTools;
@@ -39,21 +46,32 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.COMMON;
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.FAULT;
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.SUSPICIOUS;
 
@@ -78,7 +96,7 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
   private volatile Consumer<HttpClientBuilder> httpBuilderConfigurator;
 
   // Executors
-  private final ExecutorService trackPlaybackExecutorService;
+  private final ThreadPoolExecutor trackPlaybackExecutorService;
   private final ThreadPoolExecutor trackInfoExecutorService;
   private final ScheduledExecutorService scheduledExecutorService;
   private final OrderedExecutor orderedInfoExecutor;
@@ -89,6 +107,10 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
   private final AtomicLong cleanupThreshold;
   private volatile int frameBufferDuration;
   private volatile boolean useSeekGhosting;
+  private volatile boolean useVirtualThreads;
+  private volatile AudioItemCache itemCache;
+  private volatile boolean useLoadCoalescing;
+  private final ConcurrentMap<String, SharedItemLoad> inFlightLoads;
 
   // Additional services
   private final RemoteNodeManager remoteNodeManager;
@@ -116,6 +138,9 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     cleanupThreshold = new AtomicLong(DEFAULT_CLEANUP_THRESHOLD);
     frameBufferDuration = DEFAULT_FRAME_BUFFER_DURATION;
     useSeekGhosting = true;
+    useVirtualThreads = false;
+    useLoadCoalescing = true;
+    inFlightLoads = new ConcurrentHashMap<>();
 
     // Additional services
     remoteNodeManager = new RemoteNodeManager(this);
@@ -148,6 +173,73 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     }
   }
 
+  /**
+   * Configures remote nodes to be used through one persistent stream connection per node, on which the node pushes
+   * frames as soon as they are available, instead of polling them with a tick request every 500ms. This allows remote
+   * tracks to use a smaller frame buffer. Nodes which do not have stream connections enabled are still polled, so this
+   * should only be enabled once all nodes support it. Applies to tracks started after the call.
+   *
+   * @param useRemoteNodeStreaming Whether to use stream connections for remote nodes.
+   */
+  public void setUseRemoteNodeStreaming(boolean useRemoteNodeStreaming) {
+    remoteNodeManager.setStreamingEnabled(useRemoteNodeStreaming);
+  }
+
+  /**
+   * @param balancer Strategy for choosing the remote node for each new track. By default the node with the lowest
+   *                 balancer penalty is chosen.
+   */
+  public void setRemoteNodeBalancer(RemoteNodeBalancer balancer) {
+    remoteNodeManager.setBalancer(balancer);
+  }
+
+  /**
+   * Configures whether playing tracks are moved off remote nodes with a very high balancer penalty to nodes with a low
+   * one. The tracks continue from their current position on the new node, the same way as tracks of nodes which go
+   * offline. Only a small part of the tracks of a node is moved at a time.
+   *
+   * @param useRemoteNodeRebalancing Whether to move tracks off overloaded remote nodes.
+   */
+  public void setUseRemoteNodeRebalancing(boolean useRemoteNodeRebalancing) {
+    remoteNodeManager.setRebalancingEnabled(useRemoteNodeRebalancing);
+  }
+
+  /**
+   * @return The cache for item load results, or null if results are not cached.
+   */
+  public AudioItemCache getItemCache() {
+    return itemCache;
+  }
+
+  /**
+   * Sets a cache for the results of loading items. When the same identifier is loaded again while its result is in the
+   * cache, the result handler receives new instances of the cached tracks without the source managers being asked to
+   * load it. Results which failed with an exception of severity other than COMMON are not cached.
+   *
+   * @param itemCache The cache to use, or null to not cache results.
+   */
+  public void setItemCache(AudioItemCache itemCache) {
+    this.itemCache = itemCache;
+  }
+
+  /**
+   * @return True if concurrent loads of the same identifier share one lookup.
+   */
+  public boolean isUsingLoadCoalescing() {
+    return useLoadCoalescing;
+  }
+
+  /**
+   * Configures whether loads of an identifier which is already being loaded wait for that load instead of looking it up
+   * from the source managers again. Each result handler still receives its own clones of the loaded tracks, and a load
+   * falls back to its own lookup if the tracks of the result cannot be cloned.
+   *
+   * @param useLoadCoalescing Whether concurrent loads of the same identifier should share one lookup.
+   */
+  public void setUseLoadCoalescing(boolean useLoadCoalescing) {
+    this.useLoadCoalescing = useLoadCoalescing;
+  }
+
   @Override
   public void enableGcMonitoring() {
     garbageCollectionMonitor.enable();
@@ -201,6 +293,150 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     }
   }
 
+  @Override
+  public Future<Void> loadItems(Collection<String> identifiers,
+                                Function<String, AudioLoadResultHandler> resultHandlerFactory) {
+
+    List<String> batchIdentifiers = new ArrayList<>(identifiers);
+    List<AudioLoadResultHandler> resultHandlers = new ArrayList<>();
+
+    for (String identifier : batchIdentifiers) {
+      resultHandlers.add(resultHandlerFactory.apply(identifier));
+    }
+
+    try {
+      return CompletableFuture
+          .supplyAsync(() -> loadItemBatch(batchIdentifiers, resultHandlers), trackInfoExecutorService)
+          .thenCompose(remaining -> loadRemainingItems(batchIdentifiers, resultHandlers, remaining));
+    } catch (RejectedExecutionException e) {
+      for (int i = 0; i < batchIdentifiers.size(); i++) {
+        handleLoadRejected(batchIdentifiers.get(i), resultHandlers.get(i), e);
+      }
+
+      return ExecutorTools.COMPLETED_VOID;
+    }
+  }
+
+  private List<Integer> loadItemBatch(List<String> identifiers, List<AudioLoadResultHandler> resultHandlers) {
+    List<Integer> remaining = new ArrayList<>();
+
+    for (int i = 0; i < identifiers.size(); i++) {
+      try {
+        if (!dispatchCachedItem(identifiers.get(i), resultHandlers.get(i), new boolean[1])) {
+          remaining.add(i);
+        }
+      } catch (Throwable e) {
+        log.warn("Load result handler for {} threw an exception", identifiers.get(i), e);
+        ExceptionTools.rethrowErrors(e);
+      }
+    }
+
+    for (AudioSourceManager sourceManager : sourceManagers) {
+      if (remaining.isEmpty()) {
+        break;
+      }
+
+      List<AudioReference> references = new ArrayList<>();
+
+      for (int index : remaining) {
+        references.add(new AudioReference(identifiers.get(index), null));
+      }
+
+      Map<String, AudioItem> items;
+
+      try {
+        items = sourceManager.loadItems(this, references);
+      } catch (Exception e) {
+        log.warn("Batch load with {} failed, loading the items separately.", sourceManager.getClass().getSimpleName(), e);
+        continue;
+      }
+
+      if (!items.isEmpty()) {
+        log.debug("Loaded {} items in a batch using {}.", items.size(), sourceManager.getClass().getSimpleName());
+        remaining = dispatchBatchItems(identifiers, resultHandlers, remaining, items);
+      }
+    }
+
+    return remaining;
+  }
+
+  private List<Integer> dispatchBatchItems(List<String> identifiers, List<AudioLoadResultHandler> resultHandlers,
+                                           List<Integer> indices, Map<String, AudioItem> items) {
+
+    List<Integer> remaining = new ArrayList<>();
+    Set<String> dispatched = new HashSet<>();
+
+    for (int index : indices) {
+      String identifier = identifiers.get(index);
+      AudioItem item = items.get(identifier);
+
+      if (!(item instanceof AudioTrack)) {
+        remaining.add(index);
+        continue;
+      }
+
+      // Each handler must receive its own instance if the same identifier is in the batch more than once.
+      AudioTrack track = dispatched.add(identifier) ? (AudioTrack) item : ((AudioTrack) item).makeClone();
+      cacheLoadedItem(identifier, track);
+
+      try {
+        resultHandlers.get(index).trackLoaded(track);
+      } catch (Throwable e) {
+        log.warn("Load result handler for {} threw an exception", identifier, e);
+        ExceptionTools.rethrowErrors(e);
+      }
+    }
+
+    return remaining;
+  }
+
+  private CompletableFuture<Void> loadRemainingItems(List<String> identifiers,
+                                                     List<AudioLoadResultHandler> resultHandlers,
+                                                     List<Integer> remaining) {
+
+    // Each lane queues the load of the next remaining item only when its previous one finishes, so a large batch never
+    // has more loads queued at once than the loader pool has threads.
+    AtomicInteger cursor = new AtomicInteger();
+    int laneCount = Math.min(remaining.size(), trackInfoExecutorService.getMaximumPoolSize());
+    List<CompletableFuture<Void>> lanes = new ArrayList<>();
+
+    for (int i = 0; i < laneCount; i++) {
+      CompletableFuture<Void> lane = new CompletableFuture<>();
+      lanes.add(lane);
+      loadNextRemainingItem(identifiers, resultHandlers, remaining, cursor, lane);
+    }
+
+    return CompletableFuture.allOf(lanes.toArray(new CompletableFuture<?>[0]));
+  }
+
+  private void loadNextRemainingItem(List<String> identifiers, List<AudioLoadResultHandler> resultHandlers,
+                                     List<Integer> remaining, AtomicInteger cursor, CompletableFuture<Void> lane) {
+
+    int position;
+
+    while ((position = cursor.getAndIncrement()) < remaining.size()) {
+      int index = remaining.get(position);
+      String identifier = identifiers.get(index);
+      AudioLoadResultHandler resultHandler = resultHandlers.get(index);
+
+      try {
+        trackInfoExecutorService.execute(() -> {
+          try {
+            loadItemShared(identifier, resultHandler);
+          } finally {
+            loadNextRemainingItem(identifiers, resultHandlers, remaining, cursor, lane);
+          }
+        });
+
+        return;
+      } catch (RejectedExecutionException e) {
+        handleLoadRejected(identifier, resultHandler, e);
+      }
+    }
+
+    lane.complete(null);
+  }
+
   private Future<Void> handleLoadRejected(String identifier, AudioLoadResultHandler resultHandler, RejectedExecutionException e) {
     FriendlyException exception = new FriendlyException("Cannot queue loading a track, queue is full.", SUSPICIOUS, e);
     ExceptionTools.log(log, exception, "queueing item " + identifier);
@@ -212,34 +448,113 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
 
   private Callable<Void> createItemLoader(final String identifier, final AudioLoadResultHandler resultHandler) {
     return () -> {
-      boolean[] reported = new boolean[1];
+      loadItemShared(identifier, resultHandler);
+      return null;
+    };
+  }
 
-      try {
-        if (!checkSourcesForItem(new AudioReference(identifier, null), resultHandler, reported)) {
-          log.debug("No matches for track with identifier {}.", identifier);
-          resultHandler.noMatches();
-        }
-      } catch (Throwable throwable) {
-        if (reported[0]) {
-          log.warn("Load result handler for {} threw an exception", identifier, throwable);
-        } else {
-          dispatchItemLoadFailure(identifier, resultHandler, throwable);
+  private void loadItemShared(String identifier, AudioLoadResultHandler resultHandler) {
+    if (useLoadCoalescing) {
+      String key = identifier.trim();
+      SharedItemLoad load = new SharedItemLoad(identifier);
+      SharedItemLoad existingLoad = inFlightLoads.putIfAbsent(key, load);
+
+      if (existingLoad == null) {
+        try {
+          loadItemForHandler(identifier, load.createRecordingHandler(resultHandler));
+        } finally {
+          inFlightLoads.remove(key, load);
+          load.complete();
         }
 
-        ExceptionTools.rethrowErrors(throwable);
+        return;
+      } else if (existingLoad.awaitAndDispatch(resultHandler)) {
+        log.debug("Loaded item with identifier {} from a concurrent load.", identifier);
+        return;
       }
+    }
 
-      return null;
-    };
+    loadItemForHandler(identifier, resultHandler);
+  }
+
+  private void loadItemForHandler(String identifier, AudioLoadResultHandler resultHandler) {
+    boolean[] reported = new boolean[1];
+
+    try {
+      if (dispatchCachedItem(identifier, resultHandler, reported)) {
+        return;
+      }
+
+      if (!checkSourcesForItem(identifier, new AudioReference(identifier, null), resultHandler, reported)) {
+        log.debug("No matches for track with identifier {}.", identifier);
+        cacheItem(identifier, CachedAudioItem.noMatches());
+        resultHandler.noMatches();
+      }
+    } catch (Throwable throwable) {
+      if (reported[0]) {
+        log.warn("Load result handler for {} threw an exception", identifier, throwable);
+      } else {
+        dispatchItemLoadFailure(identifier, resultHandler, throwable);
+      }
+
+      ExceptionTools.rethrowErrors(throwable);
+    }
   }
 
   private void dispatchItemLoadFailure(String identifier, AudioLoadResultHandler resultHandler, Throwable throwable) {
     FriendlyException exception = ExceptionTools.wrapUnfriendlyExceptions("Something went wrong when looking up the track", FAULT, throwable);
     ExceptionTools.log(log, exception, "loading item " + identifier);
 
+    // Other failures may be temporary, the next attempt should go to the source again.
+    if (exception.severity == COMMON) {
+      cacheItem(identifier, CachedAudioItem.failed(exception));
+    }
+
     resultHandler.loadFailed(exception);
   }
 
+  private boolean dispatchCachedItem(String identifier, AudioLoadResultHandler resultHandler, boolean[] reported) {
+    AudioItemCache cache = itemCache;
+    CachedAudioItem cachedItem = cache != null ? cache.get(identifier) : null;
+
+    if (cachedItem == null) {
+      return false;
+    }
+
+    log.debug("Loaded item with identifier {} from cache.", identifier);
+
+    try {
+      reported[0] = true;
+      cachedItem.dispatch(this, resultHandler);
+      return true;
+    } catch (IOException e) {
+      log.warn("Failed to decode cached item with identifier {}, loading it again.", identifier, e);
+
+      reported[0] = false;
+      return false;
+    }
+  }
+
+  private void cacheItem(String identifier, CachedAudioItem cachedItem) {
+    AudioItemCache cache = itemCache;
+
+    if (cache != null && cachedItem != null) {
+      cache.put(identifier, cachedItem);
+    }
+  }
+
+  private void cacheLoadedItem(String identifier, AudioItem item) {
+    if (itemCache == null) {
+      return;
+    }
+
+    try {
+      cacheItem(identifier, CachedAudioItem.fromItem(this, item));
+    } catch (IOException e) {
+      log.warn("Failed to encode item with identifier {} for cache.", identifier, e);
+    }
+  }
+
   @Override
   public void encodeTrack(MessageOutput stream, AudioTrack track) throws IOException {
     DataOutput output = stream.startMessage();
@@ -361,10 +676,21 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
 
       if (customExecutor != null) {
         return customExecutor;
-      } else {
-        int bufferDuration = Optional.ofNullable(playerOptions.frameBufferDuration.get()).orElse(frameBufferDuration);
-        return new LocalAudioTrackExecutor(track, configuration, playerOptions, useSeekGhosting, bufferDuration);
       }
+
+      int bufferDuration = Optional.ofNullable(playerOptions.frameBufferDuration.get()).orElse(frameBufferDuration);
+      AudioClipCache clipCache = configuration.getClipCache();
+
+      if (clipCache != null) {
+        AudioTrackExecutor clipExecutor = clipCache.createExecutor(track, configuration, playerOptions,
+            () -> new LocalAudioTrackExecutor(track, configuration, playerOptions, useSeekGhosting, bufferDuration));
+
+        if (clipExecutor != null) {
+          return clipExecutor;
+        }
+      }
+
+      return new LocalAudioTrackExecutor(track, configuration, playerOptions, useSeekGhosting, bufferDuration);
     }
   }
 
@@ -393,6 +719,68 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     this.frameBufferDuration = Math.max(200, frameBufferDuration);
   }
 
+  /**
+   * @return True if track playback and item loading are run on virtual threads.
+   */
+  public boolean isUsingVirtualThreads() {
+    return useVirtualThreads;
+  }
+
+  /**
+   * Switches track playback and item loading between virtual and platform threads. Only affects threads which are
+   * started after the call. Has no effect if the JVM does not support virtual threads.
+   *
+   * @param useVirtualThreads Whether to use virtual threads for track playback and item loading.
+   */
+  public void setUseVirtualThreads(boolean useVirtualThreads) {
+    ThreadFactory playbackThreadFactory;
+    ThreadFactory infoThreadFactory;
+
+    if (useVirtualThreads) {
+      playbackThreadFactory = VirtualThreadFactory.createIfSupported("playback");
+      infoThreadFactory = VirtualThreadFactory.createIfSupported("info-loader");
+
+      if (playbackThreadFactory == null || infoThreadFactory == null) {
+        log.warn("Virtual threads are not supported by this JVM, continuing to use platform threads.");
+        return;
+      }
+    } else {
+      playbackThreadFactory = new DaemonThreadFactory("playback");
+      infoThreadFactory = new DaemonThreadFactory("info-loader");
+    }
+
+    trackPlaybackExecutorService.setThreadFactory(playbackThreadFactory);
+    trackInfoExecutorService.setThreadFactory(infoThreadFactory);
+    this.useVirtualThreads = useVirtualThreads;
+  }
+
+  /**
+   * @return True if tracks share a fixed number of slots for processing frames.
+   */
+  public boolean isUsingCooperativePlayback() {
+    return configuration.getPlaybackScheduler() != null;
+  }
+
+  /**
+   * Switches between every track processing frames whenever its buffer has space, and tracks sharing one slot per
+   * processor core for processing frames via a {@link CooperativePlaybackScheduler}. Enabling it also switches to
+   * virtual threads as {@link #setUseVirtualThreads(boolean)} does if the JVM supports them, so that the tracks which
+   * are waiting do not occupy any platform threads. Only affects tracks which are started after the call.
+   *
+   * @param useCooperativePlayback Whether tracks should share a fixed number of slots for processing frames.
+   */
+  public void setUseCooperativePlayback(boolean useCooperativePlayback) {
+    if (useCooperativePlayback) {
+      if (configuration.getPlaybackScheduler() == null) {
+        configuration.setPlaybackScheduler(new CooperativePlaybackScheduler());
+      }
+
+      setUseVirtualThreads(true);
+    } else {
+      configuration.setPlaybackScheduler(null);
+    }
+  }
+
   @Override
   public void setTrackStuckThreshold(long trackStuckThreshold) {
     this.trackStuckThreshold = TimeUnit.MILLISECONDS.toNanos(trackStuckThreshold);
@@ -412,11 +800,13 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     trackInfoExecutorService.setMaximumPoolSize(poolSize);
   }
 
-  private boolean checkSourcesForItem(AudioReference reference, AudioLoadResultHandler resultHandler, boolean[] reported) {
+  private boolean checkSourcesForItem(String identifier, AudioReference reference, AudioLoadResultHandler resultHandler,
+                                      boolean[] reported) {
+
     AudioReference currentReference = reference;
 
     for (int redirects = 0; redirects < MAXIMUM_LOAD_REDIRECTS && currentReference.identifier != null; redirects++) {
-      AudioItem item = checkSourcesForItemOnce(currentReference, resultHandler, reported);
+      AudioItem item = checkSourcesForItemOnce(identifier, currentReference, resultHandler, reported);
       if (item == null) {
         return false;
       } else if (!(item instanceof AudioReference)) {
@@ -428,15 +818,25 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     return false;
   }
 
-  private AudioItem checkSourcesForItemOnce(AudioReference reference, AudioLoadResultHandler resultHandler, boolean[] reported) {
+  private AudioItem checkSourcesForItemOnce(String identifier, AudioReference reference,
+                                            AudioLoadResultHandler resultHandler, boolean[] reported) {
+    Map<AudioTrack, AudioTrack> partSnapshots = itemCache != null ? new IdentityHashMap<>() : null;
+
     for (AudioSourceManager sourceManager : sourceManagers) {
       if (reference.containerDescriptor != null && !(sourceManager instanceof ProbingAudioSourceManager)) {
         continue;
       }
 
-      AudioItem item = sourceManager.loadItem(this, reference);
+      AudioItem item = sourceManager.loadItem(this, reference,
+          createPartConsumer(identifier, resultHandler, partSnapshots));
 
       if (item != null) {
+        // Encoded before the handler receives it, as it may already change the position of the track. The tracks of
+        // playlist parts were already passed to the handler, so their snapshots from that time are encoded instead.
+        if (!(item instanceof AudioReference)) {
+          cacheLoadedItem(identifier, withPartSnapshots(item, partSnapshots));
+        }
+
         if (item instanceof AudioTrack) {
           log.debug("Loaded a track with identifier {} using {}.", reference.identifier, sourceManager.getClass().getSimpleName());
           reported[0] = true;
@@ -453,6 +853,59 @@ public class DefaultAudioPlayerManager implements AudioPlayerManager {
     return null;
   }
 
+  private Consumer<AudioPlaylist> createPartConsumer(String identifier, AudioLoadResultHandler resultHandler,
+                                                     Map<AudioTrack, AudioTrack> partSnapshots) {
+
+    if (!(resultHandler instanceof IncrementalAudioLoadResultHandler)) {
+      return null;
+    }
+
+    return part -> {
+      if (partSnapshots != null) {
+        snapshotPart(identifier, part, partSnapshots);
+      }
+
+      try {
+        ((IncrementalAudioLoadResultHandler) resultHandler).playlistPartLoaded(part);
+      } catch (Throwable e) {
+        log.warn("Load result handler for {} threw an exception", identifier, e);
+        ExceptionTools.rethrowErrors(e);
+      }
+    };
+  }
+
+  private static void snapshotPart(String identifier, AudioPlaylist part, Map<AudioTrack, AudioTrack> partSnapshots) {
+    try {
+      List<AudioTrack> tracks = part.getTracks();
+      List<AudioTrack> snapshots = SharedItemLoad.clonePlaylist(part).getTracks();
+
+      for (int i = 0; i < tracks.size(); i++) {
+        partSnapshots.put(tracks.get(i), snapshots.get(i));
+      }
+    } catch (UnsupportedOperationException e) {
+      log.debug("Tracks of a playlist part of {} cannot be cloned, caching them as they are.", identifier);
+    }
+  }
+
+  private static AudioItem withPartSnapshots(AudioItem item, Map<AudioTrack, AudioTrack> partSnapshots) {
+    if (!(item instanceof AudioPlaylist) || partSnapshots == null || partSnapshots.isEmpty()) {
+      return item;
+    }
+
+    AudioPlaylist playlist = (AudioPlaylist) item;
+    List<AudioTrack> tracks = new ArrayList<>(playlist.getTracks().size());
+
+    for (AudioTrack track : playlist.getTracks()) {
+      tracks.add(partSnapshots.getOrDefault(track, track));
+    }
+
+    AudioTrack selectedTrack = playlist.getSelectedTrack();
+
+    return new BasicAudioPlaylist(playlist.getName(), tracks,
+        selectedTrack != null ? partSnapshots.getOrDefault(selectedTrack, selectedTrack) : null,
+        playlist.isSearchResult());
+  }
+
   public ExecutorService getExecutor() {
     return trackPlaybackExecutorService;
   }
@@ -0,0 +1,19 @@
+package com.sedmelluq.discord.lavaplayer.player;
+
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
+
+/**
+ * Handles the result of loading an item, including the parts of a playlist as they are loaded. This allows starting
+ * playback from a large playlist before all of its pages have been loaded.
+ */
+public interface IncrementalAudioLoadResultHandler extends AudioLoadResultHandler {
+  /**
+   * Called when a part of a playlist has been loaded, before {@link #playlistLoaded(AudioPlaylist)} is called with the
+   * whole playlist. Only sources which load playlists in multiple pages report parts. The whole playlist contains the
+   * same track instances as the parts, so tracks which were already used from a part should be skipped there. If
+   * loading the rest of the playlist fails, {@link #loadFailed} is called instead.
+   *
+   * @param playlistPart Playlist with the name of the whole playlist, containing only the tracks of this part
+   */
+  void playlistPartLoaded(AudioPlaylist playlistPart);
+}
@@ -0,0 +1,170 @@
+package com.sedmelluq.discord.lavaplayer.player;
+
+import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.BasicAudioPlaylist;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * One load of an identifier which is in progress, shared with all loads of the same identifier that are requested
+ * before it completes. The result is recorded and published to the other loads before it is passed to the handler of
+ * the load that performs the actual lookup, so they do not have to wait for that handler to return. The other loads
+ * receive their own clones of the tracks in it.
+ */
+public class SharedItemLoad {
+  private static final Logger log = LoggerFactory.getLogger(SharedItemLoad.class);
+
+  private final String identifier;
+  private final CountDownLatch completed;
+  private volatile Result result;
+
+  /**
+   * @param identifier The identifier that is loaded
+   */
+  public SharedItemLoad(String identifier) {
+    this.identifier = identifier;
+    this.completed = new CountDownLatch(1);
+  }
+
+  /**
+   * @param delegate The handler of the load which performs the lookup
+   * @return A handler which records the result before passing it to the delegate
+   */
+  public AudioLoadResultHandler createRecordingHandler(AudioLoadResultHandler delegate) {
+    return new RecordingHandler(delegate);
+  }
+
+  /**
+   * Marks the load as completed, allowing the result to be dispatched to the loads waiting for it. Does nothing if the
+   * result has already been published.
+   */
+  public void complete() {
+    completed.countDown();
+  }
+
+  /**
+   * Waits for the load to complete and dispatches a copy of its result to the handler. If the load completed without
+   * a result that can be copied, nothing is dispatched and the caller should perform the lookup itself.
+   *
+   * @param resultHandler The handler to dispatch the result to
+   * @return True if the result was dispatched to the handler
+   */
+  public boolean awaitAndDispatch(AudioLoadResultHandler resultHandler) {
+    try {
+      completed.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+
+    Result currentResult = result;
+
+    if (currentResult == null) {
+      return false;
+    }
+
+    try {
+      currentResult.dispatch(resultHandler);
+    } catch (UnsupportedOperationException e) {
+      // The handler has not been called yet if cloning the tracks was not possible.
+      log.debug("Could not clone the result of shared load for {}, loading it separately.", identifier, e);
+      return false;
+    } catch (Throwable e) {
+      log.warn("Load result handler for {} threw an exception", identifier, e);
+      ExceptionTools.rethrowErrors(e);
+    }
+
+    return true;
+  }
+
+  /**
+   * @param playlist Playlist to clone
+   * @return Playlist with clones of the tracks of the original playlist, in the same order
+   * @throws UnsupportedOperationException If any of the tracks cannot be cloned
+   */
+  static AudioPlaylist clonePlaylist(AudioPlaylist playlist) {
+    List<AudioTrack> tracks = new ArrayList<>();
+    AudioTrack selectedTrack = null;
+
+    for (AudioTrack track : playlist.getTracks()) {
+      AudioTrack clone = track.makeClone();
+
+      if (track == playlist.getSelectedTrack()) {
+        selectedTrack = clone;
+      }
+
+      tracks.add(clone);
+    }
+
+    return new BasicAudioPlaylist(playlist.getName(), tracks, selectedTrack, playlist.isSearchResult());
+  }
+
+  private void publish(Result loadResult) {
+    result = loadResult;
+    completed.countDown();
+  }
+
+  private interface Result {
+    void dispatch(AudioLoadResultHandler resultHandler);
+  }
+
+  private class RecordingHandler implements IncrementalAudioLoadResultHandler {
+    private final AudioLoadResultHandler delegate;
+
+    private RecordingHandler(AudioLoadResultHandler delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void trackLoaded(AudioTrack track) {
+      try {
+        // Cloned before the delegate receives it, as it may already change the state of the track.
+        AudioTrack prototype = track.makeClone();
+        publish(handler -> handler.trackLoaded(prototype.makeClone()));
+      } catch (UnsupportedOperationException e) {
+        log.debug("Track {} cannot be cloned, not sharing it with other loads.", identifier);
+      }
+
+      delegate.trackLoaded(track);
+    }
+
+    @Override
+    public void playlistLoaded(AudioPlaylist playlist) {
+      try {
+        AudioPlaylist prototype = clonePlaylist(playlist);
+        publish(handler -> handler.playlistLoaded(clonePlaylist(prototype)));
+      } catch (UnsupportedOperationException e) {
+        log.debug("Playlist {} has tracks which cannot be cloned, not sharing it with other loads.", identifier);
+      }
+
+      delegate.playlistLoaded(playlist);
+    }
+
+    @Override
+    public void playlistPartLoaded(AudioPlaylist playlistPart) {
+      // Other loads of the identifier receive only the whole playlist.
+      if (delegate instanceof IncrementalAudioLoadResultHandler) {
+        ((IncrementalAudioLoadResultHandler) delegate).playlistPartLoaded(playlistPart);
+      }
+    }
+
+    @Override
+    public void noMatches() {
+      publish(AudioLoadResultHandler::noMatches);
+      delegate.noMatches();
+    }
+
+    @Override
+    public void loadFailed(FriendlyException exception) {
+      publish(handler -> handler.loadFailed(exception));
+      delegate.loadFailed(exception);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.sedmelluq.discord.lavaplayer.player.cache;
+
+/**
+ * Cache for the results of loading items by their identifier. Consulted by the player manager before asking the source
+ * managers to load an item.
+ */
+public interface AudioItemCache {
+  /**
+   * @param identifier The identifier that was loaded
+   * @return The cached result, or null if there is no valid result for this identifier
+   */
+  CachedAudioItem get(String identifier);
+
+  /**
+   * @param identifier The identifier that was loaded
+   * @param item The result of loading it
+   */
+  void put(String identifier, CachedAudioItem item);
+
+  /**
+   * Removes all cached results.
+   */
+  void clear();
+}
@@ -0,0 +1,212 @@
+package com.sedmelluq.discord.lavaplayer.player.cache;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioLoadResultHandler;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.tools.DataFormatTools;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.io.MessageInput;
+import com.sedmelluq.discord.lavaplayer.tools.io.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.track.AudioItem;
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.BasicAudioPlaylist;
+import com.sedmelluq.discord.lavaplayer.track.DecodedTrackHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of loading an item, in a form which can be kept in a cache. Tracks are kept in their encoded form, so each
+ * time the result is dispatched, the handler receives new track instances.
+ */
+public class CachedAudioItem {
+  private final Type type;
+  private final String sourceName;
+  private final byte[] encoded;
+  private final FriendlyException exception;
+
+  private CachedAudioItem(Type type, String sourceName, byte[] encoded, FriendlyException exception) {
+    this.type = type;
+    this.sourceName = sourceName;
+    this.encoded = encoded;
+    this.exception = exception;
+  }
+
+  /**
+   * @param manager The player manager to encode the tracks with
+   * @param item A loaded track or playlist
+   * @return The cacheable form of the item, or null if it contains tracks which cannot be encoded
+   * @throws IOException On encoding error
+   */
+  public static CachedAudioItem fromItem(AudioPlayerManager manager, AudioItem item) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    MessageOutput output = new MessageOutput(bytes);
+
+    if (item instanceof AudioTrack) {
+      AudioTrack track = (AudioTrack) item;
+
+      if (!isEncodable(track)) {
+        return null;
+      }
+
+      manager.encodeTrack(output, track);
+      output.finish();
+
+      return new CachedAudioItem(Type.TRACK, track.getSourceManager().getSourceName(), bytes.toByteArray(), null);
+    } else if (item instanceof AudioPlaylist) {
+      AudioPlaylist playlist = (AudioPlaylist) item;
+      List<AudioTrack> tracks = playlist.getTracks();
+
+      for (AudioTrack track : tracks) {
+        if (!isEncodable(track)) {
+          return null;
+        }
+      }
+
+      DataOutput header = output.startMessage();
+      DataFormatTools.writeNullableText(header, playlist.getName());
+      header.writeBoolean(playlist.isSearchResult());
+      header.writeInt(tracks.indexOf(playlist.getSelectedTrack()));
+      output.commitMessage();
+
+      for (AudioTrack track : tracks) {
+        manager.encodeTrack(output, track);
+      }
+
+      output.finish();
+
+      String sourceName = tracks.isEmpty() ? null : tracks.get(0).getSourceManager().getSourceName();
+      return new CachedAudioItem(Type.PLAYLIST, sourceName, bytes.toByteArray(), null);
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * @return Cacheable result for an identifier which did not match anything
+   */
+  public static CachedAudioItem noMatches() {
+    return new CachedAudioItem(Type.NO_MATCHES, null, null, null);
+  }
+
+  /**
+   * @param exception The exception the loading failed with
+   * @return Cacheable result for an identifier which failed to load
+   */
+  public static CachedAudioItem failed(FriendlyException exception) {
+    return new CachedAudioItem(Type.FAILED, null, null, exception);
+  }
+
+  /**
+   * @return The type of the result
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * @return Name of the source manager which loaded the item, null for results without tracks
+   */
+  public String getSourceName() {
+    return sourceName;
+  }
+
+  /**
+   * @return Approximate size of the result in memory in bytes
+   */
+  public int getSize() {
+    return encoded != null ? encoded.length : 0;
+  }
+
+  /**
+   * Passes the result to the handler the same way it was passed when it was loaded.
+   *
+   * @param manager The player manager to decode the tracks with
+   * @param resultHandler The handler to pass the result to
+   * @throws IOException On decoding error, in which case nothing was passed to the handler
+   */
+  public void dispatch(AudioPlayerManager manager, AudioLoadResultHandler resultHandler) throws IOException {
+    switch (type) {
+      case TRACK:
+        AudioTrack track = decodeTrack(manager);
+
+        if (track == null) {
+          throw new IOException("Cached track could not be decoded.");
+        }
+
+        resultHandler.trackLoaded(track);
+        break;
+      case PLAYLIST:
+        resultHandler.playlistLoaded(decodePlaylist(manager));
+        break;
+      case NO_MATCHES:
+        resultHandler.noMatches();
+        break;
+      case FAILED:
+        resultHandler.loadFailed(exception);
+        break;
+    }
+  }
+
+  private AudioTrack decodeTrack(AudioPlayerManager manager) throws IOException {
+    DecodedTrackHolder holder = manager.decodeTrack(new MessageInput(new ByteArrayInputStream(encoded)));
+    return holder != null ? holder.decodedTrack : null;
+  }
+
+  private AudioPlaylist decodePlaylist(AudioPlayerManager manager) throws IOException {
+    MessageInput input = new MessageInput(new ByteArrayInputStream(encoded));
+
+    DataInput header = input.nextMessage();
+    String name = DataFormatTools.readNullableText(header);
+    boolean isSearchResult = header.readBoolean();
+    int selectedIndex = header.readInt();
+    input.skipRemainingBytes();
+
+    List<AudioTrack> tracks = new ArrayList<>();
+    DecodedTrackHolder holder;
+
+    while ((holder = manager.decodeTrack(input)) != null) {
+      if (holder.decodedTrack == null) {
+        throw new IOException("Cached playlist track could not be decoded.");
+      }
+
+      tracks.add(holder.decodedTrack);
+    }
+
+    AudioTrack selectedTrack = selectedIndex >= 0 && selectedIndex < tracks.size() ? tracks.get(selectedIndex) : null;
+    return new BasicAudioPlaylist(name, tracks, selectedTrack, isSearchResult);
+  }
+
+  private static boolean isEncodable(AudioTrack track) {
+    AudioSourceManager sourceManager = track.getSourceManager();
+    return sourceManager != null && sourceManager.isTrackEncodable(track);
+  }
+
+  /**
+   * Type of a cached result.
+   */
+  public enum Type {
+    /**
+     * A single track was loaded.
+     */
+    TRACK,
+    /**
+     * A playlist was loaded.
+     */
+    PLAYLIST,
+    /**
+     * No source manager recognised the identifier.
+     */
+    NO_MATCHES,
+    /**
+     * Loading failed with an exception.
+     */
+    FAILED
+  }
+}
@@ -0,0 +1,166 @@
+package com.sedmelluq.discord.lavaplayer.player.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Item cache which keeps up to a fixed number of results and evicts the least recently used ones first. As a single
+ * playlist result can contain thousands of encoded tracks, the total size of the encoded results is limited as well,
+ * and a result which is larger than that limit by itself is not cached at all. Results expire after a time which can
+ * be configured per source manager, and results of identifiers which did not match anything or failed to load have a
+ * separate, usually shorter, expiration time.
+ */
+public class DefaultAudioItemCache implements AudioItemCache {
+  private static final long DEFAULT_TTL = TimeUnit.MINUTES.toMillis(30);
+  private static final long DEFAULT_NEGATIVE_TTL = TimeUnit.MINUTES.toMillis(1);
+  private static final long DEFAULT_MAXIMUM_WEIGHT = 32 * 1024 * 1024;
+
+  private final int maximumSize;
+  private final long maximumWeight;
+  private final Map<String, Long> sourceTtls;
+  private final LinkedHashMap<String, Entry> entries;
+  private volatile long defaultTtl;
+  private volatile long negativeTtl;
+  private long weight;
+
+  /**
+   * @param maximumSize Maximum number of results to keep
+   */
+  public DefaultAudioItemCache(int maximumSize) {
+    this(maximumSize, DEFAULT_MAXIMUM_WEIGHT);
+  }
+
+  /**
+   * @param maximumSize Maximum number of results to keep
+   * @param maximumWeight Maximum total size in bytes of the encoded results to keep
+   */
+  public DefaultAudioItemCache(int maximumSize, long maximumWeight) {
+    this.maximumSize = maximumSize;
+    this.maximumWeight = maximumWeight;
+    this.sourceTtls = new ConcurrentHashMap<>();
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    this.defaultTtl = DEFAULT_TTL;
+    this.negativeTtl = DEFAULT_NEGATIVE_TTL;
+  }
+
+  /**
+   * @param ttl Time in milliseconds that loaded tracks and playlists are kept, unless specified for their source.
+   */
+  public void setDefaultTtl(long ttl) {
+    this.defaultTtl = ttl;
+  }
+
+  /**
+   * @param sourceName Name of the source manager, as returned by its getSourceName()
+   * @param ttl Time in milliseconds that tracks and playlists loaded by that source are kept. 0 disables caching
+   *            results of that source.
+   */
+  public void setSourceTtl(String sourceName, long ttl) {
+    sourceTtls.put(sourceName, ttl);
+  }
+
+  /**
+   * @param ttl Time in milliseconds that results for identifiers which did not match anything or failed to load are
+   *            kept. 0 disables caching such results.
+   */
+  public void setNegativeTtl(long ttl) {
+    this.negativeTtl = ttl;
+  }
+
+  @Override
+  public CachedAudioItem get(String identifier) {
+    long now = System.currentTimeMillis();
+
+    synchronized (entries) {
+      Entry entry = entries.get(identifier);
+
+      if (entry == null) {
+        return null;
+      } else if (entry.expirationTime <= now) {
+        removeEntry(identifier);
+        return null;
+      }
+
+      return entry.item;
+    }
+  }
+
+  @Override
+  public void put(String identifier, CachedAudioItem item) {
+    long ttl = getTtl(item);
+
+    if (ttl <= 0 || item.getSize() > maximumWeight) {
+      return;
+    }
+
+    Entry entry = new Entry(item, System.currentTimeMillis() + ttl);
+
+    synchronized (entries) {
+      removeEntry(identifier);
+
+      entries.put(identifier, entry);
+      weight += item.getSize();
+
+      while (entries.size() > maximumSize || weight > maximumWeight) {
+        removeEntry(entries.keySet().iterator().next());
+      }
+    }
+  }
+
+  @Override
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+      weight = 0;
+    }
+  }
+
+  /**
+   * @return The number of results currently in the cache, including expired ones which have not been removed yet.
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /**
+   * @return The total size in bytes of the encoded results currently in the cache.
+   */
+  public long getWeight() {
+    synchronized (entries) {
+      return weight;
+    }
+  }
+
+  private void removeEntry(String identifier) {
+    Entry entry = entries.remove(identifier);
+
+    if (entry != null) {
+      weight -= entry.item.getSize();
+    }
+  }
+
+  private long getTtl(CachedAudioItem item) {
+    switch (item.getType()) {
+      case NO_MATCHES:
+      case FAILED:
+        return negativeTtl;
+      default:
+        Long sourceTtl = item.getSourceName() != null ? sourceTtls.get(item.getSourceName()) : null;
+        return sourceTtl != null ? sourceTtl : defaultTtl;
+    }
+  }
+
+  private static class Entry {
+    private final CachedAudioItem item;
+    private final long expirationTime;
+
+    private Entry(CachedAudioItem item, long expirationTime) {
+      this.item = item;
+      this.expirationTime = expirationTime;
+    }
+  }
+}
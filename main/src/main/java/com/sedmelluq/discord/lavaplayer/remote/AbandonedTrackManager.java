@@ -15,13 +15,14 @@ import java.util.concurrent.TimeUnit;
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.COMMON;
 
 /**
- * Takes over tracks of offline remote nodes.
+ * Takes over tracks of offline remote nodes, and tracks which are moved off overloaded nodes.
  */
 public class AbandonedTrackManager {
   private static final Logger log = LoggerFactory.getLogger(AbandonedTrackManager.class);
 
   private static final long EXPIRE_THRESHOLD = TimeUnit.SECONDS.toMillis(10);
-  private static final long CRITICAL_PENALTY = 750;
+  private static final long MIGRATION_EXPIRE_THRESHOLD = TimeUnit.SECONDS.toMillis(1);
+  private static final int CRITICAL_PENALTY = 750;
 
   private final BlockingQueue<AbandonedExecutor> abandonedExecutors;
 
@@ -39,7 +40,7 @@ public class AbandonedTrackManager {
    * @param executor The executor to register as an abandoned track.
    */
   public void add(RemoteAudioTrackExecutor executor) {
-    if (abandonedExecutors.offer(new AbandonedExecutor(System.currentTimeMillis(), executor))) {
+    if (abandonedExecutors.offer(new AbandonedExecutor(System.currentTimeMillis(), executor, null, CRITICAL_PENALTY))) {
       log.debug("{} has been put up for adoption.", executor);
     } else {
       log.debug("{} has been discarded, adoption queue is full.", executor);
@@ -49,6 +50,25 @@ public class AbandonedTrackManager {
     }
   }
 
+  /**
+   * Adds a track executor which was released from a node that is still online to be adopted by another node. It is
+   * only adopted by nodes with a penalty below the specified maximum. If no such node adopts it soon enough, it is
+   * given back to the node it was released from.
+   *
+   * @param executor The executor released from the previous node.
+   * @param previousNode The node the executor was released from.
+   * @param maximumPenalty Only nodes with a lower balancer penalty may adopt the track.
+   */
+  public void migrate(RemoteAudioTrackExecutor executor, RemoteNodeProcessor previousNode, int maximumPenalty) {
+    if (abandonedExecutors.offer(new AbandonedExecutor(System.currentTimeMillis(), executor, previousNode, maximumPenalty))) {
+      log.debug("{} has been put up for adoption from node {}.", executor, previousNode.getAddress());
+    } else {
+      log.debug("{} stays on node {}, adoption queue is full.", executor, previousNode.getAddress());
+
+      previousNode.startPlaying(executor);
+    }
+  }
+
   /**
    * Distributes any abandoned tracks between the specified nodes. Only online nodes which are not under too heavy load
    * are used. The number of tracks that can be assigned to a node depends on the number of tracks it is already
@@ -66,21 +86,31 @@ public class AbandonedTrackManager {
     long currentTime = System.currentTimeMillis();
     int maximum = getMaximumAdoptions(adopters);
     int assigned = 0;
+    List<AbandonedExecutor> skipped = new ArrayList<>();
 
     while (assigned < maximum && (executor = abandonedExecutors.poll()) != null) {
       if (checkValidity(executor, currentTime)) {
-        Adopter adopter = selectNextAdopter(adopters);
+        Adopter adopter = selectNextAdopter(adopters, executor);
 
         if (adopter != null) {
           log.debug("Node {} is adopting {}.", adopter.node.getAddress(), executor.executor);
 
           adopter.node.startPlaying(executor.executor);
           assigned++;
+        } else if (executor.previousNode != null) {
+          // Other nodes may still be able to take it before it expires.
+          skipped.add(executor);
         } else {
           log.debug("No node available for adopting {}", executor.executor);
         }
       }
     }
+
+    for (AbandonedExecutor skippedExecutor : skipped) {
+      if (!abandonedExecutors.offer(skippedExecutor)) {
+        skippedExecutor.previousNode.startPlaying(skippedExecutor.executor);
+      }
+    }
   }
 
   /**
@@ -99,10 +129,9 @@ public class AbandonedTrackManager {
    * Remove expired or stopped tracks from the abandoned track queue.
    */
   public void drainExpired() {
-    AbandonedExecutor executor;
     long currentTime = System.currentTimeMillis();
 
-    while ((executor = abandonedExecutors.peek()) != null) {
+    for (AbandonedExecutor executor : abandonedExecutors) {
       if (!checkValidity(executor, currentTime) && abandonedExecutors.remove(executor)) {
         log.debug("Abandoned executor {} removed from queue.", executor.executor);
       }
@@ -115,6 +144,12 @@ public class AbandonedTrackManager {
     if (executor.executor.getState() == AudioTrackState.FINISHED) {
       log.debug("{} has been cleared from adoption queue because it was stopped.", executor.executor);
       return false;
+    } else if (executor.previousNode != null && executor.orphanedTime < currentTime - MIGRATION_EXPIRE_THRESHOLD) {
+      log.debug("{} returns to node {} as no other node adopted it.", executor.executor,
+          executor.previousNode.getAddress());
+
+      executor.previousNode.startPlaying(executor.executor);
+      return false;
     } else if (executor.orphanedTime < expirationTime) {
       log.debug("{} has been cleared from adoption queue because it expired.", executor.executor);
 
@@ -138,16 +173,20 @@ public class AbandonedTrackManager {
       }
 
       int maximumAdoptions = Math.max(5, statistics.playingTrackCount / 15);
-      adopters.add(new Adopter(node, maximumAdoptions));
+      adopters.add(new Adopter(node, penalty, maximumAdoptions));
     }
 
     return adopters;
   }
 
-  private Adopter selectNextAdopter(List<Adopter> adopters) {
+  private Adopter selectNextAdopter(List<Adopter> adopters, AbandonedExecutor executor) {
     Adopter selected = null;
 
     for (Adopter adopter : adopters) {
+      if (adopter.node == executor.previousNode || adopter.penalty >= executor.maximumPenalty) {
+        continue;
+      }
+
       if (adopter.adoptions < adopter.maximumAdoptions && (selected == null || adopter.fillRate() > selected.fillRate())) {
         selected = adopter;
       }
@@ -173,20 +212,28 @@ public class AbandonedTrackManager {
   private static class AbandonedExecutor {
     private final long orphanedTime;
     private final RemoteAudioTrackExecutor executor;
+    private final RemoteNodeProcessor previousNode;
+    private final int maximumPenalty;
+
+    private AbandonedExecutor(long orphanedTime, RemoteAudioTrackExecutor executor, RemoteNodeProcessor previousNode,
+                              int maximumPenalty) {
 
-    private AbandonedExecutor(long orphanedTime, RemoteAudioTrackExecutor executor) {
       this.orphanedTime = orphanedTime;
       this.executor = executor;
+      this.previousNode = previousNode;
+      this.maximumPenalty = maximumPenalty;
     }
   }
 
   private static class Adopter {
     private final RemoteNodeProcessor node;
+    private final int penalty;
     private final long maximumAdoptions;
     private int adoptions;
 
-    private Adopter(RemoteNodeProcessor node, long maximumAdoptions) {
+    private Adopter(RemoteNodeProcessor node, int penalty, long maximumAdoptions) {
       this.node = node;
+      this.penalty = penalty;
       this.maximumAdoptions = maximumAdoptions;
       this.adoptions = 0;
     }
@@ -32,6 +32,7 @@ public class RemoteAudioTrackExecutor implements AudioTrackExecutor {
 
   private static final long NO_SEEK = -1;
   private static final int BUFFER_DURATION_MS = 3000;
+  private static final int STREAMING_BUFFER_DURATION_MS = 1000;
 
   private final AudioTrack track;
   private final AudioConfiguration configuration;
@@ -61,7 +62,14 @@ public class RemoteAudioTrackExecutor implements AudioTrackExecutor {
     this.remoteNodeManager = remoteNodeManager;
     this.volumeLevel = volumeLevel;
     this.executorId = System.nanoTime();
-    this.frameBuffer = configuration.getFrameBufferFactory().create(BUFFER_DURATION_MS, configuration.getOutputFormat(), null);
+    this.frameBuffer = configuration.getFrameBufferFactory().create(getBufferDuration(remoteNodeManager),
+        configuration.getOutputFormat(), null);
+  }
+
+  private static int getBufferDuration(RemoteNodeManager remoteNodeManager) {
+    // Frames are pushed as soon as they are available on stream connections, so a much smaller buffer is enough. The
+    // node is only selected once the track starts, so the small buffer is used only if no node can fall back to ticks.
+    return remoteNodeManager.isStreamingOnAllNodes() ? STREAMING_BUFFER_DURATION_MS : BUFFER_DURATION_MS;
   }
 
   /**
@@ -3,6 +3,8 @@ package com.sedmelluq.discord.lavaplayer.remote;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.player.event.AudioEventAdapter;
+import com.sedmelluq.discord.lavaplayer.remote.balancer.LowestPenaltyBalancer;
+import com.sedmelluq.discord.lavaplayer.remote.balancer.RemoteNodeBalancer;
 import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterfaceManager;
@@ -26,12 +28,19 @@ import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.
  * Manager of remote nodes for audio processing.
  */
 public class RemoteNodeManager extends AudioEventAdapter implements RemoteNodeRegistry, Runnable {
+  private static final int OVERLOADED_PENALTY = 500;
+  private static final int REBALANCE_TARGET_PENALTY = 250;
+  private static final int REBALANCE_FRACTION = 20;
+
   private final DefaultAudioPlayerManager playerManager;
   private final HttpInterfaceManager httpInterfaceManager;
   private final List<RemoteNodeProcessor> processors;
   private final AbandonedTrackManager abandonedTrackManager;
   private final AtomicBoolean enabled;
+  private final AtomicBoolean streamingEnabled;
+  private final AtomicBoolean rebalancingEnabled;
   private final Object lock;
+  private volatile RemoteNodeBalancer balancer;
   private volatile ScheduledThreadPoolExecutor scheduler;
   private volatile List<RemoteNodeProcessor> activeProcessors;
 
@@ -44,7 +53,10 @@ public class RemoteNodeManager extends AudioEventAdapter implements RemoteNodeRe
     this.processors = new ArrayList<>();
     this.abandonedTrackManager = new AbandonedTrackManager();
     this.enabled = new AtomicBoolean();
+    this.streamingEnabled = new AtomicBoolean();
+    this.rebalancingEnabled = new AtomicBoolean();
     this.lock = new Object();
+    this.balancer = new LowestPenaltyBalancer();
     this.activeProcessors = new ArrayList<>();
   }
 
@@ -73,7 +85,7 @@ public class RemoteNodeManager extends AudioEventAdapter implements RemoteNodeRe
 
       for (String nodeAddress : newNodeAddresses) {
         RemoteNodeProcessor processor = new RemoteNodeProcessor(playerManager, nodeAddress, scheduler,
-            httpInterfaceManager, abandonedTrackManager);
+            httpInterfaceManager, abandonedTrackManager, streamingEnabled);
 
         scheduler.submit(processor);
         processors.add(processor);
@@ -115,12 +127,64 @@ public class RemoteNodeManager extends AudioEventAdapter implements RemoteNodeRe
     return enabled.get();
   }
 
+  /**
+   * @return True if stream connections are used for nodes which support them.
+   */
+  public boolean isStreamingEnabled() {
+    return streamingEnabled.get();
+  }
+
+  /**
+   * @return True if streaming is enabled and every online node is currently connected using a stream connection.
+   */
+  public boolean isStreamingOnAllNodes() {
+    if (!streamingEnabled.get()) {
+      return false;
+    }
+
+    boolean anyOnline = false;
+
+    for (RemoteNodeProcessor processor : activeProcessors) {
+      if (processor.getConnectionState() == RemoteNode.ConnectionState.ONLINE) {
+        if (!processor.isStreaming()) {
+          return false;
+        }
+
+        anyOnline = true;
+      }
+    }
+
+    return anyOnline;
+  }
+
+  /**
+   * @param streamingEnabled Whether to use stream connections for nodes which support them. Takes effect for each node
+   *                         the next time a connection to it is established.
+   */
+  public void setStreamingEnabled(boolean streamingEnabled) {
+    this.streamingEnabled.set(streamingEnabled);
+  }
+
+  /**
+   * @param balancer Strategy for choosing the node for each new track.
+   */
+  public void setBalancer(RemoteNodeBalancer balancer) {
+    this.balancer = balancer;
+  }
+
+  /**
+   * @param rebalancingEnabled Whether to move playing tracks off overloaded nodes to nodes with low load.
+   */
+  public void setRebalancingEnabled(boolean rebalancingEnabled) {
+    this.rebalancingEnabled.set(rebalancingEnabled);
+  }
+
   /**
    * Start playing an audio track remotely.
    * @param remoteExecutor The executor of the track
    */
   public void startPlaying(RemoteAudioTrackExecutor remoteExecutor) {
-    RemoteNodeProcessor processor = getNodeForNextTrack();
+    RemoteNodeProcessor processor = getNodeForNextTrack(remoteExecutor);
 
     processor.startPlaying(remoteExecutor);
   }
@@ -131,18 +195,8 @@ public class RemoteNodeManager extends AudioEventAdapter implements RemoteNodeRe
     scheduler = scheduledExecutor;
   }
 
-  private RemoteNodeProcessor getNodeForNextTrack() {
-    int lowestPenalty = Integer.MAX_VALUE;
-    RemoteNodeProcessor node = null;
-
-    for (RemoteNodeProcessor processor : processors) {
-      int penalty = processor.getBalancerPenalty();
-
-      if (penalty < lowestPenalty) {
-        lowestPenalty = penalty;
-        node = processor;
-      }
-    }
+  private RemoteNodeProcessor getNodeForNextTrack(RemoteAudioTrackExecutor executor) {
+    RemoteNodeProcessor node = balancer.selectNode(activeProcessors, executor);
 
     if (node == null) {
       throw new FriendlyException("No available machines for playing track.", SUSPICIOUS, null);
@@ -169,6 +223,38 @@ public class RemoteNodeManager extends AudioEventAdapter implements RemoteNodeRe
     }
 
     abandonedTrackManager.drainExpired();
+
+    if (rebalancingEnabled.get()) {
+      rebalance(activeProcessors);
+    }
+  }
+
+  private void rebalance(List<RemoteNodeProcessor> nodes) {
+    boolean hasTarget = false;
+
+    for (RemoteNodeProcessor node : nodes) {
+      if (node.getBalancerPenalty() < REBALANCE_TARGET_PENALTY) {
+        hasTarget = true;
+        break;
+      }
+    }
+
+    if (!hasTarget) {
+      return;
+    }
+
+    for (RemoteNodeProcessor node : nodes) {
+      int penalty = node.getBalancerPenalty();
+
+      if (penalty >= OVERLOADED_PENALTY && penalty != Integer.MAX_VALUE) {
+        // A small part at a time, the penalty of the node is only updated after its next statistics.
+        int count = Math.max(1, node.getPlayingTrackCount() / REBALANCE_FRACTION);
+
+        for (RemoteAudioTrackExecutor executor : node.releaseTracks(count)) {
+          abandonedTrackManager.migrate(executor, node, REBALANCE_TARGET_PENALTY);
+        }
+      }
+    }
   }
 
   @Override
@@ -1,11 +1,11 @@
 package com.sedmelluq.discord.lavaplayer.remote;
 
-import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackExceptionMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameDataCodec;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameDataMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameRequestMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.TrackStartRequestMessage;
@@ -20,27 +20,35 @@ import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterfaceManager;
 import com.sedmelluq.discord.lavaplayer.tools.io.SimpleHttpInterfaceManager;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
-import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioTrackExecutor;
-import com.sedmelluq.discord.lavaplayer.track.playback.ImmutableAudioFrame;
+import com.sedmelluq.lava.common.tools.DaemonThreadFactory;
 import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -59,6 +67,12 @@ import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.
  * Processes one remote node.
  */
 public class RemoteNodeProcessor implements RemoteNode, Runnable {
+  /**
+   * Header of tick requests which contains the latest version of the frame data message the player manager supports.
+   * Nodes use the initial version if it is missing.
+   */
+  public static final String FRAME_DATA_VERSION_HEADER = "X-Frame-Data-Version";
+
   private static final Logger log = LoggerFactory.getLogger(RemoteNodeProcessor.class);
 
   private static final int CONNECT_TIMEOUT = 1000;
@@ -66,12 +80,17 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
   private static final int TRACK_KILL_THRESHOLD = 10000;
   private static final int TICK_MINIMUM_INTERVAL = 500;
   private static final int NODE_REQUEST_HISTORY = 200;
+  private static final int STREAM_CREDIT_INTERVAL = 20;
+  private static final int STREAM_KEEPALIVE_INTERVAL = 1000;
+
+  private static final DaemonThreadFactory streamReaderThreadFactory = new DaemonThreadFactory("remote-stream");
 
   private final DefaultAudioPlayerManager playerManager;
   private final String nodeAddress;
   private final ScheduledThreadPoolExecutor scheduledExecutor;
   private final HttpInterfaceManager httpInterfaceManager;
   private final AbandonedTrackManager abandonedTrackManager;
+  private final AtomicBoolean streamingEnabled;
   private final BlockingQueue<RemoteMessage> queuedMessages;
   private final ConcurrentMap<Long, RemoteAudioTrackExecutor> playingTracks;
   private final RemoteMessageMapper mapper;
@@ -83,6 +102,7 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
   private volatile long lastAliveTime;
   private volatile NodeStatisticsMessage lastStatistics;
   private volatile boolean closed;
+  private volatile boolean streaming;
 
   /**
    * @param playerManager Audio player manager
@@ -90,16 +110,18 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
    * @param scheduledExecutor Scheduler to use to schedule reconnects
    * @param httpInterfaceManager HTTP interface manager to use for communicating with node
    * @param abandonedTrackManager Abandoned track manager, where the playing tracks are sent if node goes offline
+   * @param streamingEnabled Whether to use a stream connection instead of tick requests when the node supports it
    */
   public RemoteNodeProcessor(DefaultAudioPlayerManager playerManager, String nodeAddress,
                              ScheduledThreadPoolExecutor scheduledExecutor, HttpInterfaceManager httpInterfaceManager,
-                             AbandonedTrackManager abandonedTrackManager) {
+                             AbandonedTrackManager abandonedTrackManager, AtomicBoolean streamingEnabled) {
 
     this.playerManager = playerManager;
     this.nodeAddress = nodeAddress;
     this.scheduledExecutor = scheduledExecutor;
     this.httpInterfaceManager = httpInterfaceManager;
     this.abandonedTrackManager = abandonedTrackManager;
+    this.streamingEnabled = streamingEnabled;
     queuedMessages = new LinkedBlockingQueue<>();
     playingTracks = new ConcurrentHashMap<>();
     mapper = new RemoteMessageMapper();
@@ -165,11 +187,17 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
     connectionState.set(ConnectionState.PENDING.id());
 
     try (HttpInterface httpInterface = httpInterfaceManager.getInterface()) {
-      RingBufferMath timingAverage = new RingBufferMath(10, in -> Math.pow(in, 5.0), out -> Math.pow(out, 0.2));
+      int streamPort = streamingEnabled.get() ? fetchStreamPort(httpInterface) : -1;
 
-      while (processOneTick(httpInterface, timingAverage)) {
-        aliveTickCounter = Math.max(1, aliveTickCounter + 1);
-        lastAliveTime = System.currentTimeMillis();
+      if (streamPort > 0) {
+        processStream(streamPort);
+      } else {
+        RingBufferMath timingAverage = new RingBufferMath(10, in -> Math.pow(in, 5.0), out -> Math.pow(out, 0.2));
+
+        while (processOneTick(httpInterface, timingAverage)) {
+          aliveTickCounter = Math.max(1, aliveTickCounter + 1);
+          lastAliveTime = System.currentTimeMillis();
+        }
       }
     } catch (InterruptedException e) {
       log.info("Node {} processing was stopped.", nodeAddress);
@@ -236,6 +264,7 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
   private boolean dispatchOneTick(HttpInterface httpInterface, TickBuilder tickBuilder) throws Exception {
     boolean success = false;
     HttpPost post = new HttpPost("http://" + nodeAddress + "/tick");
+    post.setHeader(FRAME_DATA_VERSION_HEADER, String.valueOf(TrackFrameDataCodec.VERSION_PACKED));
 
     abandonedTrackManager.distribute(Collections.singletonList(this));
 
@@ -312,15 +341,7 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
 
     try {
       while ((message = mapper.decode(input)) != null) {
-        if (message instanceof TrackStartResponseMessage) {
-          handleTrackStartResponse((TrackStartResponseMessage) message);
-        } else if (message instanceof TrackFrameDataMessage) {
-          handleTrackFrameData((TrackFrameDataMessage) message);
-        } else if (message instanceof TrackExceptionMessage) {
-          handleTrackException((TrackExceptionMessage) message);
-        } else if (message instanceof NodeStatisticsMessage) {
-          handleNodeStatistics((NodeStatisticsMessage) message);
-        }
+        handleMessage(message);
       }
     } catch (InterruptedException interruption) {
       log.error("Node {} processing thread was interrupted.", nodeAddress);
@@ -336,6 +357,198 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
     return true;
   }
 
+  private void handleMessage(RemoteMessage message) throws Exception {
+    if (message instanceof TrackStartResponseMessage) {
+      handleTrackStartResponse((TrackStartResponseMessage) message);
+    } else if (message instanceof TrackFrameDataMessage) {
+      handleTrackFrameData((TrackFrameDataMessage) message);
+    } else if (message instanceof TrackExceptionMessage) {
+      handleTrackException((TrackExceptionMessage) message);
+    } else if (message instanceof NodeStatisticsMessage) {
+      handleNodeStatistics((NodeStatisticsMessage) message);
+    }
+  }
+
+  private int fetchStreamPort(HttpInterface httpInterface) throws IOException {
+    try (CloseableHttpResponse response = httpInterface.execute(new HttpGet("http://" + nodeAddress + "/stream-port"))) {
+      if (response.getStatusLine().getStatusCode() != 200) {
+        log.debug("Node {} does not support stream connections, using tick requests.", nodeAddress);
+        return -1;
+      }
+
+      try {
+        return Integer.parseInt(EntityUtils.toString(response.getEntity()).trim());
+      } catch (NumberFormatException e) {
+        log.warn("Node {} returned an invalid stream port.", nodeAddress, e);
+        return -1;
+      }
+    }
+  }
+
+  private void processStream(int streamPort) throws Exception {
+    String host = URI.create("http://" + nodeAddress).getHost();
+
+    Socket socket = new Socket();
+
+    try {
+      socket.connect(new InetSocketAddress(host, streamPort), CONNECT_TIMEOUT);
+      socket.setSoTimeout(SOCKET_TIMEOUT);
+      socket.setTcpNoDelay(true);
+
+      CountingInputStream countingInput = new CountingInputStream(socket.getInputStream());
+      CountingOutputStream countingOutput = new CountingOutputStream(socket.getOutputStream());
+      DataInputStream input = new DataInputStream(new BufferedInputStream(countingInput));
+      DataOutputStream output = new DataOutputStream(new BufferedOutputStream(countingOutput));
+      Map<Long, StreamCredits> credits = new ConcurrentHashMap<>();
+
+      if (!connectionState.compareAndSet(ConnectionState.PENDING.id(), ConnectionState.ONLINE.id())) {
+        return;
+      }
+
+      log.info("Node {} came online using a stream connection.", nodeAddress);
+
+      requestTimingPenalty = 0;
+      lastAliveTime = System.currentTimeMillis();
+      streaming = true;
+
+      StreamReader reader = new StreamReader(input, credits);
+      Thread readerThread = streamReaderThreadFactory.newThread(reader);
+      readerThread.start();
+
+      try {
+        writeStream(output, reader, countingInput, countingOutput);
+      } finally {
+        streaming = false;
+        reader.closing = true;
+
+        // Unblocks the reader, so that no messages are handled after the tracks of this node have been abandoned.
+        socket.close();
+        readerThread.join(SOCKET_TIMEOUT);
+      }
+    } finally {
+      socket.close();
+    }
+  }
+
+  private void writeStream(DataOutputStream output, StreamReader reader, CountingInputStream countingInput,
+                           CountingOutputStream countingOutput) throws Exception {
+
+    long nextCreditTime = 0;
+    long nextTickTime = lastAliveTime + TICK_MINIMUM_INTERVAL;
+    RemoteMessage queuedMessage = null;
+
+    while (!closed && !reader.finished && connectionState.get() == ConnectionState.ONLINE.id()) {
+      long now = System.currentTimeMillis();
+
+      if (queuedMessage != null || now >= nextCreditTime) {
+        writeStreamRequests(output, reader.credits, queuedMessage, now);
+        output.flush();
+
+        queuedMessage = null;
+        nextCreditTime = now + STREAM_CREDIT_INTERVAL;
+      }
+
+      if (now >= nextTickTime) {
+        abandonedTrackManager.distribute(Collections.singletonList(this));
+
+        // There are no requests to time on a stream connection, so the ticks only record the traffic.
+        recordTick(new RemoteNode.Tick(now, now, 200, (int) countingOutput.resetByteCount(),
+            (int) countingInput.resetByteCount()), null);
+
+        aliveTickCounter = Math.max(1, aliveTickCounter + 1);
+        nextTickTime = now + TICK_MINIMUM_INTERVAL;
+      }
+
+      if (now - lastAliveTime > SOCKET_TIMEOUT) {
+        throw new IOException("No messages received on the stream connection in " + SOCKET_TIMEOUT + "ms.");
+      }
+
+      // Received messages are handled by the reader thread as they arrive. This thread only has to grant credits
+      // periodically while tracks are playing, otherwise it waits for queued messages or the next tick.
+      long wakeTime = playingTracks.isEmpty() ? nextTickTime : Math.min(nextCreditTime, nextTickTime);
+      queuedMessage = queuedMessages.poll(Math.max(1, wakeTime - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    Throwable failure = reader.failure;
+
+    if (failure != null) {
+      ExceptionTools.rethrowErrors(failure);
+      throw failure instanceof Exception ? (Exception) failure : new RuntimeException(failure);
+    } else if (!reader.finished) {
+      mapper.endOutput(output);
+      output.flush();
+    }
+  }
+
+  private void writeStreamRequests(DataOutputStream output, Map<Long, StreamCredits> credits,
+                                   RemoteMessage queuedMessage, long now) throws IOException {
+
+    List<RemoteMessage> messages = new ArrayList<>();
+
+    if (queuedMessage != null) {
+      messages.add(queuedMessage);
+    }
+
+    queuedMessages.drainTo(messages);
+
+    credits.keySet().retainAll(playingTracks.keySet());
+
+    for (RemoteAudioTrackExecutor executor : playingTracks.values()) {
+      StreamCredits trackCredits = credits.computeIfAbsent(executor.getExecutorId(), id -> new StreamCredits());
+      AudioFrameBuffer buffer = executor.getAudioBuffer();
+      long pendingSeek = executor.getPendingSeek();
+      int volume = executor.getVolume();
+
+      synchronized (trackCredits) {
+        if (pendingSeek != -1) {
+          if (pendingSeek != trackCredits.requestedSeek) {
+            messages.add(new TrackFrameRequestMessage(executor.getExecutorId(), buffer.getFullCapacity(), volume, pendingSeek));
+            trackCredits.requestedSeek = pendingSeek;
+            trackCredits.lastRequestTime = now;
+          }
+
+          continue;
+        }
+
+        int grant = Math.max(0, buffer.getRemainingCapacity() - trackCredits.outstanding);
+
+        if (grant > 0 || volume != trackCredits.volume || now - trackCredits.lastRequestTime >= STREAM_KEEPALIVE_INTERVAL) {
+          messages.add(new TrackFrameRequestMessage(executor.getExecutorId(), grant, volume, -1));
+          trackCredits.outstanding += grant;
+          trackCredits.volume = volume;
+          trackCredits.lastRequestTime = now;
+        }
+      }
+    }
+
+    for (RemoteMessage message : messages) {
+      mapper.encode(output, message);
+    }
+  }
+
+  private void handleStreamMessage(RemoteMessage message, Map<Long, StreamCredits> credits) throws Exception {
+    if (message instanceof TrackFrameDataMessage) {
+      TrackFrameDataMessage data = (TrackFrameDataMessage) message;
+      StreamCredits trackCredits = credits.get(data.executorId);
+
+      if (trackCredits != null) {
+        RemoteAudioTrackExecutor executor = playingTracks.get(data.executorId);
+
+        synchronized (trackCredits) {
+          if (data.seekedPosition >= 0 && executor != null) {
+            // The node starts counting from the full capacity again after a seek.
+            trackCredits.outstanding = executor.getAudioBuffer().getFullCapacity();
+            trackCredits.requestedSeek = -1;
+          }
+
+          trackCredits.outstanding = Math.max(0, trackCredits.outstanding - data.frames.size());
+        }
+      }
+    }
+
+    handleMessage(message);
+  }
+
   private void handleTrackStartResponse(TrackStartResponseMessage message) {
     if (message.success) {
       log.debug("Successful start confirmation from node {} for executor {}.", nodeAddress, message.executorId);
@@ -362,11 +575,7 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
       AudioFrameBuffer buffer = executor.getAudioBuffer();
       executor.receivedData();
 
-      AudioDataFormat format = executor.getConfiguration().getOutputFormat();
-
-      for (AudioFrame frame : message.frames) {
-        buffer.consume(new ImmutableAudioFrame(frame.getTimecode(), frame.getData(), frame.getVolume(), format));
-      }
+      message.consumeFrames(buffer, executor.getConfiguration().getOutputFormat());
 
       if (message.finished) {
         buffer.setTerminateOnEmpty();
@@ -433,8 +642,10 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
   }
 
   private void recordTick(RemoteNode.Tick tick, RingBufferMath timingAverage) {
-    timingAverage.add(tick.endTime - tick.startTime);
-    requestTimingPenalty = (int) ((1450.0f / ((1450.0f - Math.min(timingAverage.mean(), 1440)) / 30.0f)) - 30.0f);
+    if (timingAverage != null) {
+      timingAverage.add(tick.endTime - tick.startTime);
+      requestTimingPenalty = (int) ((1450.0f / ((1450.0f - Math.min(timingAverage.mean(), 1440)) / 30.0f)) - 30.0f);
+    }
 
     synchronized (tickHistory) {
       if (tickHistory.size() == NODE_REQUEST_HISTORY) {
@@ -459,6 +670,14 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
     }
   }
 
+  /**
+   * @return True if the node is currently connected using a stream connection, which keeps track buffers filled with
+   *         credit-based pushes instead of ticks.
+   */
+  public boolean isStreaming() {
+    return streaming;
+  }
+
   @Override
   public NodeStatisticsMessage getLastStatistics() {
     return lastStatistics;
@@ -503,6 +722,66 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
     return tracks;
   }
 
+  /**
+   * @return True if the node is online and has reported its statistics, so that new tracks can be started on it.
+   */
+  public boolean isAvailableForTracks() {
+    return !isUnavailableForTracks(lastStatistics);
+  }
+
+  /**
+   * @return The fraction of the frame buffers of the tracks played through this node which is currently empty, from 0
+   *         to 1. Nodes which keep up with their tracks keep their buffers nearly full.
+   */
+  public float getFrameDeficit() {
+    long missingFrames = 0;
+    long bufferCapacity = 0;
+
+    for (RemoteAudioTrackExecutor executor : playingTracks.values()) {
+      AudioFrameBuffer buffer = executor.getAudioBuffer();
+      missingFrames += buffer.getRemainingCapacity();
+      bufferCapacity += buffer.getFullCapacity();
+    }
+
+    return bufferCapacity > 0 ? Math.min(1.0f, (float) missingFrames / bufferCapacity) : 0.0f;
+  }
+
+  /**
+   * Removes tracks from this node so that they can be continued on another node from their current position. The node
+   * is told to stop them, but the tracks themselves are not ended. Tracks with the most data buffered are chosen first,
+   * as they are the least likely to run out of it during the move.
+   *
+   * @param count Maximum number of tracks to release
+   * @return Executors of the released tracks
+   */
+  public List<RemoteAudioTrackExecutor> releaseTracks(int count) {
+    List<RemoteAudioTrackExecutor> candidates = new ArrayList<>();
+
+    for (RemoteAudioTrackExecutor executor : playingTracks.values()) {
+      if (executor.getPendingSeek() == -1 && executor.getAudioBuffer().hasReceivedFrames()) {
+        candidates.add(executor);
+      }
+    }
+
+    candidates.sort(Comparator.comparingInt(executor -> executor.getAudioBuffer().getRemainingCapacity()));
+
+    List<RemoteAudioTrackExecutor> released = new ArrayList<>();
+
+    for (RemoteAudioTrackExecutor executor : candidates) {
+      if (released.size() >= count) {
+        break;
+      } else if (playingTracks.remove(executor.getExecutorId()) != null) {
+        log.info("Releasing track {} from node {} (context {})", executor.getTrack().getIdentifier(), nodeAddress,
+            executor.getExecutorId());
+
+        queuedMessages.add(new TrackStoppedMessage(executor.getExecutorId()));
+        released.add(executor);
+      }
+    }
+
+    return released;
+  }
+
   private boolean isUnavailableForTracks(NodeStatisticsMessage statistics) {
     return statistics == null || connectionState.get() != ConnectionState.ONLINE.id();
   }
@@ -576,6 +855,46 @@ public class RemoteNodeProcessor implements RemoteNode, Runnable {
     return false;
   }
 
+  private class StreamReader implements Runnable {
+    private final DataInputStream input;
+    private final Map<Long, StreamCredits> credits;
+    private volatile boolean closing;
+    private volatile boolean finished;
+    private volatile Throwable failure;
+
+    private StreamReader(DataInputStream input, Map<Long, StreamCredits> credits) {
+      this.input = input;
+      this.credits = credits;
+    }
+
+    @Override
+    public void run() {
+      try {
+        RemoteMessage message;
+
+        while ((message = mapper.decode(input)) != null) {
+          handleStreamMessage(message, credits);
+          lastAliveTime = System.currentTimeMillis();
+        }
+
+        log.info("Node {} closed the stream connection.", nodeAddress);
+      } catch (Throwable e) {
+        if (!closing) {
+          failure = e;
+        }
+      } finally {
+        finished = true;
+      }
+    }
+  }
+
+  private static class StreamCredits {
+    private int outstanding;
+    private int volume = -1;
+    private long requestedSeek = -1;
+    private long lastRequestTime;
+  }
+
   private static class TickBuilder {
     private final long startTime;
     private long endTime;
@@ -0,0 +1,145 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import com.sedmelluq.discord.lavaplayer.remote.RemoteAudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeProcessor;
+import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Balancer which places tracks on a hash ring of the nodes by a key of the track, so that all tracks with the same key
+ * end up on the same node as long as the set of nodes does not change. By default the key is the source and identifier
+ * of the track, so repeated plays of the same track use whatever the node has cached for it. A custom key function can
+ * group tracks differently, for example by guild. When the node for a key is unavailable or its penalty is too high, the
+ * next node on the ring is used instead. Tracks without a key are given to the fallback balancer.
+ */
+public class ConsistentHashBalancer implements RemoteNodeBalancer {
+  private static final int POINTS_PER_NODE = 100;
+  private static final int DEFAULT_MAXIMUM_PENALTY = 500;
+
+  private final Function<AudioTrack, Object> keyFunction;
+  private final int maximumPenalty;
+  private final RemoteNodeBalancer fallback;
+  private volatile Ring ring;
+
+  /**
+   * Create an instance which uses the source and identifier of the track as its key.
+   */
+  public ConsistentHashBalancer() {
+    this(ConsistentHashBalancer::getTrackKey, DEFAULT_MAXIMUM_PENALTY, new LowestPenaltyBalancer());
+  }
+
+  /**
+   * @param keyFunction Function which returns the key of a track, or null if the track has no key
+   * @param maximumPenalty Nodes with at least this balancer penalty are skipped on the ring
+   * @param fallback Balancer for tracks without a key and for when the ring has no suitable node
+   */
+  public ConsistentHashBalancer(Function<AudioTrack, Object> keyFunction, int maximumPenalty,
+                                RemoteNodeBalancer fallback) {
+
+    this.keyFunction = keyFunction;
+    this.maximumPenalty = maximumPenalty;
+    this.fallback = fallback;
+  }
+
+  @Override
+  public RemoteNodeProcessor selectNode(List<RemoteNodeProcessor> nodes, RemoteAudioTrackExecutor executor) {
+    Object key = keyFunction.apply(executor.getTrack());
+
+    if (key != null && !nodes.isEmpty()) {
+      Ring currentRing = getRing(nodes);
+      int index = currentRing.indexOf(mix(key.hashCode()));
+
+      for (int i = 0; i < currentRing.points.length; i++) {
+        RemoteNodeProcessor node = currentRing.owners[(index + i) % currentRing.points.length];
+
+        if (node.isAvailableForTracks() && node.getBalancerPenalty() < maximumPenalty) {
+          return node;
+        }
+      }
+    }
+
+    return fallback.selectNode(nodes, executor);
+  }
+
+  /**
+   * @param track Audio track
+   * @return Key which is the same for all instances of the same track from the same source
+   */
+  public static Object getTrackKey(AudioTrack track) {
+    String identifier = track.getInfo().identifier;
+
+    if (identifier == null) {
+      return null;
+    }
+
+    AudioSourceManager sourceManager = track.getSourceManager();
+    return sourceManager != null ? sourceManager.getSourceName() + ":" + identifier : identifier;
+  }
+
+  private Ring getRing(List<RemoteNodeProcessor> nodes) {
+    Ring currentRing = ring;
+
+    if (currentRing == null || !currentRing.nodes.equals(nodes)) {
+      currentRing = new Ring(new ArrayList<>(nodes));
+      ring = currentRing;
+    }
+
+    return currentRing;
+  }
+
+  private static int mix(int hash) {
+    hash ^= hash >>> 16;
+    hash *= 0x85ebca6b;
+    hash ^= hash >>> 13;
+    hash *= 0xc2b2ae35;
+    hash ^= hash >>> 16;
+    return hash;
+  }
+
+  private static class Ring {
+    private final List<RemoteNodeProcessor> nodes;
+    private final int[] points;
+    private final RemoteNodeProcessor[] owners;
+
+    private Ring(List<RemoteNodeProcessor> nodes) {
+      this.nodes = nodes;
+
+      long[] entries = new long[nodes.size() * POINTS_PER_NODE];
+
+      for (int node = 0; node < nodes.size(); node++) {
+        String address = nodes.get(node).getAddress();
+
+        for (int point = 0; point < POINTS_PER_NODE; point++) {
+          int hash = mix((address + "#" + point).hashCode());
+          entries[node * POINTS_PER_NODE + point] = ((long) hash << 32) | node;
+        }
+      }
+
+      // Sorting by the hash in the upper half keeps each point together with the index of its node in the lower half.
+      Arrays.sort(entries);
+
+      points = new int[entries.length];
+      owners = new RemoteNodeProcessor[entries.length];
+
+      for (int i = 0; i < entries.length; i++) {
+        points[i] = (int) (entries[i] >> 32);
+        owners[i] = nodes.get((int) entries[i]);
+      }
+    }
+
+    private int indexOf(int hash) {
+      int index = Arrays.binarySearch(points, hash);
+
+      if (index < 0) {
+        index = -index - 1;
+      }
+
+      return index == points.length ? 0 : index;
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import com.sedmelluq.discord.lavaplayer.remote.RemoteAudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeProcessor;
+
+import java.util.List;
+
+/**
+ * Balancer which chooses the node with the lowest balancer penalty. This is the default.
+ */
+public class LowestPenaltyBalancer implements RemoteNodeBalancer {
+  @Override
+  public RemoteNodeProcessor selectNode(List<RemoteNodeProcessor> nodes, RemoteAudioTrackExecutor executor) {
+    int lowestPenalty = Integer.MAX_VALUE;
+    RemoteNodeProcessor selected = null;
+
+    for (RemoteNodeProcessor node : nodes) {
+      int penalty = node.getBalancerPenalty();
+
+      if (penalty < lowestPenalty) {
+        lowestPenalty = penalty;
+        selected = node;
+      }
+    }
+
+    return selected;
+  }
+}
@@ -0,0 +1,44 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import com.sedmelluq.discord.lavaplayer.remote.RemoteAudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeProcessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Balancer which picks two available nodes at random and chooses the one with the lower balancer penalty. Since the
+ * statistics of the nodes are only updated periodically, always choosing the single best node sends every track that
+ * is started in between to the same node. Comparing two random nodes spreads them out while still avoiding the busy
+ * ones.
+ */
+public class PowerOfTwoChoicesBalancer implements RemoteNodeBalancer {
+  @Override
+  public RemoteNodeProcessor selectNode(List<RemoteNodeProcessor> nodes, RemoteAudioTrackExecutor executor) {
+    List<RemoteNodeProcessor> available = new ArrayList<>(nodes.size());
+
+    for (RemoteNodeProcessor node : nodes) {
+      if (node.isAvailableForTracks()) {
+        available.add(node);
+      }
+    }
+
+    if (available.size() < 2) {
+      return available.isEmpty() ? null : available.get(0);
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(available.size());
+    int second = random.nextInt(available.size() - 1);
+
+    if (second >= first) {
+      second++;
+    }
+
+    RemoteNodeProcessor firstNode = available.get(first);
+    RemoteNodeProcessor secondNode = available.get(second);
+
+    return firstNode.getBalancerPenalty() <= secondNode.getBalancerPenalty() ? firstNode : secondNode;
+  }
+}
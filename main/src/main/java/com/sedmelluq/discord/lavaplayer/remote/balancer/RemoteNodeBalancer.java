@@ -0,0 +1,18 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import com.sedmelluq.discord.lavaplayer.remote.RemoteAudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeProcessor;
+
+import java.util.List;
+
+/**
+ * Strategy for choosing the remote node on which a track is started.
+ */
+public interface RemoteNodeBalancer {
+  /**
+   * @param nodes All nodes of the manager, including ones which are currently not available for tracks
+   * @param executor Executor of the track that is about to be started
+   * @return The node to start the track on, or null if none of the nodes can take it
+   */
+  RemoteNodeProcessor selectNode(List<RemoteNodeProcessor> nodes, RemoteAudioTrackExecutor executor);
+}
@@ -0,0 +1,66 @@
+package com.sedmelluq.discord.lavaplayer.remote.balancer;
+
+import com.sedmelluq.discord.lavaplayer.remote.RemoteAudioTrackExecutor;
+import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeProcessor;
+import com.sedmelluq.discord.lavaplayer.remote.message.NodeStatisticsMessage;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Balancer which chooses the node with the fewest playing tracks relative to its weight. The track count is increased
+ * by the frame deficit of the node, so that a node which does not keep the buffers of its tracks filled receives fewer
+ * new tracks than its track count alone would suggest. Useful for clusters where the nodes have different capacity.
+ */
+public class WeightedLeastConnectionsBalancer implements RemoteNodeBalancer {
+  private final Map<String, Double> weights;
+  private final double defaultWeight;
+
+  /**
+   * Create an instance where all nodes have the same weight.
+   */
+  public WeightedLeastConnectionsBalancer() {
+    this(Collections.emptyMap(), 1.0);
+  }
+
+  /**
+   * @param weights Weights of nodes by their address. A node with twice the weight receives twice the tracks.
+   * @param defaultWeight Weight of nodes which are not in the map
+   */
+  public WeightedLeastConnectionsBalancer(Map<String, Double> weights, double defaultWeight) {
+    if (defaultWeight <= 0) {
+      throw new IllegalArgumentException("Default weight must be positive.");
+    }
+
+    this.weights = new HashMap<>(weights);
+    this.defaultWeight = defaultWeight;
+  }
+
+  @Override
+  public RemoteNodeProcessor selectNode(List<RemoteNodeProcessor> nodes, RemoteAudioTrackExecutor executor) {
+    double lowestLoad = Double.MAX_VALUE;
+    RemoteNodeProcessor selected = null;
+
+    for (RemoteNodeProcessor node : nodes) {
+      NodeStatisticsMessage statistics = node.getLastStatistics();
+
+      if (!node.isAvailableForTracks() || statistics == null) {
+        continue;
+      }
+
+      // The node counts the tracks of all player managers that use it, the processor only knows about its own ones.
+      int trackCount = Math.max(statistics.playingTrackCount, node.getPlayingTrackCount());
+      double weight = weights.getOrDefault(node.getAddress(), defaultWeight);
+      double load = (trackCount + 1) * (1.0 + node.getFrameDeficit()) / Math.max(weight, Double.MIN_NORMAL);
+
+      if (load < lowestLoad) {
+        lowestLoad = load;
+        selected = node;
+      }
+    }
+
+    return selected;
+  }
+}
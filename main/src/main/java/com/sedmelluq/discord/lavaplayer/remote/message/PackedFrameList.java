@@ -0,0 +1,202 @@
+package com.sedmelluq.discord.lavaplayer.remote.message;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameConsumer;
+import com.sedmelluq.discord.lavaplayer.track.playback.ImmutableAudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * Frames of a track frame data message in the packed layout of version 2 of the codec, kept as the single block they
+ * were received in. Each frame in the block is a zigzag varint timecode delta from the previous frame, a varint of the
+ * data length shifted left by one with the lowest bit indicating whether the volume changed, a varint volume if it did,
+ * and then the frame data.
+ *
+ * {@link #consume(AudioFrameConsumer, AudioDataFormat)} passes the frames on straight from the block. Accessing them as
+ * a list creates a separate frame object for each access, which is only meant for compatibility. The first access by
+ * index records where each frame starts, so that the following ones do not have to walk the block.
+ */
+public class PackedFrameList extends AbstractList<AudioFrame> implements RandomAccess {
+  private final byte[] block;
+  private final int frameCount;
+  private final long initialTimecode;
+  private volatile FrameIndex frameIndex;
+
+  /**
+   * @param block The block of packed frames
+   * @param frameCount Number of frames in the block
+   * @param initialTimecode Timecode which the delta of the first frame is relative to
+   */
+  public PackedFrameList(byte[] block, int frameCount, long initialTimecode) {
+    this.block = block;
+    this.frameCount = frameCount;
+    this.initialTimecode = initialTimecode;
+  }
+
+  /**
+   * Passes all frames to the consumer. The same frame instance is used for all frames and it refers directly to the
+   * block, so the consumer must copy the data if it keeps it, as the frame buffers do.
+   *
+   * @param consumer The consumer to pass the frames to
+   * @param format The format of the frames
+   * @throws InterruptedException When interrupted while the consumer was blocking
+   */
+  public void consume(AudioFrameConsumer consumer, AudioDataFormat format) throws InterruptedException {
+    ByteBuffer buffer = ByteBuffer.wrap(block);
+    MutableAudioFrame frame = new MutableAudioFrame();
+    frame.setFormat(format);
+
+    Reader reader = new Reader(buffer);
+
+    for (int i = 0; i < frameCount; i++) {
+      reader.next();
+
+      buffer.limit(reader.dataOffset + reader.dataLength);
+      buffer.position(reader.dataOffset);
+
+      frame.setBuffer(buffer);
+      frame.setTimecode(reader.timecode);
+      frame.setVolume(reader.volume);
+
+      consumer.consume(frame);
+
+      buffer.limit(buffer.capacity());
+      buffer.position(reader.dataOffset + reader.dataLength);
+    }
+  }
+
+  @Override
+  public AudioFrame get(int index) {
+    if (index < 0 || index >= frameCount) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + frameCount + " frames.");
+    }
+
+    FrameIndex indexedFrames = getFrameIndex();
+    int dataOffset = indexedFrames.dataOffsets[index];
+    byte[] data = Arrays.copyOfRange(block, dataOffset, dataOffset + indexedFrames.dataLengths[index]);
+
+    return new ImmutableAudioFrame(indexedFrames.timecodes[index], data, indexedFrames.volumes[index], null);
+  }
+
+  private FrameIndex getFrameIndex() {
+    FrameIndex indexedFrames = frameIndex;
+
+    if (indexedFrames == null) {
+      indexedFrames = new FrameIndex(frameCount);
+      Reader reader = new Reader(ByteBuffer.wrap(block));
+
+      for (int i = 0; i < frameCount; i++) {
+        reader.next();
+
+        indexedFrames.timecodes[i] = reader.timecode;
+        indexedFrames.volumes[i] = reader.volume;
+        indexedFrames.dataOffsets[i] = reader.dataOffset;
+        indexedFrames.dataLengths[i] = reader.dataLength;
+      }
+
+      frameIndex = indexedFrames;
+    }
+
+    return indexedFrames;
+  }
+
+  @Override
+  public Iterator<AudioFrame> iterator() {
+    Reader reader = new Reader(ByteBuffer.wrap(block));
+
+    return new Iterator<AudioFrame>() {
+      private int index;
+
+      @Override
+      public boolean hasNext() {
+        return index < frameCount;
+      }
+
+      @Override
+      public AudioFrame next() {
+        if (index >= frameCount) {
+          throw new NoSuchElementException();
+        }
+
+        index++;
+        reader.next();
+
+        byte[] data = new byte[reader.dataLength];
+        System.arraycopy(block, reader.dataOffset, data, 0, data.length);
+        return new ImmutableAudioFrame(reader.timecode, data, reader.volume, null);
+      }
+    };
+  }
+
+  @Override
+  public int size() {
+    return frameCount;
+  }
+
+  private static int readVarInt(ByteBuffer buffer) {
+    return (int) readVarLong(buffer);
+  }
+
+  private static long readVarLong(ByteBuffer buffer) {
+    long value = 0;
+    int shift = 0;
+    int current;
+
+    do {
+      current = buffer.get();
+      value |= (long) (current & 0x7F) << shift;
+      shift += 7;
+    } while ((current & 0x80) != 0);
+
+    return value;
+  }
+
+  private static class FrameIndex {
+    private final long[] timecodes;
+    private final int[] volumes;
+    private final int[] dataOffsets;
+    private final int[] dataLengths;
+
+    private FrameIndex(int frameCount) {
+      timecodes = new long[frameCount];
+      volumes = new int[frameCount];
+      dataOffsets = new int[frameCount];
+      dataLengths = new int[frameCount];
+    }
+  }
+
+  private class Reader {
+    private final ByteBuffer buffer;
+    private long timecode;
+    private int volume;
+    private int dataOffset;
+    private int dataLength;
+
+    private Reader(ByteBuffer buffer) {
+      this.buffer = buffer;
+      this.timecode = initialTimecode;
+    }
+
+    private void next() {
+      long delta = readVarLong(buffer);
+      timecode += (delta >>> 1) ^ -(delta & 1);
+
+      int lengthAndFlag = readVarInt(buffer);
+
+      if ((lengthAndFlag & 1) != 0) {
+        volume = readVarInt(buffer);
+      }
+
+      dataLength = lengthAndFlag >>> 1;
+      dataOffset = buffer.position();
+      buffer.position(dataOffset + dataLength);
+    }
+  }
+}
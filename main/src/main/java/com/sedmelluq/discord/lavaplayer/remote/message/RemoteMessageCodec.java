@@ -30,6 +30,20 @@ public interface RemoteMessageCodec<T extends RemoteMessage> {
    */
   void encode(DataOutput out, T message) throws IOException;
 
+  /**
+   * Encode the message to the specified output using an older version than the one returned by
+   * {@link #version(RemoteMessage)}, for a receiver which does not support the latest one. Codecs which have only one
+   * version for each message do not need to override this.
+   *
+   * @param out The output stream
+   * @param message The message to encode
+   * @param version The version to encode the message with
+   * @throws IOException When an IO error occurs
+   */
+  default void encode(DataOutput out, T message, int version) throws IOException {
+    encode(out, message);
+  }
+
   /**
    * Decode a message from the specified input.
    *
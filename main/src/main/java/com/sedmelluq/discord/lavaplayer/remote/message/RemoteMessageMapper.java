@@ -18,12 +18,14 @@ public class RemoteMessageMapper {
   private static final Logger log = LoggerFactory.getLogger(RemoteMessageMapper.class);
 
   private final Map<Class<? extends RemoteMessage>, RemoteMessageType> encodingMap;
+  private final int[] maximumVersions;
 
   /**
    * Create a new instance.
    */
   public RemoteMessageMapper() {
     encodingMap = new IdentityHashMap<>();
+    maximumVersions = new int[RemoteMessageType.class.getEnumConstants().length];
 
     initialiseEncodingMap();
   }
@@ -31,9 +33,21 @@ public class RemoteMessageMapper {
   private void initialiseEncodingMap() {
     for (RemoteMessageType type : RemoteMessageType.class.getEnumConstants()) {
       encodingMap.put(type.codec.getMessageClass(), type);
+      maximumVersions[type.ordinal()] = type.codec.version(null);
     }
   }
 
+  /**
+   * Limits the version used for encoding messages of the specified type, for a receiver which does not support the
+   * latest version.
+   *
+   * @param type The message type
+   * @param version Maximum version to encode messages of this type with
+   */
+  public void setMaximumVersion(RemoteMessageType type, int version) {
+    maximumVersions[type.ordinal()] = version;
+  }
+
   /**
    * Decodes one message. If the input stream indicates the end of messages, null is returned.
    *
@@ -83,11 +97,12 @@ public class RemoteMessageMapper {
     DataOutput messageOutput = new DataOutputStream(messageOutputBytes);
 
     RemoteMessageCodec codec = type.codec;
-    codec.encode(messageOutput, message);
+    int version = Math.min(codec.version(message), maximumVersions[type.ordinal()]);
+    codec.encode(messageOutput, message, version);
 
     output.writeInt(messageOutputBytes.size() + 2);
     output.writeByte((byte) type.ordinal());
-    output.writeByte((byte) type.codec.version(message));
+    output.writeByte((byte) version);
     messageOutputBytes.writeTo(output);
   }
 
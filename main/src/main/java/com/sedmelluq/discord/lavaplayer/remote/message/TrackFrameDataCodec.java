@@ -10,9 +10,19 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Codec for track frame data message.
+ * Codec for track frame data message. Version 2 packs the frames into one block as described in
+ * {@link PackedFrameList}, which is decoded without creating an array for each frame.
  */
 public class TrackFrameDataCodec implements RemoteMessageCodec<TrackFrameDataMessage> {
+  /**
+   * Version where each frame is written separately with fixed size fields.
+   */
+  public static final int VERSION_INITIAL = 1;
+  /**
+   * Version where the frames are packed into one block.
+   */
+  public static final int VERSION_PACKED = 2;
+
   @Override
   public Class<TrackFrameDataMessage> getMessageClass() {
     return TrackFrameDataMessage.class;
@@ -20,19 +30,28 @@ public class TrackFrameDataCodec implements RemoteMessageCodec<TrackFrameDataMes
 
   @Override
   public int version(RemoteMessage message) {
-    return 1;
+    return VERSION_PACKED;
   }
 
   @Override
   public void encode(DataOutput out, TrackFrameDataMessage message) throws IOException {
+    encode(out, message, VERSION_PACKED);
+  }
+
+  @Override
+  public void encode(DataOutput out, TrackFrameDataMessage message, int version) throws IOException {
     out.writeLong(message.executorId);
     out.writeInt(message.frames.size());
 
-    for (AudioFrame frame : message.frames) {
-      out.writeLong(frame.getTimecode());
-      out.writeInt(frame.getDataLength());
-      out.write(frame.getData());
-      out.writeInt(frame.getVolume());
+    if (version >= VERSION_PACKED) {
+      encodePackedFrames(out, message.frames);
+    } else {
+      for (AudioFrame frame : message.frames) {
+        out.writeLong(frame.getTimecode());
+        out.writeInt(frame.getDataLength());
+        out.write(frame.getData());
+        out.writeInt(frame.getVolume());
+      }
     }
 
     out.writeBoolean(message.finished);
@@ -43,17 +62,84 @@ public class TrackFrameDataCodec implements RemoteMessageCodec<TrackFrameDataMes
   public TrackFrameDataMessage decode(DataInput in, int version) throws IOException {
     long executorId = in.readLong();
     int frameCount = in.readInt();
+    List<AudioFrame> frames;
 
-    List<AudioFrame> frames = new ArrayList<>(frameCount);
+    if (version >= VERSION_PACKED) {
+      long initialTimecode = in.readLong();
+      byte[] block = new byte[in.readInt()];
+      in.readFully(block);
 
-    for (int i = 0; i < frameCount; i++) {
-      long timecode = in.readLong();
-      byte[] data = new byte[in.readInt()];
-      in.readFully(data);
+      frames = new PackedFrameList(block, frameCount, initialTimecode);
+    } else {
+      frames = new ArrayList<>(frameCount);
 
-      frames.add(new ImmutableAudioFrame(timecode, data, in.readInt(), null));
+      for (int i = 0; i < frameCount; i++) {
+        long timecode = in.readLong();
+        byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+
+        frames.add(new ImmutableAudioFrame(timecode, data, in.readInt(), null));
+      }
     }
 
     return new TrackFrameDataMessage(executorId, frames, in.readBoolean(), in.readLong());
   }
+
+  private static void encodePackedFrames(DataOutput out, List<AudioFrame> frames) throws IOException {
+    long initialTimecode = frames.isEmpty() ? 0 : frames.get(0).getTimecode();
+
+    // The block length comes before the block, so the first pass only measures it.
+    out.writeLong(initialTimecode);
+    out.writeInt(writePackedFrames(null, frames, initialTimecode));
+    writePackedFrames(out, frames, initialTimecode);
+  }
+
+  private static int writePackedFrames(DataOutput out, List<AudioFrame> frames, long initialTimecode)
+      throws IOException {
+
+    long previousTimecode = initialTimecode;
+    int previousVolume = -1;
+    int length = 0;
+
+    for (AudioFrame frame : frames) {
+      long delta = frame.getTimecode() - previousTimecode;
+      boolean volumeChanged = frame.getVolume() != previousVolume;
+
+      length += writeVarLong(out, (delta << 1) ^ (delta >> 63));
+      length += writeVarLong(out, ((long) frame.getDataLength() << 1) | (volumeChanged ? 1 : 0));
+
+      if (volumeChanged) {
+        length += writeVarLong(out, frame.getVolume());
+      }
+
+      if (out != null) {
+        out.write(frame.getData());
+      }
+
+      length += frame.getDataLength();
+      previousTimecode = frame.getTimecode();
+      previousVolume = frame.getVolume();
+    }
+
+    return length;
+  }
+
+  private static int writeVarLong(DataOutput out, long value) throws IOException {
+    int length = 1;
+
+    while ((value & ~0x7FL) != 0) {
+      if (out != null) {
+        out.writeByte((int) ((value & 0x7F) | 0x80));
+      }
+
+      value >>>= 7;
+      length++;
+    }
+
+    if (out != null) {
+      out.writeByte((int) value);
+    }
+
+    return length;
+  }
 }
@@ -1,6 +1,9 @@
 package com.sedmelluq.discord.lavaplayer.remote.message;
 
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
 import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameConsumer;
+import com.sedmelluq.discord.lavaplayer.track.playback.ImmutableAudioFrame;
 
 import java.util.List;
 
@@ -44,4 +47,22 @@ public class TrackFrameDataMessage implements RemoteMessage {
     this.finished = finished;
     this.seekedPosition = seekedPosition;
   }
+
+  /**
+   * Passes the frames to a consumer with the audio format attached. Frames which were received packed are passed on
+   * directly from the received block.
+   *
+   * @param consumer The consumer to pass the frames to
+   * @param format The format of the frames
+   * @throws InterruptedException When interrupted while the consumer was blocking
+   */
+  public void consumeFrames(AudioFrameConsumer consumer, AudioDataFormat format) throws InterruptedException {
+    if (frames instanceof PackedFrameList) {
+      ((PackedFrameList) frames).consume(consumer, format);
+    } else {
+      for (AudioFrame frame : frames) {
+        consumer.consume(new ImmutableAudioFrame(frame.getTimecode(), frame.getData(), frame.getVolume(), format));
+      }
+    }
+  }
 }
@@ -2,6 +2,7 @@ package com.sedmelluq.discord.lavaplayer.source;
 
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.track.AudioItem;
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
@@ -9,6 +10,10 @@ import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Manager for a source of audio items.
@@ -33,6 +38,35 @@ public interface AudioSourceManager {
    */
   AudioItem loadItem(DefaultAudioPlayerManager manager, AudioReference reference);
 
+  /**
+   * Same as {@link #loadItem(DefaultAudioPlayerManager, AudioReference)}, but allows reporting the parts of a playlist
+   * as they are loaded. Source managers which load playlists in multiple pages should override this.
+   *
+   * @param manager The audio manager to attach to the loaded tracks
+   * @param reference The reference with the identifier which the source manager should find the track with
+   * @param partConsumer Consumer for the parts of a playlist, each containing the tracks of one page, null if parts are
+   *                     not needed
+   * @return The loaded item or null on unrecognized identifier
+   */
+  default AudioItem loadItem(DefaultAudioPlayerManager manager, AudioReference reference,
+                             Consumer<AudioPlaylist> partConsumer) {
+
+    return loadItem(manager, reference);
+  }
+
+  /**
+   * Loads several tracks at once, for sources which can look up multiple identifiers with fewer requests than loading
+   * them one by one. Identifiers which this source manager does not recognise or cannot load in bulk are left out of
+   * the result and loaded with {@link #loadItem(DefaultAudioPlayerManager, AudioReference)} instead.
+   *
+   * @param manager The audio manager to attach to the loaded tracks
+   * @param references The references to load
+   * @return Map of identifier to the track loaded for it
+   */
+  default Map<String, AudioItem> loadItems(DefaultAudioPlayerManager manager, List<AudioReference> references) {
+    return Collections.emptyMap();
+  }
+
   /**
    * Returns whether the specified track can be encoded. The argument is always a track created by this manager. Being
    * encodable also means that it must be possible to play this track on a different node, so it should not depend on
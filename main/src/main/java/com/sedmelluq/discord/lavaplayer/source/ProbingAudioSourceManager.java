@@ -1,17 +1,20 @@
 package com.sedmelluq.discord.lavaplayer.source;
 
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetectionCache;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerDetectionResult;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerProbe;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerRegistry;
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerDescriptor;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.track.AudioItem;
+import com.sedmelluq.discord.lavaplayer.track.AudioReference;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.function.Supplier;
 
 import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.COMMON;
 
@@ -22,11 +25,48 @@ public abstract class ProbingAudioSourceManager implements AudioSourceManager {
   private static final char PARAMETERS_SEPARATOR = '|';
 
   protected final MediaContainerRegistry containerRegistry;
+  private volatile MediaContainerDetectionCache detectionCache;
 
   protected ProbingAudioSourceManager(MediaContainerRegistry containerRegistry) {
     this.containerRegistry = containerRegistry;
   }
 
+  /**
+   * @param detectionCache Cache for the container detection results of loaded items, null to always detect the
+   *                       container. The same cache can be shared between source managers.
+   */
+  public void setDetectionCache(MediaContainerDetectionCache detectionCache) {
+    this.detectionCache = detectionCache;
+  }
+
+  /**
+   * Returns the cached detection result for this version of the content, or detects the container and caches the
+   * result.
+   *
+   * @param reference Reference to detect the container of
+   * @param version Version of the content, null if not known, in which case the cache is not used
+   * @param detection Detects the container of the reference
+   * @return The detection result
+   */
+  protected MediaContainerDetectionResult detectContainerCached(AudioReference reference, String version,
+                                                                Supplier<MediaContainerDetectionResult> detection) {
+
+    MediaContainerDetectionCache cache = detectionCache;
+
+    if (cache == null || version == null) {
+      return detection.get();
+    }
+
+    MediaContainerDetectionResult result = cache.get(reference, version);
+
+    if (result == null) {
+      result = detection.get();
+      cache.put(reference, version, result);
+    }
+
+    return result;
+  }
+
   protected AudioItem handleLoadResult(MediaContainerDetectionResult result) {
     if (result != null) {
       if (result.isReference()) {
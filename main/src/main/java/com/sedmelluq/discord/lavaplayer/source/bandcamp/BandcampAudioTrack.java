@@ -5,6 +5,7 @@ import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.tools.io.PersistentHttpStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
@@ -45,7 +46,9 @@ public class BandcampAudioTrack extends DelegatedAudioTrack {
       String trackMediaUrl = getTrackMediaUrl(httpInterface);
       log.debug("Starting Bandcamp track from URL: {}", trackMediaUrl);
 
-      try (PersistentHttpStream stream = new PersistentHttpStream(httpInterface, new URI(trackMediaUrl), null)) {
+      try (SeekableInputStream stream = prefetchStream(
+          new PersistentHttpStream(httpInterface, new URI(trackMediaUrl), null), localExecutor)) {
+
         processDelegate(new Mp3AudioTrack(trackInfo, stream), localExecutor);
       }
     }
@@ -8,6 +8,7 @@ import com.sedmelluq.discord.lavaplayer.container.MediaContainerRegistry;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.source.ProbingAudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.io.AsyncHttpInterfaceManager;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpConfigurable;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
@@ -19,6 +20,8 @@ import com.sedmelluq.discord.lavaplayer.track.AudioReference;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoBuilder;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.HttpClientBuilder;
@@ -53,14 +56,34 @@ public class HttpAudioSourceManager extends ProbingAudioSourceManager implements
    * Create a new instance.
    */
   public HttpAudioSourceManager(MediaContainerRegistry containerRegistry) {
+    this(containerRegistry, false);
+  }
+
+  /**
+   * Create a new instance.
+   *
+   * @param containerRegistry Media container registry to use for detecting the container of tracks
+   * @param useAsyncStreaming Whether to read the streams of playing tracks with an asynchronous client, which reads
+   *                          ahead on shared I/O threads instead of blocking the playback thread on the connection
+   */
+  public HttpAudioSourceManager(MediaContainerRegistry containerRegistry, boolean useAsyncStreaming) {
     super(containerRegistry);
 
-    httpInterfaceManager = new ThreadLocalHttpInterfaceManager(
-        HttpClientTools
-            .createSharedCookiesHttpBuilder()
-            .setRedirectStrategy(new HttpClientTools.NoRedirectsStrategy()),
-        HttpClientTools.DEFAULT_REQUEST_CONFIG
-    );
+    HttpClientBuilder clientBuilder = HttpClientTools
+        .createSharedCookiesHttpBuilder()
+        .setRedirectStrategy(new HttpClientTools.NoRedirectsStrategy());
+
+    if (useAsyncStreaming) {
+      httpInterfaceManager = new AsyncHttpInterfaceManager(
+          clientBuilder,
+          HttpClientTools
+              .createSharedCookiesAsyncHttpBuilder()
+              .setRedirectStrategy(new HttpClientTools.NoRedirectsStrategy()),
+          HttpClientTools.DEFAULT_REQUEST_CONFIG
+      );
+    } else {
+      httpInterfaceManager = new ThreadLocalHttpInterfaceManager(clientBuilder, HttpClientTools.DEFAULT_REQUEST_CONFIG);
+    }
   }
 
   @Override
@@ -138,13 +161,30 @@ public class HttpAudioSourceManager extends ProbingAudioSourceManager implements
         throw new FriendlyException("That URL is not playable.", COMMON, new IllegalStateException("Status code " + statusCode));
       }
 
-      MediaContainerHints hints = MediaContainerHints.from(getHeaderValue(inputStream.getCurrentResponse(), "Content-Type"), null);
-      return new MediaContainerDetection(containerRegistry, reference, inputStream, hints).detectContainer();
+      HttpResponse response = inputStream.getCurrentResponse();
+      MediaContainerHints hints = MediaContainerHints.from(getHeaderValue(response, "Content-Type"), null);
+
+      return detectContainerCached(reference, getContentVersion(response),
+          () -> new MediaContainerDetection(containerRegistry, reference, inputStream, hints).detectContainer());
     } catch (URISyntaxException e) {
       throw new FriendlyException("Not a valid URL.", COMMON, e);
     }
   }
 
+  private static String getContentVersion(HttpResponse response) {
+    String entityTag = getHeaderValue(response, HttpHeaders.ETAG);
+
+    if (entityTag != null) {
+      return entityTag;
+    }
+
+    String lastModified = getHeaderValue(response, HttpHeaders.LAST_MODIFIED);
+    String contentLength = getHeaderValue(response, HttpHeaders.CONTENT_LENGTH);
+
+    // A modification time alone does not identify the content of live streams, which have no length.
+    return lastModified != null && contentLength != null ? lastModified + ":" + contentLength : null;
+  }
+
   @Override
   public boolean isTrackEncodable(AudioTrack track) {
     return true;
@@ -4,6 +4,7 @@ import com.sedmelluq.discord.lavaplayer.container.MediaContainerDescriptor;
 import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.tools.io.PersistentHttpStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
@@ -49,7 +50,10 @@ public class HttpAudioTrack extends DelegatedAudioTrack {
     try (HttpInterface httpInterface = sourceManager.getHttpInterface()) {
       log.debug("Starting http track from URL: {}", trackInfo.identifier);
 
-      try (PersistentHttpStream inputStream = new PersistentHttpStream(httpInterface, new URI(trackInfo.identifier), Long.MAX_VALUE)) {
+      try (SeekableInputStream inputStream = prefetchStream(cacheStream("http:" + trackInfo.identifier,
+          new PersistentHttpStream(httpInterface, new URI(trackInfo.identifier), Long.MAX_VALUE), localExecutor),
+          localExecutor)) {
+
         processDelegate((InternalAudioTrack) containerTrackFactory.createTrack(trackInfo, inputStream), localExecutor);
       }
     }
@@ -8,6 +8,7 @@ import com.sedmelluq.discord.lavaplayer.container.MediaContainerDescriptor;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.source.ProbingAudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioItem;
 import com.sedmelluq.discord.lavaplayer.track.AudioReference;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
@@ -24,6 +25,8 @@ import static com.sedmelluq.discord.lavaplayer.tools.FriendlyException.Severity.
  * Audio source manager that implements finding audio files from the local file system.
  */
 public class LocalAudioSourceManager extends ProbingAudioSourceManager {
+  private volatile boolean useMemoryMapping;
+
   public LocalAudioSourceManager() {
     this(MediaContainerRegistry.DEFAULT_REGISTRY);
   }
@@ -32,6 +35,28 @@ public class LocalAudioSourceManager extends ProbingAudioSourceManager {
     super(containerRegistry);
   }
 
+  /**
+   * @param useMemoryMapping Whether to read files by mapping them into memory. This avoids copying the data for
+   *                         containers which can read directly from memory, but keeps the address space of each file
+   *                         reserved until its buffer is garbage collected. Files of 2GB or larger are never mapped.
+   */
+  public void setUseMemoryMapping(boolean useMemoryMapping) {
+    this.useMemoryMapping = useMemoryMapping;
+  }
+
+  /**
+   * @param file File to open for playback
+   * @return A stream for reading the file
+   * @throws IOException On error opening the file
+   */
+  public SeekableInputStream openFile(File file) throws IOException {
+    if (useMemoryMapping && file.length() < Integer.MAX_VALUE) {
+      return new MappedSeekableInputStream(file);
+    } else {
+      return new LocalSeekableInputStream(file);
+    }
+  }
+
   @Override
   public String getSourceName() {
     return "local";
@@ -42,7 +67,8 @@ public class LocalAudioSourceManager extends ProbingAudioSourceManager {
     File file = new File(reference.identifier);
 
     if (file.exists() && file.isFile() && file.canRead()) {
-      return handleLoadResult(detectContainerForFile(reference, file));
+      String version = file.length() + ":" + file.lastModified();
+      return handleLoadResult(detectContainerCached(reference, version, () -> detectContainerForFile(reference, file)));
     } else {
       return null;
     }
@@ -54,7 +80,8 @@ public class LocalAudioSourceManager extends ProbingAudioSourceManager {
   }
 
   private MediaContainerDetectionResult detectContainerForFile(AudioReference reference, File file) {
-    try (LocalSeekableInputStream inputStream = new LocalSeekableInputStream(file)) {
+    // Detection only reads the start of the file, so mapping the whole file for it is not worth it.
+    try (SeekableInputStream inputStream = new LocalSeekableInputStream(file)) {
       int lastDotIndex = file.getName().lastIndexOf('.');
       String fileExtension = lastDotIndex >= 0 ? file.getName().substring(lastDotIndex + 1) : null;
 
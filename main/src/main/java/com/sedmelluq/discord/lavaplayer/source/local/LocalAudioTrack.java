@@ -2,8 +2,10 @@ package com.sedmelluq.discord.lavaplayer.source.local;
 
 import com.sedmelluq.discord.lavaplayer.container.MediaContainerDescriptor;
 import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+import com.sedmelluq.discord.lavaplayer.track.ClipCacheableTrack;
 import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
@@ -13,7 +15,7 @@ import java.io.File;
 /**
  * Audio track that handles processing local files as audio tracks.
  */
-public class LocalAudioTrack extends DelegatedAudioTrack {
+public class LocalAudioTrack extends DelegatedAudioTrack implements ClipCacheableTrack {
   private final File file;
   private final MediaContainerDescriptor containerTrackFactory;
   private final LocalAudioSourceManager sourceManager;
@@ -42,11 +44,17 @@ public class LocalAudioTrack extends DelegatedAudioTrack {
 
   @Override
   public void process(LocalAudioTrackExecutor localExecutor) throws Exception {
-    try (LocalSeekableInputStream inputStream = new LocalSeekableInputStream(file)) {
+    try (SeekableInputStream inputStream = sourceManager.openFile(file)) {
       processDelegate((InternalAudioTrack) containerTrackFactory.createTrack(trackInfo, inputStream), localExecutor);
     }
   }
 
+  @Override
+  public String getClipCacheKey() {
+    long modified = file.lastModified();
+    return modified != 0 ? "local:" + file.getAbsolutePath() + ":" + file.length() + ":" + modified : null;
+  }
+
   @Override
   public AudioTrack makeClone() {
     return new LocalAudioTrack(trackInfo, containerTrackFactory, sourceManager);
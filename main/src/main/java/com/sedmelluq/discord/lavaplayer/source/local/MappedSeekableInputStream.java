@@ -0,0 +1,112 @@
+package com.sedmelluq.discord.lavaplayer.source.local;
+
+import com.sedmelluq.discord.lavaplayer.tools.io.BufferSliceSource;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Seekable input stream implementation for local files which maps the whole file into memory. Reads are served from
+ * the mapped buffer without any system calls, and readers which support {@link BufferSliceSource} can access the data
+ * without copying it at all. The file itself is only kept open while mapping it, the mapping is released when the
+ * buffer and all slices of it have been garbage collected.
+ */
+public class MappedSeekableInputStream extends SeekableInputStream implements BufferSliceSource {
+  private final ByteBuffer buffer;
+
+  /**
+   * @param file File to create a stream for, must be smaller than 2GB.
+   * @throws IOException On error opening or mapping the file.
+   */
+  public MappedSeekableInputStream(File file) throws IOException {
+    this(mapFile(file));
+  }
+
+  private MappedSeekableInputStream(ByteBuffer buffer) {
+    super(buffer.limit(), 0);
+
+    this.buffer = buffer;
+  }
+
+  private static ByteBuffer mapFile(File file) throws IOException {
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+      FileChannel channel = randomAccessFile.getChannel();
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  @Override
+  public int read() {
+    return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) {
+    if (len == 0) {
+      return 0;
+    } else if (!buffer.hasRemaining()) {
+      return -1;
+    }
+
+    int chunk = Math.min(len, buffer.remaining());
+    buffer.get(b, off, chunk);
+    return chunk;
+  }
+
+  @Override
+  public ByteBuffer readSlice(int length) throws IOException {
+    if (length > buffer.remaining()) {
+      throw new EOFException("Requested slice extends past the end of the file.");
+    }
+
+    ByteBuffer slice = buffer.slice();
+    slice.limit(length);
+    buffer.position(buffer.position() + length);
+    return slice;
+  }
+
+  @Override
+  public long skip(long n) {
+    int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+    buffer.position(buffer.position() + skipped);
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    return buffer.remaining();
+  }
+
+  @Override
+  public void close() {
+    // Nothing to release, the file is closed already and the mapping goes away with the buffer.
+  }
+
+  @Override
+  public long getPosition() {
+    return buffer.position();
+  }
+
+  @Override
+  public boolean canSeekHard() {
+    return true;
+  }
+
+  @Override
+  public List<AudioTrackInfoProvider> getTrackInfoProviders() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  protected void seekHard(long position) {
+    buffer.position((int) Math.min(position, buffer.limit()));
+  }
+}
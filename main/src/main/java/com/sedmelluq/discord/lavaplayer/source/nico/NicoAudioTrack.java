@@ -4,6 +4,7 @@ import com.sedmelluq.discord.lavaplayer.container.mpeg.MpegAudioTrack;
 import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.tools.io.PersistentHttpStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
@@ -50,7 +51,9 @@ public class NicoAudioTrack extends DelegatedAudioTrack {
 
       log.debug("Starting NicoNico track from URL: {}", playbackUrl);
 
-      try (PersistentHttpStream stream = new PersistentHttpStream(httpInterface, new URI(playbackUrl), null)) {
+      try (SeekableInputStream stream = prefetchStream(
+          new PersistentHttpStream(httpInterface, new URI(playbackUrl), null), localExecutor)) {
+
         processDelegate(new MpegAudioTrack(trackInfo, stream), localExecutor);
       }
     }
@@ -4,6 +4,7 @@ import com.sedmelluq.discord.lavaplayer.container.mp3.Mp3AudioTrack;
 import com.sedmelluq.discord.lavaplayer.source.AudioSourceManager;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.tools.io.PersistentHttpStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
@@ -47,9 +48,14 @@ public class SoundCloudAudioTrack extends DelegatedAudioTrack {
     String trackUrl = sourceManager.getTrackUrlFromId(trackInfo.identifier);
     log.debug("Starting SoundCloud track from URL: {}", trackUrl);
 
-    try (PersistentHttpStream stream = new PersistentHttpStream(httpInterface, new URI(trackUrl), null)) {
+    PersistentHttpStream httpStream = new PersistentHttpStream(httpInterface, new URI(trackUrl), null);
+
+    // Caching and reading ahead only use the HTTP stream from the first read, so its status can still be checked.
+    try (SeekableInputStream stream = prefetchStream(cacheStream("soundcloud:" + trackInfo.identifier, httpStream,
+        localExecutor), localExecutor)) {
+
       if (checkUnauthorized) {
-        int statusCode = stream.checkStatusCode();
+        int statusCode = httpStream.checkStatusCode();
 
         if (statusCode == 401) {
           return false;
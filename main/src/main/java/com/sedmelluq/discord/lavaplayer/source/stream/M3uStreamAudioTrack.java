@@ -1,6 +1,7 @@
 package com.sedmelluq.discord.lavaplayer.source.stream;
 
 import com.sedmelluq.discord.lavaplayer.container.adts.AdtsAudioTrack;
+import com.sedmelluq.discord.lavaplayer.container.adts.AdtsStreamSeeker;
 import com.sedmelluq.discord.lavaplayer.container.mpegts.MpegTsElementaryInputStream;
 import com.sedmelluq.discord.lavaplayer.container.mpegts.PesPacketInputStream;
 import com.sedmelluq.discord.lavaplayer.tools.io.ChainedInputStream;
@@ -33,7 +34,16 @@ public abstract class M3uStreamAudioTrack extends DelegatedAudioTrack {
         MpegTsElementaryInputStream elementaryInputStream = new MpegTsElementaryInputStream(chainedInputStream, ADTS_ELEMENTARY_STREAM);
         PesPacketInputStream pesPacketInputStream = new PesPacketInputStream(elementaryInputStream);
 
-        processDelegate(new AdtsAudioTrack(trackInfo, pesPacketInputStream), localExecutor);
+        // Seeking jumps straight to the segment containing the timecode, the segments before it are not downloaded.
+        AdtsStreamSeeker seeker = timecode -> {
+          long segmentStart = getSegmentUrlProvider().seekToSegment(httpInterface, timecode);
+          chainedInputStream.discardCurrentStream();
+          elementaryInputStream.discardPacket();
+          pesPacketInputStream.discardPacket();
+          return segmentStart;
+        };
+
+        processDelegate(new AdtsAudioTrack(trackInfo, pesPacketInputStream, seeker), localExecutor);
       }
     }
   }
@@ -139,11 +139,85 @@ public abstract class M3uStreamSegmentUrlProvider {
     return streams;
   }
 
+  /**
+   * Makes the next call to {@link #getNextSegmentStream} return the segment which contains the specified timecode. Only
+   * usable for streams whose segment list contains all segments from the start of the stream, such as video on demand
+   * streams, as the timecode is found by adding up the durations of the segments.
+   *
+   * @param httpInterface HTTP interface to use for any requests required to perform to find the segment.
+   * @param timecode Timecode in milliseconds.
+   * @return The timecode in milliseconds at which the next segment starts.
+   * @throws IOException On network error.
+   */
+  public long seekToSegment(HttpInterface httpInterface, long timecode) throws IOException {
+    String streamSegmentPlaylistUrl = fetchSegmentPlaylistUrl(httpInterface);
+    SegmentInfo previousSegment = null;
+    long segmentStart = 0;
+
+    if (streamSegmentPlaylistUrl != null) {
+      for (SegmentInfo segment : loadStreamSegmentsList(httpInterface, streamSegmentPlaylistUrl)) {
+        if (segment.duration == null || segmentStart + segment.duration > timecode) {
+          break;
+        }
+
+        segmentStart += segment.duration;
+        previousSegment = segment;
+      }
+    }
+
+    lastSegment = previousSegment;
+    return segmentStart;
+  }
+
+  /**
+   * @param httpInterface HTTP interface to use for any requests required to perform to find the segments.
+   * @return The total duration of the stream in milliseconds if its segment list is complete (the stream has ended, as
+   *         with video on demand streams) and the durations of all segments are known, otherwise null.
+   * @throws IOException On network error.
+   */
+  public Long loadCompleteStreamDuration(HttpInterface httpInterface) throws IOException {
+    String streamSegmentPlaylistUrl = fetchSegmentPlaylistUrl(httpInterface);
+    if (streamSegmentPlaylistUrl == null) {
+      return null;
+    }
+
+    String[] lines = fetchResponseLines(httpInterface, new HttpGet(streamSegmentPlaylistUrl), "stream segments list");
+    boolean listEnded = false;
+
+    for (String lineText : lines) {
+      ExtendedM3uParser.Line line = ExtendedM3uParser.parseLine(lineText);
+
+      if (line.isDirective() && "EXT-X-ENDLIST".equals(line.directiveName)) {
+        listEnded = true;
+      }
+    }
+
+    if (!listEnded) {
+      return null;
+    }
+
+    long duration = 0;
+
+    for (SegmentInfo segment : parseStreamSegmentsList(lines)) {
+      if (segment.duration == null) {
+        return null;
+      }
+
+      duration += segment.duration;
+    }
+
+    return duration;
+  }
+
   protected List<SegmentInfo> loadStreamSegmentsList(HttpInterface httpInterface, String streamSegmentPlaylistUrl) throws IOException {
+    return parseStreamSegmentsList(fetchResponseLines(httpInterface, new HttpGet(streamSegmentPlaylistUrl), "stream segments list"));
+  }
+
+  private static List<SegmentInfo> parseStreamSegmentsList(String[] lines) {
     List<SegmentInfo> segments = new ArrayList<>();
     ExtendedM3uParser.Line segmentInfo = null;
 
-    for (String lineText : fetchResponseLines(httpInterface, new HttpGet(streamSegmentPlaylistUrl), "stream segments list")) {
+    for (String lineText : lines) {
       ExtendedM3uParser.Line line = ExtendedM3uParser.parseLine(lineText);
 
       if (line.isDirective() && "EXTINF".equals(line.directiveName)) {
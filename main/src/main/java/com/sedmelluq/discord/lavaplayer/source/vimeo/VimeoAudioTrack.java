@@ -6,6 +6,7 @@ import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
 import com.sedmelluq.discord.lavaplayer.tools.io.PersistentHttpStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
@@ -47,7 +48,9 @@ public class VimeoAudioTrack extends DelegatedAudioTrack {
 
       log.debug("Starting Vimeo track from URL: {}", playbackUrl);
 
-      try (PersistentHttpStream stream = new PersistentHttpStream(httpInterface, new URI(playbackUrl), null)) {
+      try (SeekableInputStream stream = prefetchStream(
+          new PersistentHttpStream(httpInterface, new URI(playbackUrl), null), localExecutor)) {
+
         processDelegate(new MpegAudioTrack(trackInfo, stream), localExecutor);
       }
     }
@@ -40,8 +40,12 @@ import java.net.URISyntaxException;
 import java.net.URLEncoder;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -66,14 +70,17 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
   private static final String PLAYLIST_ID_REGEX = "(?<list>(PL|LL|FL|UU)[a-zA-Z0-9_-]+)";
 
   private static final String SEARCH_PREFIX = "ytsearch:";
+  private static final int ANONYMOUS_PLAYLIST_SIZE = 50;
 
   private static final Pattern directVideoIdPattern = Pattern.compile("^" + VIDEO_ID_REGEX + "$");
+  private static final Pattern mainDomainPattern = Pattern.compile("^" + PROTOCOL_REGEX + DOMAIN_REGEX + "/.*");
+  private static final Pattern shortDomainPattern = Pattern.compile("^" + PROTOCOL_REGEX + SHORT_DOMAIN_REGEX + "/.*");
 
   private final Extractor[] extractors = new Extractor[] {
-      new Extractor(directVideoIdPattern, id -> loadTrackWithVideoId(id, false)),
-      new Extractor(Pattern.compile("^" + PLAYLIST_ID_REGEX + "$"), id -> loadPlaylistWithId(id, null)),
-      new Extractor(Pattern.compile("^" + PROTOCOL_REGEX + DOMAIN_REGEX + "/.*"), this::loadFromMainDomain),
-      new Extractor(Pattern.compile("^" + PROTOCOL_REGEX + SHORT_DOMAIN_REGEX + "/.*"), this::loadFromShortDomain)
+      new Extractor(directVideoIdPattern, (id, partConsumer) -> loadTrackWithVideoId(id, false)),
+      new Extractor(Pattern.compile("^" + PLAYLIST_ID_REGEX + "$"), (id, partConsumer) -> loadPlaylistWithId(id, null, partConsumer)),
+      new Extractor(mainDomainPattern, this::loadFromMainDomain),
+      new Extractor(shortDomainPattern, this::loadFromShortDomain)
   };
 
   private final YoutubeSignatureCipherManager signatureCipherManager;
@@ -124,18 +131,127 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
 
   @Override
   public AudioItem loadItem(DefaultAudioPlayerManager manager, AudioReference reference) {
+    return loadItem(manager, reference, null);
+  }
+
+  @Override
+  public AudioItem loadItem(DefaultAudioPlayerManager manager, AudioReference reference,
+                            Consumer<AudioPlaylist> partConsumer) {
+
+    boolean[] partLoaded = new boolean[1];
+    Consumer<AudioPlaylist> trackedPartConsumer = partConsumer == null ? null : part -> {
+      partLoaded[0] = true;
+      partConsumer.accept(part);
+    };
+
     try {
-      return loadItemOnce(reference);
+      return loadItemOnce(reference, trackedPartConsumer);
     } catch (FriendlyException exception) {
-      // In case of a connection reset exception, try once more.
-      if (HttpClientTools.isRetriableNetworkException(exception.getCause())) {
-        return loadItemOnce(reference);
+      // In case of a connection reset exception, try once more, unless parts of a playlist have already been reported.
+      if (!partLoaded[0] && HttpClientTools.isRetriableNetworkException(exception.getCause())) {
+        return loadItemOnce(reference, trackedPartConsumer);
       } else {
         throw exception;
       }
     }
   }
 
+  @Override
+  public Map<String, AudioItem> loadItems(DefaultAudioPlayerManager manager, List<AudioReference> references) {
+    Map<String, List<String>> identifiersByVideoId = new LinkedHashMap<>();
+
+    for (AudioReference reference : references) {
+      String videoId = getBatchVideoId(reference.identifier);
+
+      if (videoId != null) {
+        identifiersByVideoId.computeIfAbsent(videoId, id -> new ArrayList<>()).add(reference.identifier);
+      }
+    }
+
+    List<String> videoIds = new ArrayList<>(identifiersByVideoId.keySet());
+    Map<String, AudioItem> items = new HashMap<>();
+
+    // Videos which are not in the resulting playlist, for example private ones, are loaded separately.
+    for (int start = 0; start < videoIds.size(); start += ANONYMOUS_PLAYLIST_SIZE) {
+      List<String> batch = videoIds.subList(start, Math.min(videoIds.size(), start + ANONYMOUS_PLAYLIST_SIZE));
+
+      try {
+        for (AudioTrack track : loadAnonymousPlaylistTracks(batch)) {
+          List<String> identifiers = identifiersByVideoId.getOrDefault(track.getIdentifier(), Collections.emptyList());
+
+          for (int i = 0; i < identifiers.size(); i++) {
+            items.putIfAbsent(identifiers.get(i), i == 0 ? track : track.makeClone());
+          }
+        }
+      } catch (Exception e) {
+        log.debug("Failed to load a batch of {} videos as an anonymous playlist.", batch.size(), e);
+      }
+    }
+
+    return items;
+  }
+
+  private String getBatchVideoId(String identifier) {
+    if (directVideoIdPattern.matcher(identifier).matches()) {
+      return identifier;
+    }
+
+    boolean mainDomain = mainDomainPattern.matcher(identifier).matches();
+
+    if (!mainDomain && !shortDomainPattern.matcher(identifier).matches()) {
+      return null;
+    }
+
+    UrlInfo urlInfo;
+
+    try {
+      urlInfo = getUrlInfo(identifier, true);
+    } catch (FriendlyException e) {
+      return null;
+    }
+
+    // Only plain video links, links with a playlist load the playlist instead.
+    if (urlInfo.parameters.containsKey("list") || (mainDomain && !"/watch".equals(urlInfo.path))) {
+      return null;
+    }
+
+    String videoId = mainDomain ? urlInfo.parameters.get("v") : urlInfo.path.substring(1);
+
+    if (videoId != null && videoId.length() > 11) {
+      videoId = videoId.substring(0, 11);
+    }
+
+    return videoId != null && directVideoIdPattern.matcher(videoId).matches() ? videoId : null;
+  }
+
+  private List<AudioTrack> loadAnonymousPlaylistTracks(List<String> videoIds) throws IOException {
+    String playlistId;
+
+    try (HttpInterface httpInterface = getHttpInterface()) {
+      String url = "https://www.youtube.com/watch_videos?video_ids=" + String.join(",", videoIds);
+
+      try (CloseableHttpResponse response = httpInterface.execute(new HttpGet(url))) {
+        int statusCode = response.getStatusLine().getStatusCode();
+        if (statusCode != 200) {
+          throw new IOException("Invalid status code for anonymous playlist response: " + statusCode);
+        }
+
+        List<URI> redirects = httpInterface.getContext().getRedirectLocations();
+        if (redirects == null || redirects.isEmpty()) {
+          throw new IOException("Anonymous playlist request was not redirected to a playlist.");
+        }
+
+        playlistId = getUrlInfo(redirects.get(0).toString(), true).parameters.get("list");
+      }
+    }
+
+    if (playlistId == null) {
+      throw new IOException("Anonymous playlist request was redirected to a URL without a playlist.");
+    }
+
+    return loadPlaylistWithId(playlistId, null, null).getTracks();
+  }
+
   @Override
   public boolean isTrackEncodable(AudioTrack track) {
     return true;
@@ -181,12 +297,12 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
     searchProvider.configureBuilder(configurator);
   }
 
-  private AudioItem loadItemOnce(AudioReference reference) {
+  private AudioItem loadItemOnce(AudioReference reference, Consumer<AudioPlaylist> partConsumer) {
     if (allowSearch && reference.identifier.startsWith(SEARCH_PREFIX)) {
       return searchProvider.loadSearchResult(reference.identifier.substring(SEARCH_PREFIX.length()).trim());
     }
 
-    return loadNonSearch(reference.identifier);
+    return loadNonSearch(reference.identifier, partConsumer);
   }
 
   /**
@@ -243,32 +359,32 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
     return null;
   }
 
-  private AudioItem loadFromMainDomain(String identifier) {
+  private AudioItem loadFromMainDomain(String identifier, Consumer<AudioPlaylist> partConsumer) {
     UrlInfo urlInfo = getUrlInfo(identifier, true);
 
     if ("/watch".equals(urlInfo.path)) {
       String videoId = urlInfo.parameters.get("v");
 
       if (videoId != null) {
-        return loadFromUrlWithVideoId(videoId, urlInfo);
+        return loadFromUrlWithVideoId(videoId, urlInfo, partConsumer);
       }
     } else if ("/playlist".equals(urlInfo.path)) {
       String playlistId = urlInfo.parameters.get("list");
 
       if (playlistId != null) {
-        return loadPlaylistWithId(playlistId, null);
+        return loadPlaylistWithId(playlistId, null, partConsumer);
       }
     } else if ("/watch_videos".equals(urlInfo.path)) {
       String videoIds = urlInfo.parameters.get("video_ids");
       if (videoIds != null) {
-       return loadAnonymous(videoIds);
+       return loadAnonymous(videoIds, partConsumer);
       }
     }
 
     return null;
   }
 
-  private AudioItem loadAnonymous(String videoIds) {
+  private AudioItem loadAnonymous(String videoIds, Consumer<AudioPlaylist> partConsumer) {
     try (HttpInterface httpInterface = getHttpInterface()) {
       try (CloseableHttpResponse response = httpInterface.execute(new HttpGet("https://www.youtube.com/watch_videos?video_ids=" + videoIds))) {
         int statusCode = response.getStatusLine().getStatusCode();
@@ -280,7 +396,7 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
         // because thats what happens, we can simply re-process with the redirected link
         List<URI> redirects = context.getRedirectLocations();
         if (redirects != null && !redirects.isEmpty()) {
-          return loadNonSearch(redirects.get(0).toString());
+          return loadNonSearch(redirects.get(0).toString(), partConsumer);
         } else {
           throw new FriendlyException("Unable to process youtube watch_videos link", SUSPICIOUS,
                   new IllegalStateException("Expected youtube to redirect watch_videos link to a watch?v={id}&list={list_id} link, but it did not redirect at all"));
@@ -291,12 +407,12 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
     }
   }
 
-  private AudioItem loadFromShortDomain(String identifier) {
+  private AudioItem loadFromShortDomain(String identifier, Consumer<AudioPlaylist> partConsumer) {
     UrlInfo urlInfo = getUrlInfo(identifier, true);
-    return loadFromUrlWithVideoId(urlInfo.path.substring(1), urlInfo);
+    return loadFromUrlWithVideoId(urlInfo.path.substring(1), urlInfo, partConsumer);
   }
 
-  private AudioItem loadFromUrlWithVideoId(String videoId, UrlInfo urlInfo) {
+  private AudioItem loadFromUrlWithVideoId(String videoId, UrlInfo urlInfo, Consumer<AudioPlaylist> partConsumer) {
     if (videoId.length() > 11) {
       // YouTube allows extra junk in the end, it redirects to the correct video.
       videoId = videoId.substring(0, 11);
@@ -310,17 +426,17 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
       if (playlistId.startsWith("RD")) {
         return mixProvider.loadMixWithId(playlistId, videoId);
       } else {
-        return loadLinkedPlaylistWithId(urlInfo.parameters.get("list"), videoId);
+        return loadLinkedPlaylistWithId(urlInfo.parameters.get("list"), videoId, partConsumer);
       }
     } else {
       return loadTrackWithVideoId(videoId, false);
     }
   }
 
-  private AudioItem loadNonSearch(String identifier) {
+  private AudioItem loadNonSearch(String identifier, Consumer<AudioPlaylist> partConsumer) {
     for (Extractor extractor : extractors) {
       if (extractor.pattern.matcher(identifier).matches()) {
-        AudioItem item = extractor.loader.apply(identifier);
+        AudioItem item = extractor.loader.apply(identifier, partConsumer);
 
         if (item != null) {
           return item;
@@ -331,8 +447,8 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
     return null;
   }
 
-  private AudioItem loadLinkedPlaylistWithId(String playlistId, String videoId) {
-    AudioPlaylist playlist = loadPlaylistWithId(playlistId, videoId);
+  private AudioItem loadLinkedPlaylistWithId(String playlistId, String videoId, Consumer<AudioPlaylist> partConsumer) {
+    AudioPlaylist playlist = loadPlaylistWithId(playlistId, videoId, partConsumer);
 
     if (playlist == null) {
       return loadTrackWithVideoId(videoId, false);
@@ -450,7 +566,9 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
     }
   }
 
-  private AudioPlaylist loadPlaylistWithId(String playlistId, String selectedVideoId) {
+  private AudioPlaylist loadPlaylistWithId(String playlistId, String selectedVideoId,
+                                          Consumer<AudioPlaylist> partConsumer) {
+
     log.debug("Starting to load playlist with ID {}", playlistId);
 
     try (HttpInterface httpInterface = getHttpInterface()) {
@@ -461,14 +579,16 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
         }
 
         Document document = Jsoup.parse(response.getEntity().getContent(), CHARSET, "");
-        return buildPlaylist(httpInterface, document, selectedVideoId);
+        return buildPlaylist(httpInterface, document, selectedVideoId, partConsumer);
       }
     } catch (Exception e) {
       throw ExceptionTools.wrapUnfriendlyExceptions(e);
     }
   }
 
-  private AudioPlaylist buildPlaylist(HttpInterface httpInterface, Document document, String selectedVideoId) throws IOException {
+  private AudioPlaylist buildPlaylist(HttpInterface httpInterface, Document document, String selectedVideoId,
+                                      Consumer<AudioPlaylist> partConsumer) throws IOException {
+
     boolean isAccessible = !document.select("#pl-header").isEmpty();
 
     if (!isAccessible) {
@@ -488,6 +608,10 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
     int loadCount = 0;
     int pageCount = playlistPageCount;
 
+    if (partConsumer != null && loadMoreUrl != null && pageCount > 1) {
+      reportPlaylistPart(partConsumer, playlistName, tracks, 0, selectedVideoId);
+    }
+
     // Also load the next pages, each result gives us a JSON with separate values for list html and next page loader html
     while (loadMoreUrl != null && ++loadCount < pageCount) {
       try (CloseableHttpResponse response = httpInterface.execute(new HttpGet("https://www.youtube.com" + loadMoreUrl))) {
@@ -504,13 +628,25 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
         String moreHtml = json.get("load_more_widget_html").text();
         Element moreContainer = moreHtml != null ? Jsoup.parse(moreHtml) : null;
 
+        int partStart = tracks.size();
         loadMoreUrl = extractPlaylistTracks(videoContainer, moreContainer, tracks);
+
+        if (partConsumer != null && loadMoreUrl != null && loadCount + 1 < pageCount) {
+          reportPlaylistPart(partConsumer, playlistName, tracks, partStart, selectedVideoId);
+        }
       }
     }
 
     return new BasicAudioPlaylist(playlistName, tracks, findSelectedTrack(tracks, selectedVideoId), false);
   }
 
+  private void reportPlaylistPart(Consumer<AudioPlaylist> partConsumer, String playlistName, List<AudioTrack> tracks,
+                                  int partStart, String selectedVideoId) {
+
+    List<AudioTrack> partTracks = new ArrayList<>(tracks.subList(partStart, tracks.size()));
+    partConsumer.accept(new BasicAudioPlaylist(playlistName, partTracks, findSelectedTrack(partTracks, selectedVideoId), false));
+  }
+
   private String extractPlaylistTracks(Element videoContainer, Element loadMoreContainer, List<AudioTrack> tracks) {
     for (Element video : videoContainer.select(".pl-video")) {
       Elements lengthElements = video.select(".timestamp span");
@@ -583,9 +719,9 @@ public class YoutubeAudioSourceManager implements AudioSourceManager, HttpConfig
 
   private static class Extractor {
     private final Pattern pattern;
-    private final Function<String, AudioItem> loader;
+    private final BiFunction<String, Consumer<AudioPlaylist>, AudioItem> loader;
 
-    private Extractor(Pattern pattern, Function<String, AudioItem> loader) {
+    private Extractor(Pattern pattern, BiFunction<String, Consumer<AudioPlaylist>, AudioItem> loader) {
       this.pattern = pattern;
       this.loader = loader;
     }
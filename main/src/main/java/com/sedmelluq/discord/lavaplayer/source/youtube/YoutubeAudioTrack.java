@@ -7,6 +7,7 @@ import com.sedmelluq.discord.lavaplayer.tools.DataFormatTools;
 import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.tools.JsonBrowser;
 import com.sedmelluq.discord.lavaplayer.tools.io.HttpInterface;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
 import com.sedmelluq.discord.lavaplayer.track.DelegatedAudioTrack;
@@ -72,7 +73,12 @@ public class YoutubeAudioTrack extends DelegatedAudioTrack {
   }
 
   private void processStatic(LocalAudioTrackExecutor localExecutor, HttpInterface httpInterface, FormatWithUrl format) throws Exception {
-    try (YoutubePersistentHttpStream stream = new YoutubePersistentHttpStream(httpInterface, format.signedUrl, format.details.getContentLength())) {
+    String cacheKey = "youtube:" + trackInfo.identifier + ":" + format.details.getType() + ":" +
+        format.details.getBitrate();
+
+    try (SeekableInputStream stream = prefetchStream(cacheStream(cacheKey, new YoutubePersistentHttpStream(
+        httpInterface, format.signedUrl, format.details.getContentLength()), localExecutor), localExecutor)) {
+
       if (format.details.getType().getMimeType().endsWith("/webm")) {
         processDelegate(new MatroskaAudioTrack(trackInfo, stream), localExecutor);
       } else {
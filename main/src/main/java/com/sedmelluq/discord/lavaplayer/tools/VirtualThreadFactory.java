@@ -0,0 +1,49 @@
+package com.sedmelluq.discord.lavaplayer.tools;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factory for virtual threads. The virtual thread API is accessed via reflection, so that the library can still
+ * be used on JVMs which do not have it.
+ */
+public class VirtualThreadFactory implements ThreadFactory {
+  private static final Logger log = LoggerFactory.getLogger(VirtualThreadFactory.class);
+
+  private static final AtomicInteger poolNumber = new AtomicInteger(1);
+
+  private final ThreadFactory delegate;
+
+  private VirtualThreadFactory(ThreadFactory delegate) {
+    this.delegate = delegate;
+  }
+
+  /**
+   * @param name Name that will be included in thread names.
+   * @return A virtual thread factory, or null if the JVM does not support virtual threads.
+   */
+  public static VirtualThreadFactory createIfSupported(String name) {
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Method nameMethod = builderClass.getMethod("name", String.class, long.class);
+      Method factoryMethod = builderClass.getMethod("factory");
+
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder = nameMethod.invoke(builder, "lava-virtual-" + name + "-" + poolNumber.getAndIncrement() + "-thread-", 1L);
+
+      return new VirtualThreadFactory((ThreadFactory) factoryMethod.invoke(builder));
+    } catch (Exception e) {
+      log.debug("Virtual threads are not available in this JVM.", e);
+      return null;
+    }
+  }
+
+  @Override
+  public Thread newThread(Runnable runnable) {
+    return delegate.newThread(runnable);
+  }
+}
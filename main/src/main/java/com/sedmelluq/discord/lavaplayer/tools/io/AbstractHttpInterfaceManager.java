@@ -16,8 +16,8 @@ import java.util.function.Function;
 public abstract class AbstractHttpInterfaceManager implements HttpInterfaceManager {
   private static final Logger log = LoggerFactory.getLogger(AbstractHttpInterfaceManager.class);
 
+  protected final Object lock;
   private final HttpClientBuilder clientBuilder;
-  private final Object lock;
   private boolean closed;
   private CloseableHttpClient sharedClient;
   private RequestConfig requestConfig;
@@ -0,0 +1,142 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * HTTP interface manager with thread-local context, where the interfaces execute requests for streamed content with an
+ * asynchronous client. All other requests use the blocking client the same as with
+ * {@link ThreadLocalHttpInterfaceManager}. The asynchronous client is created lazily.
+ *
+ * A configurator for the blocking client builder cannot be applied to the builder of the asynchronous client, as they
+ * are of different types. To make sure settings such as proxies and SSL configuration are not bypassed, streamed
+ * requests use the blocking client after {@link #configureBuilder(Consumer)}, until the same settings are applied to
+ * the asynchronous client with {@link #configureAsyncBuilder(Consumer)}.
+ */
+public class AsyncHttpInterfaceManager extends ThreadLocalHttpInterfaceManager {
+  private static final Logger log = LoggerFactory.getLogger(AsyncHttpInterfaceManager.class);
+
+  private static final int DEFAULT_READ_AHEAD_SIZE = 64 * 1024;
+
+  private final HttpAsyncClientBuilder asyncClientBuilder;
+  private final AsyncStreamingClient streamingClient;
+  private volatile boolean asyncStreaming;
+  private boolean closed;
+  private CloseableHttpAsyncClient sharedAsyncClient;
+  private RequestConfig requestConfig;
+
+  /**
+   * @param clientBuilder HTTP client builder to use for creating the blocking client instance.
+   * @param asyncClientBuilder HTTP client builder to use for creating the asynchronous client instance.
+   * @param requestConfig Request config used by the client builders
+   */
+  public AsyncHttpInterfaceManager(HttpClientBuilder clientBuilder, HttpAsyncClientBuilder asyncClientBuilder,
+                                   RequestConfig requestConfig) {
+
+    super(clientBuilder, requestConfig);
+
+    this.asyncClientBuilder = asyncClientBuilder;
+    this.streamingClient = new AsyncStreamingClient(this::getSharedAsyncClient, DEFAULT_READ_AHEAD_SIZE);
+    this.asyncStreaming = true;
+    this.requestConfig = requestConfig;
+  }
+
+  /**
+   * @param readAheadSize Maximum number of bytes to read ahead for each streamed response.
+   */
+  public void setReadAheadSize(int readAheadSize) {
+    streamingClient.setReadAheadSize(readAheadSize);
+  }
+
+  /**
+   * Reconfigure the builder of the asynchronous client. This also makes streamed requests use the asynchronous client
+   * again if they were switched to the blocking client by {@link #configureBuilder(Consumer)}.
+   *
+   * @param configurator Function to reconfigure the builder of the asynchronous client.
+   */
+  public void configureAsyncBuilder(Consumer<HttpAsyncClientBuilder> configurator) {
+    synchronized (lock) {
+      closeAsyncClient();
+      configurator.accept(asyncClientBuilder);
+
+      // Interfaces are only created for a new blocking client, so it is closed to pick up the change.
+      super.configureBuilder(builder -> { });
+      closed = false;
+      asyncStreaming = true;
+    }
+  }
+
+  @Override
+  public void configureRequests(Function<RequestConfig, RequestConfig> configurator) {
+    synchronized (lock) {
+      super.configureRequests(configurator);
+
+      closed = false;
+      requestConfig = configurator.apply(requestConfig);
+      asyncClientBuilder.setDefaultRequestConfig(requestConfig);
+    }
+  }
+
+  @Override
+  public void configureBuilder(Consumer<HttpClientBuilder> configurator) {
+    synchronized (lock) {
+      super.configureBuilder(configurator);
+
+      closed = false;
+      asyncStreaming = false;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    synchronized (lock) {
+      closed = true;
+      closeAsyncClient();
+
+      super.close();
+    }
+  }
+
+  @Override
+  protected HttpInterface createInterface(CloseableHttpClient client) {
+    return new HttpInterface(client, HttpClientContext.create(), false, asyncStreaming ? streamingClient : null);
+  }
+
+  private CloseableHttpAsyncClient getSharedAsyncClient() {
+    synchronized (lock) {
+      if (closed) {
+        throw new IllegalStateException("Cannot get http client for a closed manager.");
+      }
+
+      if (sharedAsyncClient == null) {
+        sharedAsyncClient = asyncClientBuilder.build();
+        sharedAsyncClient.start();
+      }
+
+      return sharedAsyncClient;
+    }
+  }
+
+  private void closeAsyncClient() {
+    if (sharedAsyncClient != null) {
+      CloseableHttpAsyncClient client = sharedAsyncClient;
+      sharedAsyncClient = null;
+
+      try {
+        client.close();
+      } catch (IOException e) {
+        log.warn("Failed to close asynchronous HTTP client.", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,309 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpException;
+import org.apache.http.HttpResponse;
+import org.apache.http.ParseException;
+import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.client.methods.AsyncByteConsumer;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Executes requests with an asynchronous HTTP client, returning the response as soon as its headers have been
+ * received. The body is read ahead on the I/O threads of the client into a bounded buffer, and reading from the
+ * connection is suspended while that buffer is full. The threads reading the response body therefore only wait for the
+ * network when the read-ahead buffer runs empty, and all connections are served by the few I/O threads of the client.
+ */
+public class AsyncStreamingClient {
+  private static final int CHUNK_SIZE = 8192;
+
+  private final Supplier<CloseableHttpAsyncClient> clientSupplier;
+  private volatile int readAheadSize;
+
+  /**
+   * @param clientSupplier Supplier for the started client to use for requests
+   * @param readAheadSize Maximum number of bytes to read ahead for each response
+   */
+  public AsyncStreamingClient(Supplier<CloseableHttpAsyncClient> clientSupplier, int readAheadSize) {
+    this.clientSupplier = clientSupplier;
+    this.readAheadSize = readAheadSize;
+  }
+
+  /**
+   * @param readAheadSize Maximum number of bytes to read ahead for each response
+   */
+  public void setReadAheadSize(int readAheadSize) {
+    this.readAheadSize = readAheadSize;
+  }
+
+  /**
+   * Executes a request and waits until the headers of the response have been received.
+   *
+   * @param request The request to execute
+   * @param context The context to execute the request with
+   * @return Response from the server, closing it aborts the request if the body has not been fully read.
+   * @throws ClientProtocolException If the response could not be parsed, which happens with protocols that only the
+   *                                 blocking client understands, such as ICY.
+   * @throws IOException On network error.
+   */
+  public CloseableHttpResponse execute(HttpUriRequest request, HttpContext context) throws IOException {
+    ReadAheadConsumer consumer = new ReadAheadConsumer(readAheadSize);
+    Future<Void> exchange = clientSupplier.get().execute(HttpAsyncMethods.create(request), consumer, context,
+        consumer.new ExchangeCallback());
+    consumer.exchange = exchange;
+
+    try {
+      return consumer.response.get();
+    } catch (InterruptedException e) {
+      exchange.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    } catch (ExecutionException e) {
+      throw toIoException(e.getCause());
+    }
+  }
+
+  private static IOException toIoException(Throwable throwable) {
+    if (throwable instanceof ClientProtocolException) {
+      return (IOException) throwable;
+    } else if (throwable instanceof HttpException || throwable instanceof ParseException) {
+      return new ClientProtocolException(throwable);
+    } else if (throwable instanceof IOException) {
+      return (IOException) throwable;
+    } else {
+      return new IOException(throwable);
+    }
+  }
+
+  private static class ReadAheadConsumer extends AsyncByteConsumer<Void> {
+    private final int readAheadSize;
+    private final CompletableFuture<CloseableHttpResponse> response;
+    private final ArrayDeque<byte[]> chunks;
+    private volatile Future<Void> exchange;
+    private IOControl suspendedControl;
+    private int chunkOffset;
+    private int bufferedBytes;
+    private boolean finished;
+    private boolean closed;
+    private Throwable failure;
+
+    private ReadAheadConsumer(int readAheadSize) {
+      super(CHUNK_SIZE);
+
+      this.readAheadSize = readAheadSize;
+      this.response = new CompletableFuture<>();
+      this.chunks = new ArrayDeque<>();
+    }
+
+    @Override
+    protected void onResponseReceived(HttpResponse original) {
+      StreamingResponse streamingResponse = new StreamingResponse(original);
+      HttpEntity originalEntity = original.getEntity();
+
+      if (originalEntity != null) {
+        BasicHttpEntity entity = new BasicHttpEntity();
+        entity.setContent(new ContentStream());
+        entity.setContentLength(originalEntity.getContentLength());
+        entity.setContentType(originalEntity.getContentType());
+        entity.setContentEncoding(originalEntity.getContentEncoding());
+        entity.setChunked(originalEntity.isChunked());
+        streamingResponse.setEntity(entity);
+      }
+
+      response.complete(streamingResponse);
+    }
+
+    @Override
+    protected void onByteReceived(ByteBuffer buffer, IOControl control) {
+      byte[] chunk = new byte[buffer.remaining()];
+      buffer.get(chunk);
+
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+
+        chunks.add(chunk);
+        bufferedBytes += chunk.length;
+
+        if (bufferedBytes >= readAheadSize) {
+          suspendedControl = control;
+          control.suspendInput();
+        }
+
+        notifyAll();
+      }
+    }
+
+    @Override
+    protected Void buildResult(HttpContext context) {
+      return null;
+    }
+
+    private synchronized boolean awaitContent() throws IOException {
+      while (chunks.isEmpty()) {
+        if (closed) {
+          throw new IOException("Stream is closed.");
+        } else if (failure != null) {
+          throw toIoException(failure);
+        } else if (finished) {
+          return false;
+        }
+
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException();
+        }
+      }
+
+      return true;
+    }
+
+    private int take(byte[] buffer, int offset, int length) throws IOException {
+      IOControl control = null;
+      int taken = 0;
+
+      synchronized (this) {
+        while (taken < length && !chunks.isEmpty()) {
+          byte[] chunk = chunks.peek();
+          int chunkTaken = Math.min(length - taken, chunk.length - chunkOffset);
+
+          System.arraycopy(chunk, chunkOffset, buffer, offset + taken, chunkTaken);
+          taken += chunkTaken;
+          chunkOffset += chunkTaken;
+
+          if (chunkOffset == chunk.length) {
+            chunks.poll();
+            chunkOffset = 0;
+          }
+        }
+
+        bufferedBytes -= taken;
+
+        if (suspendedControl != null && bufferedBytes <= readAheadSize / 2) {
+          control = suspendedControl;
+          suspendedControl = null;
+        }
+      }
+
+      if (control != null) {
+        control.requestInput();
+      }
+
+      return taken;
+    }
+
+    private void closeContent() {
+      boolean abort;
+
+      synchronized (this) {
+        abort = !closed && !finished && failure == null;
+        closed = true;
+        chunks.clear();
+        bufferedBytes = 0;
+        notifyAll();
+      }
+
+      Future<Void> currentExchange = exchange;
+
+      if (abort && currentExchange != null) {
+        currentExchange.cancel(true);
+      }
+    }
+
+    private class ExchangeCallback implements FutureCallback<Void> {
+      @Override
+      public void completed(Void result) {
+        synchronized (ReadAheadConsumer.this) {
+          finished = true;
+          ReadAheadConsumer.this.notifyAll();
+        }
+      }
+
+      @Override
+      public void failed(Exception exception) {
+        response.completeExceptionally(exception);
+
+        synchronized (ReadAheadConsumer.this) {
+          failure = exception;
+          ReadAheadConsumer.this.notifyAll();
+        }
+      }
+
+      @Override
+      public void cancelled() {
+        response.cancel(false);
+
+        synchronized (ReadAheadConsumer.this) {
+          // The body was not fully received, so this must not look like the end of the stream to the reader.
+          failure = new IOException("Request was cancelled before the response body was fully received.");
+          ReadAheadConsumer.this.notifyAll();
+        }
+      }
+    }
+
+    private class ContentStream extends InputStream {
+      @Override
+      public int read() throws IOException {
+        byte[] buffer = new byte[1];
+        return read(buffer, 0, 1) == 1 ? buffer[0] & 0xFF : -1;
+      }
+
+      @Override
+      public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+          return 0;
+        } else if (!awaitContent()) {
+          return -1;
+        }
+
+        return take(buffer, offset, length);
+      }
+
+      @Override
+      public int available() {
+        synchronized (ReadAheadConsumer.this) {
+          return bufferedBytes;
+        }
+      }
+
+      @Override
+      public void close() {
+        closeContent();
+      }
+    }
+
+    private class StreamingResponse extends BasicHttpResponse implements CloseableHttpResponse {
+      private StreamingResponse(HttpResponse original) {
+        super(original.getStatusLine());
+
+        setHeaders(original.getAllHeaders());
+      }
+
+      @Override
+      public void close() {
+        closeContent();
+      }
+    }
+  }
+}
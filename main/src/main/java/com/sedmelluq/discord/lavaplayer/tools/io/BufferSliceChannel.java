@@ -0,0 +1,46 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+
+/**
+ * Detached channel for a stream which is also a {@link BufferSliceSource}, so that consumers of the channel can take
+ * slices of the stream instead of reading into their own buffers.
+ */
+public class BufferSliceChannel extends DetachedByteChannel implements BufferSliceSource {
+  private final BufferSliceSource sliceSource;
+
+  /**
+   * @param inputStream The underlying stream
+   * @param sliceSource The underlying stream as a slice source
+   */
+  public BufferSliceChannel(InputStream inputStream, BufferSliceSource sliceSource) {
+    super(Channels.newChannel(inputStream));
+
+    this.sliceSource = sliceSource;
+  }
+
+  /**
+   * @param inputStream The underlying stream
+   * @return A detached channel for the stream, which is also a {@link BufferSliceSource} if the stream is one.
+   */
+  public static DetachedByteChannel detachedFor(InputStream inputStream) {
+    if (inputStream instanceof BufferSliceSource) {
+      return new BufferSliceChannel(inputStream, (BufferSliceSource) inputStream);
+    } else {
+      return new DetachedByteChannel(Channels.newChannel(inputStream));
+    }
+  }
+
+  @Override
+  public ByteBuffer readSlice(int length) throws IOException {
+    if (!isOpen()) {
+      throw new ClosedChannelException();
+    }
+
+    return sliceSource.readSlice(length);
+  }
+}
@@ -0,0 +1,20 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A stream which is backed by a direct buffer, and can therefore provide the next bytes as a slice of that buffer
+ * instead of copying them. Readers which pass the data to native code can use the slice as it is.
+ */
+public interface BufferSliceSource {
+  /**
+   * Reads the next bytes of the stream as a slice of the underlying buffer, moving the position of the stream past
+   * them. The slice stays valid after the stream has moved on or has been closed.
+   *
+   * @param length Number of bytes to read
+   * @return A read-only direct buffer containing exactly the requested number of bytes
+   * @throws IOException If there are fewer bytes left in the stream than requested.
+   */
+  ByteBuffer readSlice(int length) throws IOException;
+}
@@ -0,0 +1,208 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.sedmelluq.discord.lavaplayer.tools.io.HttpClientTools.getHeaderValue;
+
+/**
+ * A wrapper around a seekable input stream which serves the ranges that are in a disk cache entry from the cache, and
+ * writes everything read from the underlying stream into the cache entry. The underlying stream is only used when the
+ * data at the current position is not cached, so a fully cached stream is played without any IO on the underlying
+ * stream. Caching is skipped if the length of the underlying stream is not known.
+ *
+ * For HTTP streams, the ETag of the response is stored with the entry, and the cached content is discarded if a later
+ * response has a different one. If the entry is only partially cached, the first read goes to the underlying stream,
+ * so that the cached content is validated against its length and ETag before any of it is served together with fresh
+ * content. A fully cached entry is served without opening the underlying stream at all, as the cache key identifies
+ * the content. The underlying stream is then only opened if the entry is discarded while it is being played.
+ */
+public class CachingSeekableInputStream extends SeekableInputStream {
+  private static final Logger log = LoggerFactory.getLogger(CachingSeekableInputStream.class);
+
+  private final SeekableInputStream delegate;
+  private DiskSegmentCache.Entry entry;
+  private boolean validated;
+  private long position;
+
+  /**
+   * @param delegate The seekable stream to read uncached data from
+   * @param entry The cache entry of the content of the stream, released when this stream is closed
+   */
+  public CachingSeekableInputStream(SeekableInputStream delegate, DiskSegmentCache.Entry entry) {
+    super(delegate.getContentLength(), delegate.getMaxSkipDistance());
+
+    this.delegate = delegate;
+    this.entry = entry;
+    this.validated = entry.isComplete();
+    this.position = delegate.getPosition();
+  }
+
+  /**
+   * @param stream The stream to cache the content of
+   * @param cache The cache to use, null to not cache
+   * @param key Key of the content of the stream in the cache
+   * @return A stream which caches the content of the specified stream, or the specified stream itself if the cache is
+   *         null.
+   */
+  public static SeekableInputStream wrap(SeekableInputStream stream, DiskSegmentCache cache, String key) {
+    return cache != null ? new CachingSeekableInputStream(stream, cache.acquire(key)) : stream;
+  }
+
+  @Override
+  public long getContentLength() {
+    long cachedLength = getValidatedLength();
+    return cachedLength >= 0 ? cachedLength : delegate.getContentLength();
+  }
+
+  @Override
+  public long getPosition() {
+    return position;
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] buffer = new byte[1];
+    return read(buffer, 0, 1) == 1 ? buffer[0] & 0xFF : -1;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+
+    int limit = length;
+    long cachedLength = getValidatedLength();
+
+    if (cachedLength >= 0) {
+      if (position >= cachedLength) {
+        return -1;
+      }
+
+      long cachedEnd = entry.getCachedEnd(position);
+
+      if (cachedEnd > position) {
+        int read = entry.read(position, buffer, offset, (int) Math.min(length, cachedEnd - position));
+        position += read;
+        return read;
+      }
+
+      limit = (int) Math.min(length, entry.getNextCachedStart(position) - position);
+    }
+
+    return readFromDelegate(buffer, offset, limit);
+  }
+
+  private long getValidatedLength() {
+    return validated && entry != null ? entry.getLength() : -1;
+  }
+
+  private int readFromDelegate(byte[] buffer, int offset, int length) throws IOException {
+    if (delegate.getPosition() != position) {
+      long cachedLength = entry != null ? entry.getLength() : -1;
+
+      // Lets the underlying stream seek directly instead of skipping when it has not connected yet.
+      if (cachedLength >= 0 && delegate.contentLength == Long.MAX_VALUE) {
+        delegate.contentLength = cachedLength;
+      }
+
+      delegate.seek(position);
+    }
+
+    int read = delegate.read(buffer, offset, length);
+
+    if (!validated) {
+      validateEntry();
+    }
+
+    if (read > 0) {
+      if (entry != null) {
+        entry.write(position, buffer, offset, read);
+      }
+
+      position += read;
+    }
+
+    return read;
+  }
+
+  private void validateEntry() throws IOException {
+    validated = true;
+
+    if (entry == null) {
+      return;
+    }
+
+    long contentLength = delegate.getContentLength();
+
+    if (contentLength == Long.MAX_VALUE) {
+      log.debug("Length of the stream is not known, not caching it.");
+      entry.release();
+      entry = null;
+      return;
+    }
+
+    String version = null;
+
+    if (delegate instanceof PersistentHttpStream) {
+      HttpResponse response = ((PersistentHttpStream) delegate).getCurrentResponse();
+      version = response != null ? getHeaderValue(response, HttpHeaders.ETAG) : null;
+    }
+
+    entry.initialise(contentLength, version);
+  }
+
+  @Override
+  public long skip(long distance) throws IOException {
+    long contentLength = getContentLength();
+    long skipped = Math.max(0, Math.min(distance, contentLength - position));
+
+    position += skipped;
+    return skipped;
+  }
+
+  @Override
+  public int available() throws IOException {
+    if (getValidatedLength() >= 0 && entry.getCachedEnd(position) > position) {
+      return (int) Math.min(Integer.MAX_VALUE, entry.getCachedEnd(position) - position);
+    } else if (delegate.getPosition() == position) {
+      return delegate.available();
+    } else {
+      return 0;
+    }
+  }
+
+  @Override
+  protected void seekHard(long position) {
+    this.position = position;
+  }
+
+  @Override
+  public boolean canSeekHard() {
+    return getValidatedLength() >= 0 || delegate.canSeekHard();
+  }
+
+  @Override
+  public List<AudioTrackInfoProvider> getTrackInfoProviders() {
+    return delegate.getTrackInfoProviders();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      delegate.close();
+    } finally {
+      if (entry != null) {
+        entry.release();
+        entry = null;
+      }
+    }
+  }
+}
@@ -86,6 +86,17 @@ public class ChainedInputStream extends InputStream {
     return result;
   }
 
+  /**
+   * Closes the current stream, so that the next read continues from the next stream of the provider. This also resumes
+   * the chained stream if it had ended.
+   *
+   * @throws IOException On error when closing the current stream.
+   */
+  public void discardCurrentStream() throws IOException {
+    close();
+    streamEnded = false;
+  }
+
   @Override
   public void close() throws IOException {
     if (currentStream != null) {
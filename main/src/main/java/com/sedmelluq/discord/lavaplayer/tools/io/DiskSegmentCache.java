@@ -0,0 +1,437 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import com.sedmelluq.discord.lavaplayer.tools.DataFormatTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * A cache of the content of remote streams on disk. The content of each stream is stored in a sparse file of the full
+ * length of the stream, along with the byte ranges that have been written to it, so parts of a stream can be cached
+ * regardless of which parts of it were played. Entries are identified by a key which must stay the same for the same
+ * content, such as the video ID and format of a YouTube track. Entries which are not in use are evicted in least
+ * recently used order when the total amount of cached data exceeds the maximum size.
+ *
+ * The ranges of an entry are saved to disk when it is no longer in use, so the entries are kept across restarts.
+ */
+public class DiskSegmentCache {
+  private static final Logger log = LoggerFactory.getLogger(DiskSegmentCache.class);
+
+  private static final int METADATA_VERSION = 1;
+  private static final String DATA_SUFFIX = ".data";
+  private static final String METADATA_SUFFIX = ".meta";
+
+  private final File directory;
+  private final long maximumSize;
+  private final Map<String, Entry> entries;
+  private long totalSize;
+
+  /**
+   * @param directory Directory to store the cache files in. Files with the extensions used by this cache which do not
+   *                  belong to a valid entry are deleted from it.
+   * @param maximumSize Maximum number of bytes to keep cached
+   */
+  public DiskSegmentCache(File directory, long maximumSize) {
+    this.directory = directory;
+    this.maximumSize = maximumSize;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IllegalStateException("Cannot create cache directory " + directory);
+    }
+
+    loadEntries();
+  }
+
+  /**
+   * @return Total number of cached bytes
+   */
+  public synchronized long getTotalSize() {
+    return totalSize;
+  }
+
+  /**
+   * Acquires the entry for a key, creating it if it does not exist. The entry is not evicted until it is released.
+   *
+   * @param key Key of the content
+   * @return The entry for the key, must be released with {@link Entry#release()}.
+   */
+  public synchronized Entry acquire(String key) {
+    Entry entry = entries.computeIfAbsent(key, k -> new Entry(k, UUID.nameUUIDFromBytes(k.getBytes(StandardCharsets.UTF_8))));
+    entry.references++;
+    return entry;
+  }
+
+  private void loadEntries() {
+    File[] files = directory.listFiles();
+
+    if (files == null) {
+      return;
+    }
+
+    for (File file : files) {
+      String name = file.getName();
+
+      if (name.endsWith(METADATA_SUFFIX)) {
+        loadEntry(file, name.substring(0, name.length() - METADATA_SUFFIX.length()));
+      }
+    }
+
+    for (File file : files) {
+      String name = file.getName();
+
+      if (name.endsWith(DATA_SUFFIX) && !new File(directory, replaceSuffix(name)).exists()) {
+        deleteFile(file);
+      }
+    }
+
+    evict();
+  }
+
+  private static String replaceSuffix(String dataFileName) {
+    return dataFileName.substring(0, dataFileName.length() - DATA_SUFFIX.length()) + METADATA_SUFFIX;
+  }
+
+  private void loadEntry(File metadataFile, String baseName) {
+    try (DataInputStream input = new DataInputStream(new FileInputStream(metadataFile))) {
+      if (input.readInt() != METADATA_VERSION) {
+        throw new IOException("Unknown metadata version.");
+      }
+
+      String key = input.readUTF();
+      Entry entry = new Entry(key, UUID.fromString(baseName));
+
+      if (!entry.dataFile.exists()) {
+        throw new IOException("Data file is missing.");
+      }
+
+      entry.length = input.readLong();
+      entry.version = DataFormatTools.readNullableText(input);
+
+      for (int count = input.readInt(); count > 0; count--) {
+        entry.addRange(input.readLong(), input.readLong());
+      }
+
+      if (entry.cachedSize == 0) {
+        log.debug("Discarding empty cache entry {}.", baseName);
+        entry.delete();
+        return;
+      }
+
+      entries.put(key, entry);
+      totalSize += entry.cachedSize;
+    } catch (Exception e) {
+      log.warn("Discarding unreadable cache entry {}.", baseName, e);
+      deleteFile(metadataFile);
+      deleteFile(new File(directory, baseName + DATA_SUFFIX));
+    }
+  }
+
+  private synchronized void onEntryGrown(long bytes) {
+    totalSize += bytes;
+
+    if (totalSize > maximumSize) {
+      evict();
+    }
+  }
+
+  private synchronized void onEntryShrunk(long bytes) {
+    totalSize -= bytes;
+  }
+
+  private synchronized void evict() {
+    for (Iterator<Entry> iterator = entries.values().iterator(); iterator.hasNext() && totalSize > maximumSize; ) {
+      Entry entry = iterator.next();
+
+      if (entry.references == 0) {
+        iterator.remove();
+        totalSize -= entry.cachedSize;
+        entry.delete();
+      }
+    }
+  }
+
+  private static void deleteFile(File file) {
+    if (file.exists() && !file.delete()) {
+      log.warn("Failed to delete cache file {}.", file);
+    }
+  }
+
+  /**
+   * Cached content of one stream.
+   */
+  public class Entry {
+    private final String key;
+    private final File dataFile;
+    private final File metadataFile;
+    private final TreeMap<Long, Long> ranges;
+    private int references;
+    private long length;
+    private String version;
+    private long cachedSize;
+    private RandomAccessFile file;
+
+    private Entry(String key, UUID id) {
+      this.key = key;
+      this.dataFile = new File(directory, id + DATA_SUFFIX);
+      this.metadataFile = new File(directory, id + METADATA_SUFFIX);
+      this.ranges = new TreeMap<>();
+      this.length = -1;
+    }
+
+    /**
+     * @return Length of the content, -1 if no content has been cached for this entry yet.
+     */
+    public synchronized long getLength() {
+      return length;
+    }
+
+    /**
+     * @return True if the whole content is cached.
+     */
+    public synchronized boolean isComplete() {
+      return length >= 0 && cachedSize == length;
+    }
+
+    /**
+     * @return Version of the content, for example the ETag of an HTTP resource, null if not known.
+     */
+    public synchronized String getVersion() {
+      return version;
+    }
+
+    /**
+     * Sets the length and version of the content. If they differ from what was cached before, the cached content is
+     * discarded.
+     *
+     * @param contentLength Length of the content
+     * @param contentVersion Version of the content, null if not known
+     * @throws IOException On write error
+     */
+    public void initialise(long contentLength, String contentVersion) throws IOException {
+      long discarded;
+
+      synchronized (this) {
+        boolean versionChanged = version != null && contentVersion != null && !version.equals(contentVersion);
+
+        if (length == contentLength && !versionChanged) {
+          if (version == null) {
+            version = contentVersion;
+          }
+
+          return;
+        }
+
+        if (length >= 0) {
+          log.debug("Content of cache entry {} has changed, discarding it.", key);
+        }
+
+        discarded = cachedSize;
+        ranges.clear();
+        cachedSize = 0;
+        length = contentLength;
+        version = contentVersion;
+
+        deleteFile(metadataFile);
+        getChannel();
+
+        // Only sets the length, the file stays sparse where nothing has been written.
+        file.setLength(0);
+        file.setLength(contentLength);
+      }
+
+      onEntryShrunk(discarded);
+    }
+
+    /**
+     * @param position Position in the content
+     * @return The end of the cached range which contains the position, or the position itself if it is not cached.
+     */
+    public synchronized long getCachedEnd(long position) {
+      Map.Entry<Long, Long> range = ranges.floorEntry(position);
+      return range != null && range.getValue() > position ? range.getValue() : position;
+    }
+
+    /**
+     * @param position Position in the content
+     * @return The start of the first cached range after the position, or the length of the content if there is none.
+     */
+    public synchronized long getNextCachedStart(long position) {
+      Long start = ranges.higherKey(position);
+      return start != null ? start : length;
+    }
+
+    /**
+     * Reads cached content. The caller must check that the range is cached.
+     *
+     * @param position Position in the content
+     * @param buffer Buffer to read into
+     * @param offset Offset in the buffer
+     * @param count Number of bytes to read
+     * @return Number of bytes read
+     * @throws IOException On read error
+     */
+    public int read(long position, byte[] buffer, int offset, int count) throws IOException {
+      FileChannel fileChannel;
+
+      synchronized (this) {
+        fileChannel = getChannel();
+      }
+
+      ByteBuffer target = ByteBuffer.wrap(buffer, offset, count);
+
+      while (target.hasRemaining()) {
+        if (fileChannel.read(target, position + target.position() - offset) < 0) {
+          break;
+        }
+      }
+
+      return target.position() - offset;
+    }
+
+    /**
+     * Writes content to the cache.
+     *
+     * @param position Position in the content
+     * @param buffer Buffer containing the content
+     * @param offset Offset in the buffer
+     * @param count Number of bytes to write
+     * @throws IOException On write error
+     */
+    public void write(long position, byte[] buffer, int offset, int count) throws IOException {
+      long added;
+
+      synchronized (this) {
+        if (length < 0 || position + count > length) {
+          return;
+        }
+
+        ByteBuffer source = ByteBuffer.wrap(buffer, offset, count);
+        FileChannel fileChannel = getChannel();
+
+        while (source.hasRemaining()) {
+          fileChannel.write(source, position + source.position() - offset);
+        }
+
+        added = addRange(position, position + count);
+      }
+
+      if (added > 0) {
+        onEntryGrown(added);
+      }
+    }
+
+    /**
+     * Releases this entry, allowing it to be evicted once it is not used by anyone else.
+     */
+    public void release() {
+      synchronized (DiskSegmentCache.this) {
+        if (--references > 0) {
+          return;
+        }
+
+        synchronized (this) {
+          closeFile();
+
+          if (cachedSize == 0) {
+            // Nothing was cached, for example because the length of the stream was not known.
+            entries.remove(key, this);
+            delete();
+            return;
+          } else if (length >= 0) {
+            saveMetadata();
+          }
+        }
+
+        if (totalSize > maximumSize) {
+          evict();
+        }
+      }
+    }
+
+    private FileChannel getChannel() throws IOException {
+      if (file == null) {
+        file = new RandomAccessFile(dataFile, "rw");
+      }
+
+      return file.getChannel();
+    }
+
+    private void closeFile() {
+      if (file != null) {
+        try {
+          file.close();
+        } catch (IOException e) {
+          log.debug("Failed to close cache file {}.", dataFile, e);
+        }
+
+        file = null;
+      }
+    }
+
+    private long addRange(long start, long end) {
+      long mergedStart = start;
+      long mergedEnd = end;
+      long removed = 0;
+
+      Map.Entry<Long, Long> previous = ranges.floorEntry(start);
+      if (previous != null && previous.getValue() >= start) {
+        mergedStart = previous.getKey();
+      }
+
+      List<Long> overlapping = new ArrayList<>(ranges.subMap(mergedStart, true, end, true).keySet());
+
+      for (Long rangeStart : overlapping) {
+        long rangeEnd = ranges.remove(rangeStart);
+        mergedEnd = Math.max(mergedEnd, rangeEnd);
+        removed += rangeEnd - rangeStart;
+      }
+
+      ranges.put(mergedStart, mergedEnd);
+
+      long added = (mergedEnd - mergedStart) - removed;
+      cachedSize += added;
+      return added;
+    }
+
+    private void saveMetadata() {
+      try (DataOutputStream output = new DataOutputStream(new FileOutputStream(metadataFile))) {
+        output.writeInt(METADATA_VERSION);
+        output.writeUTF(key);
+        output.writeLong(length);
+        DataFormatTools.writeNullableText(output, version);
+        output.writeInt(ranges.size());
+
+        for (Map.Entry<Long, Long> range : ranges.entrySet()) {
+          output.writeLong(range.getKey());
+          output.writeLong(range.getValue());
+        }
+      } catch (IOException e) {
+        log.warn("Failed to save metadata of cache entry {}.", key, e);
+        deleteFile(metadataFile);
+      }
+    }
+
+    private void delete() {
+      deleteFile(metadataFile);
+      deleteFile(dataFile);
+    }
+  }
+}
@@ -35,6 +35,7 @@ import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.conn.DefaultHttpResponseParser;
 import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
 import org.apache.http.io.SessionInputBuffer;
 import org.apache.http.message.BasicLineParser;
 import org.apache.http.message.LineParser;
@@ -85,6 +86,19 @@ public class HttpClientTools {
     return createHttpBuilder(DEFAULT_REQUEST_CONFIG);
   }
 
+  /**
+   * @return An HttpAsyncClientBuilder which uses the same cookie store for all clients
+   */
+  public static HttpAsyncClientBuilder createSharedCookiesAsyncHttpBuilder() {
+    return HttpAsyncClientBuilder.create()
+        .setDefaultCookieStore(new BasicCookieStore())
+        .setDefaultRequestConfig(DEFAULT_REQUEST_CONFIG)
+        .setSSLContext(defaultSslContext)
+        .setSSLHostnameVerifier(new DefaultHostnameVerifier(PublicSuffixMatcherLoader.getDefault()))
+        .setMaxConnTotal(3000)
+        .setMaxConnPerRoute(1500);
+  }
+
   /**
    * @return Default HTTP interface manager with thread-local context
    */
@@ -99,6 +113,14 @@ public class HttpClientTools {
     return new ThreadLocalHttpInterfaceManager(createHttpBuilder(NO_COOKIES_REQUEST_CONFIG), NO_COOKIES_REQUEST_CONFIG);
   }
 
+  /**
+   * @return HTTP interface manager with thread-local context, which reads streamed content with an asynchronous client
+   */
+  public static AsyncHttpInterfaceManager createAsyncStreamingThreadLocalManager() {
+    return new AsyncHttpInterfaceManager(createSharedCookiesHttpBuilder(), createSharedCookiesAsyncHttpBuilder(),
+        DEFAULT_REQUEST_CONFIG);
+  }
+
   private static HttpClientBuilder createHttpBuilder(RequestConfig requestConfig) {
     CookieStore cookieStore = new BasicCookieStore();
 
@@ -1,9 +1,12 @@
 package com.sedmelluq.discord.lavaplayer.tools.io;
 
+import org.apache.http.client.ClientProtocolException;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.protocol.HttpClientContext;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -16,9 +19,12 @@ import java.util.List;
  * should be called in each thread separately.
  */
 public class HttpInterface implements Closeable {
+  private static final Logger log = LoggerFactory.getLogger(HttpInterface.class);
+
   private final CloseableHttpClient client;
   private final HttpClientContext context;
   private final boolean ownedClient;
+  private final AsyncStreamingClient streamingClient;
   private HttpUriRequest lastRequest;
   private boolean available;
 
@@ -28,9 +34,23 @@ public class HttpInterface implements Closeable {
    * @param ownedClient True if the client should be closed when this instance is closed.
    */
   public HttpInterface(CloseableHttpClient client, HttpClientContext context, boolean ownedClient) {
+    this(client, context, ownedClient, null);
+  }
+
+  /**
+   * @param client The http client instance used.
+   * @param context The http context instance used.
+   * @param ownedClient True if the client should be closed when this instance is closed.
+   * @param streamingClient The client used for requests with streamed response bodies, null to use the blocking client
+   *                        for those as well.
+   */
+  public HttpInterface(CloseableHttpClient client, HttpClientContext context, boolean ownedClient,
+                       AsyncStreamingClient streamingClient) {
+
     this.client = client;
     this.context = context;
     this.ownedClient = ownedClient;
+    this.streamingClient = streamingClient;
     this.available = true;
   }
 
@@ -60,6 +80,30 @@ public class HttpInterface implements Closeable {
     return client.execute(request, context);
   }
 
+  /**
+   * Executes the given query for reading a long response body, such as the media stream of a track. If this interface
+   * has a streaming client, the body is read ahead by it without blocking a thread on the connection, otherwise this
+   * is the same as {@link #execute(HttpUriRequest)}.
+   *
+   * @param request The request to execute.
+   * @return Closeable response from the server.
+   * @throws IOException On network error.
+   */
+  public CloseableHttpResponse executeStreaming(HttpUriRequest request) throws IOException {
+    if (streamingClient == null) {
+      return execute(request);
+    }
+
+    lastRequest = request;
+
+    try {
+      return streamingClient.execute(request, context);
+    } catch (ClientProtocolException e) {
+      log.debug("Streaming client could not handle response from {}, using blocking client.", request.getURI(), e);
+      return client.execute(request, context);
+    }
+  }
+
   /**
    * @return The final URL after redirects for the last processed request. Original URL if no redirects were performed.
    *         Null if no requests have been executed. Undefined state if last request threw an exception.
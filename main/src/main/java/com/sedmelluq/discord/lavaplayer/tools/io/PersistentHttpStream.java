@@ -109,7 +109,7 @@ public class PersistentHttpStream extends SeekableInputStream implements AutoClo
   }
 
   private boolean attemptConnect(boolean skipStatusCheck, boolean retryOnServerError) throws IOException {
-    currentResponse = httpInterface.execute(getConnectRequest());
+    currentResponse = httpInterface.executeStreaming(getConnectRequest());
     lastStatusCode = currentResponse.getStatusLine().getStatusCode();
 
     if (!skipStatusCheck && !validateStatusCode(currentResponse, retryOnServerError)) {
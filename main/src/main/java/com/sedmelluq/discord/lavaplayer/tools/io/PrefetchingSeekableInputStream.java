@@ -0,0 +1,345 @@
+package com.sedmelluq.discord.lavaplayer.tools.io;
+
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider;
+import com.sedmelluq.lava.common.tools.DaemonThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A wrapper around a seekable input stream which reads ahead of the current position on a background thread, so that
+ * stalls of the underlying stream, such as a slow network connection, do not stall the reader until the data read ahead
+ * has been used up. The data is kept in a ring buffer, which also keeps a quarter of its size behind the current
+ * position. Seeking within the buffered range does not cause any IO to be done on the underlying input stream.
+ *
+ * Reading ahead only starts with the first read, so the underlying stream can be used directly before that. Once
+ * reading ahead has started, the underlying stream must not be used directly anymore, and it is closed when this
+ * stream is closed. Closing also aborts a read that the background thread is blocked in.
+ */
+public class PrefetchingSeekableInputStream extends SeekableInputStream {
+  private static final Logger log = LoggerFactory.getLogger(PrefetchingSeekableInputStream.class);
+
+  private static final int MAXIMUM_READ_SIZE = 64 * 1024;
+
+  private static final ExecutorService prefetchExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 10,
+      TimeUnit.SECONDS, new SynchronousQueue<>(), new DaemonThreadFactory("prefetch"));
+
+  private final SeekableInputStream delegate;
+  private final byte[] buffer;
+  private final int behindSize;
+  private long position;
+  private long bufferStart;
+  private long bufferEnd;
+  private boolean endOfStream;
+  private boolean fillerActive;
+  private Thread fillerThread;
+  private boolean closed;
+  private int generation;
+  private Throwable failure;
+
+  /**
+   * @param delegate The seekable stream to read ahead from
+   * @param bufferSize Size of the ring buffer in bytes
+   */
+  public PrefetchingSeekableInputStream(SeekableInputStream delegate, int bufferSize) {
+    super(delegate.getContentLength(), delegate.getMaxSkipDistance());
+
+    this.delegate = delegate;
+    this.buffer = new byte[bufferSize];
+    this.behindSize = bufferSize / 4;
+    this.position = delegate.getPosition();
+    this.bufferStart = position;
+    this.bufferEnd = position;
+  }
+
+  /**
+   * @param stream The stream to read ahead from
+   * @param bufferSize Size of the ring buffer in bytes, zero to not read ahead
+   * @return A stream which reads ahead from the specified stream, or the specified stream itself if the buffer size is
+   *         zero.
+   */
+  public static SeekableInputStream wrap(SeekableInputStream stream, int bufferSize) {
+    return bufferSize > 0 ? new PrefetchingSeekableInputStream(stream, bufferSize) : stream;
+  }
+
+  @Override
+  public long getContentLength() {
+    return delegate.getContentLength();
+  }
+
+  @Override
+  public synchronized long getPosition() {
+    return position;
+  }
+
+  @Override
+  public synchronized int read() throws IOException {
+    if (!awaitData()) {
+      return -1;
+    }
+
+    int result = buffer[(int) (position % buffer.length)] & 0xFF;
+    position++;
+    startFillerIfNeeded();
+    return result;
+  }
+
+  @Override
+  public synchronized int read(byte[] target, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    } else if (!awaitData()) {
+      return -1;
+    }
+
+    int chunk = (int) Math.min(length, bufferEnd - position);
+    int index = (int) (position % buffer.length);
+    int firstPart = Math.min(chunk, buffer.length - index);
+
+    System.arraycopy(buffer, index, target, offset, firstPart);
+    System.arraycopy(buffer, 0, target, offset + firstPart, chunk - firstPart);
+
+    position += chunk;
+    startFillerIfNeeded();
+    return chunk;
+  }
+
+  @Override
+  public synchronized long skip(long distance) throws IOException {
+    checkNotClosed();
+
+    long skipped = endOfStream ? Math.max(0, Math.min(distance, bufferEnd - position)) : Math.max(0, distance);
+    position += skipped;
+    startFillerIfNeeded();
+    return skipped;
+  }
+
+  @Override
+  public synchronized int available() throws IOException {
+    checkNotClosed();
+    return (int) Math.max(0, Math.min(Integer.MAX_VALUE, bufferEnd - position));
+  }
+
+  @Override
+  public void seek(long target) throws IOException {
+    synchronized (this) {
+      if (target >= bufferStart && target <= bufferEnd) {
+        position = target;
+        return;
+      }
+    }
+
+    super.seek(target);
+  }
+
+  @Override
+  protected void seekHard(long target) throws IOException {
+    synchronized (this) {
+      checkNotClosed();
+
+      if (target >= bufferStart && target <= bufferEnd) {
+        position = target;
+        return;
+      }
+
+      // The data that the filler is currently reading is discarded, the underlying stream is only touched once it is done.
+      generation++;
+
+      while (fillerActive) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new InterruptedIOException();
+        }
+      }
+    }
+
+    delegate.seek(target);
+
+    synchronized (this) {
+      position = target;
+      bufferStart = target;
+      bufferEnd = target;
+      endOfStream = false;
+      failure = null;
+    }
+  }
+
+  @Override
+  public boolean canSeekHard() {
+    return delegate.canSeekHard();
+  }
+
+  @Override
+  public List<AudioTrackInfoProvider> getTrackInfoProviders() {
+    return delegate.getTrackInfoProviders();
+  }
+
+  @Override
+  public void close() throws IOException {
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+
+      closed = true;
+      generation++;
+
+      if (fillerThread != null) {
+        fillerThread.interrupt();
+      }
+
+      notifyAll();
+    }
+
+    // Closed right away even if the filler is reading from it, so that a read blocked on a stalled connection fails
+    // instead of holding the connection until it times out. The filler closes it once more when it finishes, in case
+    // the underlying stream reconnected after the read failed.
+    delegate.close();
+  }
+
+  private boolean awaitData() throws IOException {
+    checkNotClosed();
+
+    while (position >= bufferEnd) {
+      if (failure != null) {
+        throwFailure();
+      } else if (endOfStream) {
+        return false;
+      }
+
+      startFillerIfNeeded();
+
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+
+      checkNotClosed();
+    }
+
+    return true;
+  }
+
+  private void checkNotClosed() throws IOException {
+    if (closed) {
+      throw new IOException("Stream is closed.");
+    }
+  }
+
+  private void throwFailure() throws IOException {
+    if (failure instanceof IOException) {
+      throw (IOException) failure;
+    } else if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    } else {
+      throw new IOException(failure);
+    }
+  }
+
+  private long getFreeSpace() {
+    // Data more than the behind size before the current position is no longer needed.
+    long keepFrom = Math.max(bufferStart, Math.min(position - behindSize, bufferEnd));
+    return buffer.length - (bufferEnd - keepFrom);
+  }
+
+  private void startFillerIfNeeded() {
+    if (fillerActive || closed || endOfStream || failure != null) {
+      return;
+    }
+
+    // Filling in bigger chunks, unless the reader is already waiting for it.
+    if (position >= bufferEnd || getFreeSpace() >= buffer.length / 4) {
+      fillerActive = true;
+      int fillerGeneration = generation;
+      prefetchExecutor.execute(() -> fill(fillerGeneration));
+    }
+  }
+
+  private void fill(int fillerGeneration) {
+    byte[] chunk = new byte[Math.min(MAXIMUM_READ_SIZE, buffer.length)];
+
+    synchronized (this) {
+      fillerThread = Thread.currentThread();
+    }
+
+    try {
+      while (true) {
+        int length;
+
+        synchronized (this) {
+          long freeSpace = getFreeSpace();
+
+          if (closed || generation != fillerGeneration || freeSpace == 0) {
+            break;
+          }
+
+          length = (int) Math.min(freeSpace, chunk.length);
+        }
+
+        int read = delegate.read(chunk, 0, length);
+
+        synchronized (this) {
+          if (closed || generation != fillerGeneration) {
+            break;
+          } else if (read < 0) {
+            endOfStream = true;
+            notifyAll();
+            break;
+          }
+
+          store(chunk, read);
+          notifyAll();
+        }
+      }
+    } catch (Throwable e) {
+      synchronized (this) {
+        if (!closed && generation == fillerGeneration) {
+          failure = e;
+        }
+      }
+    } finally {
+      boolean closeDelegate;
+
+      synchronized (this) {
+        fillerActive = false;
+        fillerThread = null;
+        closeDelegate = closed;
+        notifyAll();
+      }
+
+      if (closeDelegate) {
+        closeDelegate();
+      }
+    }
+  }
+
+  private void store(byte[] chunk, int length) {
+    int index = (int) (bufferEnd % buffer.length);
+    int firstPart = Math.min(length, buffer.length - index);
+
+    System.arraycopy(chunk, 0, buffer, index, firstPart);
+    System.arraycopy(chunk, firstPart, buffer, 0, length - firstPart);
+
+    bufferEnd += length;
+    bufferStart = Math.max(bufferStart, bufferEnd - buffer.length);
+  }
+
+  private void closeDelegate() {
+    try {
+      delegate.close();
+    } catch (IOException e) {
+      log.debug("Failed to close stream after reading ahead.", e);
+    }
+  }
+}
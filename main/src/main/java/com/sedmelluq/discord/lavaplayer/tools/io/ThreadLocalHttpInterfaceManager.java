@@ -20,9 +20,7 @@ public class ThreadLocalHttpInterfaceManager extends AbstractHttpInterfaceManage
   public ThreadLocalHttpInterfaceManager(HttpClientBuilder clientBuilder, RequestConfig requestConfig) {
     super(clientBuilder, requestConfig);
 
-    this.httpInterfaces = ThreadLocal.withInitial(() ->
-        new HttpInterface(getSharedClient(), HttpClientContext.create(), false)
-    );
+    this.httpInterfaces = ThreadLocal.withInitial(() -> createInterface(getSharedClient()));
   }
 
   @Override
@@ -39,8 +37,12 @@ public class ThreadLocalHttpInterfaceManager extends AbstractHttpInterfaceManage
       return httpInterface;
     }
 
-    httpInterface = new HttpInterface(client, HttpClientContext.create(), false);
+    httpInterface = createInterface(client);
     httpInterface.acquire();
     return httpInterface;
   }
+
+  protected HttpInterface createInterface(CloseableHttpClient client) {
+    return new HttpInterface(client, HttpClientContext.create(), false);
+  }
 }
@@ -0,0 +1,13 @@
+package com.sedmelluq.discord.lavaplayer.track;
+
+/**
+ * A track whose content can be identified, so that its decoded output can be kept in an
+ * {@link com.sedmelluq.discord.lavaplayer.track.playback.AudioClipCache}.
+ */
+public interface ClipCacheableTrack {
+  /**
+   * @return A key which identifies the content of this track and changes when the content changes, null if the track
+   *         cannot be cached right now.
+   */
+  String getClipCacheKey();
+}
@@ -1,5 +1,9 @@
 package com.sedmelluq.discord.lavaplayer.track;
 
+import com.sedmelluq.discord.lavaplayer.tools.io.CachingSeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.DiskSegmentCache;
+import com.sedmelluq.discord.lavaplayer.tools.io.PrefetchingSeekableInputStream;
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream;
 import com.sedmelluq.discord.lavaplayer.track.playback.LocalAudioTrackExecutor;
 
 /**
@@ -27,6 +31,29 @@ public abstract class DelegatedAudioTrack extends BaseAudioTrack {
     delegate.process(localExecutor);
   }
 
+  /**
+   * @param stream Stream for the delegate track to read from. The returned stream owns it if it is not the same one.
+   * @param localExecutor The executor of this track
+   * @return The stream wrapped to read ahead, if configured so in the configuration of the executor.
+   */
+  protected SeekableInputStream prefetchStream(SeekableInputStream stream, LocalAudioTrackExecutor localExecutor) {
+    int prefetchSize = localExecutor.getProcessingContext().configuration.getStreamPrefetchSize();
+    return PrefetchingSeekableInputStream.wrap(stream, prefetchSize);
+  }
+
+  /**
+   * @param key Key which identifies the content of the stream in the cache
+   * @param stream Stream for the delegate track to read from. The returned stream owns it if it is not the same one.
+   * @param localExecutor The executor of this track
+   * @return The stream wrapped to use the disk cache, if one is set in the configuration of the executor.
+   */
+  protected SeekableInputStream cacheStream(String key, SeekableInputStream stream,
+                                            LocalAudioTrackExecutor localExecutor) {
+
+    DiskSegmentCache cache = localExecutor.getProcessingContext().configuration.getStreamCache();
+    return CachingSeekableInputStream.wrap(stream, cache, key);
+  }
+
   @Override
   public long getDuration() {
     if (delegate != null) {
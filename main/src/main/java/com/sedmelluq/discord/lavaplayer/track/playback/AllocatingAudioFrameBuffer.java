@@ -15,7 +15,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * A frame buffer. Stores the specified duration worth of frames in the internal buffer.
  * Consumes frames in a blocking manner and provides frames in a non-blocking manner.
  */
-public class AllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
+public class AllocatingAudioFrameBuffer extends LockingAudioFrameBuffer {
   private static final Logger log = LoggerFactory.getLogger(AudioFrameBuffer.class);
 
   private final int fullCapacity;
@@ -144,12 +144,16 @@ public class AllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
   public Long getLastInputTimecode() {
     Long lastTimecode = null;
 
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       if (!clearOnInsert) {
         for (AudioFrame frame : audioFrames) {
           lastTimecode = frame.getTimecode();
         }
       }
+    } finally {
+      lock.unlock();
     }
 
     return lastTimecode;
@@ -181,13 +185,17 @@ public class AllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
   }
 
   private AudioFrame fetchPendingTerminator() {
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       if (terminateOnEmpty) {
         terminateOnEmpty = false;
         terminated = true;
-        synchronizer.notifyAll();
+        condition.signalAll();
         return TerminatorAudioFrame.INSTANCE;
       }
+    } finally {
+      lock.unlock();
     }
 
     return null;
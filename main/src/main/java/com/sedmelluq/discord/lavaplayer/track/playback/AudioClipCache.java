@@ -0,0 +1,183 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
+import com.sedmelluq.discord.lavaplayer.track.ClipCacheableTrack;
+import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * A cache of the final output frames of short tracks. The first time such a track is played, it is decoded in full
+ * before playback starts, and later plays of the same content with the same output configuration only replay the
+ * frames, skipping container detection, decoding, filtering and encoding entirely. If the same clip is played again
+ * while it is still being decoded, that play waits for the decoding instead of decoding it again. Clips are evicted in
+ * least recently used order when their total size exceeds the maximum size.
+ *
+ * Only tracks which implement {@link ClipCacheableTrack}, have a known duration within the limit and are played
+ * without a filter factory are cached.
+ */
+public class AudioClipCache {
+  private final long maximumSize;
+  private final long maximumClipDuration;
+  private final Map<String, AudioClip> clips;
+  private final Map<String, CompletableFuture<AudioClip>> recordings;
+  private long totalSize;
+
+  /**
+   * @param maximumSize Maximum total size of the cached frames in bytes
+   * @param maximumClipDuration Maximum duration of a track to cache in milliseconds
+   */
+  public AudioClipCache(long maximumSize, long maximumClipDuration) {
+    this.maximumSize = maximumSize;
+    this.maximumClipDuration = maximumClipDuration;
+    this.clips = new LinkedHashMap<>(16, 0.75f, true);
+    this.recordings = new HashMap<>();
+  }
+
+  /**
+   * @return Total size of the cached frames in bytes
+   */
+  public synchronized long getTotalSize() {
+    return totalSize;
+  }
+
+  /**
+   * Removes all clips from the cache.
+   */
+  public synchronized void clear() {
+    clips.clear();
+    totalSize = 0;
+  }
+
+  /**
+   * @param track The track to play
+   * @param configuration Configuration to use for audio processing
+   * @param playerOptions Mutable player options
+   * @param fallbackFactory Factory for the executor to use if the track turns out to be too long to cache
+   * @return An executor which plays the track from this cache, or null if the track cannot be cached.
+   */
+  public AudioTrackExecutor createExecutor(InternalAudioTrack track, AudioConfiguration configuration,
+                                           AudioPlayerOptions playerOptions,
+                                           Supplier<LocalAudioTrackExecutor> fallbackFactory) {
+
+    if (!(track instanceof ClipCacheableTrack) || playerOptions.filterFactory.get() != null) {
+      return null;
+    }
+
+    long duration = track.getDuration();
+    String contentKey = ((ClipCacheableTrack) track).getClipCacheKey();
+
+    if (contentKey == null || duration <= 0 || duration > maximumClipDuration) {
+      return null;
+    }
+
+    return new ClipAudioTrackExecutor(track, this, createKey(contentKey, configuration), configuration,
+        playerOptions, fallbackFactory);
+  }
+
+  private static String createKey(String contentKey, AudioConfiguration configuration) {
+    AudioDataFormat format = configuration.getOutputFormat();
+
+    return contentKey + "|" + format.codecName() + ":" + format.channelCount + ":" + format.sampleRate + ":" +
+        format.chunkSampleCount + "|" + configuration.getResamplingQuality() + ":" +
+        configuration.getOpusEncodingQuality();
+  }
+
+  long getMaximumClipDuration() {
+    return maximumClipDuration;
+  }
+
+  long getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * @param key Key of the clip
+   * @return A completed future with the clip if it is cached, the future of the recording in progress if another
+   *         executor is already recording it, or null if the caller should record it and then call
+   *         {@link #finishRecording(String, AudioClip)}.
+   */
+  synchronized CompletableFuture<AudioClip> getOrStartRecording(String key) {
+    AudioClip clip = clips.get(key);
+
+    if (clip != null) {
+      return CompletableFuture.completedFuture(clip);
+    }
+
+    CompletableFuture<AudioClip> recording = recordings.get(key);
+
+    if (recording == null) {
+      recordings.put(key, new CompletableFuture<>());
+    }
+
+    return recording;
+  }
+
+  /**
+   * @param key Key of the clip
+   * @param clip The recorded clip, null if the recording did not produce a complete clip
+   */
+  void finishRecording(String key, AudioClip clip) {
+    CompletableFuture<AudioClip> recording;
+
+    synchronized (this) {
+      recording = recordings.remove(key);
+
+      if (clip != null) {
+        put(key, clip);
+      }
+    }
+
+    if (recording != null) {
+      recording.complete(clip);
+    }
+  }
+
+  private void put(String key, AudioClip clip) {
+    if (clip.size > maximumSize) {
+      return;
+    }
+
+    AudioClip previous = clips.put(key, clip);
+    totalSize += clip.size - (previous != null ? previous.size : 0);
+
+    for (Iterator<AudioClip> iterator = clips.values().iterator(); iterator.hasNext() && totalSize > maximumSize; ) {
+      totalSize -= iterator.next().size;
+      iterator.remove();
+    }
+  }
+
+  static class AudioClip {
+    final AudioFrame[] frames;
+    final long size;
+
+    AudioClip(AudioFrame[] frames, long size) {
+      this.frames = frames;
+      this.size = size;
+    }
+
+    int findFrameIndex(long timecode) {
+      int low = 0;
+      int high = frames.length;
+
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+
+        if (frames[middle].getTimecode() < timecode) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+
+      return low;
+    }
+  }
+}
@@ -0,0 +1,545 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import com.sedmelluq.discord.lavaplayer.filter.volume.PcmVolumeProcessor;
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.AudioChunkDecoder;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.AudioChunkEncoder;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackState;
+import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.TrackMarker;
+import com.sedmelluq.discord.lavaplayer.track.TrackMarkerTracker;
+import com.sedmelluq.discord.lavaplayer.track.TrackStateListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static com.sedmelluq.discord.lavaplayer.track.TrackMarkerHandler.MarkerState.ENDED;
+import static com.sedmelluq.discord.lavaplayer.track.TrackMarkerHandler.MarkerState.STOPPED;
+
+/**
+ * Executor which plays a track from the frames in an {@link AudioClipCache}. If the clip is not cached yet, the track
+ * is first decoded in full into the cache on the playback thread. Frames are then provided straight from the cached
+ * clip, so no thread is used for the rest of the playback. Volume is applied to the cached frames as they are
+ * provided. If the track turns out to be too long to cache, it is played with a regular executor instead.
+ */
+public class ClipAudioTrackExecutor implements AudioTrackExecutor {
+  private static final Logger log = LoggerFactory.getLogger(ClipAudioTrackExecutor.class);
+
+  private static final long NO_SEEK = -1;
+
+  private final InternalAudioTrack audioTrack;
+  private final AudioClipCache cache;
+  private final String key;
+  private final AudioConfiguration configuration;
+  private final AudioPlayerOptions playerOptions;
+  private final Supplier<LocalAudioTrackExecutor> fallbackFactory;
+  private final AudioDataFormat format;
+  private final TrackMarkerTracker markerTracker = new TrackMarkerTracker();
+  private AudioClipCache.AudioClip clip;
+  private LocalAudioTrackExecutor recordingExecutor;
+  private LocalAudioTrackExecutor fallbackExecutor;
+  private AudioTrackState state = AudioTrackState.INACTIVE;
+  private boolean stopped;
+  private boolean finished;
+  private int frameIndex;
+  private long pendingSeek = NO_SEEK;
+  private long position;
+  private AudioChunkDecoder decoder;
+  private AudioChunkEncoder encoder;
+  private ShortBuffer sampleBuffer;
+  private PcmVolumeProcessor volumeProcessor;
+
+  /**
+   * @param audioTrack The audio track that this executor executes
+   * @param cache The cache to take the frames from
+   * @param key Key of the track in the cache
+   * @param configuration Configuration to use for audio processing
+   * @param playerOptions Mutable player options (for example volume).
+   * @param fallbackFactory Factory for the executor to use if the track is too long to cache
+   */
+  public ClipAudioTrackExecutor(InternalAudioTrack audioTrack, AudioClipCache cache, String key,
+                                AudioConfiguration configuration, AudioPlayerOptions playerOptions,
+                                Supplier<LocalAudioTrackExecutor> fallbackFactory) {
+
+    this.audioTrack = audioTrack;
+    this.cache = cache;
+    this.key = key;
+    this.configuration = configuration;
+    this.playerOptions = playerOptions;
+    this.fallbackFactory = fallbackFactory;
+    this.format = configuration.getOutputFormat();
+  }
+
+  @Override
+  public AudioFrameBuffer getAudioBuffer() {
+    LocalAudioTrackExecutor fallback = getFallback();
+    return fallback != null ? fallback.getAudioBuffer() : null;
+  }
+
+  @Override
+  public void execute(TrackStateListener listener) {
+    synchronized (this) {
+      state = AudioTrackState.LOADING;
+    }
+
+    AudioClipCache.AudioClip cachedClip = getOrRecord();
+
+    LocalAudioTrackExecutor fallback;
+
+    synchronized (this) {
+      if (stopped) {
+        return;
+      } else if (cachedClip != null) {
+        clip = cachedClip;
+        state = AudioTrackState.PLAYING;
+        notifyAll();
+        return;
+      }
+
+      log.debug("Track {} is too long for the clip cache, playing it normally.", audioTrack.getIdentifier());
+
+      fallback = fallbackFactory.get();
+
+      if (pendingSeek != NO_SEEK) {
+        fallback.setPosition(pendingSeek);
+      }
+
+      fallback.setMarker(markerTracker.remove());
+      fallbackExecutor = fallback;
+      notifyAll();
+    }
+
+    fallback.execute(listener);
+  }
+
+  private AudioClipCache.AudioClip getOrRecord() {
+    CompletableFuture<AudioClipCache.AudioClip> recording = cache.getOrStartRecording(key);
+
+    if (recording == null) {
+      AudioClipCache.AudioClip recordedClip = null;
+
+      try {
+        log.debug("Decoding track {} into the clip cache.", audioTrack.getIdentifier());
+        recordedClip = record();
+      } finally {
+        cache.finishRecording(key, recordedClip);
+      }
+
+      return recordedClip;
+    }
+
+    if (!recording.isDone()) {
+      log.debug("Waiting for track {} to be decoded into the clip cache by another player.", audioTrack.getIdentifier());
+      recording.whenComplete((clip, error) -> wakeUp());
+    }
+
+    try {
+      synchronized (this) {
+        while (!recording.isDone() && !stopped) {
+          wait();
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+
+    // Without a clip from the other recording, for example if it was stopped, the track is played normally.
+    return recording.getNow(null);
+  }
+
+  private synchronized void wakeUp() {
+    notifyAll();
+  }
+
+  private AudioClipCache.AudioClip record() {
+    ClipRecorder recorder = new ClipRecorder();
+    AudioConfiguration recordingConfiguration = configuration.copy();
+    recordingConfiguration.setFrameBufferFactory(recorder::initialise);
+
+    LocalAudioTrackExecutor executor = new LocalAudioTrackExecutor(audioTrack, recordingConfiguration,
+        new AudioPlayerOptions(), false, (int) format.frameDuration());
+
+    synchronized (this) {
+      if (stopped) {
+        return null;
+      }
+
+      recordingExecutor = executor;
+    }
+
+    executor.execute(recorder);
+
+    synchronized (this) {
+      recordingExecutor = null;
+
+      if (stopped) {
+        // Only part of the track was recorded, so it must not be cached.
+        return null;
+      }
+    }
+
+    if (recorder.overflowed) {
+      // Recording was stopped by interrupting this thread, which must not affect the fallback playback.
+      Thread.interrupted();
+      return null;
+    } else if (recorder.exception != null) {
+      // Playing it normally reports the exception the usual way.
+      return null;
+    } else if (Thread.currentThread().isInterrupted()) {
+      // The executor restores the interrupt when playback was interrupted, so the track did not end by itself.
+      return null;
+    }
+
+    return new AudioClipCache.AudioClip(recorder.frames.toArray(new AudioFrame[0]), recorder.size);
+  }
+
+  @Override
+  public void stop() {
+    LocalAudioTrackExecutor executor;
+
+    synchronized (this) {
+      if (fallbackExecutor != null) {
+        executor = fallbackExecutor;
+      } else {
+        stopped = true;
+        executor = recordingExecutor;
+
+        if (!finished) {
+          markerTracker.trigger(STOPPED);
+        }
+
+        closeTranscoders();
+        notifyAll();
+      }
+    }
+
+    if (executor != null) {
+      executor.stop();
+    }
+  }
+
+  @Override
+  public synchronized long getPosition() {
+    if (fallbackExecutor != null) {
+      return fallbackExecutor.getPosition();
+    }
+
+    return pendingSeek != NO_SEEK ? pendingSeek : position;
+  }
+
+  @Override
+  public void setPosition(long timecode) {
+    if (!audioTrack.isSeekable()) {
+      return;
+    }
+
+    LocalAudioTrackExecutor fallback;
+
+    synchronized (this) {
+      fallback = fallbackExecutor;
+
+      if (fallback == null) {
+        pendingSeek = Math.max(0, timecode);
+        return;
+      }
+    }
+
+    fallback.setPosition(timecode);
+  }
+
+  @Override
+  public synchronized AudioTrackState getState() {
+    if (fallbackExecutor != null) {
+      return fallbackExecutor.getState();
+    } else if (stopped || finished) {
+      return AudioTrackState.FINISHED;
+    }
+
+    return state;
+  }
+
+  @Override
+  public void setMarker(TrackMarker marker) {
+    LocalAudioTrackExecutor fallback;
+
+    synchronized (this) {
+      fallback = fallbackExecutor;
+
+      if (fallback == null) {
+        markerTracker.set(marker, getPosition());
+        return;
+      }
+    }
+
+    fallback.setMarker(marker);
+  }
+
+  @Override
+  public boolean failedBeforeLoad() {
+    LocalAudioTrackExecutor fallback = getFallback();
+    return fallback != null && fallback.failedBeforeLoad();
+  }
+
+  @Override
+  public AudioFrame provide() {
+    LocalAudioTrackExecutor fallback = getFallback();
+    return fallback != null ? fallback.provide() : nextFrame();
+  }
+
+  @Override
+  public AudioFrame provide(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
+    if (!awaitStart(unit.toMillis(timeout))) {
+      return null;
+    }
+
+    LocalAudioTrackExecutor fallback = getFallback();
+    return fallback != null ? fallback.provide(timeout, unit) : nextFrame();
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame) {
+    LocalAudioTrackExecutor fallback = getFallback();
+    return fallback != null ? fallback.provide(targetFrame) : passToMutable(nextFrame(), targetFrame);
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
+      throws TimeoutException, InterruptedException {
+
+    if (!awaitStart(unit.toMillis(timeout))) {
+      return false;
+    }
+
+    LocalAudioTrackExecutor fallback = getFallback();
+    return fallback != null ? fallback.provide(targetFrame, timeout, unit) : passToMutable(nextFrame(), targetFrame);
+  }
+
+  private synchronized LocalAudioTrackExecutor getFallback() {
+    return fallbackExecutor;
+  }
+
+  private synchronized boolean awaitStart(long timeout) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + timeout;
+
+    while (clip == null && fallbackExecutor == null && !stopped) {
+      long remaining = deadline - System.currentTimeMillis();
+
+      if (remaining <= 0) {
+        return false;
+      }
+
+      wait(remaining);
+    }
+
+    return true;
+  }
+
+  private synchronized AudioFrame nextFrame() {
+    if (stopped || finished) {
+      return TerminatorAudioFrame.INSTANCE;
+    } else if (clip == null) {
+      return null;
+    }
+
+    if (pendingSeek != NO_SEEK) {
+      frameIndex = clip.findFrameIndex(pendingSeek);
+      position = pendingSeek;
+      markerTracker.checkSeekTimecode(pendingSeek);
+      pendingSeek = NO_SEEK;
+    }
+
+    if (frameIndex >= clip.frames.length) {
+      finished = true;
+      markerTracker.trigger(ENDED);
+      closeTranscoders();
+      return TerminatorAudioFrame.INSTANCE;
+    }
+
+    AudioFrame frame = clip.frames[frameIndex++];
+    position = frame.getTimecode();
+    markerTracker.checkPlaybackTimecode(position);
+
+    return applyVolume(frame);
+  }
+
+  private AudioFrame applyVolume(AudioFrame frame) {
+    int volume = playerOptions.volumeLevel.get();
+
+    if (volume == 100) {
+      return frame;
+    } else if (volume == 0) {
+      return new ImmutableAudioFrame(frame.getTimecode(), format.silenceBytes(), 0, format);
+    }
+
+    if (decoder == null) {
+      decoder = format.createDecoder();
+      encoder = format.createEncoder(configuration);
+      sampleBuffer = ByteBuffer.allocateDirect(format.totalSampleCount() * 2).order(ByteOrder.nativeOrder())
+          .asShortBuffer();
+      volumeProcessor = new PcmVolumeProcessor(100);
+    }
+
+    decoder.decode(frame.getData(), sampleBuffer);
+    volumeProcessor.applyVolume(100, volume, sampleBuffer);
+
+    return new ImmutableAudioFrame(frame.getTimecode(), encoder.encode(sampleBuffer), volume, format);
+  }
+
+  private void closeTranscoders() {
+    if (decoder != null) {
+      decoder.close();
+      encoder.close();
+      decoder = null;
+      encoder = null;
+    }
+  }
+
+  private static boolean passToMutable(AudioFrame frame, MutableAudioFrame targetFrame) {
+    if (targetFrame != null && frame != null) {
+      if (frame.isTerminator()) {
+        targetFrame.setTerminator(true);
+      } else {
+        targetFrame.setTimecode(frame.getTimecode());
+        targetFrame.setVolume(frame.getVolume());
+        targetFrame.store(frame.getData(), 0, frame.getDataLength());
+        targetFrame.setTerminator(false);
+      }
+
+      return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * Frame buffer for decoding a track into a clip. Stops the decoding when the clip exceeds the limits of the cache.
+   */
+  private class ClipRecorder implements AudioFrameBuffer, TrackStateListener {
+    private final List<AudioFrame> frames = new ArrayList<>();
+    private AtomicBoolean stopping;
+    private long size;
+    private boolean overflowed;
+    private volatile FriendlyException exception;
+
+    private AudioFrameBuffer initialise(int bufferDuration, AudioDataFormat format, AtomicBoolean stopping) {
+      this.stopping = stopping;
+      return this;
+    }
+
+    @Override
+    public void consume(AudioFrame frame) throws InterruptedException {
+      size += frame.getDataLength();
+
+      if (size > cache.getMaximumSize() || frame.getTimecode() > cache.getMaximumClipDuration()) {
+        overflowed = true;
+        frames.clear();
+
+        // Makes the executor treat the interrupt as a stop request.
+        stopping.set(true);
+        throw new InterruptedException();
+      }
+
+      frames.add(new ImmutableAudioFrame(frame.getTimecode(), frame.getData(), frame.getVolume(), format));
+    }
+
+    @Override
+    public void onTrackException(AudioTrack track, FriendlyException exception) {
+      this.exception = exception;
+    }
+
+    @Override
+    public void onTrackStuck(AudioTrack track, long thresholdMs) {
+      // Not used by the local executor.
+    }
+
+    @Override
+    public void rebuild(AudioFrameRebuilder rebuilder) {
+      // Recorded frames always have the volume they were recorded with.
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+      return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int getFullCapacity() {
+      return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void waitForTermination() {
+      // Nothing is consumed from this buffer, so the recording is done as soon as the track ends.
+    }
+
+    @Override
+    public void setTerminateOnEmpty() {
+      // Nothing to terminate.
+    }
+
+    @Override
+    public void setClearOnInsert() {
+      // Recording never seeks.
+    }
+
+    @Override
+    public boolean hasClearOnInsert() {
+      return false;
+    }
+
+    @Override
+    public void clear() {
+      // Recording never seeks.
+    }
+
+    @Override
+    public void lockBuffer() {
+      // Nothing to lock.
+    }
+
+    @Override
+    public boolean hasReceivedFrames() {
+      return !frames.isEmpty();
+    }
+
+    @Override
+    public Long getLastInputTimecode() {
+      return frames.isEmpty() ? null : frames.get(frames.size() - 1).getTimecode();
+    }
+
+    @Override
+    public AudioFrame provide() {
+      return null;
+    }
+
+    @Override
+    public AudioFrame provide(long timeout, TimeUnit unit) {
+      return null;
+    }
+
+    @Override
+    public boolean provide(MutableAudioFrame targetFrame) {
+      return false;
+    }
+
+    @Override
+    public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit) {
+      return false;
+    }
+  }
+}
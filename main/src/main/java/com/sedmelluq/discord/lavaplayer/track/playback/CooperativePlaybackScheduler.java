@@ -0,0 +1,288 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shares a fixed number of playback slots between all playing tracks, so that no more tracks decode, filter and encode
+ * frames at the same time than there are slots, by default one per processor core. A track holds a slot for a time
+ * slice of frames and then gives it up if another track is waiting for one. A track also gives up its slot when its
+ * frame buffer is full, so it waits for the buffer to drain without holding one. Waiting tracks are given slots in the
+ * order in which their frame buffers would run empty, so the amount decoded for each track is decided by how full its
+ * buffer is.
+ *
+ * Containers and decoders read from blocking input streams, so each track still runs on its own thread and only
+ * reading input while holding a slot counts towards its slice. When the playback threads of the player manager are
+ * virtual threads, the tracks waiting for a slot or for their buffer to drain do not occupy any carrier threads, so
+ * playback runs on a fixed pool of carrier threads sized by the JVM to the number of cores.
+ */
+public class CooperativePlaybackScheduler {
+  private static final int DEFAULT_SLICE_DURATION = 200;
+
+  private final int sliceDuration;
+  private final ReentrantLock lock;
+  private final PriorityQueue<Slot> waiting;
+  private int freeSlots;
+  private long sequence;
+
+  /**
+   * Create a scheduler with one slot per available processor.
+   */
+  public CooperativePlaybackScheduler() {
+    this(Runtime.getRuntime().availableProcessors(), DEFAULT_SLICE_DURATION);
+  }
+
+  /**
+   * @param slotCount Maximum number of tracks processing frames at the same time
+   * @param sliceDuration Duration of frames in milliseconds that a track processes before it lets a waiting track take
+   *                      its slot
+   */
+  public CooperativePlaybackScheduler(int slotCount, int sliceDuration) {
+    if (slotCount < 1) {
+      throw new IllegalArgumentException("At least one playback slot is required.");
+    }
+
+    this.sliceDuration = Math.max(0, sliceDuration);
+    this.lock = new ReentrantLock();
+    this.waiting = new PriorityQueue<>(Comparator.comparingLong((Slot slot) -> slot.deadline)
+        .thenComparingLong(slot -> slot.sequence));
+    this.freeSlots = slotCount;
+  }
+
+  /**
+   * @return Number of tracks currently waiting for a slot.
+   */
+  public int getWaitingCount() {
+    lock.lock();
+
+    try {
+      return waiting.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  ScheduledAudioFrameBuffer wrapBuffer(AudioFrameBuffer buffer, AudioDataFormat format) {
+    int sliceFrameCount = Math.max(1, sliceDuration / (int) format.frameDuration());
+    return new ScheduledAudioFrameBuffer(buffer, new Slot(format), sliceFrameCount);
+  }
+
+  private void acquire(Slot slot, long deadline) throws InterruptedException {
+    lock.lockInterruptibly();
+
+    try {
+      if (freeSlots > 0 && waiting.isEmpty()) {
+        freeSlots--;
+        return;
+      }
+
+      slot.deadline = deadline;
+      slot.sequence = sequence++;
+      slot.granted = false;
+      waiting.add(slot);
+
+      try {
+        while (!slot.granted) {
+          slot.condition.await();
+        }
+      } catch (InterruptedException e) {
+        if (slot.granted) {
+          passOn();
+        } else {
+          waiting.remove(slot);
+        }
+
+        throw e;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release() {
+    lock.lock();
+
+    try {
+      passOn();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean hasEarlierWaiter(long deadline) {
+    lock.lock();
+
+    try {
+      Slot next = waiting.peek();
+      return next != null && next.deadline < deadline;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void passOn() {
+    Slot next = waiting.poll();
+
+    if (next != null) {
+      next.granted = true;
+      next.condition.signal();
+    } else {
+      freeSlots++;
+    }
+  }
+
+  private class Slot {
+    private final Condition condition;
+    private final long frameDurationNanos;
+    private long deadline;
+    private long sequence;
+    private boolean granted;
+
+    private Slot(AudioDataFormat format) {
+      this.condition = lock.newCondition();
+      this.frameDurationNanos = TimeUnit.MILLISECONDS.toNanos(format.frameDuration());
+    }
+  }
+
+  /**
+   * Frame buffer which takes a slot of the scheduler for processing the frames it receives. Only the playback thread of
+   * the track calls the methods which take or give up the slot, so the state of the slot needs no synchronization.
+   */
+  class ScheduledAudioFrameBuffer implements AudioFrameBuffer {
+    private final AudioFrameBuffer delegate;
+    private final Slot slot;
+    private final int sliceFrameCount;
+    private boolean holdingSlot;
+    private int sliceFrames;
+
+    private ScheduledAudioFrameBuffer(AudioFrameBuffer delegate, Slot slot, int sliceFrameCount) {
+      this.delegate = delegate;
+      this.slot = slot;
+      this.sliceFrameCount = sliceFrameCount;
+    }
+
+    @Override
+    public void consume(AudioFrame frame) throws InterruptedException {
+      delegate.consume(frame);
+
+      if (delegate.getRemainingCapacity() <= 0) {
+        // The next frame would wait for the buffer to drain, which should not keep other tracks waiting.
+        leaveSlot();
+      } else if (!holdingSlot) {
+        enterSlot();
+      } else if (++sliceFrames >= sliceFrameCount) {
+        sliceFrames = 0;
+
+        if (hasEarlierWaiter(getDeadline())) {
+          leaveSlot();
+          enterSlot();
+        }
+      }
+    }
+
+    /**
+     * Gives up the slot if it is held. Called when the track stops processing frames.
+     */
+    void leaveSlot() {
+      if (holdingSlot) {
+        holdingSlot = false;
+        release();
+      }
+    }
+
+    private void enterSlot() throws InterruptedException {
+      acquire(slot, getDeadline());
+      holdingSlot = true;
+      sliceFrames = 0;
+    }
+
+    private long getDeadline() {
+      int bufferedFrames = Math.max(0, delegate.getFullCapacity() - delegate.getRemainingCapacity());
+      return System.nanoTime() + bufferedFrames * slot.frameDurationNanos;
+    }
+
+    @Override
+    public void waitForTermination() throws InterruptedException {
+      leaveSlot();
+      delegate.waitForTermination();
+    }
+
+    @Override
+    public void rebuild(AudioFrameRebuilder rebuilder) {
+      delegate.rebuild(rebuilder);
+    }
+
+    @Override
+    public AudioFrame provide() {
+      return delegate.provide();
+    }
+
+    @Override
+    public AudioFrame provide(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
+      return delegate.provide(timeout, unit);
+    }
+
+    @Override
+    public boolean provide(MutableAudioFrame targetFrame) {
+      return delegate.provide(targetFrame);
+    }
+
+    @Override
+    public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
+        throws TimeoutException, InterruptedException {
+
+      return delegate.provide(targetFrame, timeout, unit);
+    }
+
+    @Override
+    public int getRemainingCapacity() {
+      return delegate.getRemainingCapacity();
+    }
+
+    @Override
+    public int getFullCapacity() {
+      return delegate.getFullCapacity();
+    }
+
+    @Override
+    public void setTerminateOnEmpty() {
+      delegate.setTerminateOnEmpty();
+    }
+
+    @Override
+    public void setClearOnInsert() {
+      delegate.setClearOnInsert();
+    }
+
+    @Override
+    public boolean hasClearOnInsert() {
+      return delegate.hasClearOnInsert();
+    }
+
+    @Override
+    public void clear() {
+      delegate.clear();
+    }
+
+    @Override
+    public void lockBuffer() {
+      delegate.lockBuffer();
+    }
+
+    @Override
+    public boolean hasReceivedFrames() {
+      return delegate.hasReceivedFrames();
+    }
+
+    @Override
+    public Long getLastInputTimecode() {
+      return delegate.getLastInputTimecode();
+    }
+  }
+}
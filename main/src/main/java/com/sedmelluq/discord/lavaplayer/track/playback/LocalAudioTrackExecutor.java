@@ -36,6 +36,7 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
   private final AudioProcessingContext processingContext;
   private final boolean useSeekGhosting;
   private final AudioFrameBuffer frameBuffer;
+  private final CooperativePlaybackScheduler.ScheduledAudioFrameBuffer scheduledBuffer;
   private final AtomicReference<Thread> playingThread = new AtomicReference<>();
   private final AtomicBoolean queuedStop = new AtomicBoolean(false);
   private final AtomicLong queuedSeek = new AtomicLong(-1);
@@ -59,7 +60,17 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
 
     this.audioTrack = audioTrack;
     AudioDataFormat currentFormat = configuration.getOutputFormat();
-    this.frameBuffer = configuration.getFrameBufferFactory().create(bufferDuration, currentFormat, queuedStop);
+    AudioFrameBuffer buffer = configuration.getFrameBufferFactory().create(bufferDuration, currentFormat, queuedStop);
+    CooperativePlaybackScheduler scheduler = configuration.getPlaybackScheduler();
+
+    if (scheduler != null) {
+      this.scheduledBuffer = scheduler.wrapBuffer(buffer, currentFormat);
+      this.frameBuffer = scheduledBuffer;
+    } else {
+      this.scheduledBuffer = null;
+      this.frameBuffer = buffer;
+    }
+
     this.processingContext = new AudioProcessingContext(configuration, frameBuffer, playerOptions, currentFormat);
     this.useSeekGhosting = useSeekGhosting;
   }
@@ -108,6 +119,8 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
           ExceptionTools.rethrowErrors(e);
         }
       } finally {
+        leaveScheduledSlot();
+
         synchronized (actionSynchronizer) {
           interrupt = interrupt != null ? interrupt : findInterrupt(null);
 
@@ -261,6 +274,8 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
         waitOnEnd();
       } catch (Exception e) {
         setInterruptibleForSeek(false);
+        // Seeking may wait for the input, which should not keep other tracks from processing frames.
+        leaveScheduledSlot();
         InterruptedException interruption = findInterrupt(e);
 
         if (interruption != null) {
@@ -272,6 +287,12 @@ public class LocalAudioTrackExecutor implements AudioTrackExecutor {
     }
   }
 
+  private void leaveScheduledSlot() {
+    if (scheduledBuffer != null) {
+      scheduledBuffer.leaveSlot();
+    }
+  }
+
   private void setInterruptibleForSeek(boolean state) {
     synchronized (actionSynchronizer) {
       interruptibleForSeek = state;
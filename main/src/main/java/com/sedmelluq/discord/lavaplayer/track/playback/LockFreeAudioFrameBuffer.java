@@ -0,0 +1,401 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audio frame buffer implementation for exactly one producer thread and one consumer thread, which does not use any
+ * locks. Frame details are kept in preallocated slots and the frame data in a byte array which is used as a ring buffer,
+ * same as in {@link NonAllocatingAudioFrameBuffer}. A thread which has to wait for the other side is parked and woken
+ * up by the other side directly.
+ *
+ * The consumer claims a frame by advancing the head index with a compare-and-set after copying it out, which allows
+ * {@link #clear()} to be called from any thread: a frame that was cleared while it was being copied is discarded.
+ */
+public class LockFreeAudioFrameBuffer implements AudioFrameBuffer {
+  private static final Logger log = LoggerFactory.getLogger(LockFreeAudioFrameBuffer.class);
+
+  private final AudioDataFormat format;
+  private final AtomicBoolean stopping;
+  private final int slotCount;
+  private final int worstCaseFrameCount;
+  private final long[] timecodes;
+  private final int[] volumes;
+  private final int[] offsets;
+  private final int[] lengths;
+  private final byte[] frameBuffer;
+  private final byte[] silenceBytes;
+  private final AtomicLong head;
+  private final AtomicLong tail;
+  private final AtomicBoolean terminateOnEmpty;
+  private final AtomicBoolean clearOnInsert;
+  private volatile boolean terminated;
+  private volatile boolean locked;
+  private volatile boolean receivedFrames;
+  private volatile Thread producerWaiter;
+  private volatile Thread consumerWaiter;
+  private MutableAudioFrame bridgeFrame;
+
+  /**
+   * @param bufferDuration The length of the internal buffer in milliseconds
+   * @param format The format of the frames held in this buffer
+   * @param stopping Atomic boolean which has true value when the track is in a state of pending stop.
+   */
+  public LockFreeAudioFrameBuffer(int bufferDuration, AudioDataFormat format, AtomicBoolean stopping) {
+    this.format = format;
+    this.stopping = stopping;
+    this.slotCount = bufferDuration / (int) format.frameDuration() + 1;
+    this.timecodes = new long[slotCount];
+    this.volumes = new int[slotCount];
+    this.offsets = new int[slotCount];
+    this.lengths = new int[slotCount];
+    this.frameBuffer = new byte[format.expectedChunkSize() * slotCount];
+    this.worstCaseFrameCount = frameBuffer.length / format.maximumChunkSize();
+    this.silenceBytes = format.silenceBytes();
+    this.head = new AtomicLong();
+    this.tail = new AtomicLong();
+    this.terminateOnEmpty = new AtomicBoolean();
+    this.clearOnInsert = new AtomicBoolean();
+  }
+
+  @Override
+  public int getRemainingCapacity() {
+    long currentHead = head.get();
+    long currentTail = tail.get();
+
+    if (currentHead >= currentTail) {
+      return worstCaseFrameCount;
+    }
+
+    int bufferHead = offsets[slotIndex(currentHead)];
+    int lastSlot = slotIndex(currentTail - 1);
+    int bufferTail = offsets[lastSlot] + lengths[lastSlot];
+    int maximumFrameSize = format.maximumChunkSize();
+    int freeSlots = slotCount - (int) (currentTail - currentHead);
+
+    if (bufferHead < bufferTail) {
+      return Math.min(freeSlots, (frameBuffer.length - bufferTail) / maximumFrameSize + bufferHead / maximumFrameSize);
+    } else {
+      return Math.min(freeSlots, (bufferHead - bufferTail) / maximumFrameSize);
+    }
+  }
+
+  @Override
+  public int getFullCapacity() {
+    return worstCaseFrameCount;
+  }
+
+  @Override
+  public void consume(AudioFrame frame) throws InterruptedException {
+    // Same as in other implementations, guarantees that stopped tracks cannot get stuck in this method even if the
+    // interrupt was consumed somewhere else.
+    if (stopping != null && stopping.get()) {
+      throw new InterruptedException();
+    }
+
+    if (locked) {
+      return;
+    }
+
+    receivedFrames = true;
+
+    // Only the thread which takes the request clears, so a request made concurrently is either handled here or stays
+    // pending for the next insert.
+    if (clearOnInsert.compareAndSet(true, false)) {
+      clear();
+    }
+
+    if (frame.getDataLength() > frameBuffer.length) {
+      throw new IllegalArgumentException("Frame is too big for buffer.");
+    }
+
+    if (!attemptStore(frame)) {
+      awaitStore(frame);
+    }
+
+    Thread waiter = consumerWaiter;
+    if (waiter != null) {
+      LockSupport.unpark(waiter);
+    }
+  }
+
+  private void awaitStore(AudioFrame frame) throws InterruptedException {
+    producerWaiter = Thread.currentThread();
+
+    try {
+      while (!attemptStore(frame)) {
+        LockSupport.park(this);
+
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      }
+    } finally {
+      producerWaiter = null;
+    }
+  }
+
+  private boolean attemptStore(AudioFrame frame) {
+    long currentHead = head.get();
+    long currentTail = tail.get();
+
+    if (currentTail - currentHead >= slotCount) {
+      return false;
+    }
+
+    int frameLength = frame.getDataLength();
+    int frameOffset;
+
+    if (currentHead >= currentTail) {
+      frameOffset = 0;
+    } else {
+      int bufferHead = offsets[slotIndex(currentHead)];
+      int lastSlot = slotIndex(currentTail - 1);
+      int bufferTail = offsets[lastSlot] + lengths[lastSlot];
+
+      if (bufferHead < bufferTail) {
+        if (bufferTail + frameLength <= frameBuffer.length) {
+          frameOffset = bufferTail;
+        } else if (bufferHead >= frameLength) {
+          frameOffset = 0;
+        } else {
+          return false;
+        }
+      } else if (bufferTail + frameLength <= bufferHead) {
+        frameOffset = bufferTail;
+      } else {
+        return false;
+      }
+    }
+
+    int slot = slotIndex(currentTail);
+    timecodes[slot] = frame.getTimecode();
+    volumes[slot] = frame.getVolume();
+    offsets[slot] = frameOffset;
+    lengths[slot] = frameLength;
+    frame.getData(frameBuffer, frameOffset);
+
+    tail.set(currentTail + 1);
+    return true;
+  }
+
+  @Override
+  public AudioFrame provide() {
+    if (provide(getBridgeFrame())) {
+      return unwrapBridgeFrame();
+    }
+
+    return null;
+  }
+
+  @Override
+  public AudioFrame provide(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
+    if (provide(getBridgeFrame(), timeout, unit)) {
+      return unwrapBridgeFrame();
+    }
+
+    return null;
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame) {
+    while (true) {
+      // Terminator flag must be read before the indices, it is only set after the last frame has been stored.
+      boolean terminatorPending = terminateOnEmpty.get();
+      long currentHead = head.get();
+
+      if (currentHead >= tail.get()) {
+        if (terminatorPending && terminateOnEmpty.compareAndSet(true, false)) {
+          terminated = true;
+          targetFrame.setTerminator(true);
+          wakeProducer();
+          return true;
+        }
+
+        return false;
+      }
+
+      int slot = slotIndex(currentHead);
+      int volume = volumes[slot];
+      int offset = offsets[slot];
+      int length = lengths[slot];
+
+      if (offset < 0 || length < 0 || offset + length > frameBuffer.length) {
+        // Slot was overwritten after a concurrent clear.
+        continue;
+      }
+
+      targetFrame.setTimecode(timecodes[slot]);
+      targetFrame.setVolume(volume);
+      targetFrame.setTerminator(false);
+
+      if (volume == 0) {
+        targetFrame.store(silenceBytes, 0, silenceBytes.length);
+      } else {
+        targetFrame.store(frameBuffer, offset, length);
+      }
+
+      // If this fails, the buffer was cleared meanwhile and what was copied may have been overwritten already.
+      if (head.compareAndSet(currentHead, currentHead + 1)) {
+        wakeProducer();
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
+      throws TimeoutException, InterruptedException {
+
+    if (provide(targetFrame)) {
+      return true;
+    } else if (timeout <= 0) {
+      return false;
+    }
+
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    consumerWaiter = Thread.currentThread();
+
+    try {
+      while (!provide(targetFrame)) {
+        long remaining = deadline - System.nanoTime();
+
+        if (remaining <= 0) {
+          throw new TimeoutException();
+        }
+
+        LockSupport.parkNanos(this, remaining);
+
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      }
+
+      return true;
+    } finally {
+      consumerWaiter = null;
+    }
+  }
+
+  @Override
+  public void waitForTermination() throws InterruptedException {
+    producerWaiter = Thread.currentThread();
+
+    try {
+      while (!terminated) {
+        LockSupport.park(this);
+
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+      }
+    } finally {
+      producerWaiter = null;
+    }
+  }
+
+  @Override
+  public void setTerminateOnEmpty() {
+    // Count this also as inserting the terminator frame, hence trigger clearOnInsert
+    if (clearOnInsert.compareAndSet(true, false)) {
+      clear();
+    }
+
+    if (!terminated) {
+      terminateOnEmpty.set(true);
+
+      Thread waiter = consumerWaiter;
+      if (waiter != null) {
+        LockSupport.unpark(waiter);
+      }
+    }
+  }
+
+  @Override
+  public void setClearOnInsert() {
+    clearOnInsert.set(true);
+    terminateOnEmpty.set(false);
+  }
+
+  @Override
+  public boolean hasClearOnInsert() {
+    return clearOnInsert.get();
+  }
+
+  @Override
+  public void clear() {
+    long currentTail = tail.get();
+    long currentHead;
+
+    do {
+      currentHead = head.get();
+    } while (currentHead < currentTail && !head.compareAndSet(currentHead, currentTail));
+
+    wakeProducer();
+  }
+
+  @Override
+  public void rebuild(AudioFrameRebuilder rebuilder) {
+    log.debug("Frame rebuild not supported on lock-free frame buffer yet.");
+  }
+
+  @Override
+  public void lockBuffer() {
+    locked = true;
+  }
+
+  @Override
+  public boolean hasReceivedFrames() {
+    return receivedFrames;
+  }
+
+  @Override
+  public Long getLastInputTimecode() {
+    long currentTail = tail.get();
+
+    if (!clearOnInsert.get() && head.get() < currentTail) {
+      return timecodes[slotIndex(currentTail - 1)];
+    }
+
+    return null;
+  }
+
+  private void wakeProducer() {
+    Thread waiter = producerWaiter;
+
+    if (waiter != null) {
+      LockSupport.unpark(waiter);
+    }
+  }
+
+  private int slotIndex(long position) {
+    return (int) (position % slotCount);
+  }
+
+  private MutableAudioFrame getBridgeFrame() {
+    if (bridgeFrame == null) {
+      bridgeFrame = new MutableAudioFrame();
+      bridgeFrame.setFormat(format);
+      bridgeFrame.setBuffer(ByteBuffer.allocate(format.maximumChunkSize()));
+    }
+
+    return bridgeFrame;
+  }
+
+  private AudioFrame unwrapBridgeFrame() {
+    if (bridgeFrame.isTerminator()) {
+      return TerminatorAudioFrame.INSTANCE;
+    } else {
+      return new ImmutableAudioFrame(bridgeFrame.getTimecode(), bridgeFrame.getData(), bridgeFrame.getVolume(),
+          bridgeFrame.getFormat());
+    }
+  }
+}
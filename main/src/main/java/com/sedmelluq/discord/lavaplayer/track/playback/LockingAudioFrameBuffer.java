@@ -0,0 +1,67 @@
+package com.sedmelluq.discord.lavaplayer.track.playback;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Base for the built-in frame buffers, which wait via a lock condition instead of the object monitor of
+ * {@link AbstractAudioFrameBuffer}, so that threads blocked on the buffer do not pin the carrier thread when running on
+ * virtual threads. The monitor of the base class is not used by these buffers at all.
+ */
+abstract class LockingAudioFrameBuffer extends AbstractAudioFrameBuffer {
+  protected final ReentrantLock lock;
+  protected final Condition condition;
+
+  protected LockingAudioFrameBuffer(AudioDataFormat format) {
+    super(format);
+    this.lock = new ReentrantLock();
+    this.condition = lock.newCondition();
+  }
+
+  @Override
+  public void waitForTermination() throws InterruptedException {
+    lock.lock();
+
+    try {
+      while (!terminated) {
+        condition.await();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void setTerminateOnEmpty() {
+    lock.lock();
+
+    try {
+      // Count this also as inserting the terminator frame, hence trigger clearOnInsert
+      if (clearOnInsert) {
+        clear();
+        clearOnInsert = false;
+      }
+
+      if (!terminated) {
+        terminateOnEmpty = true;
+        signalWaiters();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void setClearOnInsert() {
+    lock.lock();
+
+    try {
+      clearOnInsert = true;
+      terminateOnEmpty = false;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -12,11 +12,17 @@ import java.util.concurrent.atomic.AtomicBoolean;
 /**
  * Audio frame buffer implementation which never allocates any new objects after creation. All instances of mutable
  * frames are preallocated, and for the data there is one byte buffer which is used as a ring buffer for the frame data.
+ *
+ * When a refill duration is specified, a producer which found the buffer full is only woken up once at least that
+ * much space has been freed, so that it decodes frames in batches instead of waking up for every consumed frame. This
+ * only reduces how often the producer wakes up, to also limit how many tracks process frames at the same time, see
+ * {@link CooperativePlaybackScheduler}.
  */
-public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
+public class NonAllocatingAudioFrameBuffer extends LockingAudioFrameBuffer {
   private static final Logger log = LoggerFactory.getLogger(NonAllocatingAudioFrameBuffer.class);
 
   private final int worstCaseFrameCount;
+  private final int refillFrameCount;
   private final ReferenceMutableAudioFrame[] frames;
   private final ReferenceMutableAudioFrame silentFrame;
   private final AtomicBoolean stopping;
@@ -25,6 +31,7 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
   private final byte[] frameBuffer;
   private int firstFrame;
   private int frameCount;
+  private boolean awaitingRefill;
 
   /**
    * @param bufferDuration The length of the internal buffer in milliseconds
@@ -32,12 +39,26 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
    * @param stopping Atomic boolean which has true value when the track is in a state of pending stop.
    */
   public NonAllocatingAudioFrameBuffer(int bufferDuration, AudioDataFormat format, AtomicBoolean stopping) {
+    this(bufferDuration, format, stopping, 0);
+  }
+
+  /**
+   * @param bufferDuration The length of the internal buffer in milliseconds
+   * @param format The format of the frames held in this buffer
+   * @param stopping Atomic boolean which has true value when the track is in a state of pending stop.
+   * @param refillDuration Duration of frames in milliseconds which must be consumed from a full buffer before the
+   *                       producer is allowed to continue. Zero means that it continues after every consumed frame.
+   */
+  public NonAllocatingAudioFrameBuffer(int bufferDuration, AudioDataFormat format, AtomicBoolean stopping,
+                                       int refillDuration) {
+
     super(format);
     int maximumFrameCount = bufferDuration / (int) format.frameDuration() + 1;
     frames = createFrames(maximumFrameCount, format);
     silentFrame = createSilentFrame(format);
     this.frameBuffer = new byte[format.expectedChunkSize() * maximumFrameCount];
     worstCaseFrameCount = frameBuffer.length / format.maximumChunkSize();
+    refillFrameCount = Math.max(1, Math.min(refillDuration / (int) format.frameDuration(), maximumFrameCount));
     this.stopping = stopping;
   }
 
@@ -46,7 +67,9 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
    */
   @Override
   public int getRemainingCapacity() {
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       if (frameCount == 0) {
         return worstCaseFrameCount;
       }
@@ -57,12 +80,15 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
       int bufferTail = frames[lastFrame].getFrameEndOffset();
 
       int maximumFrameSize = format.maximumChunkSize();
+      int freeFrames = frames.length - frameCount;
 
       if (bufferHead < bufferTail) {
-        return (frameBuffer.length - bufferTail) / maximumFrameSize + bufferHead / maximumFrameSize;
+        return Math.min(freeFrames, (frameBuffer.length - bufferTail) / maximumFrameSize + bufferHead / maximumFrameSize);
       } else {
-        return (bufferHead - bufferTail) / maximumFrameSize;
+        return Math.min(freeFrames, (bufferHead - bufferTail) / maximumFrameSize);
       }
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -83,7 +109,9 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
       throw new InterruptedException();
     }
 
-    synchronized (synchronizer) {
+    lock.lockInterruptibly();
+
+    try {
       if (!locked) {
         receivedFrames = true;
 
@@ -93,51 +121,66 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
         }
 
         while (!attemptStore(frame)) {
-          synchronizer.wait();
+          awaitingRefill = true;
+          condition.await();
         }
 
-        synchronizer.notifyAll();
+        condition.signalAll();
       }
+    } finally {
+      lock.unlock();
     }
   }
 
   @Override
   public AudioFrame provide() {
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       if (provide(getBridgeFrame())) {
         return unwrapBridgeFrame();
       }
 
       return null;
+    } finally {
+      lock.unlock();
     }
   }
 
   @Override
   public AudioFrame provide(long timeout, TimeUnit unit) throws TimeoutException, InterruptedException {
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       if (provide(getBridgeFrame(), timeout, unit)) {
         return unwrapBridgeFrame();
       }
 
       return null;
+    } finally {
+      lock.unlock();
     }
   }
 
   @Override
   public boolean provide(MutableAudioFrame targetFrame) {
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       if (frameCount == 0) {
         if (terminateOnEmpty) {
           popPendingTerminator(targetFrame);
-          synchronizer.notifyAll();
+          condition.signalAll();
           return true;
         }
         return false;
       } else {
         popFrame(targetFrame);
-        synchronizer.notifyAll();
+        signalRefill();
         return true;
       }
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -145,28 +188,30 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
   public boolean provide(MutableAudioFrame targetFrame, long timeout, TimeUnit unit)
       throws TimeoutException, InterruptedException {
 
-    long currentTime = System.nanoTime();
-    long endTime = currentTime + unit.toMillis(timeout);
+    long remainingNanos = unit.toNanos(timeout);
 
-    synchronized (synchronizer) {
+    lock.lockInterruptibly();
+
+    try {
       while (frameCount == 0) {
         if (terminateOnEmpty) {
           popPendingTerminator(targetFrame);
-          synchronizer.notifyAll();
+          condition.signalAll();
           return true;
-        }
-
-        synchronizer.wait(endTime - currentTime);
-        currentTime = System.nanoTime();
-
-        if (currentTime >= endTime) {
+        } else if (timeout <= 0) {
+          return false;
+        } else if (remainingNanos <= 0) {
           throw new TimeoutException();
         }
+
+        remainingNanos = condition.awaitNanos(remainingNanos);
       }
 
       popFrame(targetFrame);
-      synchronizer.notifyAll();
+      signalRefill();
       return true;
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -187,6 +232,13 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
     frameCount--;
   }
 
+  private void signalRefill() {
+    if (awaitingRefill && (frameCount == 0 || frames.length - frameCount >= refillFrameCount)) {
+      awaitingRefill = false;
+      condition.signalAll();
+    }
+  }
+
   private void popPendingTerminator(MutableAudioFrame frame) {
     terminateOnEmpty = false;
     terminated = true;
@@ -196,8 +248,13 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
 
   @Override
   public void clear() {
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       frameCount = 0;
+      signalRefill();
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -208,10 +265,14 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
 
   @Override
   public Long getLastInputTimecode() {
-    synchronized (synchronizer) {
+    lock.lock();
+
+    try {
       if (!clearOnInsert && frameCount > 0) {
         return frames[wrappedFrameIndex(firstFrame + frameCount - 1)].getTimecode();
       }
+    } finally {
+      lock.unlock();
     }
 
     return null;
@@ -313,8 +374,12 @@ public class NonAllocatingAudioFrameBuffer extends AbstractAudioFrameBuffer {
 
   @Override
   protected void signalWaiters() {
-    synchronized (synchronizer) {
-      synchronizer.notifyAll();
+    lock.lock();
+
+    try {
+      condition.signalAll();
+    } finally {
+      lock.unlock();
     }
   }
 }
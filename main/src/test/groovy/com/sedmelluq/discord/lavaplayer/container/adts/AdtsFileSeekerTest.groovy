@@ -0,0 +1,146 @@
+package com.sedmelluq.discord.lavaplayer.container.adts
+
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider
+import spock.lang.Specification
+
+class AdtsFileSeekerTest extends Specification {
+  private static final int PACKET_SIZE = 400
+  private static final int SAMPLE_RATE = 44100
+
+  def "seeking to a packet continues from its header"() {
+    given:
+    def stream = new MemoryStream(createFile(packetCount, truncatedSize))
+    def seeker = AdtsFileSeeker.create(stream)
+
+    when:
+    long timecode = seeker.seekToTimecode(timecodeOfPacket(target))
+
+    then:
+    timecode == startOfPacket(target)
+    stream.position == target * PACKET_SIZE
+
+    where:
+    packetCount | truncatedSize | target
+    200         | 0             | 0
+    200         | 0             | 100
+    200         | 0             | 199
+    200         | 150           | 100
+    200         | 150           | 199
+  }
+
+  def "seeking to a truncated last packet ends at the end of the file"() {
+    given:
+    byte[] file = createFile(packetCount, 150)
+    def stream = new MemoryStream(file)
+    def seeker = AdtsFileSeeker.create(stream)
+
+    when:
+    long timecode = seeker.seekToTimecode(timecodeOfPacket(packetCount))
+
+    then:
+    timecode == seeker.duration
+    stream.position == file.length
+
+    where:
+    packetCount << [20, 200]
+  }
+
+  def "truncated last packet is not counted when measuring a short file"() {
+    given:
+    byte[] file = createFile(20, 150)
+
+    when:
+    def seeker = AdtsFileSeeker.create(new MemoryStream(file))
+
+    then:
+    seeker.duration == startOfPacket(20)
+  }
+
+  def "file without any complete packet cannot be seeked"() {
+    expect:
+    AdtsFileSeeker.create(new MemoryStream(createFile(0, 150))) == null
+  }
+
+  private static long startOfPacket(long packetIndex) {
+    return (packetIndex * 1024 * 1000).intdiv(SAMPLE_RATE)
+  }
+
+  private static long timecodeOfPacket(long packetIndex) {
+    return (long) Math.ceil(packetIndex * 1024 * 1000 / (double) SAMPLE_RATE)
+  }
+
+  private static byte[] createFile(int packetCount, int truncatedSize) {
+    def output = new ByteArrayOutputStream()
+
+    for (int i = 0; i < packetCount; i++) {
+      output.write(createPacket())
+    }
+
+    // The header of the last packet declares the full packet size, but the file ends before the packet does.
+    output.write(createPacket(), 0, truncatedSize)
+    return output.toByteArray()
+  }
+
+  private static byte[] createPacket() {
+    byte[] packet = new byte[PACKET_SIZE]
+
+    // AAC LC at 44100Hz with two channels, without CRC.
+    packet[0] = (byte) 0xFF
+    packet[1] = (byte) 0xF1
+    packet[2] = (byte) 0x50
+    packet[3] = (byte) (0x80 | (PACKET_SIZE >> 11) & 0x03)
+    packet[4] = (byte) ((PACKET_SIZE >> 3) & 0xFF)
+    packet[5] = (byte) ((PACKET_SIZE & 0x07) << 5 | 0x1F)
+    packet[6] = (byte) 0xFC
+    return packet
+  }
+
+  private static class MemoryStream extends SeekableInputStream {
+    private final byte[] content
+    private long position
+
+    MemoryStream(byte[] content) {
+      super(content.length, 0)
+      this.content = content
+    }
+
+    @Override
+    long getPosition() {
+      return position
+    }
+
+    @Override
+    protected void seekHard(long target) {
+      position = target
+    }
+
+    @Override
+    boolean canSeekHard() {
+      return true
+    }
+
+    @Override
+    List<AudioTrackInfoProvider> getTrackInfoProviders() {
+      return []
+    }
+
+    @Override
+    int read() {
+      byte[] single = new byte[1]
+      return read(single, 0, 1) == 1 ? single[0] & 0xFF : -1
+    }
+
+    @Override
+    int read(byte[] buffer, int offset, int length) {
+      if (position >= content.length) {
+        return -1
+      }
+
+      int count = (int) Math.min(length, content.length - position)
+      System.arraycopy(content, (int) position, buffer, offset, count)
+      position += count
+      return count
+    }
+  }
+}
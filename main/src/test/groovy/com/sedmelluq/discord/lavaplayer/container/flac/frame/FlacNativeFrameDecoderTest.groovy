@@ -0,0 +1,222 @@
+package com.sedmelluq.discord.lavaplayer.container.flac.frame
+
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacFileLoader
+import com.sedmelluq.discord.lavaplayer.container.flac.FlacTrackInfo
+import com.sedmelluq.discord.lavaplayer.container.ogg.OggPacketInputStream
+import com.sedmelluq.discord.lavaplayer.container.ogg.OggTrackLoader
+import com.sedmelluq.discord.lavaplayer.container.ogg.flac.OggFlacTrackHandler
+import com.sedmelluq.discord.lavaplayer.source.local.LocalSeekableInputStream
+import org.apache.commons.io.IOUtils
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.lang.Timeout
+import spock.lang.Unroll
+
+import java.nio.file.Files
+
+/**
+ * Skipped when the connector library has no FLAC support, which is the case with the released lavaplayer-natives
+ * 1.3.13. Setting the system property lavaplayer.test.requireNativeFlac makes it fail instead, see the test task in
+ * build.gradle for running it against a locally built connector.
+ */
+@Timeout(60)
+@Requires({ Boolean.getBoolean('lavaplayer.test.requireNativeFlac') || FlacFrameDecoderFactory.isNativeAvailable() })
+class FlacNativeFrameDecoderTest extends Specification {
+  static File temporaryDirectory
+
+  def setupSpec() {
+    temporaryDirectory = Files.createTempDirectory('lavaplayer-flac-samples').toFile()
+  }
+
+  def cleanupSpec() {
+    temporaryDirectory.deleteDir()
+  }
+
+  @Unroll
+  def "native decoder output matches Java decoder for #filename"(String filename) {
+    File file = extractSample(filename)
+
+    expect:
+    compareDecoders(file, 0) == 0
+
+    where:
+    filename << ['demo-flac-44100-16bit.flac', 'demo-flac-48000-8bit.flac', 'demo-flac-48000-16bit.flac',
+                 'demo-flac-48000-24bit.flac']
+  }
+
+  @Unroll
+  def "native decoder output matches Java decoder after reset for #filename"(String filename) {
+    File file = extractSample(filename)
+
+    expect:
+    compareDecoders(file, 20) == 0
+
+    where:
+    filename << ['demo-flac-44100-16bit.flac', 'demo-flac-48000-24bit.flac']
+  }
+
+  @Unroll
+  def "native decoder output matches Java decoder for Ogg FLAC #filename"(String filename) {
+    File file = extractSample(filename)
+
+    expect:
+    compareOggDecoders(file) == 0
+
+    where:
+    filename << ['demo-oggflac-44100-16bit.ogg', 'demo-oggflac-48000-16bit.ogg']
+  }
+
+  /**
+   * Decodes the file with both decoders and compares the samples of every frame. If resetAfterFrames is not zero, both
+   * input streams are rewound to the first frame after that many frames and the decoders are reset.
+   *
+   * @return Number of frames which did not match
+   */
+  private static int compareDecoders(File file, int resetAfterFrames) {
+    int mismatches = 0
+
+    new LocalSeekableInputStream(file).withCloseable { javaStream ->
+      new LocalSeekableInputStream(file).withCloseable { nativeStream ->
+        FlacTrackInfo trackInfo = new FlacFileLoader(javaStream).parseHeaders()
+        javaStream.seek(trackInfo.firstFramePosition)
+        nativeStream.seek(trackInfo.firstFramePosition)
+
+        FlacFrameDecoder javaDecoder = new FlacJavaFrameDecoder(trackInfo.stream, javaStream)
+        FlacFrameDecoder nativeDecoder = new FlacNativeFrameDecoder(trackInfo.stream, nativeStream)
+
+        short[][] javaSamples = new short[trackInfo.stream.channelCount][trackInfo.stream.maximumBlockSize]
+        short[][] nativeSamples = new short[trackInfo.stream.channelCount][trackInfo.stream.maximumBlockSize]
+
+        try {
+          int frameIndex = 0
+
+          while (true) {
+            if (resetAfterFrames > 0 && frameIndex == resetAfterFrames) {
+              javaStream.seek(trackInfo.firstFramePosition)
+              nativeStream.seek(trackInfo.firstFramePosition)
+              javaDecoder.reset()
+              nativeDecoder.reset()
+            }
+
+            int sampleCount = compareNextFrame(javaDecoder, nativeDecoder, javaSamples, nativeSamples)
+
+            if (sampleCount < 0) {
+              mismatches++
+              break
+            } else if (sampleCount == 0) {
+              break
+            }
+
+            frameIndex++
+          }
+        } finally {
+          nativeDecoder.close()
+        }
+      }
+    }
+
+    return mismatches
+  }
+
+  /**
+   * Decodes the Ogg FLAC file with both decoders the same way as the Ogg FLAC track handler does: the decoders are reset
+   * before each packet and the end of the packet is the end of the stream for them.
+   *
+   * @return Number of packets which did not match
+   */
+  private static int compareOggDecoders(File file) {
+    int mismatches = 0
+
+    new LocalSeekableInputStream(file).withCloseable { javaStream ->
+      new LocalSeekableInputStream(file).withCloseable { nativeStream ->
+        OggPacketInputStream javaPackets = new OggPacketInputStream(javaStream)
+        OggPacketInputStream nativePackets = new OggPacketInputStream(nativeStream)
+        FlacTrackInfo trackInfo = loadOggTrackInfo(javaPackets)
+        loadOggTrackInfo(nativePackets)
+
+        FlacFrameDecoder javaDecoder = new FlacJavaFrameDecoder(trackInfo.stream, javaPackets)
+        FlacFrameDecoder nativeDecoder = new FlacNativeFrameDecoder(trackInfo.stream, nativePackets)
+
+        short[][] javaSamples = new short[trackInfo.stream.channelCount][trackInfo.stream.maximumBlockSize]
+        short[][] nativeSamples = new short[trackInfo.stream.channelCount][trackInfo.stream.maximumBlockSize]
+
+        try {
+          int packetCount = 0
+
+          while (javaPackets.startNewPacket()) {
+            if (!nativePackets.startNewPacket()) {
+              mismatches++
+              break
+            }
+
+            javaDecoder.reset()
+            nativeDecoder.reset()
+
+            // Every packet contains one frame, so running out of data within a packet is a mismatch as well.
+            if (compareNextFrame(javaDecoder, nativeDecoder, javaSamples, nativeSamples) <= 0) {
+              mismatches++
+            }
+
+            packetCount++
+          }
+
+          if (packetCount == 0 || nativePackets.startNewPacket()) {
+            mismatches++
+          }
+        } finally {
+          nativeDecoder.close()
+        }
+      }
+    }
+
+    return mismatches
+  }
+
+  private static FlacTrackInfo loadOggTrackInfo(OggPacketInputStream packets) {
+    OggFlacTrackHandler handler = (OggFlacTrackHandler) OggTrackLoader.loadTrackHandler(packets)
+
+    try {
+      return handler.@info
+    } finally {
+      handler.close()
+    }
+  }
+
+  /**
+   * @return Number of samples decoded by both decoders, -1 if the decoders did not return the same samples
+   */
+  private static int compareNextFrame(FlacFrameDecoder javaDecoder, FlacFrameDecoder nativeDecoder,
+                                      short[][] javaSamples, short[][] nativeSamples) {
+
+    int javaCount = javaDecoder.decodeFrame(javaSamples)
+    int nativeCount = nativeDecoder.decodeFrame(nativeSamples)
+
+    if (javaCount != nativeCount) {
+      return -1
+    }
+
+    for (int channel = 0; channel < javaSamples.length; channel++) {
+      if (!Arrays.equals(Arrays.copyOf(javaSamples[channel], javaCount),
+          Arrays.copyOf(nativeSamples[channel], javaCount))) {
+
+        return -1
+      }
+    }
+
+    return javaCount
+  }
+
+  private static File extractSample(String filename) {
+    File file = new File(temporaryDirectory, filename)
+
+    if (!file.exists()) {
+      file.withOutputStream { out ->
+        FlacNativeFrameDecoderTest.class.getResourceAsStream("/test-samples/" + filename).withCloseable { input ->
+          IOUtils.copy(input, out)
+        }
+      }
+    }
+
+    return file
+  }
+}
@@ -0,0 +1,187 @@
+package com.sedmelluq.discord.lavaplayer.container.mp3
+
+import com.sedmelluq.discord.lavaplayer.natives.mp3.Mp3Decoder
+import com.sedmelluq.discord.lavaplayer.tools.io.SeekableInputStream
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider
+import spock.lang.Specification
+
+class Mp3FrameIndexSeekerTest extends Specification {
+  // MPEG-1 layer III frame headers at 44100Hz, at 128kbps and 320kbps.
+  private static final byte[] SMALL_FRAME_HEADER = [0xFF, 0xFB, 0x90, 0x00] as byte[]
+  private static final byte[] LARGE_FRAME_HEADER = [0xFF, 0xFB, 0xE0, 0x00] as byte[]
+  private static final int FIRST_FRAME_POSITION = 100
+
+  def "seeking beyond the indexed part of a local file scans to the exact frame"() {
+    given:
+    def file = new Mp3File(300, 0)
+    def stream = new MemoryStream(file.content, 0)
+    def seeker = file.createSeeker(stream)
+
+    when:
+    long frameIndex = seeker.seekAndGetFrameIndex(timecodeOfFrame(target), stream)
+
+    then:
+    frameIndex == target
+    stream.position == file.framePositions[target]
+
+    where:
+    target << [0, 1, 31, 32, 33, 200, 299]
+  }
+
+  def "seeking past a part which is not a frame uses an estimated position"() {
+    given:
+    def file = new Mp3File(200, 500, 100)
+    def stream = new MemoryStream(file.content, 0)
+    def seeker = file.createSeeker(stream)
+
+    when:
+    long missedIndex = seeker.seekAndGetFrameIndex(timecodeOfFrame(250), stream)
+    long missedPosition = stream.position
+    long indexedIndex = seeker.seekAndGetFrameIndex(timecodeOfFrame(150), stream)
+
+    then:
+    missedIndex == 250
+    missedPosition == file.estimatePosition(200, 250)
+    indexedIndex == 150
+    stream.position == file.framePositions[150]
+  }
+
+  def "seeking beyond the end of the file stops at the end of the file"() {
+    given:
+    def file = new Mp3File(100, 0)
+    def stream = new MemoryStream(file.content, 0)
+    def seeker = file.createSeeker(stream)
+
+    when:
+    long frameIndex = seeker.seekAndGetFrameIndex(timecodeOfFrame(1000), stream)
+
+    then:
+    frameIndex == 1000
+    stream.position == file.content.length
+  }
+
+  def "seeking far beyond the indexed part of a stream which cannot skip uses an estimated position"() {
+    given:
+    def file = new Mp3File(300, 0)
+    def stream = new MemoryStream(file.content, 2000)
+    def seeker = file.createSeeker(stream)
+
+    when:
+    long frameIndex = seeker.seekAndGetFrameIndex(timecodeOfFrame(150), stream)
+
+    then:
+    frameIndex == 150
+    stream.position == file.estimatePosition(1, 150)
+  }
+
+  def "frames read during playback make seeks exact in a stream which cannot skip"() {
+    given:
+    def file = new Mp3File(300, 0)
+    def stream = new MemoryStream(file.content, 2000)
+    def seeker = file.createSeeker(stream)
+
+    for (int i = 1; i < 260; i++) {
+      seeker.frameRead(file.framePositions[i], file.frameSizes[i])
+    }
+
+    when:
+    long frameIndex = seeker.seekAndGetFrameIndex(timecodeOfFrame(250), stream)
+
+    then:
+    frameIndex == 250
+    stream.position == file.framePositions[250]
+  }
+
+  private static long timecodeOfFrame(long frameIndex) {
+    return (long) Math.ceil(frameIndex * Mp3Decoder.MPEG1_SAMPLES_PER_FRAME * 1000 / 44100d)
+  }
+
+  private static class Mp3File {
+    final List<Long> framePositions = []
+    final List<Integer> frameSizes = []
+    final byte[] content
+
+    Mp3File(int frameCount, int junkSize, int framesAfterJunk = 0) {
+      def output = new ByteArrayOutputStream()
+      output.write(new byte[FIRST_FRAME_POSITION])
+
+      for (int i = 0; i < frameCount + framesAfterJunk; i++) {
+        if (i == frameCount) {
+          output.write(new byte[junkSize])
+        }
+
+        // Every third frame has a higher bitrate, so that the frame sizes vary.
+        byte[] header = i % 3 == 0 ? LARGE_FRAME_HEADER : SMALL_FRAME_HEADER
+        int frameSize = Mp3Decoder.getFrameSize(header, 0)
+
+        framePositions << (long) output.size()
+        frameSizes << frameSize
+
+        output.write(header)
+        output.write(new byte[frameSize - header.length])
+      }
+
+      content = output.toByteArray()
+    }
+
+    Mp3FrameIndexSeeker createSeeker(SeekableInputStream stream) {
+      byte[] firstFrame = Arrays.copyOfRange(content, FIRST_FRAME_POSITION, FIRST_FRAME_POSITION + frameSizes[0])
+      stream.seek(FIRST_FRAME_POSITION + frameSizes[0])
+      return Mp3FrameIndexSeeker.createFromFrame(stream, FIRST_FRAME_POSITION, content.length, firstFrame)
+    }
+
+    long estimatePosition(int indexedFrameCount, int frameIndex) {
+      long indexedEnd = framePositions[indexedFrameCount - 1] + frameSizes[indexedFrameCount - 1]
+      double averageFrameSize = (double) (indexedEnd - FIRST_FRAME_POSITION) / indexedFrameCount
+      return indexedEnd + (long) ((frameIndex - indexedFrameCount) * averageFrameSize)
+    }
+  }
+
+  private static class MemoryStream extends SeekableInputStream {
+    private final byte[] content
+    private long position
+
+    MemoryStream(byte[] content, long maxSkipDistance) {
+      super(content.length, maxSkipDistance)
+      this.content = content
+    }
+
+    @Override
+    long getPosition() {
+      return position
+    }
+
+    @Override
+    protected void seekHard(long target) {
+      position = target
+    }
+
+    @Override
+    boolean canSeekHard() {
+      return true
+    }
+
+    @Override
+    List<AudioTrackInfoProvider> getTrackInfoProviders() {
+      return []
+    }
+
+    @Override
+    int read() {
+      byte[] single = new byte[1]
+      return read(single, 0, 1) == 1 ? single[0] & 0xFF : -1
+    }
+
+    @Override
+    int read(byte[] buffer, int offset, int length) {
+      if (position >= content.length) {
+        return -1
+      }
+
+      int count = (int) Math.min(length, content.length - position)
+      System.arraycopy(content, (int) position, buffer, offset, count)
+      position += count
+      return count
+    }
+  }
+}
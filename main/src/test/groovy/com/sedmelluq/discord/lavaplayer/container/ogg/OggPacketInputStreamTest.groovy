@@ -0,0 +1,107 @@
+package com.sedmelluq.discord.lavaplayer.container.ogg
+
+import com.sedmelluq.discord.lavaplayer.source.local.LocalSeekableInputStream
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.file.Files
+
+class OggPacketInputStreamTest extends Specification {
+  private static final int PAGE_COUNT = 200
+  private static final int PACKET_SIZE = 1000
+  private static final int STREAM_IDENTIFIER = 0x1234
+
+  File file
+  LocalSeekableInputStream inputStream
+  OggPacketInputStream packetStream
+
+  def setup() {
+    file = Files.createTempFile('lavaplayer-ogg', '.ogg').toFile()
+    file.bytes = createStream()
+
+    inputStream = new LocalSeekableInputStream(file)
+    packetStream = new OggPacketInputStream(inputStream)
+    packetStream.startNewTrack()
+    packetStream.startNewPacket()
+  }
+
+  def cleanup() {
+    inputStream?.close()
+    file?.delete()
+  }
+
+  def "seeking continues from the packet after the last page at or before the target"() {
+    when:
+    long position = packetStream.seekToGranulePosition(target)
+
+    then:
+    position == expectedPosition
+    packetStream.startNewPacket()
+    packetStream.read() == expectedPacket
+
+    where:
+    target | expectedPosition | expectedPacket
+    0      | 0                | 1
+    50500  | 50000            | 51
+    120000 | 120000           | 121
+    198999 | 198000           | 199
+  }
+
+  def "seeking backwards after seeking forwards uses the pages seen before"() {
+    when:
+    packetStream.seekToGranulePosition(150000)
+    long position = packetStream.seekToGranulePosition(30000)
+
+    then:
+    position == 30000
+    packetStream.startNewPacket()
+    packetStream.read() == 31
+  }
+
+  def "seeking past the end of the track leaves the stream at the end of the track"() {
+    when:
+    long position = packetStream.seekToGranulePosition(target)
+
+    then:
+    position == (PAGE_COUNT - 1) * PACKET_SIZE
+    !packetStream.startNewPacket()
+
+    where:
+    target << [(PAGE_COUNT - 1) * PACKET_SIZE, PAGE_COUNT * PACKET_SIZE, Long.MAX_VALUE]
+  }
+
+  private static byte[] createStream() {
+    def output = new ByteArrayOutputStream()
+
+    for (int i = 0; i < PAGE_COUNT; i++) {
+      int flags = (i == 0 ? 0x02 : 0) | (i == PAGE_COUNT - 1 ? 0x04 : 0)
+      output.write(createPage(flags, i * PACKET_SIZE, i))
+    }
+
+    return output.toByteArray()
+  }
+
+  private static byte[] createPage(int flags, long granulePosition, int sequence) {
+    int fullSegments = PACKET_SIZE.intdiv(255)
+    int segmentCount = fullSegments + 1
+    def page = ByteBuffer.allocate(27 + segmentCount + PACKET_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+
+    page.put('OggS'.bytes)
+    page.put((byte) 0)
+    page.put((byte) flags)
+    page.putLong(granulePosition)
+    page.putInt(STREAM_IDENTIFIER)
+    page.putInt(sequence)
+    page.putInt(0)
+    page.put((byte) segmentCount)
+
+    fullSegments.times { page.put((byte) 255) }
+    page.put((byte) (PACKET_SIZE % 255))
+
+    // Every byte of the packet is the index of its page, to identify where the stream continues after seeking.
+    PACKET_SIZE.times { page.put((byte) sequence) }
+
+    return page.array()
+  }
+}
@@ -0,0 +1,39 @@
+package com.sedmelluq.discord.lavaplayer.filter
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBufferFactory
+import com.sedmelluq.discord.lavaplayer.track.playback.LockFreeAudioFrameBuffer
+import com.sedmelluq.discord.lavaplayer.track.playback.NonAllocatingAudioFrameBuffer
+import spock.lang.Specification
+import spock.lang.Timeout
+import spock.lang.Unroll
+
+import static com.sedmelluq.discord.lavaplayer.filter.EncodingAllocationTestTools.measureAllocatedBytes
+import static com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats.DISCORD_OPUS
+import static com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats.DISCORD_PCM_S16_BE
+
+@Timeout(60)
+class BufferingPostProcessorAllocationTest extends Specification {
+  static final int CHUNK_COUNT = 10000
+
+  static final AudioFrameBufferFactory NON_ALLOCATING =
+      { duration, format, stopping -> new NonAllocatingAudioFrameBuffer(duration, format, stopping) }
+  static final AudioFrameBufferFactory LOCK_FREE =
+      { duration, format, stopping -> new LockFreeAudioFrameBuffer(duration, format, stopping) }
+
+  @Unroll
+  def "encoding #format.codecName() chunks into #bufferName does not allocate per chunk"(
+      AudioDataFormat format, String bufferName, AudioFrameBufferFactory factory) {
+
+    expect:
+    // Allow for a few incidental allocations, but nothing that scales with the number of chunks.
+    measureAllocatedBytes(format, factory, CHUNK_COUNT) < CHUNK_COUNT
+
+    where:
+    format             | bufferName                      | factory
+    DISCORD_OPUS       | 'NonAllocatingAudioFrameBuffer' | NON_ALLOCATING
+    DISCORD_OPUS       | 'LockFreeAudioFrameBuffer'      | LOCK_FREE
+    DISCORD_PCM_S16_BE | 'NonAllocatingAudioFrameBuffer' | NON_ALLOCATING
+    DISCORD_PCM_S16_BE | 'LockFreeAudioFrameBuffer'      | LOCK_FREE
+  }
+}
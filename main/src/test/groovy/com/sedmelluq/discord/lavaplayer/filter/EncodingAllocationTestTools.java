@@ -0,0 +1,78 @@
+package com.sedmelluq.discord.lavaplayer.filter;
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBuffer;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameBufferFactory;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioProcessingContext;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+
+public class EncodingAllocationTestTools {
+  private static final int WARMUP_CHUNKS = 20000;
+
+  public static long measureAllocatedBytes(AudioDataFormat format, AudioFrameBufferFactory bufferFactory,
+                                           int chunkCount) throws InterruptedException {
+
+    AudioConfiguration configuration = new AudioConfiguration();
+    AudioFrameBuffer frameBuffer = bufferFactory.create(1000, format, null);
+    AudioProcessingContext context = new AudioProcessingContext(configuration, frameBuffer, new AudioPlayerOptions(),
+        format);
+
+    BufferingPostProcessor processor = new BufferingPostProcessor(context, format.createEncoder(configuration));
+    ShortBuffer samples = createSamples(format);
+
+    MutableAudioFrame frame = new MutableAudioFrame();
+    frame.setBuffer(ByteBuffer.allocate(format.maximumChunkSize()));
+
+    try {
+      processChunks(processor, frameBuffer, samples, frame, WARMUP_CHUNKS);
+
+      ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+      long threadId = Thread.currentThread().getId();
+      long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+
+      processChunks(processor, frameBuffer, samples, frame, chunkCount);
+
+      return threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+    } finally {
+      processor.close();
+    }
+  }
+
+  private static void processChunks(BufferingPostProcessor processor, AudioFrameBuffer frameBuffer,
+                                    ShortBuffer samples, MutableAudioFrame frame, int chunkCount)
+      throws InterruptedException {
+
+    for (int i = 0; i < chunkCount; i++) {
+      samples.clear();
+      processor.process(i * 20L, samples);
+
+      if (!frameBuffer.provide(frame)) {
+        throw new IllegalStateException("Encoded chunk did not reach the frame buffer.");
+      }
+    }
+  }
+
+  private static ShortBuffer createSamples(AudioDataFormat format) {
+    ShortBuffer samples = ByteBuffer.allocateDirect(format.totalSampleCount() * 2)
+        .order(ByteOrder.nativeOrder())
+        .asShortBuffer();
+
+    for (int i = 0; i < format.chunkSampleCount; i++) {
+      short value = (short) (Math.sin(i * 2.0 * Math.PI * 440.0 / format.sampleRate) * 10000);
+
+      for (int channel = 0; channel < format.channelCount; channel++) {
+        samples.put(value);
+      }
+    }
+
+    return samples;
+  }
+}
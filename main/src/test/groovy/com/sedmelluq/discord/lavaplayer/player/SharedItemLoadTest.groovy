@@ -0,0 +1,126 @@
+package com.sedmelluq.discord.lavaplayer.player
+
+import com.sedmelluq.discord.lavaplayer.track.AudioPlaylist
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack
+import com.sedmelluq.discord.lavaplayer.track.BasicAudioPlaylist
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class SharedItemLoadTest extends Specification {
+  def "follower receives its own clone of the loaded track"() {
+    given:
+    def load = new SharedItemLoad('identifier')
+    def track = Mock(AudioTrack)
+    def prototype = Mock(AudioTrack)
+    def followerClone = Mock(AudioTrack)
+    def leaderHandler = Mock(AudioLoadResultHandler)
+    def followerHandler = Mock(AudioLoadResultHandler)
+    track.makeClone() >> prototype
+    prototype.makeClone() >> followerClone
+
+    when:
+    load.createRecordingHandler(leaderHandler).trackLoaded(track)
+    boolean dispatched = load.awaitAndDispatch(followerHandler)
+
+    then:
+    dispatched
+    1 * leaderHandler.trackLoaded({ it.is(track) })
+    1 * followerHandler.trackLoaded({ it.is(followerClone) })
+  }
+
+  def "follower falls back to its own load when the track cannot be cloned for it"() {
+    given:
+    def load = new SharedItemLoad('identifier')
+    def track = Mock(AudioTrack)
+    def prototype = Mock(AudioTrack)
+    def leaderHandler = Mock(AudioLoadResultHandler)
+    def followerHandler = Mock(AudioLoadResultHandler)
+    track.makeClone() >> prototype
+    prototype.makeClone() >> { throw new UnsupportedOperationException() }
+
+    when:
+    load.createRecordingHandler(leaderHandler).trackLoaded(track)
+    boolean dispatched = load.awaitAndDispatch(followerHandler)
+
+    then:
+    !dispatched
+    1 * leaderHandler.trackLoaded({ it.is(track) })
+    0 * followerHandler._
+  }
+
+  def "follower falls back to its own load when a playlist track cannot be cloned for it"() {
+    given:
+    def load = new SharedItemLoad('identifier')
+    def clonable = Mock(AudioTrack)
+    def track = Mock(AudioTrack)
+    def prototype = Mock(AudioTrack)
+    def leaderHandler = Mock(AudioLoadResultHandler)
+    def followerHandler = Mock(AudioLoadResultHandler)
+    clonable.makeClone() >> clonable
+    track.makeClone() >> prototype
+    prototype.makeClone() >> { throw new UnsupportedOperationException() }
+    AudioPlaylist playlist = new BasicAudioPlaylist('playlist', [clonable, track], null, false)
+
+    when:
+    load.createRecordingHandler(leaderHandler).playlistLoaded(playlist)
+    boolean dispatched = load.awaitAndDispatch(followerHandler)
+
+    then:
+    !dispatched
+    1 * leaderHandler.playlistLoaded({ it.is(playlist) })
+    0 * followerHandler._
+  }
+
+  def "follower falls back to its own load when the leader could not share the track"() {
+    given:
+    def load = new SharedItemLoad('identifier')
+    def track = Mock(AudioTrack)
+    def leaderHandler = Mock(AudioLoadResultHandler)
+    def followerHandler = Mock(AudioLoadResultHandler)
+    track.makeClone() >> { throw new UnsupportedOperationException() }
+
+    when:
+    load.createRecordingHandler(leaderHandler).trackLoaded(track)
+    load.complete()
+    boolean dispatched = load.awaitAndDispatch(followerHandler)
+
+    then:
+    !dispatched
+    1 * leaderHandler.trackLoaded({ it.is(track) })
+    0 * followerHandler._
+  }
+
+  @Timeout(10)
+  def "result is dispatched to the follower while the handler of the leader is still running"() {
+    given:
+    def load = new SharedItemLoad('identifier')
+    def leaderEntered = new CountDownLatch(1)
+    def leaderRelease = new CountDownLatch(1)
+    def leaderHandler = Stub(AudioLoadResultHandler) {
+      noMatches() >> {
+        leaderEntered.countDown()
+        leaderRelease.await(10, TimeUnit.SECONDS)
+      }
+    }
+    def followerHandler = Mock(AudioLoadResultHandler)
+    def leader = Thread.start {
+      load.createRecordingHandler(leaderHandler).noMatches()
+    }
+
+    when:
+    leaderEntered.await()
+    boolean dispatched = load.awaitAndDispatch(followerHandler)
+
+    then:
+    dispatched
+    leaderRelease.count == 1
+    1 * followerHandler.noMatches()
+
+    cleanup:
+    leaderRelease.countDown()
+    leader?.join()
+  }
+}
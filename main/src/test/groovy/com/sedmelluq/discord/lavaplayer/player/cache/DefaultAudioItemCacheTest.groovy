@@ -0,0 +1,149 @@
+package com.sedmelluq.discord.lavaplayer.player.cache
+
+import com.sedmelluq.discord.lavaplayer.container.MediaContainer
+import com.sedmelluq.discord.lavaplayer.container.MediaContainerDescriptor
+import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager
+import com.sedmelluq.discord.lavaplayer.source.http.HttpAudioSourceManager
+import com.sedmelluq.discord.lavaplayer.source.http.HttpAudioTrack
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo
+import spock.lang.Specification
+
+class DefaultAudioItemCacheTest extends Specification {
+  DefaultAudioPlayerManager manager
+  HttpAudioSourceManager sourceManager
+
+  def setup() {
+    manager = new DefaultAudioPlayerManager()
+    sourceManager = new HttpAudioSourceManager()
+    manager.registerSourceManager(sourceManager)
+  }
+
+  def cleanup() {
+    manager.shutdown()
+  }
+
+  def "results are not returned after they expire"() {
+    given:
+    def cache = new DefaultAudioItemCache(10)
+    cache.setDefaultTtl(50)
+    cache.put('track', createTrackItem('track'))
+
+    when:
+    def beforeExpiry = cache.get('track')
+    Thread.sleep(100)
+
+    then:
+    beforeExpiry != null
+    cache.get('track') == null
+    cache.size() == 0
+    cache.weight == 0
+  }
+
+  def "negative results expire after the negative ttl"() {
+    given:
+    def cache = new DefaultAudioItemCache(10)
+    cache.setNegativeTtl(50)
+    cache.put('missing', CachedAudioItem.noMatches())
+    cache.put('broken', CachedAudioItem.failed(new FriendlyException('Broken.', FriendlyException.Severity.COMMON, null)))
+    cache.put('track', createTrackItem('track'))
+
+    when:
+    Thread.sleep(100)
+
+    then:
+    cache.get('missing') == null
+    cache.get('broken') == null
+    cache.get('track') != null
+  }
+
+  def "results of a source with no ttl or with no negative ttl are not cached"() {
+    given:
+    def cache = new DefaultAudioItemCache(10)
+    cache.setSourceTtl(sourceManager.sourceName, 0)
+    cache.setNegativeTtl(0)
+
+    when:
+    cache.put('track', createTrackItem('track'))
+    cache.put('missing', CachedAudioItem.noMatches())
+
+    then:
+    cache.get('track') == null
+    cache.get('missing') == null
+    cache.size() == 0
+  }
+
+  def "least recently used results are evicted when the total weight is exceeded"() {
+    given:
+    def first = createTrackItem('first')
+    def second = createTrackItem('second')
+    def third = createTrackItem('third')
+    def cache = new DefaultAudioItemCache(10, first.size + second.size + third.size - 1)
+    cache.put('first', first)
+    cache.put('second', second)
+    cache.get('first')
+
+    when:
+    cache.put('third', third)
+
+    then:
+    cache.get('first') != null
+    cache.get('second') == null
+    cache.get('third') != null
+    cache.weight == first.size + third.size
+  }
+
+  def "least recently used results are evicted when the maximum size is exceeded"() {
+    given:
+    def cache = new DefaultAudioItemCache(2)
+    cache.put('first', createTrackItem('first'))
+    cache.put('second', createTrackItem('second'))
+    cache.get('first')
+
+    when:
+    cache.put('third', createTrackItem('third'))
+
+    then:
+    cache.size() == 2
+    cache.get('first') != null
+    cache.get('second') == null
+    cache.get('third') != null
+  }
+
+  def "result larger than the maximum weight is not cached and does not evict others"() {
+    given:
+    def small = createTrackItem('small')
+    def large = createTrackItem('large' * 100)
+    def cache = new DefaultAudioItemCache(10, small.size * 2)
+    cache.put('small', small)
+
+    when:
+    cache.put('large', large)
+
+    then:
+    cache.get('large') == null
+    cache.get('small') != null
+    cache.weight == small.size
+  }
+
+  def "replacing a result does not count its old weight"() {
+    given:
+    def cache = new DefaultAudioItemCache(10)
+    def item = createTrackItem('track')
+
+    when:
+    cache.put('track', createTrackItem('track'))
+    cache.put('track', item)
+
+    then:
+    cache.size() == 1
+    cache.weight == item.size
+    cache.get('track').is(item)
+  }
+
+  private CachedAudioItem createTrackItem(String title) {
+    def info = new AudioTrackInfo(title, 'author', 1000, "http://example.com/$title", false, "http://example.com/$title")
+    def track = new HttpAudioTrack(info, new MediaContainerDescriptor(MediaContainer.MP3.probe, null), sourceManager)
+    return CachedAudioItem.fromItem(manager, track)
+  }
+}
@@ -0,0 +1,111 @@
+package com.sedmelluq.discord.lavaplayer.remote.message
+
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrameConsumer
+import com.sedmelluq.discord.lavaplayer.track.playback.ImmutableAudioFrame
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats.DISCORD_OPUS
+import static com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameDataCodec.VERSION_INITIAL
+import static com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameDataCodec.VERSION_PACKED
+
+class TrackFrameDataCodecTest extends Specification {
+  def codec = new TrackFrameDataCodec()
+
+  @Unroll
+  def "#name survive a round trip with version #version"() {
+    given:
+    def message = new TrackFrameDataMessage(123456789L, frames, finished, seekedPosition)
+
+    when:
+    def decoded = roundTrip(message, version)
+
+    then:
+    decoded.executorId == message.executorId
+    decoded.finished == finished
+    decoded.seekedPosition == seekedPosition
+    describe(decoded.frames) == describe(frames)
+
+    where:
+    [name, frames, finished, seekedPosition, version] << [
+        ["no frames", [], true, -1L],
+        ["regular frames", createFrames(50, 0L, 20, { 100 }), false, -1L],
+        ["frames after a seek", createFrames(10, 93_000L, 20, { 160 }), false, 93_000L],
+        ["frames with long data and volume changes", createFrames(20, 5L, 20, { it * 37 }), false, -1L],
+        ["frames with empty data", createFrames(5, 0L, 20, { 0 }), true, -1L],
+        ["frames with decreasing timecodes", createFrames(5, 10_000L, -20, { 3 }), false, -1L],
+        ["frames with large timecode gaps", createFrames(5, 0L, Integer.MAX_VALUE * 4L, { 1 }), false, -1L]
+    ].collectMany { [it + VERSION_INITIAL, it + VERSION_PACKED] }
+  }
+
+  def "packed frames are consumed straight from the block"() {
+    given:
+    def frames = createFrames(30, 40L, 20, { 200 + it })
+    def decoded = roundTrip(new TrackFrameDataMessage(1L, frames, false, -1L), VERSION_PACKED)
+    def consumed = []
+
+    when:
+    ((PackedFrameList) decoded.frames).consume([
+        consume: { AudioFrame frame ->
+          consumed << new ImmutableAudioFrame(frame.timecode, frame.data, frame.volume, frame.format)
+        }
+    ] as AudioFrameConsumer, DISCORD_OPUS)
+
+    then:
+    decoded.frames instanceof PackedFrameList
+    describe(consumed) == describe(frames)
+    consumed.every { it.format == DISCORD_OPUS }
+  }
+
+  def "packed frames can be accessed by index in any order"() {
+    given:
+    def frames = createFrames(40, 1_000L, 20, { it * 11 })
+    def decoded = roundTrip(new TrackFrameDataMessage(1L, frames, false, -1L), VERSION_PACKED).frames
+
+    expect:
+    decoded instanceof RandomAccess
+    describe([39, 0, 17, 17, 38, 1].collect { decoded.get(it) }) == describe([39, 0, 17, 17, 38, 1].collect { frames[it] })
+  }
+
+  def "packed version is used by default and is smaller than the initial version"() {
+    given:
+    def message = new TrackFrameDataMessage(1L, createFrames(50, 0L, 20, { 100 }), false, -1L)
+
+    expect:
+    codec.version(message) == VERSION_PACKED
+    encode(message, VERSION_PACKED).length < encode(message, VERSION_INITIAL).length
+  }
+
+  private TrackFrameDataMessage roundTrip(TrackFrameDataMessage message, int version) {
+    def input = new DataInputStream(new ByteArrayInputStream(encode(message, version)))
+    def decoded = codec.decode(input, version)
+
+    assert input.available() == 0
+    return decoded
+  }
+
+  private byte[] encode(TrackFrameDataMessage message, int version) {
+    def bytes = new ByteArrayOutputStream()
+    def output = new DataOutputStream(bytes)
+    codec.encode(output, message, version)
+    output.flush()
+    return bytes.toByteArray()
+  }
+
+  private static List<AudioFrame> createFrames(int count, long firstTimecode, long timecodeStep, Closure<Integer> length) {
+    return (0..<count).collect { int i ->
+      byte[] data = new byte[length(i)]
+
+      for (int j = 0; j < data.length; j++) {
+        data[j] = (byte) (i * 31 + j)
+      }
+
+      new ImmutableAudioFrame(firstTimecode + i * timecodeStep, data, 100 + (int) (i / 7) * 5, null)
+    } as List<AudioFrame>
+  }
+
+  private static List<String> describe(List<AudioFrame> frames) {
+    return frames.collect { "${it.timecode}:${it.volume}:${it.data.encodeHex()}".toString() }
+  }
+}
@@ -0,0 +1,194 @@
+package com.sedmelluq.discord.lavaplayer.tools.io
+
+import com.sedmelluq.discord.lavaplayer.track.info.AudioTrackInfoProvider
+import org.apache.commons.io.IOUtils
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class DiskSegmentCacheTest extends Specification {
+  File directory
+
+  def setup() {
+    directory = Files.createTempDirectory('lavaplayer-segment-cache').toFile()
+  }
+
+  def cleanup() {
+    directory.deleteDir()
+  }
+
+  def "fully cached entry is served without reading the underlying stream"() {
+    given:
+    def cache = new DiskSegmentCache(directory, 1024 * 1024)
+    byte[] content = createContent(5000, 1)
+    readAll(CachingSeekableInputStream.wrap(new MemoryStream(content), cache, 'key'))
+
+    def underlying = new MemoryStream(content)
+    underlying.failReads = true
+
+    when:
+    byte[] result = readAll(CachingSeekableInputStream.wrap(underlying, cache, 'key'))
+
+    then:
+    result == content
+    underlying.reads == 0
+  }
+
+  def "partially cached entry is validated by the underlying stream before cached data is served"() {
+    given:
+    def cache = new DiskSegmentCache(directory, 1024 * 1024)
+    byte[] content = createContent(5000, 1)
+    readPrefix(CachingSeekableInputStream.wrap(new MemoryStream(content), cache, 'key'), 2000)
+
+    def underlying = new MemoryStream(content)
+    def stream = CachingSeekableInputStream.wrap(underlying, cache, 'key')
+
+    when:
+    byte[] first = new byte[100]
+    IOUtils.readFully(stream, first)
+    int readsAfterFirst = underlying.reads
+
+    byte[] second = new byte[100]
+    IOUtils.readFully(stream, second)
+
+    then:
+    readsAfterFirst == 1
+    underlying.reads == 1
+    first == Arrays.copyOfRange(content, 0, 100)
+    second == Arrays.copyOfRange(content, 100, 200)
+
+    cleanup:
+    stream.close()
+  }
+
+  def "partially cached entry is discarded when the length of the content has changed"() {
+    given:
+    def cache = new DiskSegmentCache(directory, 1024 * 1024)
+    readPrefix(CachingSeekableInputStream.wrap(new MemoryStream(createContent(5000, 1)), cache, 'key'), 2000)
+    byte[] changedContent = createContent(6000, 7)
+
+    when:
+    byte[] result = readAll(CachingSeekableInputStream.wrap(new MemoryStream(changedContent), cache, 'key'))
+
+    then:
+    result == changedContent
+    cache.totalSize == 6000
+  }
+
+  def "entries are kept across restarts"() {
+    given:
+    byte[] content = createContent(3000, 3)
+    readAll(CachingSeekableInputStream.wrap(new MemoryStream(content), new DiskSegmentCache(directory, 1024 * 1024), 'key'))
+
+    when:
+    def cache = new DiskSegmentCache(directory, 1024 * 1024)
+    def entry = cache.acquire('key')
+
+    then:
+    cache.totalSize == 3000
+    entry.complete
+    entry.length == 3000
+
+    cleanup:
+    entry?.release()
+  }
+
+  def "released entries are evicted in least recently used order"() {
+    given:
+    def cache = new DiskSegmentCache(directory, 5000)
+    readAll(CachingSeekableInputStream.wrap(new MemoryStream(createContent(2000, 1)), cache, 'first'))
+    readAll(CachingSeekableInputStream.wrap(new MemoryStream(createContent(2000, 2)), cache, 'second'))
+
+    when:
+    readAll(CachingSeekableInputStream.wrap(new MemoryStream(createContent(2000, 3)), cache, 'third'))
+    def first = cache.acquire('first')
+    def second = cache.acquire('second')
+
+    then:
+    cache.totalSize == 4000
+    first.length == -1
+    second.complete
+
+    cleanup:
+    first?.release()
+    second?.release()
+  }
+
+  private static byte[] createContent(int length, int seed) {
+    byte[] content = new byte[length]
+
+    for (int i = 0; i < length; i++) {
+      content[i] = (byte) (i * 31 + seed)
+    }
+
+    return content
+  }
+
+  private static byte[] readAll(SeekableInputStream stream) {
+    stream.withCloseable {
+      return IOUtils.toByteArray(it)
+    }
+  }
+
+  private static void readPrefix(SeekableInputStream stream, int length) {
+    stream.withCloseable {
+      IOUtils.readFully(it, new byte[length])
+    }
+  }
+
+  private static class MemoryStream extends SeekableInputStream {
+    private final byte[] content
+    private long position
+    int reads
+    boolean failReads
+
+    MemoryStream(byte[] content) {
+      super(content.length, 0)
+      this.content = content
+    }
+
+    @Override
+    long getPosition() {
+      return position
+    }
+
+    @Override
+    protected void seekHard(long target) {
+      position = target
+    }
+
+    @Override
+    boolean canSeekHard() {
+      return true
+    }
+
+    @Override
+    List<AudioTrackInfoProvider> getTrackInfoProviders() {
+      return []
+    }
+
+    @Override
+    int read() {
+      byte[] single = new byte[1]
+      return read(single, 0, 1) == 1 ? single[0] & 0xFF : -1
+    }
+
+    @Override
+    int read(byte[] buffer, int offset, int length) {
+      if (failReads) {
+        throw new IOException("Underlying stream should not be read.")
+      }
+
+      reads++
+
+      if (position >= content.length) {
+        return -1
+      }
+
+      int count = (int) Math.min(length, content.length - position)
+      System.arraycopy(content, (int) position, buffer, offset, count)
+      position += count
+      return count
+    }
+  }
+}
@@ -0,0 +1,176 @@
+package com.sedmelluq.discord.lavaplayer.track.playback
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.atomic.AtomicBoolean
+
+import static com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats.DISCORD_OPUS
+
+@Timeout(30)
+class CooperativePlaybackSchedulerTest extends Specification {
+  static final AudioDataFormat FORMAT = DISCORD_OPUS
+  static final int BUFFER_DURATION = 100
+  static final int BUFFER_FRAME_COUNT = BUFFER_DURATION.intdiv(20) + 1
+
+  def "track waits for a slot until the track holding it fills its buffer"() {
+    given:
+    def scheduler = new CooperativePlaybackScheduler(1, 1000)
+    def holder = createBuffer(scheduler)
+    def waiter = createBuffer(scheduler)
+    def waiterProceeded = new AtomicBoolean()
+
+    holder.consume(createFrame(0))
+    def waiterThread = Thread.start {
+      waiter.consume(createFrame(0))
+      waiterProceeded.set(true)
+    }
+
+    when:
+    awaitWaitingCount(scheduler, 1)
+    boolean proceededBeforeFull = waiterProceeded.get()
+
+    for (int i = 1; i < BUFFER_FRAME_COUNT; i++) {
+      holder.consume(createFrame(i))
+    }
+
+    waiterThread.join()
+
+    then:
+    !proceededBeforeFull
+    waiterProceeded.get()
+    scheduler.waitingCount == 0
+  }
+
+  def "track gives up its slot after a slice when a track with an emptier buffer is waiting"() {
+    given:
+    def scheduler = new CooperativePlaybackScheduler(1, 20)
+    def holder = createBuffer(scheduler)
+    def waiter = createBuffer(scheduler)
+    def order = new CopyOnWriteArrayList<String>()
+
+    holder.consume(createFrame(0))
+    def waiterThread = Thread.start {
+      waiter.consume(createFrame(0))
+      order << 'waiter'
+      waiter.leaveSlot()
+    }
+
+    when:
+    awaitWaitingCount(scheduler, 1)
+    holder.consume(createFrame(1))
+    order << 'holder'
+    waiterThread.join()
+
+    then:
+    order == ['waiter', 'holder']
+  }
+
+  def "waiting tracks get the slot in the order in which their buffers would run empty"() {
+    given:
+    def scheduler = new CooperativePlaybackScheduler(1, 1000)
+    def holder = createBuffer(scheduler)
+    def fuller = createBuffer(scheduler, 3)
+    def emptier = createBuffer(scheduler)
+    def order = new CopyOnWriteArrayList<String>()
+
+    holder.consume(createFrame(0))
+    def fullerThread = startTrack(fuller, 'fuller', order)
+    awaitWaitingCount(scheduler, 1)
+    def emptierThread = startTrack(emptier, 'emptier', order)
+    awaitWaitingCount(scheduler, 2)
+
+    when:
+    holder.leaveSlot()
+    fullerThread.join()
+    emptierThread.join()
+
+    then:
+    order == ['emptier', 'fuller']
+  }
+
+  def "interrupted track stops waiting for a slot"() {
+    given:
+    def scheduler = new CooperativePlaybackScheduler(1, 1000)
+    def holder = createBuffer(scheduler)
+    def waiter = createBuffer(scheduler)
+    Throwable failure = null
+
+    holder.consume(createFrame(0))
+    def waiterThread = Thread.start {
+      try {
+        waiter.consume(createFrame(0))
+      } catch (Throwable e) {
+        failure = e
+      }
+    }
+
+    when:
+    awaitWaitingCount(scheduler, 1)
+    waiterThread.interrupt()
+    waiterThread.join()
+    holder.leaveSlot()
+    createBuffer(scheduler).consume(createFrame(0))
+
+    then:
+    failure instanceof InterruptedException
+    scheduler.waitingCount == 0
+  }
+
+  def "track gives up its slot when it waits for its buffer to be played out"() {
+    given:
+    def scheduler = new CooperativePlaybackScheduler(1, 1000)
+    def holder = createBuffer(scheduler)
+    def waiter = createBuffer(scheduler)
+
+    holder.consume(createFrame(0))
+    def holderThread = Thread.start {
+      holder.setTerminateOnEmpty()
+      holder.waitForTermination()
+    }
+
+    when:
+    waiter.consume(createFrame(0))
+    def frame = holder.provide()
+    def terminator = holder.provide()
+    holderThread.join()
+
+    then:
+    !frame.isTerminator()
+    terminator.isTerminator()
+  }
+
+  private static CooperativePlaybackScheduler.ScheduledAudioFrameBuffer createBuffer(
+      CooperativePlaybackScheduler scheduler, int bufferedFrames = 0) {
+
+    def buffer = new AllocatingAudioFrameBuffer(BUFFER_DURATION, FORMAT, new AtomicBoolean())
+
+    for (int i = 0; i < bufferedFrames; i++) {
+      buffer.consume(createFrame(i))
+    }
+
+    return scheduler.wrapBuffer(buffer, FORMAT)
+  }
+
+  private static Thread startTrack(CooperativePlaybackScheduler.ScheduledAudioFrameBuffer buffer, String name,
+                                   List<String> order) {
+
+    return Thread.start {
+      buffer.consume(createFrame(0))
+      order << name
+      buffer.leaveSlot()
+    }
+  }
+
+  private static void awaitWaitingCount(CooperativePlaybackScheduler scheduler, int count) {
+    while (scheduler.waitingCount != count) {
+      Thread.sleep(1)
+    }
+  }
+
+  private static AudioFrame createFrame(int index) {
+    return new ImmutableAudioFrame(index * 20, new byte[10], 100, FORMAT)
+  }
+}
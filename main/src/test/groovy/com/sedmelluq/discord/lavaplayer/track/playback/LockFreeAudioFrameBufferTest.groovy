@@ -0,0 +1,251 @@
+package com.sedmelluq.discord.lavaplayer.track.playback
+
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat
+import spock.lang.Specification
+import spock.lang.Timeout
+
+import java.nio.ByteBuffer
+import java.util.concurrent.CyclicBarrier
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+
+import static com.sedmelluq.discord.lavaplayer.format.StandardAudioDataFormats.DISCORD_OPUS
+
+@Timeout(30)
+class LockFreeAudioFrameBufferTest extends Specification {
+  static final AudioDataFormat FORMAT = DISCORD_OPUS
+  static final int FRAME_DURATION = (int) FORMAT.frameDuration()
+
+  def "frames from a concurrent producer are consumed in order"() {
+    given:
+    int frameCount = 20000
+    def buffer = new LockFreeAudioFrameBuffer(400, FORMAT, new AtomicBoolean())
+    Throwable producerFailure = null
+
+    def producer = Thread.start {
+      try {
+        for (int i = 0; i < frameCount; i++) {
+          buffer.consume(createFrame(i))
+        }
+
+        buffer.setTerminateOnEmpty()
+      } catch (Throwable e) {
+        producerFailure = e
+      }
+    }
+
+    when:
+    def frame = createTargetFrame()
+    int consumed = 0
+    boolean inOrder = true
+
+    while (buffer.provide(frame, 5, TimeUnit.SECONDS) && !frame.isTerminator()) {
+      inOrder &= frame.timecode == consumed * FRAME_DURATION && matchesFrame(frame, consumed)
+      consumed++
+    }
+
+    producer.join()
+
+    then:
+    producerFailure == null
+    frame.isTerminator()
+    consumed == frameCount
+    inOrder
+  }
+
+  def "pending clear discards buffered frames on the next insert"() {
+    given:
+    def buffer = new LockFreeAudioFrameBuffer(400, FORMAT, new AtomicBoolean())
+    buffer.consume(createFrame(0))
+    buffer.consume(createFrame(1))
+
+    when:
+    buffer.setClearOnInsert()
+
+    then:
+    buffer.hasClearOnInsert()
+    buffer.getLastInputTimecode() == null
+
+    when:
+    buffer.consume(createFrame(50))
+    def first = buffer.provide()
+    def second = buffer.provide()
+
+    then:
+    !buffer.hasClearOnInsert()
+    first.timecode == 50 * FRAME_DURATION
+    second == null
+  }
+
+  def "clear from another thread never lets a stale frame through to the consumer"() {
+    given:
+    def buffer = new LockFreeAudioFrameBuffer(400, FORMAT, new AtomicBoolean())
+    List<String> failures = Collections.synchronizedList([])
+
+    when:
+    for (int round = 0; round < 2000; round++) {
+      int base = round * 20
+      (0..<15).each { buffer.consume(createFrame(base + it)) }
+
+      // Clearing and consuming start together and the clear waits for a different number of frames to be taken in
+      // each round, so that it lands while the consumer is copying frames out.
+      def barrier = new CyclicBarrier(2)
+      def cleared = new AtomicBoolean()
+      def taken = new AtomicInteger()
+      int clearAfter = round % 15
+
+      def clearer = Thread.start {
+        barrier.await()
+
+        while (taken.get() < clearAfter) {
+          Thread.yield()
+        }
+
+        buffer.clear()
+        cleared.set(true)
+      }
+
+      def consumer = Thread.start {
+        def frame = createTargetFrame()
+        int expected = base
+        barrier.await()
+
+        while (true) {
+          boolean clearedBefore = cleared.get()
+
+          if (!buffer.provide(frame)) {
+            if (clearedBefore) {
+              break
+            }
+
+            Thread.yield()
+            continue
+          }
+
+          int index = (int) (frame.timecode / FRAME_DURATION)
+          taken.incrementAndGet()
+
+          if (clearedBefore) {
+            failures << "round $round: frame $index provided after the clear had finished".toString()
+          } else if (index != expected || !matchesFrame(frame, index)) {
+            failures << "round $round: expected frame $expected, got $index".toString()
+          }
+
+          expected = index + 1
+        }
+      }
+
+      clearer.join()
+      consumer.join()
+
+      buffer.consume(createFrame(base + 19))
+      def next = buffer.provide()
+
+      if (next?.timecode != (base + 19) * FRAME_DURATION || buffer.provide() != null) {
+        failures << "round $round: frame inserted after the clear was not the only one left".toString()
+      }
+    }
+
+    then:
+    failures.isEmpty()
+  }
+
+  def "terminator is provided after the remaining frames"() {
+    given:
+    def buffer = new LockFreeAudioFrameBuffer(400, FORMAT, new AtomicBoolean())
+    buffer.consume(createFrame(0))
+    buffer.consume(createFrame(1))
+
+    when:
+    buffer.setTerminateOnEmpty()
+    def frames = (0..<3).collect { buffer.provide() }
+
+    then:
+    frames[0].timecode == 0
+    frames[1].timecode == FRAME_DURATION
+    frames[2].isTerminator()
+    buffer.provide() == null
+
+    when:
+    buffer.waitForTermination()
+
+    then:
+    noExceptionThrown()
+  }
+
+  def "terminator with a pending clear discards the buffered frames"() {
+    given:
+    def buffer = new LockFreeAudioFrameBuffer(400, FORMAT, new AtomicBoolean())
+    buffer.consume(createFrame(0))
+    buffer.setClearOnInsert()
+
+    when:
+    buffer.setTerminateOnEmpty()
+
+    then:
+    buffer.provide().isTerminator()
+  }
+
+  def "waiting for termination is released by the consumer"() {
+    given:
+    def buffer = new LockFreeAudioFrameBuffer(400, FORMAT, new AtomicBoolean())
+    buffer.consume(createFrame(0))
+    buffer.setTerminateOnEmpty()
+    def waiter = Thread.start { buffer.waitForTermination() }
+
+    when:
+    def frame = buffer.provide()
+    def terminator = buffer.provide()
+    waiter.join(5000)
+
+    then:
+    !frame.isTerminator()
+    terminator.isTerminator()
+    !waiter.isAlive()
+  }
+
+  def "provide with timeout fails when no frames arrive"() {
+    given:
+    def buffer = new LockFreeAudioFrameBuffer(400, FORMAT, new AtomicBoolean())
+
+    when:
+    buffer.provide(createTargetFrame(), 50, TimeUnit.MILLISECONDS)
+
+    then:
+    thrown(TimeoutException)
+  }
+
+  def "locked buffer ignores new frames"() {
+    given:
+    def buffer = new LockFreeAudioFrameBuffer(400, FORMAT, new AtomicBoolean())
+
+    when:
+    buffer.lockBuffer()
+    buffer.consume(createFrame(0))
+
+    then:
+    !buffer.hasReceivedFrames()
+    buffer.provide() == null
+  }
+
+  private static AudioFrame createFrame(int index) {
+    byte[] data = new byte[10 + index % 50]
+    Arrays.fill(data, (byte) index)
+    return new ImmutableAudioFrame(index * FRAME_DURATION, data, 100, FORMAT)
+  }
+
+  private static boolean matchesFrame(MutableAudioFrame frame, int index) {
+    byte[] expected = new byte[10 + index % 50]
+    Arrays.fill(expected, (byte) index)
+    return Arrays.equals(frame.getData(), expected)
+  }
+
+  private static MutableAudioFrame createTargetFrame() {
+    def frame = new MutableAudioFrame()
+    frame.setFormat(FORMAT)
+    frame.setBuffer(ByteBuffer.allocate(FORMAT.maximumChunkSize()))
+    return frame
+  }
+}
@@ -0,0 +1,225 @@
+#include "connector.h"
+#include <FLAC/stream_decoder.h>
+#include <stdlib.h>
+#include <stdbool.h>
+#include <string.h>
+
+#define STREAM_INFO_LENGTH 34
+#define HEADER_LENGTH (4 + 4 + STREAM_INFO_LENGTH)
+
+typedef struct flac_state_s {
+	FLAC__StreamDecoder* decoder;
+	unsigned char header[HEADER_LENGTH];
+	size_t header_position;
+	bool metadata_processed;
+	int bits_per_sample;
+	int channel_count;
+	unsigned int maximum_block_size;
+	jshort* samples;
+
+	JNIEnv* jni;
+	jobject stream;
+	jbyteArray transfer;
+	jint transfer_length;
+	jobjectArray output;
+	int sample_count;
+	bool failed;
+} flac_state_t;
+
+static jmethodID read_method = NULL;
+
+static FLAC__StreamDecoderReadStatus read_callback(const FLAC__StreamDecoder* decoder, FLAC__byte buffer[], size_t* bytes, void* client_data) {
+	flac_state_t* state = (flac_state_t*) client_data;
+	JNIEnv* jni = state->jni;
+
+	if (state->header_position < HEADER_LENGTH) {
+		size_t chunk = HEADER_LENGTH - state->header_position;
+		chunk = chunk > *bytes ? *bytes : chunk;
+
+		memcpy(buffer, &state->header[state->header_position], chunk);
+		state->header_position += chunk;
+		*bytes = chunk;
+		return FLAC__STREAM_DECODER_READ_STATUS_CONTINUE;
+	}
+
+	jint length = *bytes > (size_t) state->transfer_length ? state->transfer_length : (jint) *bytes;
+	jint result;
+
+	do {
+		result = (*jni)->CallIntMethod(jni, state->stream, read_method, state->transfer, 0, length);
+
+		if ((*jni)->ExceptionCheck(jni)) {
+			// Left pending, so it is thrown from the decode call once it returns.
+			*bytes = 0;
+			return FLAC__STREAM_DECODER_READ_STATUS_ABORT;
+		}
+	} while (result == 0);
+
+	if (result < 0) {
+		*bytes = 0;
+		return FLAC__STREAM_DECODER_READ_STATUS_END_OF_STREAM;
+	}
+
+	(*jni)->GetByteArrayRegion(jni, state->transfer, 0, result, (jbyte*) buffer);
+	*bytes = (size_t) result;
+	return FLAC__STREAM_DECODER_READ_STATUS_CONTINUE;
+}
+
+static FLAC__StreamDecoderWriteStatus write_callback(const FLAC__StreamDecoder* decoder, const FLAC__Frame* frame, const FLAC__int32* const buffer[], void* client_data) {
+	flac_state_t* state = (flac_state_t*) client_data;
+	JNIEnv* jni = state->jni;
+	unsigned int sample_count = frame->header.blocksize;
+
+	// Same conversion as the Java decoder, one of these is always zero.
+	int shift_left = state->bits_per_sample < 16 ? 16 - state->bits_per_sample : 0;
+	int shift_right = state->bits_per_sample > 16 ? state->bits_per_sample - 16 : 0;
+
+	if (sample_count > state->maximum_block_size || (int) frame->header.channels != state->channel_count) {
+		state->failed = true;
+		return FLAC__STREAM_DECODER_WRITE_STATUS_ABORT;
+	}
+
+	for (int channel = 0; channel < state->channel_count; channel++) {
+		const FLAC__int32* input = buffer[channel];
+
+		for (unsigned int i = 0; i < sample_count; i++) {
+			state->samples[i] = (jshort) ((FLAC__int32) ((FLAC__uint32) input[i] << shift_left) >> shift_right);
+		}
+
+		jshortArray channel_output = (*jni)->GetObjectArrayElement(jni, state->output, channel);
+
+		if (channel_output == NULL || (*jni)->GetArrayLength(jni, channel_output) < (jsize) sample_count) {
+			state->failed = true;
+			return FLAC__STREAM_DECODER_WRITE_STATUS_ABORT;
+		}
+
+		(*jni)->SetShortArrayRegion(jni, channel_output, 0, sample_count, state->samples);
+		(*jni)->DeleteLocalRef(jni, channel_output);
+	}
+
+	state->sample_count = (int) sample_count;
+	return FLAC__STREAM_DECODER_WRITE_STATUS_CONTINUE;
+}
+
+static void metadata_callback(const FLAC__StreamDecoder* decoder, const FLAC__StreamMetadata* metadata, void* client_data) {
+	flac_state_t* state = (flac_state_t*) client_data;
+
+	if (metadata->type == FLAC__METADATA_TYPE_STREAMINFO) {
+		state->metadata_processed = true;
+	}
+}
+
+static void error_callback(const FLAC__StreamDecoder* decoder, FLAC__StreamDecoderErrorStatus status, void* client_data) {
+	// Lost sync and corrupt frames are recovered from by the decoder itself, same as the Java decoder skips to the next
+	// frame sync code.
+}
+
+CONNECTOR_EXPORT jlong JNICALL Java_com_sedmelluq_discord_lavaplayer_natives_flac_FlacDecoderLibrary_create(JNIEnv *jni, jobject me, jbyteArray stream_info,
+	jint channel_count, jint bits_per_sample, jint maximum_block_size) {
+
+	if (read_method == NULL) {
+		jclass stream_class = (*jni)->FindClass(jni, "java/io/InputStream");
+
+		if (stream_class == NULL) {
+			return 0;
+		}
+
+		read_method = (*jni)->GetMethodID(jni, stream_class, "read", "([BII)I");
+
+		if (read_method == NULL) {
+			return 0;
+		}
+	}
+
+	flac_state_t* state = calloc(1, sizeof(*state));
+
+	if (state == NULL) {
+		return 0;
+	}
+
+	state->samples = malloc(sizeof(jshort) * (size_t) maximum_block_size);
+	state->decoder = FLAC__stream_decoder_new();
+
+	if (state->samples == NULL || state->decoder == NULL) {
+		free(state->samples);
+
+		if (state->decoder != NULL) {
+			FLAC__stream_decoder_delete(state->decoder);
+		}
+
+		free(state);
+		return 0;
+	}
+
+	// The stream info block is served as the start of the stream, as the track provider has already read the metadata.
+	memcpy(state->header, "fLaC", 4);
+	state->header[4] = 0x80;
+	state->header[5] = 0;
+	state->header[6] = 0;
+	state->header[7] = STREAM_INFO_LENGTH;
+	(*jni)->GetByteArrayRegion(jni, stream_info, 0, STREAM_INFO_LENGTH, (jbyte*) &state->header[8]);
+
+	state->channel_count = channel_count;
+	state->bits_per_sample = bits_per_sample;
+	state->maximum_block_size = (unsigned int) maximum_block_size;
+
+	if (FLAC__stream_decoder_init_stream(state->decoder, read_callback, NULL, NULL, NULL, NULL, write_callback,
+			metadata_callback, error_callback, state) != FLAC__STREAM_DECODER_INIT_STATUS_OK) {
+
+		FLAC__stream_decoder_delete(state->decoder);
+		free(state->samples);
+		free(state);
+		return 0;
+	}
+
+	return (jlong) state;
+}
+
+CONNECTOR_EXPORT jint JNICALL Java_com_sedmelluq_discord_lavaplayer_natives_flac_FlacDecoderLibrary_decode(JNIEnv *jni, jobject me, jlong instance, jobject stream,
+	jbyteArray transfer, jobjectArray output) {
+
+	flac_state_t* state = (flac_state_t*) instance;
+
+	state->jni = jni;
+	state->stream = stream;
+	state->transfer = transfer;
+	state->transfer_length = (*jni)->GetArrayLength(jni, transfer);
+	state->output = output;
+	state->sample_count = 0;
+	state->failed = false;
+
+	jint result = 0;
+
+	while (state->sample_count == 0) {
+		if (!FLAC__stream_decoder_process_single(state->decoder) || state->failed) {
+			result = -1;
+			break;
+		} else if (FLAC__stream_decoder_get_state(state->decoder) == FLAC__STREAM_DECODER_END_OF_STREAM) {
+			break;
+		}
+	}
+
+	state->jni = NULL;
+	state->stream = NULL;
+	state->transfer = NULL;
+	state->output = NULL;
+
+	return result < 0 ? result : state->sample_count;
+}
+
+CONNECTOR_EXPORT void JNICALL Java_com_sedmelluq_discord_lavaplayer_natives_flac_FlacDecoderLibrary_reset(JNIEnv *jni, jobject me, jlong instance) {
+	flac_state_t* state = (flac_state_t*) instance;
+
+	// Before the stream info has been processed, nothing has been read from the stream yet.
+	if (state->metadata_processed) {
+		FLAC__stream_decoder_flush(state->decoder);
+	}
+}
+
+CONNECTOR_EXPORT void JNICALL Java_com_sedmelluq_discord_lavaplayer_natives_flac_FlacDecoderLibrary_destroy(JNIEnv *jni, jobject me, jlong instance) {
+	flac_state_t* state = (flac_state_t*) instance;
+
+	FLAC__stream_decoder_delete(state->decoder);
+	free(state->samples);
+	free(state);
+}
@@ -2,8 +2,11 @@ package com.sedmelluq.discord.lavaplayer.node;
 
 import com.sedmelluq.discord.lavaplayer.node.message.MessageHandlerRegistry;
 import com.sedmelluq.discord.lavaplayer.node.message.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.remote.RemoteNodeProcessor;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
 import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageType;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameDataCodec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -18,27 +21,56 @@ import java.io.IOException;
 public class NodeController {
   private final MessageHandlerRegistry messageHandlerRegistry;
   private final StatisticsManager statisticsManager;
+  private final NodeStreamServer streamServer;
   private final RemoteMessageMapper mapper;
+  private final RemoteMessageMapper legacyMapper;
 
   @Autowired
-  public NodeController(MessageHandlerRegistry messageHandlerRegistry, StatisticsManager statisticsManager) {
+  public NodeController(MessageHandlerRegistry messageHandlerRegistry, StatisticsManager statisticsManager,
+                        NodeStreamServer streamServer) {
+
     this.messageHandlerRegistry = messageHandlerRegistry;
     this.statisticsManager = statisticsManager;
+    this.streamServer = streamServer;
     this.mapper = new RemoteMessageMapper();
+    this.legacyMapper = new RemoteMessageMapper();
+
+    legacyMapper.setMaximumVersion(RemoteMessageType.TRACK_FRAME_DATA, TrackFrameDataCodec.VERSION_INITIAL);
   }
 
   @RequestMapping("/tick")
   public void handeTick(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    RemoteMessageMapper requestMapper = getMapperForRequest(request);
     DataInputStream input = new DataInputStream(request.getInputStream());
     DataOutputStream output = new DataOutputStream(response.getOutputStream());
-    MessageOutput messageOutput = new MessageOutput(mapper, output);
+    MessageOutput messageOutput = new MessageOutput(requestMapper, output);
     RemoteMessage message;
 
-    while ((message = mapper.decode(input)) != null) {
+    while ((message = requestMapper.decode(input)) != null) {
       messageHandlerRegistry.processMessage(message, messageOutput);
     }
 
     messageOutput.send(statisticsManager.getStatistics());
-    mapper.endOutput(output);
+    requestMapper.endOutput(output);
+  }
+
+  private RemoteMessageMapper getMapperForRequest(HttpServletRequest request) {
+    String version = request.getHeader(RemoteNodeProcessor.FRAME_DATA_VERSION_HEADER);
+
+    // Older versions of the library do not send the header and only support the initial frame data version.
+    try {
+      if (version != null && Integer.parseInt(version) >= TrackFrameDataCodec.VERSION_PACKED) {
+        return mapper;
+      }
+    } catch (NumberFormatException e) {
+      // Fall back to the initial version
+    }
+
+    return legacyMapper;
+  }
+
+  @RequestMapping("/stream-port")
+  public String getStreamPort() {
+    return String.valueOf(streamServer.getPort());
   }
 }
@@ -0,0 +1,222 @@
+package com.sedmelluq.discord.lavaplayer.node;
+
+import com.sedmelluq.discord.lavaplayer.node.message.MessageHandlerRegistry;
+import com.sedmelluq.discord.lavaplayer.node.message.MessageOutput;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.RemoteMessageMapper;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameDataMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackFrameRequestMessage;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackStoppedMessage;
+import com.sedmelluq.discord.lavaplayer.tools.ExceptionTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One persistent stream connection from a player manager. Instead of answering each frame request with the frames that
+ * are available at that moment, frame requests grant credits and frames are pushed as soon as they are available, as
+ * long as the track has credits left.
+ *
+ * Incoming messages are read on one thread and processed on another, which also pushes the frames, so that all
+ * messages about a track are handled in the order they were received.
+ */
+public class NodeStreamConnection {
+  private static final Logger log = LoggerFactory.getLogger(NodeStreamConnection.class);
+
+  private static final int PUSH_INTERVAL = 10;
+  private static final int STATISTICS_INTERVAL = 500;
+
+  private final Socket socket;
+  private final MessageHandlerRegistry messageHandlerRegistry;
+  private final StatisticsManager statisticsManager;
+  private final PlayingTrackManager playingTrackManager;
+  private final RemoteMessageMapper mapper;
+  private final BlockingQueue<RemoteMessage> receivedMessages;
+  private final Map<Long, StreamedTrack> streamedTracks;
+  private volatile boolean closed;
+
+  public NodeStreamConnection(Socket socket, MessageHandlerRegistry messageHandlerRegistry,
+                              StatisticsManager statisticsManager, PlayingTrackManager playingTrackManager) {
+
+    this.socket = socket;
+    this.messageHandlerRegistry = messageHandlerRegistry;
+    this.statisticsManager = statisticsManager;
+    this.playingTrackManager = playingTrackManager;
+    this.mapper = new RemoteMessageMapper();
+    this.receivedMessages = new LinkedBlockingQueue<>();
+    this.streamedTracks = new HashMap<>();
+  }
+
+  public void start(ExecutorService executorService) throws IOException {
+    socket.setTcpNoDelay(true);
+
+    DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+    executorService.submit(() -> readMessages(input));
+    executorService.submit(() -> processMessages(output));
+  }
+
+  private void readMessages(DataInputStream input) {
+    RemoteMessage message;
+
+    try {
+      while ((message = mapper.decode(input)) != null) {
+        receivedMessages.add(message);
+      }
+
+      log.info("Stream connection from {} was closed by the other side.", socket.getRemoteSocketAddress());
+    } catch (IOException e) {
+      if (!closed) {
+        log.warn("Stream connection from {} failed.", socket.getRemoteSocketAddress(), e);
+      }
+    } finally {
+      close();
+    }
+  }
+
+  private void processMessages(DataOutputStream output) {
+    MessageOutput messageOutput = new MessageOutput(mapper, output);
+    long nextStatisticsTime = 0;
+    boolean pushPending = false;
+
+    try {
+      while (!closed) {
+        // Frames only have to be checked for while some track has credits left, otherwise the thread can sleep until the
+        // next message or statistics update.
+        long waitTime = pushPending ? PUSH_INTERVAL : Math.max(1, nextStatisticsTime - System.currentTimeMillis());
+        RemoteMessage message = receivedMessages.poll(waitTime, TimeUnit.MILLISECONDS);
+
+        while (message != null) {
+          try {
+            processMessage(message, messageOutput);
+          } catch (RuntimeException e) {
+            log.error("Failed to process message {} from stream connection {}.", message.getClass().getSimpleName(),
+                socket.getRemoteSocketAddress(), e);
+          }
+
+          message = receivedMessages.poll();
+        }
+
+        pushPending = pushFrames(messageOutput);
+
+        long now = System.currentTimeMillis();
+
+        if (now >= nextStatisticsTime) {
+          messageOutput.send(statisticsManager.getStatistics());
+          nextStatisticsTime = now + STATISTICS_INTERVAL;
+        }
+
+        messageOutput.flush();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Throwable e) {
+      if (!closed) {
+        log.error("Error while processing stream connection from {}.", socket.getRemoteSocketAddress(), e);
+      }
+
+      ExceptionTools.rethrowErrors(e);
+    } finally {
+      close();
+    }
+  }
+
+  private void processMessage(RemoteMessage message, MessageOutput output) {
+    if (message instanceof TrackFrameRequestMessage) {
+      processFrameRequest((TrackFrameRequestMessage) message, output);
+    } else {
+      if (message instanceof TrackStoppedMessage) {
+        streamedTracks.remove(((TrackStoppedMessage) message).executorId);
+      }
+
+      messageHandlerRegistry.processMessage(message, output);
+    }
+  }
+
+  private void processFrameRequest(TrackFrameRequestMessage message, MessageOutput output) {
+    StreamedTrack track = streamedTracks.computeIfAbsent(message.executorId, StreamedTrack::new);
+    track.volume = message.volume;
+
+    if (message.seekPosition >= 0) {
+      // Frames sent before the seek are discarded by the other side, so a seek starts over with a fresh credit count.
+      track.credits = message.maximumFrames;
+
+      if (sendFrames(track, message, output, true)) {
+        streamedTracks.remove(track.executorId);
+      }
+    } else {
+      track.credits += message.maximumFrames;
+
+      // Even without credits this keeps the track from being considered abandoned and applies the volume.
+      TrackFrameRequestMessage request = new TrackFrameRequestMessage(track.executorId, track.credits, track.volume, -1);
+
+      if (sendFrames(track, request, output, false)) {
+        streamedTracks.remove(track.executorId);
+      }
+    }
+  }
+
+  private boolean pushFrames(MessageOutput output) {
+    boolean creditsLeft = false;
+
+    for (Iterator<StreamedTrack> iterator = streamedTracks.values().iterator(); iterator.hasNext(); ) {
+      StreamedTrack track = iterator.next();
+
+      if (track.credits > 0) {
+        TrackFrameRequestMessage request = new TrackFrameRequestMessage(track.executorId, track.credits, track.volume, -1);
+
+        if (sendFrames(track, request, output, false)) {
+          iterator.remove();
+        } else if (track.credits > 0) {
+          creditsLeft = true;
+        }
+      }
+    }
+
+    return creditsLeft;
+  }
+
+  private boolean sendFrames(StreamedTrack track, TrackFrameRequestMessage request, MessageOutput output,
+                             boolean sendEmpty) {
+
+    TrackFrameDataMessage data = playingTrackManager.provideFrames(request, output);
+    track.credits -= data.frames.size();
+
+    if (sendEmpty || data.finished || !data.frames.isEmpty()) {
+      output.send(data);
+    }
+
+    return data.finished;
+  }
+
+  private void close() {
+    if (!closed) {
+      closed = true;
+      ExceptionTools.closeWithWarnings(socket);
+    }
+  }
+
+  private static class StreamedTrack {
+    private final long executorId;
+    private int credits;
+    private int volume;
+
+    private StreamedTrack(long executorId) {
+      this.executorId = executorId;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.sedmelluq.discord.lavaplayer.node;
+
+import com.sedmelluq.discord.lavaplayer.node.message.MessageHandlerRegistry;
+import com.sedmelluq.lava.common.tools.DaemonThreadFactory;
+import com.sedmelluq.lava.common.tools.ExecutorTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Accepts persistent stream connections from player managers, which are used instead of tick requests when both sides
+ * support it. Disabled unless the lavaplayer.node.stream-port property is set.
+ */
+@Component
+public class NodeStreamServer implements InitializingBean, DisposableBean, Runnable {
+  private static final Logger log = LoggerFactory.getLogger(NodeStreamServer.class);
+
+  private final MessageHandlerRegistry messageHandlerRegistry;
+  private final StatisticsManager statisticsManager;
+  private final PlayingTrackManager playingTrackManager;
+  private final int configuredPort;
+  private final ExecutorService executorService;
+  private volatile ServerSocket serverSocket;
+
+  @Autowired
+  public NodeStreamServer(MessageHandlerRegistry messageHandlerRegistry, StatisticsManager statisticsManager,
+                          PlayingTrackManager playingTrackManager, @Value("${lavaplayer.node.stream-port:-1}") int port) {
+
+    this.messageHandlerRegistry = messageHandlerRegistry;
+    this.statisticsManager = statisticsManager;
+    this.playingTrackManager = playingTrackManager;
+    this.configuredPort = port;
+    this.executorService = Executors.newCachedThreadPool(new DaemonThreadFactory("stream"));
+  }
+
+  /**
+   * @return The port on which stream connections are accepted, -1 if disabled.
+   */
+  public int getPort() {
+    ServerSocket socket = serverSocket;
+    return socket != null ? socket.getLocalPort() : -1;
+  }
+
+  @Override
+  public void afterPropertiesSet() throws IOException {
+    if (configuredPort >= 0) {
+      serverSocket = new ServerSocket(configuredPort);
+      executorService.submit(this);
+
+      log.info("Accepting stream connections on port {}.", serverSocket.getLocalPort());
+    }
+  }
+
+  @Override
+  public void destroy() throws IOException {
+    ServerSocket socket = serverSocket;
+    serverSocket = null;
+
+    if (socket != null) {
+      socket.close();
+    }
+
+    ExecutorTools.shutdownExecutor(executorService, "stream connections");
+  }
+
+  @Override
+  public void run() {
+    ServerSocket socket;
+
+    while ((socket = serverSocket) != null) {
+      try {
+        Socket connection = socket.accept();
+
+        log.info("Stream connection opened from {}.", connection.getRemoteSocketAddress());
+
+        new NodeStreamConnection(connection, messageHandlerRegistry, statisticsManager, playingTrackManager)
+            .start(executorService);
+      } catch (IOException e) {
+        if (serverSocket != null) {
+          log.error("Failed to accept stream connection.", e);
+        }
+      }
+    }
+  }
+}
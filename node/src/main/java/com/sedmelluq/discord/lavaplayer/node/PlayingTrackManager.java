@@ -25,11 +25,14 @@ import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -47,12 +50,17 @@ public class PlayingTrackManager {
   private final StatisticsManager statisticsManager;
   private final DefaultAudioPlayerManager manager;
   private final ConcurrentMap<Long, PlayingTrack> tracks;
+  private final Map<SharedTrack.Key, SharedTrack> sharedTracks;
+  private final boolean sharedDecodeEnabled;
 
   @Autowired
-  public PlayingTrackManager(StatisticsManager statisticsManager) {
+  public PlayingTrackManager(StatisticsManager statisticsManager,
+                             @Value("${lavaplayer.node.shared-decode:true}") boolean sharedDecodeEnabled) {
     this.statisticsManager = statisticsManager;
+    this.sharedDecodeEnabled = sharedDecodeEnabled;
     manager = new DefaultAudioPlayerManager();
     tracks = new ConcurrentHashMap<>();
+    sharedTracks = new HashMap<>();
 
     manager.setUseSeekGhosting(false);
     AudioSourceManagers.registerRemoteSources(manager);
@@ -68,19 +76,19 @@ public class PlayingTrackManager {
         audioTrack.setPosition(message.position);
       }
 
-      PlayingTrack playingTrack = new PlayingTrack(message.executorId, message.volume, audioTrack);
+      PlayingTrack playingTrack = new PlayingTrack(message, audioTrack);
       PlayingTrack existingTrack = tracks.putIfAbsent(message.executorId, playingTrack);
 
       if (existingTrack == null) {
         log.info("Track start request for {} (context {}, position {})", message.trackInfo.identifier, message.executorId, message.position);
 
-        manager.executeTrack(playingTrack, audioTrack, message.configuration, playingTrack.playerOptions);
+        startTrack(playingTrack);
         statisticsManager.increaseTrackCount();
       } else {
         log.info("Start request for an already playing track {} (context {}), applying seek to {} from it.",
             message.trackInfo.identifier, message.executorId, message.position);
 
-        existingTrack.audioTrack.setPosition(message.position);
+        seekTrack(existingTrack, message.position);
       }
     } else {
       log.warn("Unable to find a matching source for track {} (context {})", message.trackInfo.identifier, message.executorId);
@@ -90,8 +98,93 @@ public class PlayingTrackManager {
     output.send(new TrackStartResponseMessage(message.executorId, failureReason == null, failureReason));
   }
 
+  private void startTrack(PlayingTrack track) {
+    // Tracks which are not streams would have to be started at the same time and never be paused or seeked to be shared.
+    if (sharedDecodeEnabled && track.startRequest.trackInfo.isStream) {
+      SharedTrack sharedTrack = joinSharedTrack(track);
+
+      if (sharedTrack != null) {
+        track.sharedTrack = sharedTrack;
+        return;
+      }
+    }
+
+    manager.executeTrack(track, track.audioTrack, track.startRequest.configuration, track.playerOptions);
+  }
+
+  private SharedTrack joinSharedTrack(PlayingTrack track) {
+    SharedTrack.Key key = new SharedTrack.Key(track.startRequest);
+    SharedTrack sharedTrack;
+
+    synchronized (sharedTracks) {
+      sharedTrack = sharedTracks.get(key);
+
+      if (sharedTrack != null && sharedTrack.subscribe(track.executorId, track)) {
+        log.info("Stream {} (context {}) uses the decoding of an identical stream.", track.audioTrack.getIdentifier(),
+            track.executorId);
+
+        return sharedTrack;
+      }
+
+      sharedTrack = new SharedTrack(key, track.audioTrack, track.startRequest.configuration);
+      sharedTrack.getPlayerOptions().volumeLevel.set(track.startRequest.volume);
+      sharedTrack.subscribe(track.executorId, track);
+      sharedTracks.put(key, sharedTrack);
+    }
+
+    manager.executeTrack(sharedTrack, track.audioTrack, track.startRequest.configuration, sharedTrack.getPlayerOptions());
+    return sharedTrack;
+  }
+
+  private void leaveSharedTrack(PlayingTrack track) {
+    SharedTrack sharedTrack = track.sharedTrack;
+
+    if (sharedTrack == null) {
+      return;
+    }
+
+    track.sharedTrack = null;
+
+    synchronized (sharedTracks) {
+      if (!sharedTrack.unsubscribe(track.executorId)) {
+        return;
+      }
+
+      sharedTracks.remove(sharedTrack.getKey(), sharedTrack);
+    }
+
+    sharedTrack.getAudioTrack().stop();
+  }
+
+  private void seekTrack(PlayingTrack track, long position) {
+    if (track.sharedTrack != null) {
+      // The other executors continue from where they are, so this one needs a track of its own from now on.
+      leaveSharedTrack(track);
+
+      track.audioTrack = (InternalAudioTrack) manager.decodeTrackDetails(track.startRequest.trackInfo,
+          track.startRequest.encodedTrack);
+      track.audioTrack.setPosition(position);
+
+      manager.executeTrack(track, track.audioTrack, track.startRequest.configuration, track.playerOptions);
+    } else {
+      track.audioTrack.setPosition(position);
+    }
+  }
+
   @MessageHandler
   private void handleTrackDataRequest(TrackFrameRequestMessage message, MessageOutput output) {
+    output.send(provideFrames(message, output));
+  }
+
+  /**
+   * Applies the volume and seek position of a frame request and takes up to the requested number of frames from the
+   * track. Pending track exceptions are sent to the output.
+   *
+   * @param message The frame request
+   * @param output Output for any other messages about the track
+   * @return Message containing the frames, which is not sent to the output
+   */
+  public TrackFrameDataMessage provideFrames(TrackFrameRequestMessage message, MessageOutput output) {
     List<AudioFrame> frames = new ArrayList<>();
     PlayingTrack track = tracks.get(message.executorId);
     boolean finished = false;
@@ -103,22 +196,29 @@ public class PlayingTrackManager {
       track.playerOptions.volumeLevel.set(message.volume);
 
       if (message.seekPosition >= 0) {
-        track.audioTrack.setPosition(message.seekPosition);
+        seekTrack(track, message.seekPosition);
       }
 
       if (message.maximumFrames > 0) {
         track.lastNonZeroFrameRequestTime = track.lastFrameRequestTime;
       }
 
-      finished = consumeFramesFromTrack(frames, track.audioTrack, message.maximumFrames);
+      SharedTrack sharedTrack = track.sharedTrack;
+
+      if (sharedTrack != null) {
+        finished = sharedTrack.provide(track.executorId, message.volume, message.maximumFrames, frames);
+      } else {
+        finished = consumeFramesFromTrack(frames, track.audioTrack, message.maximumFrames);
+      }
 
       if (finished) {
         log.info("Clearing ended track {} (context {})", track.audioTrack.getIdentifier(), message.executorId);
         tracks.remove(message.executorId);
+        leaveSharedTrack(track);
       }
     }
 
-    output.send(new TrackFrameDataMessage(message.executorId, frames, finished, message.seekPosition));
+    return new TrackFrameDataMessage(message.executorId, frames, finished, message.seekPosition);
   }
 
   private void submitPendingMessages(PlayingTrack track, MessageOutput output) {
@@ -154,7 +254,11 @@ public class PlayingTrackManager {
     if (track != null) {
       log.info("Track {} (context {}) stopped due to {}.", track.audioTrack.getIdentifier(), executorId, reason);
 
-      track.audioTrack.stop();
+      if (track.sharedTrack != null) {
+        leaveSharedTrack(track);
+      } else {
+        track.audioTrack.stop();
+      }
     }
   }
 
@@ -185,20 +289,23 @@ public class PlayingTrackManager {
 
   private static class PlayingTrack implements TrackStateListener {
     private final long executorId;
+    private final TrackStartRequestMessage startRequest;
     private final AudioPlayerOptions playerOptions;
-    private final InternalAudioTrack audioTrack;
+    private volatile InternalAudioTrack audioTrack;
+    private volatile SharedTrack sharedTrack;
     private volatile long lastFrameRequestTime;
     private volatile long lastNonZeroFrameRequestTime;
     private AtomicReference<TrackExceptionMessage> exceptionMessage;
 
-    private PlayingTrack(long executorId, int volume, InternalAudioTrack audioTrack) {
-      this.executorId = executorId;
+    private PlayingTrack(TrackStartRequestMessage startRequest, InternalAudioTrack audioTrack) {
+      this.executorId = startRequest.executorId;
+      this.startRequest = startRequest;
       this.playerOptions = new AudioPlayerOptions();
       this.audioTrack = audioTrack;
       this.lastFrameRequestTime = System.currentTimeMillis();
       this.lastNonZeroFrameRequestTime = lastFrameRequestTime;
       this.exceptionMessage = new AtomicReference<>();
-      playerOptions.volumeLevel.set(volume);
+      playerOptions.volumeLevel.set(startRequest.volume);
     }
 
     @Override
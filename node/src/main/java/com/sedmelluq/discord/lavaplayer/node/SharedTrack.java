@@ -0,0 +1,273 @@
+package com.sedmelluq.discord.lavaplayer.node;
+
+import com.sedmelluq.discord.lavaplayer.filter.volume.PcmVolumeProcessor;
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.AudioChunkDecoder;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.AudioChunkEncoder;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerOptions;
+import com.sedmelluq.discord.lavaplayer.remote.message.TrackStartRequestMessage;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.InternalAudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.TrackStateListener;
+import com.sedmelluq.discord.lavaplayer.track.playback.AudioFrame;
+import com.sedmelluq.discord.lavaplayer.track.playback.ImmutableAudioFrame;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A stream which is decoded once for all executors that requested the same stream with the same configuration, such
+ * as the listeners of one radio station. Every frame the track provides is added to the queue of each executor. The track is
+ * played at the volume of its executor while it has only one, and at volume 100 otherwise. Frames with a different
+ * volume than the executor they are taken for are decoded from the output format and encoded again with the volume of
+ * the executor, which is still far cheaper than decoding the track separately for it.
+ */
+public class SharedTrack implements TrackStateListener {
+  private static final int MAXIMUM_QUEUED_FRAMES = 250;
+
+  private final Key key;
+  private final InternalAudioTrack audioTrack;
+  private final AudioConfiguration configuration;
+  private final AudioPlayerOptions playerOptions;
+  private final Map<Long, Subscriber> subscribers;
+  private boolean finished;
+
+  /**
+   * @param key Key of the requests which can share this track
+   * @param audioTrack The audio track to decode
+   * @param configuration Configuration the track is executed with
+   */
+  public SharedTrack(Key key, InternalAudioTrack audioTrack, AudioConfiguration configuration) {
+    this.key = key;
+    this.audioTrack = audioTrack;
+    this.configuration = configuration;
+    this.playerOptions = new AudioPlayerOptions();
+    this.subscribers = new HashMap<>();
+  }
+
+  /**
+   * @return Key of the requests which can share this track
+   */
+  public Key getKey() {
+    return key;
+  }
+
+  /**
+   * @return The audio track which is decoded
+   */
+  public InternalAudioTrack getAudioTrack() {
+    return audioTrack;
+  }
+
+  /**
+   * @return Player options to execute the track with
+   */
+  public AudioPlayerOptions getPlayerOptions() {
+    return playerOptions;
+  }
+
+  /**
+   * Adds an executor to this track. It receives the frames provided by the track from now on.
+   *
+   * @param executorId ID of the executor
+   * @param listener Listener which receives the exceptions of the track
+   * @return True if the executor was added
+   */
+  public synchronized boolean subscribe(long executorId, TrackStateListener listener) {
+    if (finished) {
+      return false;
+    }
+
+    subscribers.putIfAbsent(executorId, new Subscriber(listener));
+    return true;
+  }
+
+  /**
+   * @param executorId ID of the executor to remove
+   * @return True if no executors are left, in which case the caller should stop the track
+   */
+  public synchronized boolean unsubscribe(long executorId) {
+    Subscriber subscriber = subscribers.remove(executorId);
+
+    if (subscriber != null) {
+      subscriber.close();
+    }
+
+    return subscribers.isEmpty();
+  }
+
+  /**
+   * Takes frames for one executor. All frames that the track has available are first distributed to the queues of all
+   * executors. A queue which is not drained, for example because that executor is paused, keeps only the most recent
+   * frames, same as a listener of a live stream would miss what was played while it was not listening.
+   *
+   * @param executorId ID of the executor
+   * @param volume Volume of the executor
+   * @param maximumFrames Maximum number of frames to take
+   * @param frames List to add the frames to
+   * @return True if the track has ended and all of its frames have been taken by this executor
+   */
+  public synchronized boolean provide(long executorId, int volume, int maximumFrames, List<AudioFrame> frames) {
+    Subscriber subscriber = subscribers.get(executorId);
+
+    if (subscriber == null) {
+      return false;
+    }
+
+    playerOptions.volumeLevel.set(subscribers.size() == 1 ? volume : 100);
+    distributeFrames();
+
+    while (frames.size() < maximumFrames && !subscriber.queue.isEmpty()) {
+      frames.add(subscriber.applyVolume(subscriber.queue.poll(), volume));
+    }
+
+    return finished && subscriber.queue.isEmpty();
+  }
+
+  private void distributeFrames() {
+    AudioFrame frame;
+
+    while (!finished && (frame = audioTrack.provide()) != null) {
+      if (frame.isTerminator()) {
+        finished = true;
+        break;
+      }
+
+      for (Subscriber subscriber : subscribers.values()) {
+        if (subscriber.queue.size() >= MAXIMUM_QUEUED_FRAMES) {
+          subscriber.queue.poll();
+        }
+
+        subscriber.queue.add(frame);
+      }
+    }
+  }
+
+  @Override
+  public void onTrackException(AudioTrack track, FriendlyException exception) {
+    List<TrackStateListener> listeners = new ArrayList<>();
+
+    synchronized (this) {
+      for (Subscriber subscriber : subscribers.values()) {
+        listeners.add(subscriber.listener);
+      }
+    }
+
+    for (TrackStateListener listener : listeners) {
+      listener.onTrackException(track, exception);
+    }
+  }
+
+  @Override
+  public void onTrackStuck(AudioTrack track, long thresholdMs) {
+    // Should never be called.
+  }
+
+  @Override
+  public String toString() {
+    return "SharedTrack[identifier: " + key.identifier + "]";
+  }
+
+  private class Subscriber {
+    private final TrackStateListener listener;
+    private final ArrayDeque<AudioFrame> queue;
+    private PcmVolumeProcessor volumeProcessor;
+    private AudioChunkDecoder decoder;
+    private AudioChunkEncoder encoder;
+    private ShortBuffer sampleBuffer;
+
+    private Subscriber(TrackStateListener listener) {
+      this.listener = listener;
+      this.queue = new ArrayDeque<>();
+    }
+
+    private AudioFrame applyVolume(AudioFrame frame, int volume) {
+      if (volume == frame.getVolume()) {
+        return frame;
+      } else if (volume == 0) {
+        // Same as in the frame buffers, frames with volume 0 are replaced with silence when they are played.
+        return new ImmutableAudioFrame(frame.getTimecode(), frame.getData(), 0, frame.getFormat());
+      }
+
+      AudioDataFormat format = configuration.getOutputFormat();
+
+      if (decoder == null) {
+        volumeProcessor = new PcmVolumeProcessor(100);
+        decoder = format.createDecoder();
+        encoder = format.createEncoder(configuration);
+        sampleBuffer = ByteBuffer
+            .allocateDirect(format.totalSampleCount() * 2)
+            .order(ByteOrder.nativeOrder())
+            .asShortBuffer();
+      }
+
+      decoder.decode(frame.getData(), sampleBuffer);
+      volumeProcessor.applyVolume(frame.getVolume(), volume, sampleBuffer);
+
+      return new ImmutableAudioFrame(frame.getTimecode(), encoder.encode(sampleBuffer), volume, format);
+    }
+
+    private void close() {
+      if (decoder != null) {
+        decoder.close();
+        encoder.close();
+      }
+    }
+  }
+
+  /**
+   * Identifies the stream requests which produce the same audio and can therefore share one track.
+   */
+  public static class Key {
+    private final String identifier;
+    private final byte[] encodedTrack;
+    private final AudioDataFormat format;
+    private final String resamplingQuality;
+    private final int opusEncodingQuality;
+
+    /**
+     * @param message The track start request
+     */
+    public Key(TrackStartRequestMessage message) {
+      this.identifier = message.trackInfo.identifier;
+      this.encodedTrack = message.encodedTrack;
+      this.format = message.configuration.getOutputFormat();
+      this.resamplingQuality = message.configuration.getResamplingQuality().name();
+      this.opusEncodingQuality = message.configuration.getOpusEncodingQuality();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+
+      Key that = (Key) o;
+
+      return opusEncodingQuality == that.opusEncodingQuality &&
+          identifier.equals(that.identifier) &&
+          Arrays.equals(encodedTrack, that.encodedTrack) &&
+          format.equals(that.format) &&
+          resamplingQuality.equals(that.resamplingQuality);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = identifier.hashCode();
+      result = 31 * result + Arrays.hashCode(encodedTrack);
+      result = 31 * result + Objects.hashCode(format);
+      result = 31 * result + resamplingQuality.hashCode();
+      result = 31 * result + opusEncodingQuality;
+      return result;
+    }
+  }
+}
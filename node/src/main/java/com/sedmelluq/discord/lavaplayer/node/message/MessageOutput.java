@@ -22,4 +22,12 @@ public class MessageOutput {
       throw new RuntimeException(e);
     }
   }
+
+  public void flush() {
+    try {
+      output.flush();
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
 }